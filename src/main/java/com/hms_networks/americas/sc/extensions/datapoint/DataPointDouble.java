@@ -0,0 +1,200 @@
+package com.hms_networks.americas.sc.extensions.datapoint;
+
+/**
+ * <code>double</code> data point class
+ *
+ * <p>Class object for a {@link DataPointNumber} with a primitive <code>double</code> value. The
+ * value is stored without boxing, and is only wrapped in a {@link Double} object when requested
+ * using {@link #getValue()} or {@link #getValueObject()}. Use {@link #getDoubleValue()} or {@link
+ * #getLongValue()} to access the value without creating objects.
+ *
+ * @since 1.17.0
+ * @author HMS Networks; Americas
+ */
+public class DataPointDouble extends DataPointNumber {
+
+  /** Data point value */
+  private double doubleValue;
+
+  /**
+   * Constructor for a <code>double</code> data point with specified quality and initialization
+   * status.
+   *
+   * @param tagName data point tag name
+   * @param tagId data point tag ID
+   * @param tagUnit data point tag Unit
+   * @param value data point value
+   * @param time data point timestamp, UNIX epoch seconds
+   * @param timeIso8601 data point timestamp, ISO 8601 format
+   * @param quality data point quality
+   * @param isInitValue data point initialization status
+   */
+  public DataPointDouble(
+      String tagName,
+      int tagId,
+      String tagUnit,
+      double value,
+      String time,
+      String timeIso8601,
+      DataQuality quality,
+      boolean isInitValue) {
+    super(tagName, tagId, tagUnit, null, time, timeIso8601, quality, isInitValue);
+    this.doubleValue = value;
+  }
+
+  /**
+   * Constructor for a <code>double</code> data point with specified quality.
+   *
+   * @param tagName data point tag name
+   * @param tagId data point tag ID
+   * @param tagUnit data point tag Unit
+   * @param value data point value
+   * @param time data point timestamp, UNIX epoch seconds
+   * @param timeIso8601 data point timestamp, ISO 8601 format
+   * @param quality data point quality
+   */
+  public DataPointDouble(
+      String tagName,
+      int tagId,
+      String tagUnit,
+      double value,
+      String time,
+      String timeIso8601,
+      DataQuality quality) {
+    super(tagName, tagId, tagUnit, null, time, timeIso8601, quality);
+    this.doubleValue = value;
+  }
+
+  /**
+   * Constructor for a <code>double</code> data point without specified quality.
+   *
+   * @param tagName data point tag name
+   * @param tagId data point tag ID
+   * @param tagUnit data point tag Unit
+   * @param value data point value
+   * @param time data point timestamp, UNIX epoch seconds
+   * @param timeIso8601 data point timestamp, ISO 8601 format
+   */
+  public DataPointDouble(
+      String tagName, int tagId, String tagUnit, double value, String time, String timeIso8601) {
+    super(tagName, tagId, tagUnit, null, time, timeIso8601);
+    this.doubleValue = value;
+  }
+
+  /**
+   * Get and return the data point value, wrapped in a new {@link Double} object.
+   *
+   * @return data point value
+   */
+  public Number getValue() {
+    return new Double(doubleValue);
+  }
+
+  /**
+   * Get and return the data point value as a <code>long</code>. The value is truncated toward
+   * zero.
+   *
+   * @return data point value as a <code>long</code>
+   */
+  public long getLongValue() {
+    return (long) doubleValue;
+  }
+
+  /**
+   * Get and return the data point value as a <code>double</code>.
+   *
+   * @return data point value
+   */
+  public double getDoubleValue() {
+    return doubleValue;
+  }
+
+  /**
+   * Set the data point value.
+   *
+   * @param value data point value
+   * @throws NullPointerException if the specified value is null
+   */
+  public void setValue(Number value) {
+    this.doubleValue = value.doubleValue();
+  }
+
+  /**
+   * Set the data point value.
+   *
+   * @param value data point value
+   */
+  public void setValue(double value) {
+    this.doubleValue = value;
+  }
+
+  /**
+   * Compares the data point to another data point. Values are compared in the same manner as
+   * {@link Double#equals(Object)}.
+   *
+   * @param p data point to compare
+   * @return true if the timestamp, type, and value are the same
+   */
+  public boolean equals(DataPoint p) {
+    boolean returnVal;
+    if (p instanceof DataPointDouble) {
+      returnVal =
+          p.getTimeStamp().equals(timestamp)
+              && doubleBitsEqual(((DataPointDouble) p).getDoubleValue(), doubleValue)
+              && p.getTagName().equals(tagName);
+    } else {
+      returnVal = super.equals(p);
+    }
+    return returnVal;
+  }
+
+  /**
+   * Compares the data point's value to another data point's value. Values are compared in the same
+   * manner as {@link Double#equals(Object)}.
+   *
+   * @param p data point to compare
+   * @return true if data points are of the same type and values are equal
+   */
+  public boolean valueEquals(DataPoint p) {
+    boolean returnVal;
+    if (p instanceof DataPointDouble) {
+      returnVal = doubleBitsEqual(((DataPointDouble) p).getDoubleValue(), doubleValue);
+    } else {
+      returnVal = super.valueEquals(p);
+    }
+    return returnVal;
+  }
+
+  /**
+   * Get the {@link String} representation of the data point value.
+   *
+   * @return data point value as a {@link String}
+   */
+  public String getValueString() {
+    return Double.toString(doubleValue);
+  }
+
+  /**
+   * Clones the data point.
+   *
+   * @param tagName The tag name to use for the cloned data point
+   * @return cloned data point with the specified tag name
+   * @throws CloneNotSupportedException if the data point cannot be cloned
+   */
+  public DataPoint clone(String tagName) throws CloneNotSupportedException {
+    return new DataPointDouble(
+        tagName, tagId, tagUnit, doubleValue, timestamp, iso8601Timestamp, quality, isInitValue);
+  }
+
+  /**
+   * Compares two <code>double</code> values by their raw bits, matching the behavior of {@link
+   * Double#equals(Object)} without creating {@link Double} objects.
+   *
+   * @param a first value
+   * @param b second value
+   * @return true if the values are equal
+   */
+  private static boolean doubleBitsEqual(double a, double b) {
+    return Double.doubleToLongBits(a) == Double.doubleToLongBits(b);
+  }
+}
@@ -17,6 +17,13 @@ package com.hms_networks.americas.sc.extensions.datapoint;
  */
 public class DataPointIntegerMappedString extends DataPointString {
 
+  /**
+   * Data point integer value, which the mapped {@link String} value corresponds to.
+   *
+   * @since 1.17.0
+   */
+  private final int integerValue;
+
   /**
    * Constructor for an integer mapped (enumerated) {@link String} data point with specified quality
    * and initialization status.
@@ -42,6 +49,36 @@ public class DataPointIntegerMappedString extends DataPointString {
       String[] enumMapping,
       boolean isInitValue) {
     super(tagName, tagId, tagUnit, enumMapping[value], time, timeIso8601, quality, isInitValue);
+    this.integerValue = value;
+  }
+
+  /**
+   * Constructor for an integer mapped (enumerated) {@link String} data point with the specified
+   * integer value and its already mapped {@link String} value, quality and initialization status.
+   *
+   * @param tagName data point tag name
+   * @param tagId data point tag ID
+   * @param tagUnit data point tag unit
+   * @param value data point integer value
+   * @param mappedValue data point mapped {@link String} value
+   * @param time data point timestamp, UNIX epoch seconds
+   * @param timeIso8601 data point timestamp, ISO 8601 format
+   * @param quality data point quality
+   * @param isInitValue data point initialization status
+   * @since 1.17.0
+   */
+  public DataPointIntegerMappedString(
+      String tagName,
+      int tagId,
+      String tagUnit,
+      int value,
+      String mappedValue,
+      String time,
+      String timeIso8601,
+      DataQuality quality,
+      boolean isInitValue) {
+    super(tagName, tagId, tagUnit, mappedValue, time, timeIso8601, quality, isInitValue);
+    this.integerValue = value;
   }
 
   /**
@@ -67,6 +104,7 @@ public class DataPointIntegerMappedString extends DataPointString {
       DataQuality quality,
       String[] enumMapping) {
     super(tagName, tagId, tagUnit, enumMapping[value], time, timeIso8601, quality);
+    this.integerValue = value;
   }
 
   /**
@@ -90,6 +128,18 @@ public class DataPointIntegerMappedString extends DataPointString {
       String timeIso8601,
       String[] enumMapping) {
     super(tagName, tagId, tagUnit, enumMapping[value], time, timeIso8601);
+    this.integerValue = value;
+  }
+
+  /**
+   * Get and return the data point integer value, which the mapped {@link String} value returned by
+   * {@link #getValue()} corresponds to.
+   *
+   * @return data point integer value
+   * @since 1.17.0
+   */
+  public int getIntegerValue() {
+    return integerValue;
   }
 
   /**
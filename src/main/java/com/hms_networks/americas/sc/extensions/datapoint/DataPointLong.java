@@ -0,0 +1,185 @@
+package com.hms_networks.americas.sc.extensions.datapoint;
+
+/**
+ * <code>long</code> data point class
+ *
+ * <p>Class object for a {@link DataPointNumber} with a primitive <code>long</code> value. The value
+ * is stored without boxing, and is only wrapped in a {@link Long} object when requested using
+ * {@link #getValue()} or {@link #getValueObject()}. Use {@link #getLongValue()} or {@link
+ * #getDoubleValue()} to access the value without creating objects.
+ *
+ * @since 1.17.0
+ * @author HMS Networks; Americas
+ */
+public class DataPointLong extends DataPointNumber {
+
+  /** Data point value */
+  private long longValue;
+
+  /**
+   * Constructor for a <code>long</code> data point with specified quality and initialization
+   * status.
+   *
+   * @param tagName data point tag name
+   * @param tagId data point tag ID
+   * @param tagUnit data point tag Unit
+   * @param value data point value
+   * @param time data point timestamp, UNIX epoch seconds
+   * @param timeIso8601 data point timestamp, ISO 8601 format
+   * @param quality data point quality
+   * @param isInitValue data point initialization status
+   */
+  public DataPointLong(
+      String tagName,
+      int tagId,
+      String tagUnit,
+      long value,
+      String time,
+      String timeIso8601,
+      DataQuality quality,
+      boolean isInitValue) {
+    super(tagName, tagId, tagUnit, null, time, timeIso8601, quality, isInitValue);
+    this.longValue = value;
+  }
+
+  /**
+   * Constructor for a <code>long</code> data point with specified quality.
+   *
+   * @param tagName data point tag name
+   * @param tagId data point tag ID
+   * @param tagUnit data point tag Unit
+   * @param value data point value
+   * @param time data point timestamp, UNIX epoch seconds
+   * @param timeIso8601 data point timestamp, ISO 8601 format
+   * @param quality data point quality
+   */
+  public DataPointLong(
+      String tagName,
+      int tagId,
+      String tagUnit,
+      long value,
+      String time,
+      String timeIso8601,
+      DataQuality quality) {
+    super(tagName, tagId, tagUnit, null, time, timeIso8601, quality);
+    this.longValue = value;
+  }
+
+  /**
+   * Constructor for a <code>long</code> data point without specified quality.
+   *
+   * @param tagName data point tag name
+   * @param tagId data point tag ID
+   * @param tagUnit data point tag Unit
+   * @param value data point value
+   * @param time data point timestamp, UNIX epoch seconds
+   * @param timeIso8601 data point timestamp, ISO 8601 format
+   */
+  public DataPointLong(
+      String tagName, int tagId, String tagUnit, long value, String time, String timeIso8601) {
+    super(tagName, tagId, tagUnit, null, time, timeIso8601);
+    this.longValue = value;
+  }
+
+  /**
+   * Get and return the data point value, wrapped in a new {@link Long} object.
+   *
+   * @return data point value
+   */
+  public Number getValue() {
+    return new Long(longValue);
+  }
+
+  /**
+   * Get and return the data point value as a <code>long</code>.
+   *
+   * @return data point value
+   */
+  public long getLongValue() {
+    return longValue;
+  }
+
+  /**
+   * Get and return the data point value as a <code>double</code>.
+   *
+   * @return data point value as a <code>double</code>
+   */
+  public double getDoubleValue() {
+    return longValue;
+  }
+
+  /**
+   * Set the data point value.
+   *
+   * @param value data point value
+   * @throws NullPointerException if the specified value is null
+   */
+  public void setValue(Number value) {
+    this.longValue = value.longValue();
+  }
+
+  /**
+   * Set the data point value.
+   *
+   * @param value data point value
+   */
+  public void setValue(long value) {
+    this.longValue = value;
+  }
+
+  /**
+   * Compares the data point to another data point.
+   *
+   * @param p data point to compare
+   * @return true if the timestamp, type, and value are the same
+   */
+  public boolean equals(DataPoint p) {
+    boolean returnVal;
+    if (p instanceof DataPointLong) {
+      returnVal =
+          p.getTimeStamp().equals(timestamp)
+              && ((DataPointLong) p).getLongValue() == longValue
+              && p.getTagName().equals(tagName);
+    } else {
+      returnVal = super.equals(p);
+    }
+    return returnVal;
+  }
+
+  /**
+   * Compares the data point's value to another data point's value.
+   *
+   * @param p data point to compare
+   * @return true if data points are of the same type and values are equal
+   */
+  public boolean valueEquals(DataPoint p) {
+    boolean returnVal;
+    if (p instanceof DataPointLong) {
+      returnVal = ((DataPointLong) p).getLongValue() == longValue;
+    } else {
+      returnVal = super.valueEquals(p);
+    }
+    return returnVal;
+  }
+
+  /**
+   * Get the {@link String} representation of the data point value.
+   *
+   * @return data point value as a {@link String}
+   */
+  public String getValueString() {
+    return Long.toString(longValue);
+  }
+
+  /**
+   * Clones the data point.
+   *
+   * @param tagName The tag name to use for the cloned data point
+   * @return cloned data point with the specified tag name
+   * @throws CloneNotSupportedException if the data point cannot be cloned
+   */
+  public DataPoint clone(String tagName) throws CloneNotSupportedException {
+    return new DataPointLong(
+        tagName, tagId, tagUnit, longValue, timestamp, iso8601Timestamp, quality, isInitValue);
+  }
+}
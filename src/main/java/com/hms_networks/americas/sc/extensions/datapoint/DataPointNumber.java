@@ -102,6 +102,32 @@ public class DataPointNumber extends DataPoint {
     return value;
   }
 
+  /**
+   * Get and return the data point value as a <code>long</code>. Subclasses which store a primitive
+   * value (such as {@link DataPointLong}) return the value without creating a {@link Number}
+   * object.
+   *
+   * @return data point value as a <code>long</code>
+   * @throws NullPointerException if the data point value is null
+   * @since 1.17.0
+   */
+  public long getLongValue() {
+    return value.longValue();
+  }
+
+  /**
+   * Get and return the data point value as a <code>double</code>. Subclasses which store a
+   * primitive value (such as {@link DataPointDouble}) return the value without creating a {@link
+   * Number} object.
+   *
+   * @return data point value as a <code>double</code>
+   * @throws NullPointerException if the data point value is null
+   * @since 1.17.0
+   */
+  public double getDoubleValue() {
+    return value.doubleValue();
+  }
+
   /**
    * Set the data point value.
    *
@@ -126,8 +152,8 @@ public class DataPointNumber extends DataPoint {
       returnVal =
           p.getTimeStamp().equals(timestamp)
               && (((DataPointNumber) p).getValue() == null
-                  ? value == null
-                  : ((DataPointNumber) p).getValue().equals(value))
+                  ? getValue() == null
+                  : ((DataPointNumber) p).getValue().equals(getValue()))
               && p.getTagName().equals(tagName);
     }
     return returnVal;
@@ -144,8 +170,8 @@ public class DataPointNumber extends DataPoint {
     if (p instanceof DataPointNumber) {
       returnVal =
           ((DataPointNumber) p).getValue() == null
-              ? value == null
-              : ((DataPointNumber) p).getValue().equals(value);
+              ? getValue() == null
+              : ((DataPointNumber) p).getValue().equals(getValue());
     }
     return returnVal;
   }
@@ -165,7 +191,7 @@ public class DataPointNumber extends DataPoint {
    * @return data point value as a {@link String}
    */
   public String getValueString() {
-    return value.toString();
+    return getValue().toString();
   }
 
   /**
@@ -174,7 +200,7 @@ public class DataPointNumber extends DataPoint {
    * @return data point value as an {@link Object}
    */
   public Object getValueObject() {
-    return value;
+    return getValue();
   }
 
   /**
@@ -0,0 +1,505 @@
+package com.hms_networks.americas.sc.extensions.datapoint.codec;
+
+import com.hms_networks.americas.sc.extensions.datapoint.DataPoint;
+import com.hms_networks.americas.sc.extensions.datapoint.DataPointBoolean;
+import com.hms_networks.americas.sc.extensions.datapoint.DataPointDouble;
+import com.hms_networks.americas.sc.extensions.datapoint.DataPointDword;
+import com.hms_networks.americas.sc.extensions.datapoint.DataPointFloat;
+import com.hms_networks.americas.sc.extensions.datapoint.DataPointInteger;
+import com.hms_networks.americas.sc.extensions.datapoint.DataPointIntegerMappedString;
+import com.hms_networks.americas.sc.extensions.datapoint.DataPointLong;
+import com.hms_networks.americas.sc.extensions.datapoint.DataPointNumber;
+import com.hms_networks.americas.sc.extensions.datapoint.DataPointString;
+import com.hms_networks.americas.sc.extensions.datapoint.DataQuality;
+import com.hms_networks.americas.sc.extensions.datapoint.DataType;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Class for decoding a sequence of {@link DataPoint}s which were encoded by {@link
+ * DataPointBinaryEncoder}. See {@link DataPointCodecConstants} for a description of the binary
+ * format.
+ *
+ * <p>A decoder instance is stateful and must read the encoded stream in order, from the start of a
+ * segment. Segment headers encountered in the stream reset the decoder state, so files containing
+ * multiple appended segments can be decoded with a single decoder instance.
+ *
+ * <p>Instances of this class are not thread-safe.
+ *
+ * @author HMS Networks; Americas
+ * @since 1.17.0
+ * @version 1.0.0
+ */
+public class DataPointBinaryDecoder {
+
+  /**
+   * The input stream which encoded data is read from.
+   *
+   * @since 1.0.0
+   */
+  private final InputStream inputStream;
+
+  /**
+   * List of strings in the segment dictionary, in order of dictionary index.
+   *
+   * <p>Parameterized type: List&lt;String&gt;
+   *
+   * @since 1.0.0
+   */
+  private final List dictionary = new ArrayList();
+
+  /**
+   * Boolean indicating if a segment header has been read.
+   *
+   * @since 1.0.0
+   */
+  private boolean segmentStarted = false;
+
+  /**
+   * The tag ID of the previously decoded data point.
+   *
+   * @since 1.0.0
+   */
+  private int previousTagId;
+
+  /**
+   * The epoch seconds timestamp of the previously decoded data point.
+   *
+   * @since 1.0.0
+   */
+  private long previousTimestamp;
+
+  /**
+   * The difference between the epoch seconds timestamps of the previous two decoded data points.
+   *
+   * @since 1.0.0
+   */
+  private long previousTimestampDelta;
+
+  /**
+   * The raw bits of the previously decoded <code>float</code> value.
+   *
+   * @since 1.0.0
+   */
+  private int previousFloatBits;
+
+  /**
+   * The raw bits of the previously decoded <code>double</code> value.
+   *
+   * @since 1.0.0
+   */
+  private long previousDoubleBits;
+
+  /**
+   * Constructor for a new {@link DataPointBinaryDecoder} which reads from the specified input
+   * stream. It is recommended that the input stream be buffered, as data is read one byte at a
+   * time.
+   *
+   * @param inputStream the input stream to read encoded data from
+   * @since 1.0.0
+   */
+  public DataPointBinaryDecoder(InputStream inputStream) {
+    this.inputStream = inputStream;
+  }
+
+  /**
+   * Decodes all {@link DataPoint}s in the specified byte array.
+   *
+   * @param encodedDataPoints the encoded data points
+   * @return decoded data points (Parameterized type: List&lt;DataPoint&gt;)
+   * @throws IOException if the encoded data is truncated or invalid
+   * @since 1.0.0
+   */
+  public static List decodeBatch(byte[] encodedDataPoints) throws IOException {
+    DataPointBinaryDecoder decoder =
+        new DataPointBinaryDecoder(new ByteArrayInputStream(encodedDataPoints));
+    List dataPoints = new ArrayList();
+    DataPoint dataPoint = decoder.decode();
+    while (dataPoint != null) {
+      dataPoints.add(dataPoint);
+      dataPoint = decoder.decode();
+    }
+    return dataPoints;
+  }
+
+  /**
+   * Decodes the next {@link DataPoint} from the input stream.
+   *
+   * @return the next data point, or null if the end of the input stream has been reached
+   * @throws IOException if unable to read from the input stream, or if the encoded data is
+   *     truncated or invalid
+   * @since 1.0.0
+   */
+  public DataPoint decode() throws IOException {
+    // Read header, handling any segment headers before it
+    int header = inputStream.read();
+    while (header == DataPointCodecConstants.SEGMENT_MARKER) {
+      readSegmentHeader();
+      header = inputStream.read();
+    }
+    if (header == -1) {
+      return null;
+    }
+    if (!segmentStarted) {
+      throw new DataPointCodecException(
+          "Unable to decode data point. The encoded data does not start with a segment header.");
+    }
+
+    // Parse header
+    int rawDataType = header & DataPointCodecConstants.HEADER_TYPE_MASK;
+    DataQuality quality =
+        DataQuality.fromRawDataQuality(
+            (header >> DataPointCodecConstants.HEADER_QUALITY_SHIFT)
+                & DataPointCodecConstants.HEADER_QUALITY_MASK);
+    boolean isInitValue = (header & DataPointCodecConstants.HEADER_INIT_VALUE_BIT) != 0;
+    boolean booleanValue = (header & DataPointCodecConstants.HEADER_BOOLEAN_VALUE_BIT) != 0;
+    boolean rawTimestamp = (header & DataPointCodecConstants.HEADER_RAW_TIMESTAMP_BIT) != 0;
+
+    // Read tag ID, name and unit
+    int tagId = (int) (previousTagId + readSignedVarLong());
+    previousTagId = tagId;
+    String tagName = readString();
+    String tagUnit = readString();
+
+    // Read timestamps
+    String timestamp;
+    if (rawTimestamp) {
+      timestamp = readString();
+    } else {
+      long timestampDelta = previousTimestampDelta + readSignedVarLong();
+      long timestampSeconds = previousTimestamp + timestampDelta;
+      previousTimestamp = timestampSeconds;
+      previousTimestampDelta = timestampDelta;
+      timestamp = Long.toString(timestampSeconds);
+    }
+    String iso8601Timestamp = readString();
+
+    // Read value and build data point
+    DataPoint dataPoint;
+    if (rawDataType == DataType.BOOLEAN.getRawDataType()) {
+      dataPoint =
+          new DataPointBoolean(
+              tagName,
+              tagId,
+              tagUnit,
+              booleanValue,
+              timestamp,
+              iso8601Timestamp,
+              quality,
+              isInitValue);
+    } else if (rawDataType == DataType.INTEGER.getRawDataType()) {
+      dataPoint =
+          new DataPointInteger(
+              tagName,
+              tagId,
+              tagUnit,
+              (int) readSignedVarLong(),
+              timestamp,
+              iso8601Timestamp,
+              quality,
+              isInitValue);
+    } else if (rawDataType == DataType.DWORD.getRawDataType()) {
+      dataPoint =
+          new DataPointDword(
+              tagName,
+              tagId,
+              tagUnit,
+              readSignedVarLong(),
+              timestamp,
+              iso8601Timestamp,
+              quality,
+              isInitValue);
+    } else if (rawDataType == DataType.FLOAT.getRawDataType()) {
+      dataPoint =
+          new DataPointFloat(
+              tagName,
+              tagId,
+              tagUnit,
+              readFloat(),
+              timestamp,
+              iso8601Timestamp,
+              quality,
+              isInitValue);
+    } else if (rawDataType == DataType.STRING.getRawDataType()) {
+      dataPoint =
+          new DataPointString(
+              tagName,
+              tagId,
+              tagUnit,
+              readString(),
+              timestamp,
+              iso8601Timestamp,
+              quality,
+              isInitValue);
+    } else if (rawDataType == DataType.INTEGER_MAPPED_STRING.getRawDataType()) {
+      // Integer value is encoded before its mapped string value
+      int integerValue = (int) readSignedVarLong();
+      dataPoint =
+          new DataPointIntegerMappedString(
+              tagName,
+              tagId,
+              tagUnit,
+              integerValue,
+              readString(),
+              timestamp,
+              iso8601Timestamp,
+              quality,
+              isInitValue);
+    } else if (rawDataType == DataType.NUMBER.getRawDataType()) {
+      int numberSubtype = readByte();
+      if (numberSubtype == DataPointCodecConstants.NUMBER_SUBTYPE_PRIMITIVE_LONG) {
+        dataPoint =
+            new DataPointLong(
+                tagName,
+                tagId,
+                tagUnit,
+                readSignedVarLong(),
+                timestamp,
+                iso8601Timestamp,
+                quality,
+                isInitValue);
+      } else if (numberSubtype == DataPointCodecConstants.NUMBER_SUBTYPE_PRIMITIVE_DOUBLE) {
+        dataPoint =
+            new DataPointDouble(
+                tagName,
+                tagId,
+                tagUnit,
+                readDouble(),
+                timestamp,
+                iso8601Timestamp,
+                quality,
+                isInitValue);
+      } else {
+        dataPoint =
+            new DataPointNumber(
+                tagName,
+                tagId,
+                tagUnit,
+                readNumber(numberSubtype),
+                timestamp,
+                iso8601Timestamp,
+                quality,
+                isInitValue);
+      }
+    } else {
+      throw new DataPointCodecException(
+          "Unable to decode data point for tag ["
+              + tagName
+              + "]. Data type ["
+              + rawDataType
+              + "] is not supported.");
+    }
+    return dataPoint;
+  }
+
+  /**
+   * Reads and validates the remainder of a segment header (following the segment marker), then
+   * resets the decoder state.
+   *
+   * @throws IOException if unable to read from the input stream, or if the segment header is
+   *     truncated or invalid
+   * @since 1.0.0
+   */
+  private void readSegmentHeader() throws IOException {
+    int magic0 = readByte();
+    int magic1 = readByte();
+    int version = readByte();
+    if (magic0 != DataPointCodecConstants.MAGIC_0 || magic1 != DataPointCodecConstants.MAGIC_1) {
+      throw new DataPointCodecException(
+          "Unable to decode data points. The segment header is invalid.");
+    }
+    if (version != DataPointCodecConstants.VERSION) {
+      throw new DataPointCodecException(
+          "Unable to decode data points. The segment version [" + version + "] is not supported.");
+    }
+
+    dictionary.clear();
+    previousTagId = 0;
+    previousTimestamp = 0;
+    previousTimestampDelta = 0;
+    previousFloatBits = 0;
+    previousDoubleBits = 0;
+    segmentStarted = true;
+  }
+
+  /**
+   * Reads a {@link Number} value of the specified number subtype, which has already been read.
+   *
+   * @param subtype the number subtype of the value
+   * @return the value read
+   * @throws IOException if unable to read from the input stream, or if the number subtype is
+   *     invalid
+   * @since 1.0.0
+   */
+  private Number readNumber(int subtype) throws IOException {
+    Number value;
+    if (subtype == DataPointCodecConstants.NUMBER_SUBTYPE_NULL) {
+      value = null;
+    } else if (subtype == DataPointCodecConstants.NUMBER_SUBTYPE_INT) {
+      value = new Integer((int) readSignedVarLong());
+    } else if (subtype == DataPointCodecConstants.NUMBER_SUBTYPE_LONG) {
+      value = new Long(readSignedVarLong());
+    } else if (subtype == DataPointCodecConstants.NUMBER_SUBTYPE_FLOAT) {
+      value = new Float(readFloat());
+    } else if (subtype == DataPointCodecConstants.NUMBER_SUBTYPE_DOUBLE) {
+      value = new Double(readDouble());
+    } else {
+      throw new DataPointCodecException(
+          "Unable to decode number value. The number subtype [" + subtype + "] is invalid.");
+    }
+    return value;
+  }
+
+  /**
+   * Reads a <code>float</code> value, XOR encoded against the previous <code>float</code> value.
+   *
+   * @return the value read
+   * @throws IOException if unable to read from the input stream, or if the value is invalid
+   * @since 1.0.0
+   */
+  private float readFloat() throws IOException {
+    int bits = previousFloatBits ^ (int) readXor(DataPointCodecConstants.FLOAT_WIDTH_BYTES);
+    previousFloatBits = bits;
+    return Float.intBitsToFloat(bits);
+  }
+
+  /**
+   * Reads a <code>double</code> value, XOR encoded against the previous <code>double</code> value.
+   *
+   * @return the value read
+   * @throws IOException if unable to read from the input stream, or if the value is invalid
+   * @since 1.0.0
+   */
+  private double readDouble() throws IOException {
+    long bits = previousDoubleBits ^ readXor(DataPointCodecConstants.DOUBLE_WIDTH_BYTES);
+    previousDoubleBits = bits;
+    return Double.longBitsToDouble(bits);
+  }
+
+  /**
+   * Reads an XOR result written as a control byte followed by its significant bytes.
+   *
+   * @param widthBytes the width of the encoded value in bytes (4 or 8)
+   * @return the XOR result
+   * @throws IOException if unable to read from the input stream, or if the control byte is invalid
+   * @since 1.0.0
+   */
+  private long readXor(int widthBytes) throws IOException {
+    int control = readByte();
+    int trailingZeroBytes = control >>> DataPointCodecConstants.XOR_CONTROL_TRAILING_SHIFT;
+    int significantBytes = control & DataPointCodecConstants.XOR_CONTROL_SIGNIFICANT_MASK;
+    if (trailingZeroBytes + significantBytes > widthBytes) {
+      throw new DataPointCodecException(
+          "Unable to decode floating point value. The XOR control byte is invalid.");
+    }
+
+    long xor = 0;
+    for (int i = 0; i < significantBytes; i++) {
+      xor = (xor << DataPointCodecConstants.BITS_PER_BYTE) | readByte();
+    }
+    return xor << (trailingZeroBytes * DataPointCodecConstants.BITS_PER_BYTE);
+  }
+
+  /**
+   * Reads a string written as a dictionary reference or literal. Literals are added to the
+   * dictionary until it is full.
+   *
+   * @return the string read
+   * @throws IOException if unable to read from the input stream, or if the string is invalid
+   * @since 1.0.0
+   */
+  private String readString() throws IOException {
+    String value;
+    long reference = readVarLong();
+    if (reference == DataPointCodecConstants.STRING_NULL) {
+      value = null;
+    } else if (reference == DataPointCodecConstants.STRING_LITERAL) {
+      long length = readVarLong();
+      if (length > Integer.MAX_VALUE) {
+        throw new DataPointCodecException(
+            "Unable to decode string value. The string length is invalid.");
+      }
+      byte[] valueBytes = new byte[(int) length];
+      int offset = 0;
+      while (offset < valueBytes.length) {
+        int bytesRead = inputStream.read(valueBytes, offset, valueBytes.length - offset);
+        if (bytesRead == -1) {
+          throw new DataPointCodecException(
+              "Unable to decode string value. The encoded data is truncated.");
+        }
+        offset += bytesRead;
+      }
+      value = new String(valueBytes, DataPointCodecConstants.STRING_ENCODING);
+
+      if (dictionary.size() < DataPointCodecConstants.MAX_DICTIONARY_ENTRIES) {
+        dictionary.add(value);
+      }
+    } else {
+      long dictionaryIndex = reference - DataPointCodecConstants.STRING_DICTIONARY_OFFSET;
+      if (dictionaryIndex >= dictionary.size()) {
+        throw new DataPointCodecException(
+            "Unable to decode string value. The dictionary reference ["
+                + dictionaryIndex
+                + "] is invalid.");
+      }
+      value = (String) dictionary.get((int) dictionaryIndex);
+    }
+    return value;
+  }
+
+  /**
+   * Reads a zigzag encoded variable length integer.
+   *
+   * @return the signed value read
+   * @throws IOException if unable to read from the input stream, or if the value is invalid
+   * @since 1.0.0
+   */
+  private long readSignedVarLong() throws IOException {
+    long value = readVarLong();
+    return (value >>> 1) ^ -(value & 1);
+  }
+
+  /**
+   * Reads an unsigned variable length integer, seven bits per byte with the most significant bit of
+   * each byte indicating that more bytes follow.
+   *
+   * @return the value read
+   * @throws IOException if unable to read from the input stream, or if the value is invalid
+   * @since 1.0.0
+   */
+  private long readVarLong() throws IOException {
+    long value = 0;
+    int shift = 0;
+    int currentByte;
+    do {
+      if (shift > DataPointCodecConstants.LONG_SIGN_BIT_SHIFT) {
+        throw new DataPointCodecException(
+            "Unable to decode variable length integer. The value is too long.");
+      }
+      currentByte = readByte();
+      value |= ((long) (currentByte & DataPointCodecConstants.VAR_INT_VALUE_MASK)) << shift;
+      shift += DataPointCodecConstants.VAR_INT_BITS_PER_BYTE;
+    } while ((currentByte & DataPointCodecConstants.VAR_INT_CONTINUATION_BIT) != 0);
+    return value;
+  }
+
+  /**
+   * Reads a single byte from the input stream.
+   *
+   * @return the byte read, as an unsigned <code>int</code>
+   * @throws IOException if unable to read from the input stream, or if the end of the input stream
+   *     has been reached
+   * @since 1.0.0
+   */
+  private int readByte() throws IOException {
+    int value = inputStream.read();
+    if (value == -1) {
+      throw new DataPointCodecException(
+          "Unable to decode data point. The encoded data is truncated.");
+    }
+    return value;
+  }
+}
@@ -0,0 +1,449 @@
+package com.hms_networks.americas.sc.extensions.datapoint.codec;
+
+import com.hms_networks.americas.sc.extensions.datapoint.DataPoint;
+import com.hms_networks.americas.sc.extensions.datapoint.DataPointBoolean;
+import com.hms_networks.americas.sc.extensions.datapoint.DataPointDouble;
+import com.hms_networks.americas.sc.extensions.datapoint.DataPointDword;
+import com.hms_networks.americas.sc.extensions.datapoint.DataPointFloat;
+import com.hms_networks.americas.sc.extensions.datapoint.DataPointInteger;
+import com.hms_networks.americas.sc.extensions.datapoint.DataPointIntegerMappedString;
+import com.hms_networks.americas.sc.extensions.datapoint.DataPointLong;
+import com.hms_networks.americas.sc.extensions.datapoint.DataPointNumber;
+import com.hms_networks.americas.sc.extensions.datapoint.DataQuality;
+import com.hms_networks.americas.sc.extensions.datapoint.DataType;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Class for encoding a sequence of {@link DataPoint}s to a compact binary format. The encoded data
+ * can be decoded using {@link DataPointBinaryDecoder}. See {@link DataPointCodecConstants} for a
+ * description of the binary format.
+ *
+ * <p>An encoder instance is stateful: each data point is encoded relative to the data points
+ * before it (tag ID deltas, timestamp delta-of-deltas, XOR encoded floating point values and the
+ * string dictionary). The encoded stream must therefore be decoded in order, from the start of its
+ * segment. A new segment (with fresh state) is started by the first call to {@link
+ * #encode(DataPoint)} and by each call to {@link #startSegment()}, which allows segments written by
+ * separate encoder instances to be appended to the same file.
+ *
+ * <p>Instances of this class are not thread-safe.
+ *
+ * @author HMS Networks; Americas
+ * @since 1.17.0
+ * @version 1.0.0
+ */
+public class DataPointBinaryEncoder {
+
+  /**
+   * The output stream which encoded data is written to.
+   *
+   * @since 1.0.0
+   */
+  private final OutputStream outputStream;
+
+  /**
+   * Map of strings in the segment dictionary to their dictionary index.
+   *
+   * <p>Parameterized type: Map&lt;String, Integer&gt;
+   *
+   * @since 1.0.0
+   */
+  private final Map dictionary = new HashMap();
+
+  /**
+   * Boolean indicating if the segment header for the current segment has been written.
+   *
+   * @since 1.0.0
+   */
+  private boolean segmentStarted = false;
+
+  /**
+   * The tag ID of the previously encoded data point.
+   *
+   * @since 1.0.0
+   */
+  private int previousTagId;
+
+  /**
+   * The epoch seconds timestamp of the previously encoded data point.
+   *
+   * @since 1.0.0
+   */
+  private long previousTimestamp;
+
+  /**
+   * The difference between the epoch seconds timestamps of the previous two encoded data points.
+   *
+   * @since 1.0.0
+   */
+  private long previousTimestampDelta;
+
+  /**
+   * The raw bits of the previously encoded <code>float</code> value.
+   *
+   * @since 1.0.0
+   */
+  private int previousFloatBits;
+
+  /**
+   * The raw bits of the previously encoded <code>double</code> value.
+   *
+   * @since 1.0.0
+   */
+  private long previousDoubleBits;
+
+  /**
+   * Constructor for a new {@link DataPointBinaryEncoder} which writes to the specified output
+   * stream. It is recommended that the output stream be buffered, as data is written in small
+   * chunks.
+   *
+   * @param outputStream the output stream to write encoded data to
+   * @since 1.0.0
+   */
+  public DataPointBinaryEncoder(OutputStream outputStream) {
+    this.outputStream = outputStream;
+  }
+
+  /**
+   * Encodes the specified {@link List} of {@link DataPoint}s to a new byte array, as a single
+   * segment.
+   *
+   * @param dataPoints the data points to encode (Parameterized type: List&lt;DataPoint&gt;)
+   * @return the encoded data points
+   * @throws IOException if unable to encode a data point
+   * @since 1.0.0
+   */
+  public static byte[] encodeBatch(List dataPoints) throws IOException {
+    ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
+    DataPointBinaryEncoder encoder = new DataPointBinaryEncoder(byteArrayOutputStream);
+    encoder.startSegment();
+    encoder.encode(dataPoints);
+    return byteArrayOutputStream.toByteArray();
+  }
+
+  /**
+   * Encodes the specified array of {@link DataPoint}s to a new byte array, as a single segment.
+   *
+   * @param dataPoints the data points to encode
+   * @return the encoded data points
+   * @throws IOException if unable to encode a data point
+   * @since 1.0.0
+   */
+  public static byte[] encodeBatch(DataPoint[] dataPoints) throws IOException {
+    ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
+    DataPointBinaryEncoder encoder = new DataPointBinaryEncoder(byteArrayOutputStream);
+    encoder.startSegment();
+    encoder.encode(dataPoints);
+    return byteArrayOutputStream.toByteArray();
+  }
+
+  /**
+   * Starts a new segment by writing a segment header and resetting the encoder state.
+   *
+   * @throws IOException if unable to write to the output stream
+   * @since 1.0.0
+   */
+  public void startSegment() throws IOException {
+    outputStream.write(DataPointCodecConstants.SEGMENT_MARKER);
+    outputStream.write(DataPointCodecConstants.MAGIC_0);
+    outputStream.write(DataPointCodecConstants.MAGIC_1);
+    outputStream.write(DataPointCodecConstants.VERSION);
+
+    dictionary.clear();
+    previousTagId = 0;
+    previousTimestamp = 0;
+    previousTimestampDelta = 0;
+    previousFloatBits = 0;
+    previousDoubleBits = 0;
+    segmentStarted = true;
+  }
+
+  /**
+   * Encodes each {@link DataPoint} in the specified {@link List}.
+   *
+   * @param dataPoints the data points to encode (Parameterized type: List&lt;DataPoint&gt;)
+   * @throws IOException if unable to encode a data point
+   * @since 1.0.0
+   */
+  public void encode(List dataPoints) throws IOException {
+    for (int i = 0; i < dataPoints.size(); i++) {
+      encode((DataPoint) dataPoints.get(i));
+    }
+  }
+
+  /**
+   * Encodes each {@link DataPoint} in the specified array.
+   *
+   * @param dataPoints the data points to encode
+   * @throws IOException if unable to encode a data point
+   * @since 1.0.0
+   */
+  public void encode(DataPoint[] dataPoints) throws IOException {
+    for (int i = 0; i < dataPoints.length; i++) {
+      encode(dataPoints[i]);
+    }
+  }
+
+  /**
+   * Encodes the specified {@link DataPoint}.
+   *
+   * @param dataPoint the data point to encode
+   * @throws IOException if unable to write to the output stream
+   * @throws IllegalArgumentException if the data point type is not supported
+   * @since 1.0.0
+   */
+  public void encode(DataPoint dataPoint) throws IOException {
+    if (!segmentStarted) {
+      startSegment();
+    }
+
+    // Parse timestamp, falling back to a raw string if it is not numeric
+    boolean rawTimestamp = false;
+    long timestamp = 0;
+    try {
+      timestamp = Long.parseLong(dataPoint.getTimeStamp());
+    } catch (NumberFormatException e) {
+      rawTimestamp = true;
+    }
+
+    // Build and write header
+    DataType dataType = dataPoint.getType();
+    DataQuality quality = dataPoint.getQuality();
+    int rawQuality =
+        quality != null ? quality.getRawDataQuality() : DataQuality.UNCERTAIN.getRawDataQuality();
+    int header = dataType.getRawDataType() & DataPointCodecConstants.HEADER_TYPE_MASK;
+    header |=
+        (rawQuality & DataPointCodecConstants.HEADER_QUALITY_MASK)
+            << DataPointCodecConstants.HEADER_QUALITY_SHIFT;
+    if (dataPoint.isInitValue()) {
+      header |= DataPointCodecConstants.HEADER_INIT_VALUE_BIT;
+    }
+    if (dataType == DataType.BOOLEAN && ((DataPointBoolean) dataPoint).getValue()) {
+      header |= DataPointCodecConstants.HEADER_BOOLEAN_VALUE_BIT;
+    }
+    if (rawTimestamp) {
+      header |= DataPointCodecConstants.HEADER_RAW_TIMESTAMP_BIT;
+    }
+    outputStream.write(header);
+
+    // Write tag ID, name and unit
+    writeSignedVarLong(dataPoint.getTagId() - previousTagId);
+    previousTagId = dataPoint.getTagId();
+    writeString(dataPoint.getTagName());
+    writeString(dataPoint.getTagUnit());
+
+    // Write timestamps
+    if (rawTimestamp) {
+      writeString(dataPoint.getTimeStamp());
+    } else {
+      long timestampDelta = timestamp - previousTimestamp;
+      writeSignedVarLong(timestampDelta - previousTimestampDelta);
+      previousTimestamp = timestamp;
+      previousTimestampDelta = timestampDelta;
+    }
+    writeString(dataPoint.getIso8601Timestamp());
+
+    // Write value
+    if (dataType == DataType.BOOLEAN) {
+      // Value stored in header
+    } else if (dataType == DataType.INTEGER) {
+      writeSignedVarLong(((DataPointInteger) dataPoint).getValue());
+    } else if (dataType == DataType.DWORD) {
+      writeSignedVarLong(((DataPointDword) dataPoint).getValue());
+    } else if (dataType == DataType.FLOAT) {
+      writeFloat((float) ((DataPointFloat) dataPoint).getValue());
+    } else if (dataType == DataType.STRING) {
+      writeString(dataPoint.getValueString());
+    } else if (dataType == DataType.INTEGER_MAPPED_STRING) {
+      writeSignedVarLong(((DataPointIntegerMappedString) dataPoint).getIntegerValue());
+      writeString(dataPoint.getValueString());
+    } else if (dataPoint instanceof DataPointLong) {
+      outputStream.write(DataPointCodecConstants.NUMBER_SUBTYPE_PRIMITIVE_LONG);
+      writeSignedVarLong(((DataPointLong) dataPoint).getLongValue());
+    } else if (dataPoint instanceof DataPointDouble) {
+      outputStream.write(DataPointCodecConstants.NUMBER_SUBTYPE_PRIMITIVE_DOUBLE);
+      writeDouble(((DataPointDouble) dataPoint).getDoubleValue());
+    } else if (dataType == DataType.NUMBER) {
+      writeNumber(((DataPointNumber) dataPoint).getValue());
+    } else {
+      throw new IllegalArgumentException(
+          "Unable to encode data point for tag ["
+              + dataPoint.getTagName()
+              + "]. Data type is not supported.");
+    }
+  }
+
+  /**
+   * Flushes the underlying output stream.
+   *
+   * @throws IOException if unable to flush the output stream
+   * @since 1.0.0
+   */
+  public void flush() throws IOException {
+    outputStream.flush();
+  }
+
+  /**
+   * Writes the specified {@link Number} value, prefixed with its number subtype.
+   *
+   * @param value the value to write
+   * @throws IOException if unable to write to the output stream
+   * @since 1.0.0
+   */
+  private void writeNumber(Number value) throws IOException {
+    if (value == null) {
+      outputStream.write(DataPointCodecConstants.NUMBER_SUBTYPE_NULL);
+    } else if (value instanceof Integer || value instanceof Short || value instanceof Byte) {
+      outputStream.write(DataPointCodecConstants.NUMBER_SUBTYPE_INT);
+      writeSignedVarLong(value.intValue());
+    } else if (value instanceof Long) {
+      outputStream.write(DataPointCodecConstants.NUMBER_SUBTYPE_LONG);
+      writeSignedVarLong(value.longValue());
+    } else if (value instanceof Float) {
+      outputStream.write(DataPointCodecConstants.NUMBER_SUBTYPE_FLOAT);
+      writeFloat(value.floatValue());
+    } else {
+      outputStream.write(DataPointCodecConstants.NUMBER_SUBTYPE_DOUBLE);
+      writeDouble(value.doubleValue());
+    }
+  }
+
+  /**
+   * Writes the specified <code>float</code> value, XOR encoded against the previous <code>float
+   * </code> value.
+   *
+   * @param value the value to write
+   * @throws IOException if unable to write to the output stream
+   * @since 1.0.0
+   */
+  private void writeFloat(float value) throws IOException {
+    int bits = Float.floatToIntBits(value);
+    writeXor(bits ^ previousFloatBits, DataPointCodecConstants.FLOAT_WIDTH_BYTES);
+    previousFloatBits = bits;
+  }
+
+  /**
+   * Writes the specified <code>double</code> value, XOR encoded against the previous <code>double
+   * </code> value.
+   *
+   * @param value the value to write
+   * @throws IOException if unable to write to the output stream
+   * @since 1.0.0
+   */
+  private void writeDouble(double value) throws IOException {
+    long bits = Double.doubleToLongBits(value);
+    writeXor(bits ^ previousDoubleBits, DataPointCodecConstants.DOUBLE_WIDTH_BYTES);
+    previousDoubleBits = bits;
+  }
+
+  /**
+   * Writes the specified XOR result using a control byte followed by only its significant bytes.
+   * The control byte holds the number of trailing zero bytes in its upper nibble and the number of
+   * significant bytes in its lower nibble. A control byte of zero indicates an unchanged value.
+   *
+   * @param xor the XOR result to write
+   * @param widthBytes the width of the encoded value in bytes (4 or 8)
+   * @throws IOException if unable to write to the output stream
+   * @since 1.0.0
+   */
+  private void writeXor(long xor, int widthBytes) throws IOException {
+    if (xor == 0) {
+      outputStream.write(0);
+      return;
+    }
+
+    // Count trailing and leading zero bytes
+    int trailingZeroBytes = 0;
+    while (getByte(xor, trailingZeroBytes) == 0) {
+      trailingZeroBytes++;
+    }
+    int leadingZeroBytes = 0;
+    while (getByte(xor, widthBytes - 1 - leadingZeroBytes) == 0) {
+      leadingZeroBytes++;
+    }
+    int significantBytes = widthBytes - leadingZeroBytes - trailingZeroBytes;
+
+    // Write control byte and significant bytes (most significant first)
+    outputStream.write(
+        (trailingZeroBytes << DataPointCodecConstants.XOR_CONTROL_TRAILING_SHIFT)
+            | significantBytes);
+    for (int i = significantBytes - 1; i >= 0; i--) {
+      outputStream.write(getByte(xor, trailingZeroBytes + i));
+    }
+  }
+
+  /**
+   * Gets the byte at the specified index of the specified value, where index 0 is the least
+   * significant byte.
+   *
+   * @param value the value to get the byte from
+   * @param byteIndex the index of the byte to get
+   * @return the byte at the specified index, as an unsigned <code>int</code>
+   * @since 1.0.0
+   */
+  private static int getByte(long value, int byteIndex) {
+    return (int) (value >>> (byteIndex * DataPointCodecConstants.BITS_PER_BYTE)) & 0xFF;
+  }
+
+  /**
+   * Writes the specified string as a dictionary reference, or as a literal if it is not yet in the
+   * dictionary. Literals are added to the dictionary until it is full.
+   *
+   * @param value the string to write
+   * @throws IOException if unable to write to the output stream
+   * @since 1.0.0
+   */
+  private void writeString(String value) throws IOException {
+    if (value == null) {
+      writeVarLong(DataPointCodecConstants.STRING_NULL);
+      return;
+    }
+
+    Integer dictionaryIndex = (Integer) dictionary.get(value);
+    if (dictionaryIndex != null) {
+      writeVarLong(dictionaryIndex.intValue() + DataPointCodecConstants.STRING_DICTIONARY_OFFSET);
+    } else {
+      byte[] valueBytes = value.getBytes(DataPointCodecConstants.STRING_ENCODING);
+      writeVarLong(DataPointCodecConstants.STRING_LITERAL);
+      writeVarLong(valueBytes.length);
+      outputStream.write(valueBytes);
+
+      if (dictionary.size() < DataPointCodecConstants.MAX_DICTIONARY_ENTRIES) {
+        dictionary.put(value, new Integer(dictionary.size()));
+      }
+    }
+  }
+
+  /**
+   * Writes the specified signed value as a zigzag encoded variable length integer.
+   *
+   * @param value the value to write
+   * @throws IOException if unable to write to the output stream
+   * @since 1.0.0
+   */
+  private void writeSignedVarLong(long value) throws IOException {
+    writeVarLong((value << 1) ^ (value >> DataPointCodecConstants.LONG_SIGN_BIT_SHIFT));
+  }
+
+  /**
+   * Writes the specified value as an unsigned variable length integer, seven bits per byte with the
+   * most significant bit of each byte indicating that more bytes follow.
+   *
+   * @param value the value to write
+   * @throws IOException if unable to write to the output stream
+   * @since 1.0.0
+   */
+  private void writeVarLong(long value) throws IOException {
+    while ((value & ~((long) DataPointCodecConstants.VAR_INT_VALUE_MASK)) != 0) {
+      outputStream.write(
+          (int) (value & DataPointCodecConstants.VAR_INT_VALUE_MASK)
+              | DataPointCodecConstants.VAR_INT_CONTINUATION_BIT);
+      value >>>= DataPointCodecConstants.VAR_INT_BITS_PER_BYTE;
+    }
+    outputStream.write((int) value);
+  }
+}
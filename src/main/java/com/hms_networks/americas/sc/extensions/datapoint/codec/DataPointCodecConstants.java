@@ -0,0 +1,259 @@
+package com.hms_networks.americas.sc.extensions.datapoint.codec;
+
+/**
+ * Class for storing constants used in the {@link
+ * com.hms_networks.americas.sc.extensions.datapoint.codec} package.
+ *
+ * <p>Binary format overview (all multi-byte integers are unsigned LEB128 variable length integers,
+ * signed values are zigzag encoded before being written):
+ *
+ * <pre>
+ * stream   = segment*
+ * segment  = SEGMENT_MARKER MAGIC_0 MAGIC_1 VERSION point*
+ * point    = header tagIdDelta name unit timestamp iso8601 value
+ * header   = bits 0-2: data type, bits 3-4: quality, bit 5: init value, bit 6: boolean value,
+ *            bit 7: raw (non-numeric) timestamp
+ * string   = 0 (null) | 1 length utf8-bytes (literal) | 2 + dictionary index (reference)
+ * </pre>
+ *
+ * <p>Timestamps are encoded as the delta-of-delta of the UNIX epoch seconds, floating point values
+ * are XOR encoded against the previous floating point value of the same width, and strings (tag
+ * names, units, ISO 8601 timestamps and string values) are dictionary coded.
+ *
+ * @author HMS Networks; Americas
+ * @since 1.17.0
+ * @version 1.0.0
+ */
+public class DataPointCodecConstants {
+
+  /**
+   * Byte which marks the start of a new segment. The low three bits of this byte correspond to an
+   * unused data type code, so it can never be mistaken for a data point header.
+   *
+   * @since 1.0.0
+   */
+  public static final int SEGMENT_MARKER = 0xFF;
+
+  /**
+   * First magic byte following {@link #SEGMENT_MARKER}.
+   *
+   * @since 1.0.0
+   */
+  public static final int MAGIC_0 = 'D';
+
+  /**
+   * Second magic byte following {@link #SEGMENT_MARKER}.
+   *
+   * @since 1.0.0
+   */
+  public static final int MAGIC_1 = 'P';
+
+  /**
+   * Current version of the binary format.
+   *
+   * @since 1.0.0
+   */
+  public static final int VERSION = 1;
+
+  /**
+   * Maximum number of entries in the string dictionary of a segment. Strings seen after the
+   * dictionary is full are written as literals.
+   *
+   * @since 1.0.0
+   */
+  public static final int MAX_DICTIONARY_ENTRIES = 4096;
+
+  /**
+   * Mask for the data type bits of a data point header.
+   *
+   * @since 1.0.0
+   */
+  public static final int HEADER_TYPE_MASK = 0x07;
+
+  /**
+   * Data type code reserved for the segment marker.
+   *
+   * @since 1.0.0
+   */
+  public static final int HEADER_TYPE_RESERVED = 0x07;
+
+  /**
+   * Bit offset of the quality bits of a data point header.
+   *
+   * @since 1.0.0
+   */
+  public static final int HEADER_QUALITY_SHIFT = 3;
+
+  /**
+   * Mask (after shifting) for the quality bits of a data point header.
+   *
+   * @since 1.0.0
+   */
+  public static final int HEADER_QUALITY_MASK = 0x03;
+
+  /**
+   * Bit of a data point header which is set for initialization values.
+   *
+   * @since 1.0.0
+   */
+  public static final int HEADER_INIT_VALUE_BIT = 0x20;
+
+  /**
+   * Bit of a data point header which holds the value of boolean data points.
+   *
+   * @since 1.0.0
+   */
+  public static final int HEADER_BOOLEAN_VALUE_BIT = 0x40;
+
+  /**
+   * Bit of a data point header which is set when the timestamp is not numeric and has been written
+   * as a string.
+   *
+   * @since 1.0.0
+   */
+  public static final int HEADER_RAW_TIMESTAMP_BIT = 0x80;
+
+  /**
+   * String reference value for a null string.
+   *
+   * @since 1.0.0
+   */
+  public static final int STRING_NULL = 0;
+
+  /**
+   * String reference value for a literal string which follows.
+   *
+   * @since 1.0.0
+   */
+  public static final int STRING_LITERAL = 1;
+
+  /**
+   * Offset added to dictionary indices when written as a string reference.
+   *
+   * @since 1.0.0
+   */
+  public static final int STRING_DICTIONARY_OFFSET = 2;
+
+  /**
+   * Number subtype for a null {@link Number} value.
+   *
+   * @since 1.0.0
+   */
+  public static final int NUMBER_SUBTYPE_NULL = 0;
+
+  /**
+   * Number subtype for {@link Integer}, {@link Short} and {@link Byte} values.
+   *
+   * @since 1.0.0
+   */
+  public static final int NUMBER_SUBTYPE_INT = 1;
+
+  /**
+   * Number subtype for {@link Long} values.
+   *
+   * @since 1.0.0
+   */
+  public static final int NUMBER_SUBTYPE_LONG = 2;
+
+  /**
+   * Number subtype for {@link Float} values.
+   *
+   * @since 1.0.0
+   */
+  public static final int NUMBER_SUBTYPE_FLOAT = 3;
+
+  /**
+   * Number subtype for {@link Double} values and any other {@link Number} implementation.
+   *
+   * @since 1.0.0
+   */
+  public static final int NUMBER_SUBTYPE_DOUBLE = 4;
+
+  /**
+   * Number subtype for the value of a {@link
+   * com.hms_networks.americas.sc.extensions.datapoint.DataPointLong} data point.
+   *
+   * @since 1.0.0
+   */
+  public static final int NUMBER_SUBTYPE_PRIMITIVE_LONG = 5;
+
+  /**
+   * Number subtype for the value of a {@link
+   * com.hms_networks.americas.sc.extensions.datapoint.DataPointDouble} data point.
+   *
+   * @since 1.0.0
+   */
+  public static final int NUMBER_SUBTYPE_PRIMITIVE_DOUBLE = 6;
+
+  /**
+   * Width (in bytes) of an encoded <code>float</code> value.
+   *
+   * @since 1.0.0
+   */
+  public static final int FLOAT_WIDTH_BYTES = 4;
+
+  /**
+   * Width (in bytes) of an encoded <code>double</code> value.
+   *
+   * @since 1.0.0
+   */
+  public static final int DOUBLE_WIDTH_BYTES = 8;
+
+  /**
+   * Number of bits in a byte.
+   *
+   * @since 1.0.0
+   */
+  public static final int BITS_PER_BYTE = 8;
+
+  /**
+   * Bit offset of the trailing zero byte count in an XOR control byte. The lower bits hold the
+   * number of significant bytes which follow.
+   *
+   * @since 1.0.0
+   */
+  public static final int XOR_CONTROL_TRAILING_SHIFT = 4;
+
+  /**
+   * Mask for the significant byte count in an XOR control byte.
+   *
+   * @since 1.0.0
+   */
+  public static final int XOR_CONTROL_SIGNIFICANT_MASK = 0x0F;
+
+  /**
+   * Shift which moves the sign bit of a <code>long</code> to every bit position, used for zigzag
+   * encoding.
+   *
+   * @since 1.0.0
+   */
+  public static final int LONG_SIGN_BIT_SHIFT = 63;
+
+  /**
+   * Number of value bits in each byte of a variable length integer.
+   *
+   * @since 1.0.0
+   */
+  public static final int VAR_INT_BITS_PER_BYTE = 7;
+
+  /**
+   * Mask for the value bits in each byte of a variable length integer.
+   *
+   * @since 1.0.0
+   */
+  public static final int VAR_INT_VALUE_MASK = 0x7F;
+
+  /**
+   * Bit of each byte of a variable length integer which indicates that more bytes follow.
+   *
+   * @since 1.0.0
+   */
+  public static final int VAR_INT_CONTINUATION_BIT = 0x80;
+
+  /**
+   * Character encoding used for strings.
+   *
+   * @since 1.0.0
+   */
+  public static final String STRING_ENCODING = "UTF-8";
+}
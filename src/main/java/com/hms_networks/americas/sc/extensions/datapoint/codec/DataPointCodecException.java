@@ -0,0 +1,24 @@
+package com.hms_networks.americas.sc.extensions.datapoint.codec;
+
+import java.io.IOException;
+
+/**
+ * A custom exception class for errors encountered while decoding binary encoded data points, such
+ * as truncated or corrupted data. Applications that wish to differentiate this exception from
+ * {@link IOException}, should catch {@link DataPointCodecException} before catching {@link
+ * IOException}.
+ *
+ * @author HMS Networks; Americas
+ * @since 1.17.0
+ */
+public class DataPointCodecException extends IOException {
+
+  /**
+   * Constructor providing for a human-readable explanation as parameter
+   *
+   * @param explanation human-readable explanation
+   */
+  public DataPointCodecException(String explanation) {
+    super(explanation);
+  }
+}
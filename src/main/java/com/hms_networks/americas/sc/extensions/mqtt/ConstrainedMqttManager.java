@@ -10,6 +10,9 @@ import com.hms_networks.americas.sc.extensions.system.application.SCAppManagemen
 import com.hms_networks.americas.sc.extensions.system.time.SCTimeUnit;
 import java.io.UnsupportedEncodingException;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
 
 /**
  * A wrapper class for {@link MqttManager} that provides additional functionality such as error
@@ -35,6 +38,45 @@ public abstract class ConstrainedMqttManager {
    */
   private static final int WAIT_FOR_WAN_IP_TIMEOUT_INDEFINITE = 0;
 
+  /**
+   * Publish batch framing which combines the payloads of a batch into a JSON array. Each payload
+   * must be a JSON value.
+   *
+   * @since 1.17.0
+   */
+  public static final int PUBLISH_BATCH_FRAMING_JSON_ARRAY = 0;
+
+  /**
+   * Publish batch framing which combines the payloads of a batch with a new line between each
+   * payload.
+   *
+   * @since 1.17.0
+   */
+  public static final int PUBLISH_BATCH_FRAMING_NEWLINE_DELIMITED = 1;
+
+  /**
+   * Publish rate value indicating that the rate is not limited.
+   *
+   * @since 1.17.0
+   */
+  public static final int PUBLISH_RATE_UNLIMITED = 0;
+
+  /**
+   * The default maximum number of messages (sealed publish batches, and messages held by the
+   * publish rate limit) waiting to be published on the MQTT thread when no offline buffer is set.
+   *
+   * @since 1.17.0
+   */
+  public static final int DEFAULT_MAX_PENDING_PUBLISH_MESSAGES = 256;
+
+  /**
+   * The number of failed attempts to replay a message from the offline buffer, after which the
+   * message is dropped.
+   *
+   * @since 1.17.0
+   */
+  private static final int MAX_OFFLINE_REPLAY_ATTEMPTS = 5;
+
   /**
    * The ID of the MQTT client.
    *
@@ -121,6 +163,14 @@ public abstract class ConstrainedMqttManager {
    */
   private long mqttThreadSleepIntervalMs;
 
+  /**
+   * The minimum time interval (in ms) for sleeping between intervals of the MQTT thread, used after
+   * a busy interval.
+   *
+   * @since 1.17.0
+   */
+  private long mqttThreadMinSleepIntervalMs;
+
   /**
    * The time interval (in secs) for sending keep alive messages on the MQTT client connection. The
    * default value is set to {@link MqttConstants#MQTT_KEEP_ALIVE_OPTION_DEFAULT}.
@@ -137,6 +187,103 @@ public abstract class ConstrainedMqttManager {
    */
   private boolean mqttSubscribed;
 
+  /**
+   * The map of MQTT topics with publish batching enabled to their publish batch.
+   *
+   * <p>Parameterized type: Map&lt;String, MqttPublishBatch&gt;
+   *
+   * @since 1.17.0
+   */
+  private final Map publishBatches = new HashMap();
+
+  /**
+   * The list of messages (sealed publish batches, and messages held by the publish rate limit)
+   * waiting to be published on the MQTT thread, limited to {@link #maxPendingPublishMessages}.
+   *
+   * <p>Parameterized type: ArrayList&lt;MqttOutboundMessage&gt;
+   *
+   * @since 1.17.0
+   */
+  private final ArrayList pendingPublishMessages = new ArrayList();
+
+  /**
+   * The lock for {@link #publishBatches} and {@link #pendingPublishMessages}.
+   *
+   * @since 1.17.0
+   */
+  private final Object publishBatchLock = new Object();
+
+  /**
+   * The maximum number of messages in {@link #pendingPublishMessages}.
+   *
+   * @since 1.17.0
+   */
+  private int maxPendingPublishMessages = DEFAULT_MAX_PENDING_PUBLISH_MESSAGES;
+
+  /**
+   * The drop policy applied when {@link #pendingPublishMessages} is full, {@link
+   * MqttOfflineBuffer#DROP_POLICY_OLDEST} or {@link MqttOfflineBuffer#DROP_POLICY_NEWEST}.
+   *
+   * @since 1.17.0
+   */
+  private int pendingPublishDropPolicy = MqttOfflineBuffer.DROP_POLICY_OLDEST;
+
+  /**
+   * The number of messages dropped because {@link #pendingPublishMessages} was full.
+   *
+   * @since 1.17.0
+   */
+  private long droppedPublishMessageCount;
+
+  /**
+   * The buffer for messages published while the MQTT connection is not connected, or null if
+   * offline buffering is disabled.
+   *
+   * @since 1.17.0
+   */
+  private MqttOfflineBuffer offlineBuffer;
+
+  /**
+   * The buffered message whose most recent replay from the offline buffer failed, or null. Only
+   * accessed on the MQTT thread.
+   *
+   * @since 1.17.0
+   */
+  private MqttOutboundMessage offlineReplayFailedMessage;
+
+  /**
+   * The number of failed replay attempts of {@link #offlineReplayFailedMessage}.
+   *
+   * @since 1.17.0
+   */
+  private int offlineReplayFailedAttempts;
+
+  /**
+   * The rate limiter for published messages, or null if the publish rate is not limited.
+   *
+   * @since 1.17.0
+   */
+  private MqttPublishRateLimiter publishRateLimiter;
+
+  /**
+   * The dispatcher for received MQTT messages to the handlers registered by MQTT topic filter.
+   * Exceptions thrown by handlers are passed to {@link #internalError(Throwable)}.
+   *
+   * @since 1.17.0
+   */
+  private final MqttTopicDispatcher messageDispatcher =
+      new MqttTopicDispatcher() {
+        /**
+         * Manages exceptions thrown by message handlers.
+         *
+         * @param throwable exception thrown by the handler
+         * @since 1.17.0
+         */
+        protected void onError(Throwable throwable) {
+          internalError(throwable);
+        }
+      };
+
   /**
    * Constructor for a new {@link ConstrainedMqttManager} instance which does not wait for a WAN IP
    * address to be available. The keep alive interval is set to the default value of {@link
@@ -451,6 +598,7 @@ public abstract class ConstrainedMqttManager {
     this.mqttPassword = mqttPassword;
     this.mqttQos = mqttQos;
     this.mqttThreadSleepIntervalMs = mqttThreadSleepIntervalMs;
+    this.mqttThreadMinSleepIntervalMs = mqttThreadSleepIntervalMs;
     this.mqttKeepAliveIntervalSecs = mqttKeepAliveIntervalSecs;
     this.mqttSubscriptions = new ArrayList();
     this.mqttSubscribed = false;
@@ -727,7 +875,8 @@ public abstract class ConstrainedMqttManager {
     mqttManager.setTLSVersion(mqttTlsVersion);
     mqttManager.setAuthUsername(mqttUsername);
     mqttManager.setAuthPassword(mqttPassword);
-    mqttManager.setMqttThreadSleepIntervalMs(mqttThreadSleepIntervalMs);
+    mqttManager.setMqttThreadSleepIntervalMs(
+        mqttThreadMinSleepIntervalMs, mqttThreadSleepIntervalMs);
     mqttManager.setKeepAliveSecs(mqttKeepAliveIntervalSecs);
     mqttManager.startMqttThread();
     mqttManager.connect();
@@ -761,98 +910,129 @@ public abstract class ConstrainedMqttManager {
 
   /**
    * Sets the MQTT port to be used for the MQTT connection. If the MQTT manager is currently
-   * running, the MQTT connection will be restarted with the new port.
+   * running, the MQTT connection will be restarted with the new port if it changed.
    *
    * @param mqttPort MQTT port to be used
    * @throws Exception if unable to configure MQTT port or restart MQTT connection
    * @since 1.0.0
    */
   public void setPort(String mqttPort) throws Exception {
-    this.mqttPort = mqttPort;
-    if (mqttManager != null) {
-      restart();
-    }
+    applyConfiguration(
+        mqttPort,
+        this.mqttCaFilePath,
+        this.mqttTlsVersion,
+        this.mqttUsername,
+        this.mqttPassword,
+        this.mqttQos,
+        this.mqttKeepAliveIntervalSecs,
+        null);
   }
 
   /**
    * Sets the MQTT CA file path to be used for the MQTT connection. If the MQTT manager is currently
-   * running, the MQTT connection will be restarted with the new CA file path.
+   * running, the MQTT connection will be restarted with the new CA file path if it changed.
    *
    * @param mqttCaFilePath MQTT CA file path to be used
    * @throws Exception if unable to configure MQTT CA file path or restart MQTT connection
    * @since 1.0.0
    */
   public void setCAFilePath(String mqttCaFilePath) throws Exception {
-    this.mqttCaFilePath = mqttCaFilePath;
-    if (mqttManager != null) {
-      restart();
-    }
+    applyConfiguration(
+        this.mqttPort,
+        mqttCaFilePath,
+        this.mqttTlsVersion,
+        this.mqttUsername,
+        this.mqttPassword,
+        this.mqttQos,
+        this.mqttKeepAliveIntervalSecs,
+        null);
   }
 
   /**
    * Sets the MQTT TLS version to be used for the MQTT connection. If the MQTT manager is currently
-   * running, the MQTT connection will be restarted with the new TLS version.
+   * running, the MQTT connection will be restarted with the new TLS version if it changed.
    *
    * @param mqttTlsVersion MQTT TLS version to be used
    * @throws Exception if unable to configure MQTT TLS version or restart MQTT connection
    * @since 1.0.0
    */
   public void setTLSVersion(String mqttTlsVersion) throws Exception {
-    this.mqttTlsVersion = mqttTlsVersion;
-    if (mqttManager != null) {
-      restart();
-    }
+    applyConfiguration(
+        this.mqttPort,
+        this.mqttCaFilePath,
+        mqttTlsVersion,
+        this.mqttUsername,
+        this.mqttPassword,
+        this.mqttQos,
+        this.mqttKeepAliveIntervalSecs,
+        null);
   }
 
   /**
    * Sets the MQTT username to be used for the MQTT connection. If the MQTT manager is currently
-   * running, the MQTT connection will be restarted with the new username.
+   * running, the MQTT connection will be restarted with the new username if it changed.
    *
    * @param mqttUsername MQTT username to be used
    * @throws Exception if unable to configure MQTT username or restart MQTT connection
    * @since 1.0.0
    */
   public void setAuthUsername(String mqttUsername) throws Exception {
-    this.mqttUsername = mqttUsername;
-    if (mqttManager != null) {
-      restart();
-    }
+    applyConfiguration(
+        this.mqttPort,
+        this.mqttCaFilePath,
+        this.mqttTlsVersion,
+        mqttUsername,
+        this.mqttPassword,
+        this.mqttQos,
+        this.mqttKeepAliveIntervalSecs,
+        null);
   }
 
   /**
    * Sets the MQTT password to be used for the MQTT connection. If the MQTT manager is currently
-   * running, the MQTT connection will be restarted with the new password.
+   * running, the MQTT connection will be restarted with the new password if it changed.
    *
    * @param mqttPassword MQTT password to be used
    * @throws Exception if unable to configure MQTT password or restart MQTT connection
    * @since 1.0.0
    */
   public void setAuthPassword(String mqttPassword) throws Exception {
-    this.mqttPassword = mqttPassword;
-    if (mqttManager != null) {
-      restart();
-    }
+    applyConfiguration(
+        this.mqttPort,
+        this.mqttCaFilePath,
+        this.mqttTlsVersion,
+        this.mqttUsername,
+        mqttPassword,
+        this.mqttQos,
+        this.mqttKeepAliveIntervalSecs,
+        null);
   }
 
   /**
    * Sets the MQTT QoS level to be used for the MQTT connection. If the MQTT manager is currently
-   * running, the MQTT connection will be restarted with the new QoS level.
+   * subscribed, the MQTT topics are subscribed to again with the new QoS level if it changed,
+   * without restarting the MQTT connection.
    *
    * @param mqttQos MQTT QoS level to be used
-   * @throws Exception if unable to configure MQTT QoS level or restart MQTT connection
+   * @throws Exception if unable to configure MQTT QoS level or subscribe to MQTT topics again
    * @since 1.0.0
    */
   public void setQos(int mqttQos) throws Exception {
-    this.mqttQos = mqttQos;
-    if (mqttManager != null) {
-      restart();
-    }
+    applyConfiguration(
+        this.mqttPort,
+        this.mqttCaFilePath,
+        this.mqttTlsVersion,
+        this.mqttUsername,
+        this.mqttPassword,
+        mqttQos,
+        this.mqttKeepAliveIntervalSecs,
+        null);
   }
 
   /**
    * Sets the time interval (in secs) for sending keep alive messages on the MQTT client connection.
    * If the MQTT manager is currently running, the MQTT connection will be restarted with the new
-   * keep alive interval.
+   * keep alive interval if it changed.
    *
    * @param mqttKeepAliveIntervalSecs time (in secs) for sending keep alive messages on the MQTT
    *     client connection.
@@ -860,10 +1040,15 @@ public abstract class ConstrainedMqttManager {
    * @since 1.0.1
    */
   public void setMqttKeepAliveIntervalSecs(String mqttKeepAliveIntervalSecs) throws Exception {
-    this.mqttKeepAliveIntervalSecs = mqttKeepAliveIntervalSecs;
-    if (mqttManager != null) {
-      restart();
-    }
+    applyConfiguration(
+        this.mqttPort,
+        this.mqttCaFilePath,
+        this.mqttTlsVersion,
+        this.mqttUsername,
+        this.mqttPassword,
+        this.mqttQos,
+        mqttKeepAliveIntervalSecs,
+        null);
   }
 
   /**
@@ -905,9 +1090,41 @@ public abstract class ConstrainedMqttManager {
    * @since 1.0.0
    */
   public void setMqttThreadSleepIntervalMs(long mqttThreadSleepIntervalMs) {
-    this.mqttThreadSleepIntervalMs = mqttThreadSleepIntervalMs;
+    setMqttThreadSleepIntervalMs(mqttThreadSleepIntervalMs, mqttThreadSleepIntervalMs);
+  }
+
+  /**
+   * Sets the minimum and maximum time (in ms) for sleeping between intervals of the MQTT thread.
+   * The MQTT thread sleeps for the minimum time while publish batches, rate limited messages or
+   * offline buffered messages are waiting, and the sleep time doubles after each idle interval up
+   * to the maximum time. Queued messages and MQTT status changes wake the MQTT thread immediately.
+   * Times shorter than 1 ms are raised to 1 ms. If the MQTT manager is currently running, the MQTT
+   * connection will be updated with the new sleep intervals.
+   *
+   * @param minSleepIntervalMs time (in ms) for sleeping after a busy interval of the MQTT thread
+   * @param maxSleepIntervalMs time (in ms) for sleeping when the MQTT thread is idle
+   * @since 1.17.0
+   */
+  public void setMqttThreadSleepIntervalMs(long minSleepIntervalMs, long maxSleepIntervalMs) {
+    this.mqttThreadMinSleepIntervalMs = minSleepIntervalMs;
+    this.mqttThreadSleepIntervalMs = maxSleepIntervalMs;
     if (mqttManager != null) {
-      mqttManager.setMqttThreadSleepIntervalMs(mqttThreadSleepIntervalMs);
+      mqttManager.setMqttThreadSleepIntervalMs(minSleepIntervalMs, maxSleepIntervalMs);
+    }
+  }
+
+  /**
+   * Wakes the MQTT thread, so that the {@link #runOnMqttLoop(int)} implementation method is called
+   * again without waiting for the sleep interval to elapse. Should be called after queueing work
+   * for the MQTT thread. Does nothing if the MQTT manager is not currently running, or if called on
+   * the MQTT thread (such as from the {@link #runOnMqttLoop(int)} implementation method).
+   *
+   * @since 1.17.0
+   */
+  public void wakeMqttThread() {
+    MqttManager currentMqttManager = mqttManager;
+    if (currentMqttManager != null) {
+      currentMqttManager.wakeMqttThread();
     }
   }
 
@@ -923,36 +1140,200 @@ public abstract class ConstrainedMqttManager {
 
     // If the MQTT manager is already running, subscribe to the topic.
     if (mqttManager != null && mqttSubscribed) {
-      mqttManager.subscribe(topic, mqttQos);
+      subscribeTopic(topic, mqttQos);
     }
   }
 
   /**
    * Removes the MQTT topic from the list of topics to be subscribed to. If the MQTT manager is
-   * currently running, the MQTT connection will be restarted with the updated list of
-   * subscriptions.
+   * currently running, the topic will be unsubscribed from on the existing MQTT connection.
    *
    * @param topic MQTT topic to be unsubscribed from
    * @throws Exception if unable to unsubscribe from MQTT topic
    */
   public void removeSubscription(String topic) throws Exception {
     mqttSubscriptions.remove(topic);
-    if (mqttManager != null) {
-      restart();
+
+    // If the MQTT manager is already running, unsubscribe from the topic.
+    if (mqttManager != null && mqttSubscribed) {
+      unsubscribeTopic(topic);
     }
   }
 
   /**
    * Clears the list of MQTT topics to be subscribed to. If the MQTT manager is currently running,
-   * the MQTT connection will be restarted with the updated list of subscriptions (none).
+   * each topic will be unsubscribed from on the existing MQTT connection.
    *
    * @throws Exception if unable to unsubscribe from MQTT topics
    */
   public void removeAllSubscriptions() throws Exception {
+    Object[] topics = mqttSubscriptions.toArray();
     mqttSubscriptions.clear();
-    if (mqttManager != null) {
+
+    // If the MQTT manager is already running, unsubscribe from each topic.
+    if (mqttManager != null && mqttSubscribed) {
+      for (int i = 0; i < topics.length; i++) {
+        unsubscribeTopic(topics[i].toString());
+      }
+    }
+  }
+
+  /**
+   * Registers a handler for received MQTT messages whose topic matches the given MQTT topic filter,
+   * which may contain <code>+</code> and <code>#</code> wildcards. Received messages which match
+   * at least one handler are not passed to the {@link #onMessage(MqttMessage)} implementation
+   * method. Registering a handler does not subscribe to the topic filter. Exceptions thrown by the
+   * handler are passed to the {@link #onError(Throwable)} implementation method.
+   *
+   * @param topicFilter MQTT topic filter to handle messages for
+   * @param handler handler to call for messages matching the topic filter
+   * @throws IllegalArgumentException if the topic filter is not valid
+   * @see #addSubscription(String)
+   * @since 1.17.0
+   */
+  public void addMessageHandler(String topicFilter, MqttMessageHandler handler) {
+    messageDispatcher.addHandler(topicFilter, handler);
+  }
+
+  /**
+   * Removes a handler registered for the given MQTT topic filter.
+   *
+   * @param topicFilter MQTT topic filter the handler was registered for
+   * @param handler handler to remove
+   * @return true if the handler was removed, false if it was not registered for the topic filter
+   * @throws IllegalArgumentException if the topic filter is not valid
+   * @since 1.17.0
+   */
+  public boolean removeMessageHandler(String topicFilter, MqttMessageHandler handler) {
+    return messageDispatcher.removeHandler(topicFilter, handler);
+  }
+
+  /**
+   * Applies the given MQTT settings and subscriptions in a single step. If the MQTT manager is
+   * currently running, the MQTT connection is restarted (once) only if a connection option (port,
+   * CA file path, TLS version, username, password or keep alive interval) changed. Otherwise,
+   * subscription and QoS level changes are applied to the existing MQTT connection: removed topics
+   * are unsubscribed from, added topics are subscribed to, and all topics are subscribed to again
+   * if the QoS level changed.
+   *
+   * @param mqttPort MQTT port to be used
+   * @param mqttCaFilePath MQTT CA file path to be used
+   * @param mqttTlsVersion MQTT TLS version to be used
+   * @param mqttUsername MQTT username to be used
+   * @param mqttPassword MQTT password to be used
+   * @param mqttQos MQTT QoS level to be used
+   * @param mqttKeepAliveIntervalSecs time (in secs) for sending keep alive messages on the MQTT
+   *     client connection.
+   * @param subscriptions MQTT topics to be subscribed to, or null to keep the current list of
+   *     topics
+   * @return true if the MQTT connection was restarted
+   * @throws Exception if unable to restart the MQTT connection, or to subscribe to or unsubscribe
+   *     from MQTT topics
+   * @since 1.17.0
+   */
+  public boolean applyConfiguration(
+      String mqttPort,
+      String mqttCaFilePath,
+      String mqttTlsVersion,
+      String mqttUsername,
+      String mqttPassword,
+      int mqttQos,
+      String mqttKeepAliveIntervalSecs,
+      String[] subscriptions)
+      throws Exception {
+    final boolean connectionChanged =
+        !isEqual(this.mqttPort, mqttPort)
+            || !isEqual(this.mqttCaFilePath, mqttCaFilePath)
+            || !isEqual(this.mqttTlsVersion, mqttTlsVersion)
+            || !isEqual(this.mqttUsername, mqttUsername)
+            || !isEqual(this.mqttPassword, mqttPassword)
+            || !isEqual(this.mqttKeepAliveIntervalSecs, mqttKeepAliveIntervalSecs);
+    final boolean qosChanged = this.mqttQos != mqttQos;
+    this.mqttPort = mqttPort;
+    this.mqttCaFilePath = mqttCaFilePath;
+    this.mqttTlsVersion = mqttTlsVersion;
+    this.mqttUsername = mqttUsername;
+    this.mqttPassword = mqttPassword;
+    this.mqttQos = mqttQos;
+    this.mqttKeepAliveIntervalSecs = mqttKeepAliveIntervalSecs;
+
+    // Find removed and added topics
+    ArrayList removedTopics = new ArrayList(); // ArrayList<String>
+    ArrayList addedTopics = new ArrayList(); // ArrayList<String>
+    if (subscriptions != null) {
+      ArrayList newSubscriptions = new ArrayList(); // ArrayList<String>
+      for (int i = 0; i < subscriptions.length; i++) {
+        if (!newSubscriptions.contains(subscriptions[i])) {
+          newSubscriptions.add(subscriptions[i]);
+          if (!mqttSubscriptions.contains(subscriptions[i])) {
+            addedTopics.add(subscriptions[i]);
+          }
+        }
+      }
+      for (int i = 0; i < mqttSubscriptions.size(); i++) {
+        if (!newSubscriptions.contains(mqttSubscriptions.get(i))) {
+          removedTopics.add(mqttSubscriptions.get(i));
+        }
+      }
+      mqttSubscriptions.clear();
+      mqttSubscriptions.addAll(newSubscriptions);
+    }
+
+    // Restart once if a connection option changed (subscriptions are made on connect)
+    if (mqttManager == null) {
+      return false;
+    }
+    if (connectionChanged) {
       restart();
+      return true;
+    }
+
+    // Apply subscription and QoS level changes to the existing connection
+    if (mqttSubscribed) {
+      for (int i = 0; i < removedTopics.size(); i++) {
+        unsubscribeTopic(removedTopics.get(i).toString());
+      }
+      ArrayList topicsToSubscribe = qosChanged ? mqttSubscriptions : addedTopics;
+      for (int i = 0; i < topicsToSubscribe.size(); i++) {
+        subscribeTopic(topicsToSubscribe.get(i).toString(), mqttQos);
+      }
     }
+    return false;
+  }
+
+  /**
+   * Subscribes to the specified MQTT topic on the running MQTT connection.
+   *
+   * @param topic MQTT topic to subscribe to
+   * @param qos MQTT QoS level of the subscription
+   * @throws EWException if unable to subscribe to the MQTT topic
+   * @since 1.17.0
+   */
+  void subscribeTopic(String topic, int qos) throws EWException {
+    mqttManager.subscribe(topic, qos);
+  }
+
+  /**
+   * Unsubscribes from the specified MQTT topic on the running MQTT connection.
+   *
+   * @param topic MQTT topic to unsubscribe from
+   * @throws EWException if unable to unsubscribe from the MQTT topic
+   * @since 1.17.0
+   */
+  void unsubscribeTopic(String topic) throws EWException {
+    mqttManager.unsubscribe(topic);
+  }
+
+  /**
+   * Compares two strings, either of which may be null.
+   *
+   * @param first first string, or null
+   * @param second second string, or null
+   * @return true if both strings are null or equal
+   * @since 1.17.0
+   */
+  private static boolean isEqual(String first, String second) {
+    return first == null ? second == null : first.equals(second);
   }
 
   /**
@@ -970,16 +1351,26 @@ public abstract class ConstrainedMqttManager {
    */
   public void mqttPublish(String topic, String payload, boolean retain)
       throws EWException, UnsupportedEncodingException {
-    if (mqttManager == null) {
-      throw new IllegalStateException("MQTT Manager is not started!");
-    }
-    mqttManager.mqttPublish(topic, payload, mqttQos, retain);
+    mqttPublish(topic, payload, mqttQos, retain);
   }
 
   /**
    * Publishes the given message to the given topic. If the MQTT manager is not currently running,
    * an {@link IllegalStateException} will be thrown.
    *
+   * <p>If publish batching is enabled for the topic, and the message is not retained, the message
+   * is added to the publish batch of the topic and published on the MQTT thread.
+   *
+   * <p>If an offline buffer is set, the message is added to the offline buffer instead of throwing
+   * an exception when the MQTT manager is not running or not connected, or when the message can not
+   * be published. Messages are also added to the offline buffer while it holds messages waiting to
+   * be replayed, to preserve their order.
+   *
+   * <p>If the publish rate is limited and the message exceeds the current rate, the message is
+   * added to the offline buffer (if set), or is published on the MQTT thread once the rate allows.
+   * Messages held by the rate limit are dropped, using the drop policy, when the maximum number of
+   * messages waiting to be published is reached.
+   *
    * @param topic the MQTT topic to publish the message to
    * @param payload the MQTT message payload to publish
    * @param qos the MQTT QoS level to publish the message at
@@ -988,13 +1379,494 @@ public abstract class ConstrainedMqttManager {
    * @throws EWException if an Ewon exception occurs. See the Ewon event log for more details.
    * @throws UnsupportedEncodingException if the character encoding is not supported.
    * @throws IllegalStateException if the MQTT manager is not currently running or is not connected.
+   * @see #setOfflineBuffer(MqttOfflineBuffer)
+   * @see #enablePublishRateLimit(int, int)
+   * @see #setMaxPendingPublishMessages(int, int)
    */
   public void mqttPublish(String topic, String payload, int qos, boolean retain)
       throws EWException, UnsupportedEncodingException {
-    if (mqttManager == null) {
+    MqttOfflineBuffer currentOfflineBuffer = offlineBuffer;
+    MqttManager currentMqttManager = mqttManager;
+    if (currentMqttManager == null && currentOfflineBuffer == null) {
       throw new IllegalStateException("MQTT Manager is not started!");
     }
-    mqttManager.mqttPublish(topic, payload, qos, retain);
+    if (!retain && addToPublishBatch(topic, payload, qos)) {
+      return;
+    }
+    MqttOutboundMessage message = new MqttOutboundMessage(topic, payload, qos, retain);
+    if (currentOfflineBuffer == null) {
+      // Publish on the MQTT thread if rate limited, otherwise publish directly
+      if (publishRateLimiter != null) {
+        synchronized (publishBatchLock) {
+          if (!pendingPublishMessages.isEmpty() || !acquirePublishRate(message)) {
+            addPendingPublishMessage(message);
+            wakeMqttThread();
+            return;
+          }
+        }
+      }
+      publishMessage(currentMqttManager, message);
+      return;
+    }
+
+    // Publish directly if connected, no messages are waiting to be replayed and the rate allows
+    if (currentMqttManager != null
+        && currentOfflineBuffer.isEmpty()
+        && currentMqttManager.getStatus() == MqttStatusCode.CONNECTED
+        && acquirePublishRate(message)) {
+      try {
+        publishMessage(currentMqttManager, message);
+        return;
+      } catch (Exception e) {
+        // Buffer message below
+      }
+    }
+    currentOfflineBuffer.add(message);
+    wakeMqttThread();
+  }
+
+  /**
+   * Publishes the given message using the given MQTT manager. If the message can not be
+   * published, the publish rate (if limited) is lowered before the exception is thrown.
+   *
+   * @param currentMqttManager the MQTT manager to publish the message with
+   * @param message the message to publish
+   * @throws EWException if an Ewon exception occurs. See the Ewon event log for more details.
+   * @throws UnsupportedEncodingException if the character encoding is not supported.
+   * @throws IllegalStateException if the MQTT manager is not connected.
+   * @since 1.17.0
+   */
+  private void publishMessage(MqttManager currentMqttManager, MqttOutboundMessage message)
+      throws EWException, UnsupportedEncodingException {
+    try {
+      currentMqttManager.mqttPublish(
+          message.getTopic(), message.getPayload(), message.getQos(), message.getRetain());
+    } catch (EWException e) {
+      reportPublishCongestion();
+      throw e;
+    } catch (RuntimeException e) {
+      reportPublishCongestion();
+      throw e;
+    }
+  }
+
+  /**
+   * Limits the rate of published messages, including messages replayed from the offline buffer and
+   * sealed publish batches. Messages exceeding the current rate are held (up to the maximum set by
+   * {@link #setMaxPendingPublishMessages(int, int)}) and published on the MQTT thread once the rate
+   * allows. The current rate is lowered after publish errors or a disconnect, and is raised
+   * gradually back to the specified maximum rates while publishing succeeds.
+   *
+   * @param maxMessagesPerSecond the maximum number of messages published per second, or {@link
+   *     #PUBLISH_RATE_UNLIMITED}
+   * @param maxBytesPerSecond the maximum number of payload bytes published per second, or {@link
+   *     #PUBLISH_RATE_UNLIMITED}
+   * @throws IllegalArgumentException if a maximum rate is negative
+   * @since 1.17.0
+   */
+  public void enablePublishRateLimit(int maxMessagesPerSecond, int maxBytesPerSecond) {
+    if (maxMessagesPerSecond < 0 || maxBytesPerSecond < 0) {
+      throw new IllegalArgumentException("MQTT publish rate limits must not be negative.");
+    }
+    publishRateLimiter =
+        new MqttPublishRateLimiter(
+            maxMessagesPerSecond, maxBytesPerSecond, System.currentTimeMillis());
+  }
+
+  /**
+   * Disables the publish rate limit. Messages held by the rate limit are published on the MQTT
+   * thread.
+   *
+   * @since 1.17.0
+   */
+  public void disablePublishRateLimit() {
+    publishRateLimiter = null;
+  }
+
+  /**
+   * Gets the current number of messages which may be published per second, which is lowered after
+   * publish errors or a disconnect.
+   *
+   * @return the current messages per second, or {@link #PUBLISH_RATE_UNLIMITED}
+   * @since 1.17.0
+   */
+  public double getPublishRateMessagesPerSecond() {
+    MqttPublishRateLimiter currentRateLimiter = publishRateLimiter;
+    return currentRateLimiter != null
+        ? currentRateLimiter.getCurrentMessagesPerSecond()
+        : PUBLISH_RATE_UNLIMITED;
+  }
+
+  /**
+   * Gets the current number of payload bytes which may be published per second, which is lowered
+   * after publish errors or a disconnect.
+   *
+   * @return the current bytes per second, or {@link #PUBLISH_RATE_UNLIMITED}
+   * @since 1.17.0
+   */
+  public double getPublishRateBytesPerSecond() {
+    MqttPublishRateLimiter currentRateLimiter = publishRateLimiter;
+    return currentRateLimiter != null
+        ? currentRateLimiter.getCurrentBytesPerSecond()
+        : PUBLISH_RATE_UNLIMITED;
+  }
+
+  /**
+   * Gets the number of messages waiting to be published, including sealed publish batches,
+   * messages held by the publish rate limit and messages in the offline buffer.
+   *
+   * @return the number of messages waiting to be published
+   * @since 1.17.0
+   */
+  public int getPublishQueueDepth() {
+    int depth;
+    synchronized (publishBatchLock) {
+      depth = pendingPublishMessages.size();
+    }
+    MqttOfflineBuffer currentOfflineBuffer = offlineBuffer;
+    if (currentOfflineBuffer != null) {
+      depth += currentOfflineBuffer.getSize();
+    }
+    return depth;
+  }
+
+  /**
+   * Sets the maximum number of messages (sealed publish batches, and messages held by the publish
+   * rate limit) waiting to be published on the MQTT thread, which limits the memory used while the
+   * MQTT connection is not connected and no offline buffer is set. When the limit is reached, the
+   * oldest or newest waiting message is dropped, and counted by {@link
+   * #getDroppedPublishMessageCount()}. Defaults to {@link #DEFAULT_MAX_PENDING_PUBLISH_MESSAGES}
+   * messages and {@link MqttOfflineBuffer#DROP_POLICY_OLDEST}.
+   *
+   * @param maxPendingPublishMessages the maximum number of messages waiting to be published
+   * @param dropPolicy drop policy, {@link MqttOfflineBuffer#DROP_POLICY_OLDEST} or {@link
+   *     MqttOfflineBuffer#DROP_POLICY_NEWEST}
+   * @throws IllegalArgumentException if the maximum number of messages is not positive, or the drop
+   *     policy is not valid
+   * @since 1.17.0
+   */
+  public void setMaxPendingPublishMessages(int maxPendingPublishMessages, int dropPolicy) {
+    if (maxPendingPublishMessages <= 0) {
+      throw new IllegalArgumentException(
+          "Maximum number of pending MQTT publish messages must be positive.");
+    }
+    if (dropPolicy != MqttOfflineBuffer.DROP_POLICY_OLDEST
+        && dropPolicy != MqttOfflineBuffer.DROP_POLICY_NEWEST) {
+      throw new IllegalArgumentException("Invalid MQTT drop policy: " + dropPolicy + ".");
+    }
+    synchronized (publishBatchLock) {
+      this.maxPendingPublishMessages = maxPendingPublishMessages;
+      this.pendingPublishDropPolicy = dropPolicy;
+      trimPendingPublishMessages(0);
+    }
+  }
+
+  /**
+   * Gets the number of messages (sealed publish batches, and messages held by the publish rate
+   * limit) dropped because the maximum number of messages waiting to be published was reached.
+   * Messages dropped by the offline buffer are counted by {@link
+   * MqttOfflineBuffer#getDroppedMessageCount()}.
+   *
+   * @return the number of dropped messages
+   * @see #setMaxPendingPublishMessages(int, int)
+   * @since 1.17.0
+   */
+  public long getDroppedPublishMessageCount() {
+    synchronized (publishBatchLock) {
+      return droppedPublishMessageCount;
+    }
+  }
+
+  /**
+   * Adds the given message to the end of the list of messages waiting to be published, dropping a
+   * message if the list is full. Must be called while holding {@link #publishBatchLock}.
+   *
+   * @param message the message to add
+   * @since 1.17.0
+   */
+  private void addPendingPublishMessage(MqttOutboundMessage message) {
+    pendingPublishMessages.add(message);
+    trimPendingPublishMessages(1);
+  }
+
+  /**
+   * Drops messages waiting to be published, using the drop policy, until there are no more than
+   * the maximum number of messages. Must be called while holding {@link #publishBatchLock}.
+   *
+   * @param newestCount the number of messages at the end of the list which were just added, and
+   *     are dropped first by {@link MqttOfflineBuffer#DROP_POLICY_NEWEST}
+   * @since 1.17.0
+   */
+  private void trimPendingPublishMessages(int newestCount) {
+    while (pendingPublishMessages.size() > maxPendingPublishMessages) {
+      if (pendingPublishDropPolicy == MqttOfflineBuffer.DROP_POLICY_NEWEST && newestCount > 0) {
+        pendingPublishMessages.remove(pendingPublishMessages.size() - 1);
+        newestCount--;
+      } else {
+        pendingPublishMessages.remove(0);
+      }
+      droppedPublishMessageCount++;
+    }
+  }
+
+  /**
+   * Takes the publish rate tokens for the given message, if the publish rate is limited.
+   *
+   * @param message the message to publish
+   * @return true if the message may be published, false if it exceeds the current rate
+   * @since 1.17.0
+   */
+  private boolean acquirePublishRate(MqttOutboundMessage message) {
+    MqttPublishRateLimiter currentRateLimiter = publishRateLimiter;
+    return currentRateLimiter == null
+        || currentRateLimiter.tryAcquire(
+            MqttPublishBatch.getUtf8Length(message.getPayload()), System.currentTimeMillis());
+  }
+
+  /**
+   * Lowers the publish rate (if limited) after a publish error or a disconnect.
+   *
+   * @since 1.17.0
+   */
+  private void reportPublishCongestion() {
+    MqttPublishRateLimiter currentRateLimiter = publishRateLimiter;
+    if (currentRateLimiter != null) {
+      currentRateLimiter.onCongestion(System.currentTimeMillis());
+    }
+  }
+
+  /**
+   * Sets the buffer for messages published while the MQTT connection is not connected. Buffered
+   * messages (including sealed publish batches) are replayed in order on the MQTT thread once the
+   * MQTT connection is connected, before the {@link #onConnect()} implementation method is called.
+   *
+   * @param offlineBuffer the offline buffer, or null to disable offline buffering
+   * @since 1.17.0
+   */
+  public void setOfflineBuffer(MqttOfflineBuffer offlineBuffer) {
+    this.offlineBuffer = offlineBuffer;
+  }
+
+  /**
+   * Gets the buffer for messages published while the MQTT connection is not connected.
+   *
+   * @return the offline buffer, or null if offline buffering is disabled
+   * @since 1.17.0
+   */
+  public MqttOfflineBuffer getOfflineBuffer() {
+    return offlineBuffer;
+  }
+
+  /**
+   * Publishes the messages held by the offline buffer, oldest first, until the buffer is empty, a
+   * message can not be published or the publish rate is exceeded. A message which can not be
+   * published after {@link #MAX_OFFLINE_REPLAY_ATTEMPTS} attempts is dropped, and counted by {@link
+   * MqttOfflineBuffer#getDroppedMessageCount()}. Called on the MQTT thread.
+   *
+   * <p>The buffer lock is only held to get and remove each message, so that publishing (which may
+   * block) does not block threads adding messages to the buffer. Messages are only replayed on the
+   * MQTT thread, so each message is only replayed once.
+   *
+   * @since 1.17.0
+   */
+  private void replayOfflineBuffer() {
+    MqttOfflineBuffer currentOfflineBuffer = offlineBuffer;
+    MqttManager currentMqttManager = mqttManager;
+    if (currentOfflineBuffer == null || currentMqttManager == null) {
+      return;
+    }
+
+    MqttOutboundMessage message = currentOfflineBuffer.peek();
+    while (message != null && acquirePublishRate(message)) {
+      try {
+        publishMessage(currentMqttManager, message);
+      } catch (Exception e) {
+        // Count failed attempts of the same message, and drop it once the limit is reached
+        if (message != offlineReplayFailedMessage) {
+          offlineReplayFailedMessage = message;
+          offlineReplayFailedAttempts = 0;
+        }
+        offlineReplayFailedAttempts++;
+        if (offlineReplayFailedAttempts >= MAX_OFFLINE_REPLAY_ATTEMPTS
+            && currentOfflineBuffer.drop(message)) {
+          offlineReplayFailedMessage = null;
+          internalError(
+              new MqttException(
+                  "Dropped buffered MQTT message to topic "
+                      + message.getTopic()
+                      + " after "
+                      + MAX_OFFLINE_REPLAY_ATTEMPTS
+                      + " failed attempts.",
+                  e));
+        } else {
+          internalError(
+              new MqttException(
+                  "Unable to publish buffered MQTT message to topic: " + message.getTopic(), e));
+        }
+        return;
+      }
+      currentOfflineBuffer.remove(message);
+      offlineReplayFailedMessage = null;
+      message = currentOfflineBuffer.peek();
+    }
+  }
+
+  /**
+   * Enables publish batching for the given topic. Messages published to the topic (other than
+   * retained messages) are combined into a single message using the specified framing, which is
+   * published on the MQTT thread once adding another message would exceed {@code maxBatchBytes},
+   * or once {@code lingerMillis} has elapsed since the first message of the batch was published.
+   * Batches are only published while the MQTT connection is connected. If no offline buffer is set,
+   * sealed batches are held until the MQTT connection is connected, up to the limit set by {@link
+   * #setMaxPendingPublishMessages(int, int)}.
+   *
+   * <p>If publish batching is already enabled for the topic, the current batch is sealed and the
+   * new settings are applied to the next batch.
+   *
+   * @param topic the MQTT topic to enable publish batching for
+   * @param maxBatchBytes the maximum size (in bytes) of a combined message payload. A message
+   *     larger than this size is published on its own.
+   * @param lingerMillis the maximum time (in ms) a message is held before its batch is published
+   * @param framing the framing used to combine messages, {@link #PUBLISH_BATCH_FRAMING_JSON_ARRAY}
+   *     or {@link #PUBLISH_BATCH_FRAMING_NEWLINE_DELIMITED}
+   * @throws IllegalArgumentException if the maximum batch size, linger time or framing is not valid
+   * @since 1.17.0
+   */
+  public void enablePublishBatching(
+      String topic, int maxBatchBytes, long lingerMillis, int framing) {
+    if (maxBatchBytes <= 0 || lingerMillis < 0) {
+      throw new IllegalArgumentException(
+          "MQTT publish batch size must be positive and linger time must not be negative.");
+    }
+    if (framing != PUBLISH_BATCH_FRAMING_JSON_ARRAY
+        && framing != PUBLISH_BATCH_FRAMING_NEWLINE_DELIMITED) {
+      throw new IllegalArgumentException("Invalid MQTT publish batch framing: " + framing + ".");
+    }
+    synchronized (publishBatchLock) {
+      sealPublishBatch((MqttPublishBatch) publishBatches.get(topic));
+      publishBatches.put(
+          topic, new MqttPublishBatch(topic, maxBatchBytes, lingerMillis, framing));
+    }
+    wakeMqttThread();
+  }
+
+  /**
+   * Disables publish batching for the given topic. The current batch of the topic is sealed, and
+   * is published on the MQTT thread.
+   *
+   * @param topic the MQTT topic to disable publish batching for
+   * @since 1.17.0
+   */
+  public void disablePublishBatching(String topic) {
+    synchronized (publishBatchLock) {
+      sealPublishBatch((MqttPublishBatch) publishBatches.remove(topic));
+    }
+    wakeMqttThread();
+  }
+
+  /**
+   * Adds the given message to the publish batch of the given topic, if publish batching is enabled
+   * for the topic.
+   *
+   * @param topic the MQTT topic to publish the message to
+   * @param payload the MQTT message payload to publish
+   * @param qos the MQTT QoS level to publish the message at
+   * @return true if the message was added to a publish batch, false if publish batching is not
+   *     enabled for the topic
+   * @since 1.17.0
+   */
+  private boolean addToPublishBatch(String topic, String payload, int qos) {
+    synchronized (publishBatchLock) {
+      MqttPublishBatch publishBatch = (MqttPublishBatch) publishBatches.get(topic);
+      if (publishBatch == null) {
+        return false;
+      }
+      if (!publishBatch.canAdd(payload, qos)) {
+        sealPublishBatch(publishBatch);
+      }
+      final long currentTimeMillis = System.currentTimeMillis();
+      publishBatch.add(payload, qos, currentTimeMillis);
+      if (publishBatch.isDue(currentTimeMillis)) {
+        sealPublishBatch(publishBatch);
+      }
+      wakeMqttThread();
+      return true;
+    }
+  }
+
+  /**
+   * Seals the given publish batch, if it is not empty, and adds its combined message to the list
+   * of messages waiting to be published. Must be called while holding {@link #publishBatchLock}.
+   *
+   * @param publishBatch the publish batch to seal, or null
+   * @since 1.17.0
+   */
+  private void sealPublishBatch(MqttPublishBatch publishBatch) {
+    if (publishBatch != null && !publishBatch.isEmpty()) {
+      addPendingPublishMessage(publishBatch.seal());
+    }
+  }
+
+  /**
+   * Seals the publish batches which are full or whose linger time has elapsed, and publishes the
+   * sealed batches (in order) if the MQTT connection is connected and the publish rate allows. If
+   * an offline buffer is set, sealed batches are added to the offline buffer while the MQTT
+   * connection is not connected, or if they can not be published or exceed the publish rate.
+   * Called on the MQTT thread.
+   *
+   * @param currentMqttStatus the current MQTT status integer
+   * @since 1.17.0
+   */
+  private void flushPublishBatches(int currentMqttStatus) {
+    MqttManager currentMqttManager = mqttManager;
+    MqttOfflineBuffer currentOfflineBuffer = offlineBuffer;
+    final boolean connected =
+        currentMqttManager != null && currentMqttStatus == MqttStatusCode.CONNECTED;
+    Object[] messages;
+    synchronized (publishBatchLock) {
+      final long currentTimeMillis = System.currentTimeMillis();
+      Iterator publishBatchIterator = publishBatches.values().iterator();
+      while (publishBatchIterator.hasNext()) {
+        MqttPublishBatch publishBatch = (MqttPublishBatch) publishBatchIterator.next();
+        if (publishBatch.isDue(currentTimeMillis)) {
+          sealPublishBatch(publishBatch);
+        }
+      }
+      if ((!connected && currentOfflineBuffer == null) || pendingPublishMessages.isEmpty()) {
+        return;
+      }
+      messages = pendingPublishMessages.toArray();
+      pendingPublishMessages.clear();
+    }
+
+    for (int i = 0; i < messages.length; i++) {
+      MqttOutboundMessage message = (MqttOutboundMessage) messages[i];
+      final boolean bufferEmpty = currentOfflineBuffer == null || currentOfflineBuffer.isEmpty();
+      if (connected && bufferEmpty && acquirePublishRate(message)) {
+        try {
+          publishMessage(currentMqttManager, message);
+          continue;
+        } catch (Exception e) {
+          if (currentOfflineBuffer == null) {
+            internalError(
+                new MqttException(
+                    "Unable to publish batched MQTT message to topic: " + message.getTopic(), e));
+            continue;
+          }
+        }
+      } else if (currentOfflineBuffer == null) {
+        // Publish rate exceeded, hold remaining messages (in order) until the next iteration
+        synchronized (publishBatchLock) {
+          final int newestCount = pendingPublishMessages.size();
+          for (int x = i; x < messages.length; x++) {
+            pendingPublishMessages.add(x - i, messages[x]);
+          }
+          trimPendingPublishMessages(newestCount);
+        }
+        return;
+      }
+      currentOfflineBuffer.add(message);
+    }
   }
 
   /**
@@ -1011,12 +1883,18 @@ public abstract class ConstrainedMqttManager {
 
   /**
    * Internal method which is called when a message is received by the wrapped MQTT manager. This
-   * method will attempt to handle the message, and if it does not need to, or is unable to do so,
-   * will pass the message to the {@link #onMessage(MqttMessage)} implementation method.
+   * method will dispatch the message to the handlers registered for matching MQTT topic filters,
+   * and if there are none, will pass the message to the {@link #onMessage(MqttMessage)}
+   * implementation method.
    *
    * @param mqttMessage received MQTT message
    */
   private void internalMessage(MqttMessage mqttMessage) {
+    // Dispatch to registered message handlers
+    if (messageDispatcher.dispatch(mqttMessage) > 0) {
+      return;
+    }
+
     // Call implementation onMessage method
     onMessage(mqttMessage);
   }
@@ -1030,8 +1908,49 @@ public abstract class ConstrainedMqttManager {
    * @since 1.0.0
    */
   private void internalRunOnMqttLoop(int currentMqttStatus) {
+    // Replay offline buffer (if connected), then publish due publish batches
+    if (currentMqttStatus == MqttStatusCode.CONNECTED) {
+      replayOfflineBuffer();
+    }
+    flushPublishBatches(currentMqttStatus);
+
     // Call implementation runOnMqttLoop method
-    runOnMqttLoop(currentMqttStatus);
+    try {
+      runOnMqttLoop(currentMqttStatus);
+    } finally {
+      // Keep MQTT thread sleep interval short while messages (including messages queued by the
+      // implementation, which can not wake the MQTT thread from the MQTT thread) are waiting
+      MqttManager currentMqttManager = mqttManager;
+      if (currentMqttManager != null && isPublishWorkWaiting(currentMqttStatus)) {
+        currentMqttManager.setMqttThreadBusy();
+      }
+    }
+  }
+
+  /**
+   * Gets a boolean indicating if messages are waiting to be published on the MQTT thread: open
+   * publish batches (waiting for their linger time), or messages held by the publish rate limit or
+   * the offline buffer while the MQTT connection is connected.
+   *
+   * @param currentMqttStatus the current MQTT status integer
+   * @return true if messages are waiting to be published
+   * @since 1.17.0
+   */
+  private boolean isPublishWorkWaiting(int currentMqttStatus) {
+    final boolean connected = currentMqttStatus == MqttStatusCode.CONNECTED;
+    synchronized (publishBatchLock) {
+      if (connected && !pendingPublishMessages.isEmpty()) {
+        return true;
+      }
+      Iterator publishBatchIterator = publishBatches.values().iterator();
+      while (publishBatchIterator.hasNext()) {
+        if (!((MqttPublishBatch) publishBatchIterator.next()).isEmpty()) {
+          return true;
+        }
+      }
+    }
+    MqttOfflineBuffer currentOfflineBuffer = offlineBuffer;
+    return connected && currentOfflineBuffer != null && !currentOfflineBuffer.isEmpty();
   }
 
   /**
@@ -1043,6 +1962,11 @@ public abstract class ConstrainedMqttManager {
    * @since 1.0.0
    */
   private void internalOnStatus(int status) {
+    // Lower publish rate (if limited) after a disconnect
+    if (status == MqttStatusCode.DISCONNECTED) {
+      reportPublishCongestion();
+    }
+
     // Call implementation onStatus method
     onStatus(status);
   }
@@ -1056,12 +1980,12 @@ public abstract class ConstrainedMqttManager {
    *
    * @since 1.0.0
    */
-  private void internalOnConnect() {
+  void internalOnConnect() {
     // Subscribe to topics if not subscribed
     if (!mqttSubscribed) {
       for (int i = 0; i < mqttSubscriptions.size(); i++) {
         try {
-          mqttManager.subscribe(mqttSubscriptions.get(i).toString(), mqttQos);
+          subscribeTopic(mqttSubscriptions.get(i).toString(), mqttQos);
         } catch (EWException e) {
           onError(
               new RuntimeException("Unable to subscribe to topic: " + mqttSubscriptions.get(i)));
@@ -1070,6 +1994,9 @@ public abstract class ConstrainedMqttManager {
       mqttSubscribed = true;
     }
 
+    // Replay messages buffered while not connected
+    replayOfflineBuffer();
+
     // Call implementation onConnect method
     onConnect();
   }
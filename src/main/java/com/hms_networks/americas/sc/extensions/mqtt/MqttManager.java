@@ -18,13 +18,48 @@ public abstract class MqttManager extends MqttClient {
    *
    * @see #mqttThreadSleepIntervalMs
    */
-  private Thread mqttThread;
+  private volatile Thread mqttThread;
 
-  /** Delay between executions of the MQTT thread. */
+  /** Delay between executions of the MQTT thread when idle (maximum delay). */
   private long mqttThreadSleepIntervalMs = 1000;
 
+  /**
+   * Delay between executions of the MQTT thread after a busy execution (minimum delay).
+   *
+   * @since 1.17.0
+   */
+  private long mqttThreadMinSleepIntervalMs = 1000;
+
+  /**
+   * Current delay between executions of the MQTT thread, which doubles after each idle execution.
+   *
+   * @since 1.17.0
+   */
+  private long mqttThreadCurrentSleepIntervalMs = 1000;
+
+  /**
+   * Lock used to wait between executions of the MQTT thread, and to wake the MQTT thread.
+   *
+   * @since 1.17.0
+   */
+  private final Object mqttThreadWakeLock = new Object();
+
+  /**
+   * Boolean flag indicating the MQTT thread should run again without waiting.
+   *
+   * @since 1.17.0
+   */
+  private boolean mqttThreadWakeRequested = false;
+
+  /**
+   * Boolean flag indicating the MQTT thread was busy, and should wait the minimum delay.
+   *
+   * @since 1.17.0
+   */
+  private boolean mqttThreadBusy = false;
+
   /** Boolean flag to control the MQTT thread loop. */
-  private boolean mqttThreadRun = true;
+  private volatile boolean mqttThreadRun = true;
 
   /**
    * Boolean flag to enable UTF8 string conversion. Will enable non-ASCII characters, but decreases
@@ -102,6 +137,9 @@ public abstract class MqttManager extends MqttClient {
     // Stop MQTT thread if running
     stopMqttThread();
 
+    // Set MQTT thread run flag before starting, so that stopping right after starting is not lost
+    mqttThreadRun = true;
+
     // Set up MQTT thread to call internal MQTT thread method and start
     mqttThread =
         new Thread(
@@ -117,54 +155,144 @@ public abstract class MqttManager extends MqttClient {
   /** Stops the MQTT thread (if it is running) */
   public void stopMqttThread() {
     mqttThreadRun = false;
+    wakeMqttThread();
   }
 
   /**
-   * Set the sleep interval (in ms) for sleeping between intervals of the MQTT thread.
+   * Set the sleep interval (in ms) for sleeping between intervals of the MQTT thread. Intervals
+   * shorter than 1 ms are raised to 1 ms.
    *
    * @param mqttThreadSleepIntervalMs sleep interval (in ms)
    */
   public void setMqttThreadSleepIntervalMs(long mqttThreadSleepIntervalMs) {
-    this.mqttThreadSleepIntervalMs = mqttThreadSleepIntervalMs;
+    setMqttThreadSleepIntervalMs(mqttThreadSleepIntervalMs, mqttThreadSleepIntervalMs);
   }
 
-  /** Internal (private) method that runs on {@link #mqttThread}. */
-  private void internalMqttThreadMethod() {
-    // Set MQTT thread run flag to true
-    mqttThreadRun = true;
+  /**
+   * Set the minimum and maximum sleep intervals (in ms) for sleeping between intervals of the MQTT
+   * thread. The MQTT thread sleeps for the minimum interval after a busy interval, and the sleep
+   * interval doubles after each idle interval, up to the maximum interval. An interval is busy if
+   * {@link #setMqttThreadBusy()} was called during it. Intervals shorter than 1 ms are raised to 1
+   * ms, so that the MQTT thread never runs without sleeping.
+   *
+   * @param minSleepIntervalMs sleep interval (in ms) after a busy interval
+   * @param maxSleepIntervalMs sleep interval (in ms) when idle
+   * @since 1.17.0
+   */
+  public void setMqttThreadSleepIntervalMs(long minSleepIntervalMs, long maxSleepIntervalMs) {
+    synchronized (mqttThreadWakeLock) {
+      this.mqttThreadMinSleepIntervalMs = Math.max(1, minSleepIntervalMs);
+      this.mqttThreadSleepIntervalMs = Math.max(mqttThreadMinSleepIntervalMs, maxSleepIntervalMs);
+      this.mqttThreadCurrentSleepIntervalMs = mqttThreadMinSleepIntervalMs;
+    }
+  }
+
+  /**
+   * Wakes the MQTT thread, so that {@link #runOnMqttLoop(int)} is called again without waiting for
+   * the sleep interval to elapse. Should be called after queueing work for the MQTT thread. Calls
+   * made on the MQTT thread are ignored, as the MQTT thread is already running; work remaining on
+   * the MQTT thread should be reported using {@link #setMqttThreadBusy()} instead.
+   *
+   * @since 1.17.0
+   */
+  public void wakeMqttThread() {
+    if (Thread.currentThread() == mqttThread) {
+      return;
+    }
+    synchronized (mqttThreadWakeLock) {
+      mqttThreadWakeRequested = true;
+      mqttThreadWakeLock.notifyAll();
+    }
+  }
 
+  /**
+   * Marks the current interval of the MQTT thread as busy, so that it sleeps for the minimum sleep
+   * interval before running again. Should be called from {@link #runOnMqttLoop(int)} when work
+   * remains to be done.
+   *
+   * @since 1.17.0
+   */
+  public void setMqttThreadBusy() {
+    synchronized (mqttThreadWakeLock) {
+      mqttThreadBusy = true;
+    }
+  }
+
+  /**
+   * Internal (private) method that runs on {@link #mqttThread}. A replaced MQTT thread stops once
+   * it is no longer the current {@link #mqttThread}.
+   */
+  private void internalMqttThreadMethod() {
     // Loop while MQTT thread run flag is true
-    while (mqttThreadRun) {
-      // Run abstract MQTT loop function
+    while (mqttThreadRun && Thread.currentThread() == mqttThread) {
+      runMqttThreadInterval();
+    }
+  }
+
+  /**
+   * Runs one interval of the MQTT thread: calls {@link #runOnMqttLoop(int)} with the current MQTT
+   * status, then waits for the current sleep interval unless the MQTT thread was woken or stopped.
+   *
+   * @since 1.17.0
+   */
+  void runMqttThreadInterval() {
+    // Run abstract MQTT loop function
+    try {
+      int status = getStatus();
       try {
-        int status = getStatus();
-        try {
-          runOnMqttLoop(status);
-        } catch (Exception e2) {
-          // Create human-readable exception explanation and call onError().
-          String exceptionMsg = "Unable to run MQTT loop!";
-          MqttException mqttException = new MqttException(exceptionMsg, e2);
-          onError(mqttException);
-        }
-      } catch (Exception e1) {
+        runOnMqttLoop(status);
+      } catch (Exception e2) {
         // Create human-readable exception explanation and call onError().
-        String exceptionMsg = "Unable to get the MQTT status value!";
-        MqttException mqttException = new MqttException(exceptionMsg, e1);
+        String exceptionMsg = "Unable to run MQTT loop!";
+        MqttException mqttException = new MqttException(exceptionMsg, e2);
         onError(mqttException);
       }
+    } catch (Exception e1) {
+      // Create human-readable exception explanation and call onError().
+      String exceptionMsg = "Unable to get the MQTT status value!";
+      MqttException mqttException = new MqttException(exceptionMsg, e1);
+      onError(mqttException);
+    }
 
-      // Delay for configured seconds before running again
-      try {
-        Thread.sleep(mqttThreadSleepIntervalMs);
-      } catch (InterruptedException e) {
-        // Create human-readable exception explanation and call onError().
-        String exceptionMsg = "Unable to delay between MQTT loop executions!";
-        MqttException mqttException = new MqttException(exceptionMsg, e);
-        onError(mqttException);
+    // Delay before running again, unless woken (shortest after a busy interval)
+    try {
+      synchronized (mqttThreadWakeLock) {
+        if (mqttThreadBusy) {
+          mqttThreadCurrentSleepIntervalMs = mqttThreadMinSleepIntervalMs;
+        } else {
+          mqttThreadCurrentSleepIntervalMs =
+              Math.min(
+                  mqttThreadSleepIntervalMs,
+                  Math.max(mqttThreadMinSleepIntervalMs, mqttThreadCurrentSleepIntervalMs * 2));
+        }
+        mqttThreadBusy = false;
+        if (!mqttThreadWakeRequested && mqttThreadRun) {
+          waitForWake(mqttThreadWakeLock, mqttThreadCurrentSleepIntervalMs);
+        }
+        mqttThreadWakeRequested = false;
       }
+    } catch (InterruptedException e) {
+      // Create human-readable exception explanation and call onError().
+      String exceptionMsg = "Unable to delay between MQTT loop executions!";
+      MqttException mqttException = new MqttException(exceptionMsg, e);
+      onError(mqttException);
     }
   }
 
+  /**
+   * Waits on the specified lock for the specified sleep interval, or until the lock is notified
+   * by {@link #wakeMqttThread()} or {@link #stopMqttThread()}. Must be called while holding the
+   * lock.
+   *
+   * @param wakeLock lock to wait on
+   * @param sleepIntervalMs sleep interval (in ms)
+   * @throws InterruptedException if interrupted while waiting
+   * @since 1.17.0
+   */
+  void waitForWake(Object wakeLock, long sleepIntervalMs) throws InterruptedException {
+    wakeLock.wait(sleepIntervalMs);
+  }
+
   /** Disconnects and ends the MQTT connection */
   public void disconnect() {
     close();
@@ -433,6 +561,9 @@ public abstract class MqttManager extends MqttClient {
         if (status == MqttStatusCode.CONNECTED) {
           onConnect();
         }
+
+        // Wake MQTT thread to run with the new status
+        wakeMqttThread();
       } catch (EWException e) {
         // Create human-readable exception explanation and call onError().
         String exceptionMsg = "Unable to read the status code from an MQTT status change event!";
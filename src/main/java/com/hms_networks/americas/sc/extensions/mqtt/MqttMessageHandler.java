@@ -0,0 +1,26 @@
+package com.hms_networks.americas.sc.extensions.mqtt;
+
+import com.ewon.ewonitf.MqttMessage;
+
+/**
+ * Interface for handling received MQTT messages which match an MQTT topic filter. Handlers are
+ * registered using {@link MqttTopicDispatcher#addHandler(String, MqttMessageHandler)}, or {@link
+ * ConstrainedMqttManager#addMessageHandler(String, MqttMessageHandler)}.
+ *
+ * <p>Handlers are called on the thread dispatching the message (the MQTT thread for {@link
+ * ConstrainedMqttManager}), and should return quickly.
+ *
+ * @author HMS Networks; Americas
+ * @since 1.17.0
+ * @version 1.0.0
+ */
+public interface MqttMessageHandler {
+
+  /**
+   * Called for each received MQTT message whose topic matches the topic filter of the handler.
+   *
+   * @param mqttMessage received MQTT message
+   * @since 1.0.0
+   */
+  void onMessage(MqttMessage mqttMessage);
+}
@@ -0,0 +1,758 @@
+package com.hms_networks.americas.sc.extensions.mqtt;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+
+/**
+ * Bounded buffer for MQTT messages published by {@link ConstrainedMqttManager} while the MQTT
+ * connection is not connected. Messages are held in an in-memory ring with a byte budget. When the
+ * ring is full, its oldest messages are spilled to segment files in a directory on flash (if
+ * configured), which have their own byte budget. When both are full, the configured drop policy
+ * is applied. Buffered messages are replayed in order (spilled segments first, then the in-memory
+ * ring) once the MQTT connection is connected.
+ *
+ * <p>Segment files are written once (to a temporary file which is then renamed) and deleted once
+ * all of their messages are replayed. Segment files left in the spill directory by a previous run
+ * are replayed before new messages, and temporary files left by an interrupted write are deleted.
+ *
+ * <p>The message being replayed (returned by {@link #peek()}) is taken out of the in-memory ring or
+ * segment and held until it is removed or dropped, so it is never spilled or dropped by messages
+ * added while it is published.
+ *
+ * @author HMS Networks; Americas
+ * @since 1.17.0
+ * @version 1.0.0
+ */
+public class MqttOfflineBuffer {
+
+  /**
+   * Drop policy which drops the oldest buffered messages to make room for a new message.
+   *
+   * @since 1.0.0
+   */
+  public static final int DROP_POLICY_OLDEST = 0;
+
+  /**
+   * Drop policy which drops a new message when the buffer is full.
+   *
+   * @since 1.0.0
+   */
+  public static final int DROP_POLICY_NEWEST = 1;
+
+  /**
+   * Default maximum size (in bytes) of the messages in a spilled segment file.
+   *
+   * @since 1.0.0
+   */
+  public static final int DEFAULT_SEGMENT_MAX_BYTES = 32768;
+
+  /**
+   * Estimated size (in bytes) of the fields of a buffered message other than its topic and payload.
+   *
+   * @since 1.0.0
+   */
+  private static final int MESSAGE_OVERHEAD_BYTES = 16;
+
+  /**
+   * Initial capacity (in messages) of the in-memory ring.
+   *
+   * @since 1.0.0
+   */
+  private static final int INITIAL_RING_CAPACITY = 64;
+
+  /**
+   * Prefix of the segment file names.
+   *
+   * @since 1.0.0
+   */
+  private static final String SEGMENT_FILE_PREFIX = "mqtt-seg-";
+
+  /**
+   * Suffix of the segment file names.
+   *
+   * @since 1.0.0
+   */
+  private static final String SEGMENT_FILE_SUFFIX = ".bin";
+
+  /**
+   * Suffix of the temporary file used while writing a segment file.
+   *
+   * @since 1.0.0
+   */
+  private static final String TEMP_FILE_SUFFIX = ".tmp";
+
+  /**
+   * Size of the buffers used to read and write segment files.
+   *
+   * @since 1.0.0
+   */
+  private static final int BUFFER_SIZE_BYTES = 4096;
+
+  /**
+   * Maximum size (in bytes) of the messages in the in-memory ring.
+   *
+   * @since 1.0.0
+   */
+  private final int maxMemoryBytes;
+
+  /**
+   * Directory for spilled segment files, or null if spilling is disabled.
+   *
+   * @since 1.0.0
+   */
+  private final File spillDirectory;
+
+  /**
+   * Maximum size (in bytes) of the messages in spilled segment files.
+   *
+   * @since 1.0.0
+   */
+  private final long maxSpillBytes;
+
+  /**
+   * Maximum size (in bytes) of the messages in a spilled segment file.
+   *
+   * @since 1.0.0
+   */
+  private final int segmentMaxBytes;
+
+  /**
+   * Drop policy, {@link #DROP_POLICY_OLDEST} or {@link #DROP_POLICY_NEWEST}.
+   *
+   * @since 1.0.0
+   */
+  private final int dropPolicy;
+
+  /**
+   * In-memory ring of buffered messages.
+   *
+   * @since 1.0.0
+   */
+  private MqttOutboundMessage[] ring = new MqttOutboundMessage[INITIAL_RING_CAPACITY];
+
+  /**
+   * Index of the oldest message in the in-memory ring.
+   *
+   * @since 1.0.0
+   */
+  private int ringHead;
+
+  /**
+   * Number of messages in the in-memory ring.
+   *
+   * @since 1.0.0
+   */
+  private int ringCount;
+
+  /**
+   * Size (in bytes) of the messages in the in-memory ring.
+   *
+   * @since 1.0.0
+   */
+  private long ringBytes;
+
+  /**
+   * Spilled segments, oldest first.
+   *
+   * <p>Parameterized type: ArrayList&lt;Segment&gt;
+   *
+   * @since 1.0.0
+   */
+  private final ArrayList segments = new ArrayList();
+
+  /**
+   * Size (in bytes) of the messages in spilled segment files.
+   *
+   * @since 1.0.0
+   */
+  private long spillBytes;
+
+  /**
+   * Sequence number of the next spilled segment file.
+   *
+   * @since 1.0.0
+   */
+  private long nextSegmentSequence;
+
+  /**
+   * Messages of the oldest spilled segment, read from its file for replay, or null.
+   *
+   * @since 1.0.0
+   */
+  private MqttOutboundMessage[] replaySegmentMessages;
+
+  /**
+   * Index of the next message to replay in {@link #replaySegmentMessages}.
+   *
+   * @since 1.0.0
+   */
+  private int replaySegmentIndex;
+
+  /**
+   * Message being replayed, returned by {@link #peek()} until it is removed or dropped, or null.
+   *
+   * @since 1.0.0
+   */
+  private MqttOutboundMessage inFlightMessage;
+
+  /**
+   * Total number of messages added to the buffer.
+   *
+   * @since 1.0.0
+   */
+  private long bufferedMessageCount;
+
+  /**
+   * Total number of messages spilled to segment files.
+   *
+   * @since 1.0.0
+   */
+  private long spilledMessageCount;
+
+  /**
+   * Total number of messages dropped because the buffer was full, or a segment file could not be
+   * written or read.
+   *
+   * @since 1.0.0
+   */
+  private long droppedMessageCount;
+
+  /**
+   * Constructs a new {@link MqttOfflineBuffer} which only buffers messages in memory.
+   *
+   * @param maxMemoryBytes maximum size (in bytes) of the messages in the in-memory ring
+   * @param dropPolicy drop policy, {@link #DROP_POLICY_OLDEST} or {@link #DROP_POLICY_NEWEST}
+   * @throws IllegalArgumentException if the byte budget or drop policy is not valid
+   * @since 1.0.0
+   */
+  public MqttOfflineBuffer(int maxMemoryBytes, int dropPolicy) {
+    this(maxMemoryBytes, null, 0, DEFAULT_SEGMENT_MAX_BYTES, dropPolicy);
+  }
+
+  /**
+   * Constructs a new {@link MqttOfflineBuffer} which spills messages to segment files in the
+   * specified directory when the in-memory ring is full. Segment files already in the directory are
+   * replayed before new messages.
+   *
+   * @param maxMemoryBytes maximum size (in bytes) of the messages in the in-memory ring
+   * @param spillDirectoryPath directory for spilled segment files, or null to disable spilling
+   * @param maxSpillBytes maximum size (in bytes) of the messages in spilled segment files
+   * @param segmentMaxBytes maximum size (in bytes) of the messages in a spilled segment file
+   * @param dropPolicy drop policy, {@link #DROP_POLICY_OLDEST} or {@link #DROP_POLICY_NEWEST}
+   * @throws IllegalArgumentException if a byte budget or the drop policy is not valid
+   * @since 1.0.0
+   */
+  public MqttOfflineBuffer(
+      int maxMemoryBytes,
+      String spillDirectoryPath,
+      long maxSpillBytes,
+      int segmentMaxBytes,
+      int dropPolicy) {
+    if (maxMemoryBytes <= 0 || maxSpillBytes < 0 || segmentMaxBytes <= 0) {
+      throw new IllegalArgumentException("MQTT offline buffer sizes must be positive.");
+    }
+    if (dropPolicy != DROP_POLICY_OLDEST && dropPolicy != DROP_POLICY_NEWEST) {
+      throw new IllegalArgumentException(
+          "Invalid MQTT offline buffer drop policy: " + dropPolicy + ".");
+    }
+    this.maxMemoryBytes = maxMemoryBytes;
+    this.maxSpillBytes = maxSpillBytes;
+    this.segmentMaxBytes = segmentMaxBytes;
+    this.dropPolicy = dropPolicy;
+    if (spillDirectoryPath != null && maxSpillBytes > 0) {
+      spillDirectory = new File(spillDirectoryPath);
+      spillDirectory.mkdirs();
+      recoverSegments();
+    } else {
+      spillDirectory = null;
+    }
+  }
+
+  /**
+   * Adds a message to the buffer, spilling or dropping messages if the in-memory ring is full.
+   *
+   * @param message message to buffer
+   * @since 1.17.0
+   */
+  synchronized void add(MqttOutboundMessage message) {
+    bufferedMessageCount++;
+    final long messageBytes = getMessageBytes(message);
+
+    // Make room in the in-memory ring
+    while (ringCount > 0 && ringBytes + messageBytes > maxMemoryBytes) {
+      if (!spillOldestMessages()) {
+        if (dropPolicy == DROP_POLICY_NEWEST) {
+          droppedMessageCount++;
+          return;
+        }
+        dropOldestMessage();
+      }
+    }
+
+    // Add message to the in-memory ring
+    if (ringCount == ring.length) {
+      MqttOutboundMessage[] grownRing = new MqttOutboundMessage[ring.length * 2];
+      for (int i = 0; i < ringCount; i++) {
+        grownRing[i] = ring[(ringHead + i) % ring.length];
+      }
+      ring = grownRing;
+      ringHead = 0;
+    }
+    ring[(ringHead + ringCount) % ring.length] = message;
+    ringCount++;
+    ringBytes += messageBytes;
+  }
+
+  /**
+   * Gets the oldest buffered message for replay. The message is taken out of its segment or the
+   * in-memory ring and held as the in-flight message, which is returned again by each call until
+   * it is removed or dropped, so that it is not spilled or dropped while it is replayed (without
+   * holding the buffer lock).
+   *
+   * @return the oldest buffered message, or null if the buffer is empty
+   * @since 1.17.0
+   */
+  synchronized MqttOutboundMessage peek() {
+    if (inFlightMessage != null) {
+      return inFlightMessage;
+    }
+    while (!segments.isEmpty()) {
+      if (replaySegmentMessages == null) {
+        loadReplaySegment();
+        continue;
+      }
+      if (replaySegmentIndex < replaySegmentMessages.length) {
+        inFlightMessage = replaySegmentMessages[replaySegmentIndex];
+        replaySegmentMessages[replaySegmentIndex] = null;
+        replaySegmentIndex++;
+        if (replaySegmentIndex == replaySegmentMessages.length) {
+          removeOldestSegment();
+        }
+        return inFlightMessage;
+      }
+      removeOldestSegment();
+    }
+    if (ringCount > 0) {
+      inFlightMessage = ring[ringHead];
+      removeRingHead();
+    }
+    return inFlightMessage;
+  }
+
+  /**
+   * Removes the in-flight message once it has been replayed, if it is the specified message
+   * returned by {@link #peek()}.
+   *
+   * @param message message returned by {@link #peek()}
+   * @return true if the message was removed, false if it is not the in-flight message
+   * @since 1.17.0
+   */
+  synchronized boolean remove(MqttOutboundMessage message) {
+    if (message == null || message != inFlightMessage) {
+      return false;
+    }
+    inFlightMessage = null;
+    return true;
+  }
+
+  /**
+   * Drops the in-flight message, if it is the specified message returned by {@link #peek()}, and
+   * counts it as dropped. Used when a message can not be replayed.
+   *
+   * @param message message returned by {@link #peek()}
+   * @return true if the message was dropped, false if it is not the in-flight message
+   * @since 1.17.0
+   */
+  synchronized boolean drop(MqttOutboundMessage message) {
+    if (!remove(message)) {
+      return false;
+    }
+    droppedMessageCount++;
+    return true;
+  }
+
+  /**
+   * Gets a boolean indicating if the buffer holds no messages.
+   *
+   * @return true if the buffer is empty
+   * @since 1.0.0
+   */
+  public synchronized boolean isEmpty() {
+    return inFlightMessage == null && ringCount == 0 && segments.isEmpty();
+  }
+
+  /**
+   * Gets the number of messages currently held by the buffer, in memory (including the in-flight
+   * message) and in segment files.
+   *
+   * @return number of messages held by the buffer
+   * @since 1.0.0
+   */
+  public synchronized int getSize() {
+    int size = ringCount + (inFlightMessage != null ? 1 : 0);
+    for (int i = 0; i < segments.size(); i++) {
+      size += ((Segment) segments.get(i)).messageCount;
+    }
+    if (replaySegmentMessages != null) {
+      size -= replaySegmentIndex;
+    }
+    return size;
+  }
+
+  /**
+   * Gets the total number of messages added to the buffer.
+   *
+   * @return number of buffered messages
+   * @since 1.0.0
+   */
+  public synchronized long getBufferedMessageCount() {
+    return bufferedMessageCount;
+  }
+
+  /**
+   * Gets the total number of messages spilled to segment files.
+   *
+   * @return number of spilled messages
+   * @since 1.0.0
+   */
+  public synchronized long getSpilledMessageCount() {
+    return spilledMessageCount;
+  }
+
+  /**
+   * Gets the total number of messages dropped because the buffer was full, or a segment file could
+   * not be written or read.
+   *
+   * @return number of dropped messages
+   * @since 1.0.0
+   */
+  public synchronized long getDroppedMessageCount() {
+    return droppedMessageCount;
+  }
+
+  /**
+   * Spills the oldest messages of the in-memory ring (up to the segment size) to a new segment
+   * file, dropping the oldest segment first if required by the drop policy.
+   *
+   * @return true if messages were spilled, false if spilling is disabled or the spill budget is
+   *     full
+   * @since 1.0.0
+   */
+  private boolean spillOldestMessages() {
+    if (spillDirectory == null) {
+      return false;
+    }
+
+    // Select oldest messages for the segment
+    int count = 0;
+    long bytes = 0;
+    while (count < ringCount) {
+      final long messageBytes = getMessageBytes(ring[(ringHead + count) % ring.length]);
+      if (count > 0 && bytes + messageBytes > segmentMaxBytes) {
+        break;
+      }
+      bytes += messageBytes;
+      count++;
+    }
+
+    // Make room in the spill budget
+    while (spillBytes + bytes > maxSpillBytes) {
+      if (dropPolicy == DROP_POLICY_NEWEST || segments.isEmpty()) {
+        return false;
+      }
+      droppedMessageCount += dropOldestSegment();
+    }
+
+    // Write segment file
+    final long sequence = nextSegmentSequence++;
+    File segmentFile = getSegmentFile(sequence);
+    File tempFile = new File(segmentFile.getPath() + TEMP_FILE_SUFFIX);
+    try {
+      DataOutputStream outputStream =
+          new DataOutputStream(
+              new BufferedOutputStream(new FileOutputStream(tempFile), BUFFER_SIZE_BYTES));
+      try {
+        for (int i = 0; i < count; i++) {
+          writeMessage(outputStream, ring[(ringHead + i) % ring.length]);
+        }
+      } finally {
+        outputStream.close();
+      }
+      if (!tempFile.renameTo(segmentFile)) {
+        throw new IOException("Unable to rename MQTT offline buffer segment file.");
+      }
+      segments.add(new Segment(sequence, count, bytes));
+      spillBytes += bytes;
+      spilledMessageCount += count;
+    } catch (IOException e) {
+      // Unable to spill, messages are dropped
+      tempFile.delete();
+      droppedMessageCount += count;
+    }
+    for (int i = 0; i < count; i++) {
+      removeRingHead();
+    }
+    return true;
+  }
+
+  /**
+   * Drops the oldest buffered message other than the in-flight message, from the oldest segment if
+   * there is one.
+   *
+   * @since 1.0.0
+   */
+  private void dropOldestMessage() {
+    if (!segments.isEmpty()) {
+      droppedMessageCount += dropOldestSegment();
+    } else {
+      removeRingHead();
+      droppedMessageCount++;
+    }
+  }
+
+  /**
+   * Drops the oldest segment and its remaining messages. Messages taken for replay, including the
+   * in-flight message, are not counted.
+   *
+   * @return the number of messages dropped
+   * @since 1.0.0
+   */
+  private int dropOldestSegment() {
+    int dropped = ((Segment) segments.get(0)).messageCount;
+    if (replaySegmentMessages != null) {
+      dropped -= replaySegmentIndex;
+    }
+    removeOldestSegment();
+    return dropped;
+  }
+
+  /**
+   * Removes the oldest segment and deletes its file.
+   *
+   * @since 1.0.0
+   */
+  private void removeOldestSegment() {
+    Segment segment = (Segment) segments.remove(0);
+    spillBytes -= segment.sizeBytes;
+    getSegmentFile(segment.sequence).delete();
+    replaySegmentMessages = null;
+    replaySegmentIndex = 0;
+  }
+
+  /**
+   * Reads the messages of the oldest segment file for replay. If the file cannot be read, the
+   * segment is dropped.
+   *
+   * @since 1.0.0
+   */
+  private void loadReplaySegment() {
+    Segment segment = (Segment) segments.get(0);
+    try {
+      replaySegmentMessages = readSegment(getSegmentFile(segment.sequence), segment.messageCount);
+      replaySegmentIndex = 0;
+    } catch (IOException e) {
+      droppedMessageCount += segment.messageCount;
+      removeOldestSegment();
+    }
+  }
+
+  /**
+   * Removes the oldest message of the in-memory ring.
+   *
+   * @since 1.0.0
+   */
+  private void removeRingHead() {
+    ringBytes -= getMessageBytes(ring[ringHead]);
+    ring[ringHead] = null;
+    ringHead = (ringHead + 1) % ring.length;
+    ringCount--;
+  }
+
+  /**
+   * Adds the segment files left in the spill directory by a previous run, oldest first, and
+   * deletes temporary files left by a segment file write which did not complete.
+   *
+   * @since 1.0.0
+   */
+  private void recoverSegments() {
+    String[] fileNames = spillDirectory.list();
+    if (fileNames == null) {
+      return;
+    }
+
+    // Find sequence numbers of segment files
+    long[] sequences = new long[fileNames.length];
+    int sequenceCount = 0;
+    for (int i = 0; i < fileNames.length; i++) {
+      final String fileName = fileNames[i];
+      if (fileName.startsWith(SEGMENT_FILE_PREFIX)
+          && fileName.endsWith(SEGMENT_FILE_SUFFIX + TEMP_FILE_SUFFIX)) {
+        new File(spillDirectory, fileName).delete();
+      } else if (fileName.startsWith(SEGMENT_FILE_PREFIX)
+          && fileName.endsWith(SEGMENT_FILE_SUFFIX)) {
+        try {
+          sequences[sequenceCount++] =
+              Long.parseLong(
+                  fileName.substring(
+                      SEGMENT_FILE_PREFIX.length(),
+                      fileName.length() - SEGMENT_FILE_SUFFIX.length()));
+        } catch (NumberFormatException e) {
+          sequenceCount--;
+        }
+      }
+    }
+    Arrays.sort(sequences, 0, sequenceCount);
+
+    // Add each readable segment file
+    for (int i = 0; i < sequenceCount; i++) {
+      File segmentFile = getSegmentFile(sequences[i]);
+      try {
+        MqttOutboundMessage[] messages = readSegment(segmentFile, -1);
+        long bytes = 0;
+        for (int x = 0; x < messages.length; x++) {
+          bytes += getMessageBytes(messages[x]);
+        }
+        segments.add(new Segment(sequences[i], messages.length, bytes));
+        spillBytes += bytes;
+      } catch (IOException e) {
+        segmentFile.delete();
+      }
+      nextSegmentSequence = sequences[i] + 1;
+    }
+  }
+
+  /**
+   * Gets the segment file with the specified sequence number.
+   *
+   * @param sequence segment sequence number
+   * @return segment file
+   * @since 1.0.0
+   */
+  private File getSegmentFile(long sequence) {
+    return new File(spillDirectory, SEGMENT_FILE_PREFIX + sequence + SEGMENT_FILE_SUFFIX);
+  }
+
+  /**
+   * Reads the messages of a segment file.
+   *
+   * @param segmentFile segment file
+   * @param messageCount number of messages in the file, or -1 to read until the end of the file
+   * @return messages of the segment file
+   * @throws IOException if unable to read the segment file
+   * @since 1.0.0
+   */
+  private static MqttOutboundMessage[] readSegment(File segmentFile, int messageCount)
+      throws IOException {
+    ArrayList messages = new ArrayList(); // ArrayList<MqttOutboundMessage>
+    DataInputStream inputStream =
+        new DataInputStream(
+            new BufferedInputStream(new FileInputStream(segmentFile), BUFFER_SIZE_BYTES));
+    try {
+      while (messageCount == -1 || messages.size() < messageCount) {
+        final String topic;
+        try {
+          topic = inputStream.readUTF();
+        } catch (EOFException e) {
+          if (messageCount == -1) {
+            break;
+          }
+          throw e;
+        }
+        byte[] payloadBytes = new byte[inputStream.readInt()];
+        inputStream.readFully(payloadBytes);
+        final String payload = new String(payloadBytes, "UTF-8");
+        final int qos = inputStream.readByte();
+        final boolean retain = inputStream.readBoolean();
+        messages.add(new MqttOutboundMessage(topic, payload, qos, retain));
+      }
+    } finally {
+      inputStream.close();
+    }
+    MqttOutboundMessage[] messageArray = new MqttOutboundMessage[messages.size()];
+    messages.toArray(messageArray);
+    return messageArray;
+  }
+
+  /**
+   * Writes a message to a segment file.
+   *
+   * @param outputStream segment file output stream
+   * @param message message to write
+   * @throws IOException if unable to write the message
+   * @since 1.0.0
+   */
+  private static void writeMessage(DataOutputStream outputStream, MqttOutboundMessage message)
+      throws IOException {
+    byte[] payloadBytes = message.getPayload().getBytes("UTF-8");
+    outputStream.writeUTF(message.getTopic());
+    outputStream.writeInt(payloadBytes.length);
+    outputStream.write(payloadBytes);
+    outputStream.writeByte(message.getQos());
+    outputStream.writeBoolean(message.getRetain());
+  }
+
+  /**
+   * Gets the estimated size (in bytes) of a message.
+   *
+   * @param message message
+   * @return estimated size in bytes
+   * @since 1.0.0
+   */
+  private static long getMessageBytes(MqttOutboundMessage message) {
+    return MESSAGE_OVERHEAD_BYTES
+        + MqttPublishBatch.getUtf8Length(message.getTopic())
+        + MqttPublishBatch.getUtf8Length(message.getPayload());
+  }
+
+  /**
+   * Class holding the sequence number, message count and size of a spilled segment.
+   *
+   * @since 1.0.0
+   */
+  private static class Segment {
+
+    /**
+     * Segment sequence number.
+     *
+     * @since 1.0.0
+     */
+    final long sequence;
+
+    /**
+     * Number of messages in the segment.
+     *
+     * @since 1.0.0
+     */
+    final int messageCount;
+
+    /**
+     * Size (in bytes) of the messages in the segment.
+     *
+     * @since 1.0.0
+     */
+    final long sizeBytes;
+
+    /**
+     * Constructs a new {@link Segment}.
+     *
+     * @param sequence segment sequence number
+     * @param messageCount number of messages in the segment
+     * @param sizeBytes size (in bytes) of the messages in the segment
+     * @since 1.0.0
+     */
+    Segment(long sequence, int messageCount, long sizeBytes) {
+      this.sequence = sequence;
+      this.messageCount = messageCount;
+      this.sizeBytes = sizeBytes;
+    }
+  }
+}
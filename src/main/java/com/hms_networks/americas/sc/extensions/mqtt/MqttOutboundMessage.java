@@ -0,0 +1,95 @@
+package com.hms_networks.americas.sc.extensions.mqtt;
+
+/**
+ * Class representing an MQTT message waiting to be published by {@link ConstrainedMqttManager}.
+ *
+ * @author HMS Networks; Americas
+ * @since 1.17.0
+ * @version 1.0.0
+ */
+class MqttOutboundMessage {
+
+  /**
+   * The MQTT topic to publish the message to.
+   *
+   * @since 1.0.0
+   */
+  private final String topic;
+
+  /**
+   * The MQTT message payload.
+   *
+   * @since 1.0.0
+   */
+  private final String payload;
+
+  /**
+   * The MQTT QoS level to publish the message at.
+   *
+   * @since 1.0.0
+   */
+  private final int qos;
+
+  /**
+   * The boolean indicating whether the message should be retained by the MQTT broker.
+   *
+   * @since 1.0.0
+   */
+  private final boolean retain;
+
+  /**
+   * Constructs a new {@link MqttOutboundMessage}.
+   *
+   * @param topic the MQTT topic to publish the message to
+   * @param payload the MQTT message payload
+   * @param qos the MQTT QoS level to publish the message at
+   * @param retain the boolean indicating whether the message should be retained by the MQTT broker
+   * @since 1.0.0
+   */
+  MqttOutboundMessage(String topic, String payload, int qos, boolean retain) {
+    this.topic = topic;
+    this.payload = payload;
+    this.qos = qos;
+    this.retain = retain;
+  }
+
+  /**
+   * Gets the MQTT topic to publish the message to.
+   *
+   * @return MQTT topic
+   * @since 1.0.0
+   */
+  String getTopic() {
+    return topic;
+  }
+
+  /**
+   * Gets the MQTT message payload.
+   *
+   * @return MQTT message payload
+   * @since 1.0.0
+   */
+  String getPayload() {
+    return payload;
+  }
+
+  /**
+   * Gets the MQTT QoS level to publish the message at.
+   *
+   * @return MQTT QoS level
+   * @since 1.0.0
+   */
+  int getQos() {
+    return qos;
+  }
+
+  /**
+   * Gets the boolean indicating whether the message should be retained by the MQTT broker.
+   *
+   * @return true if the message should be retained
+   * @since 1.0.0
+   */
+  boolean getRetain() {
+    return retain;
+  }
+}
@@ -0,0 +1,218 @@
+package com.hms_networks.americas.sc.extensions.mqtt;
+
+/**
+ * Class combining the payloads published to an MQTT topic into a single message, used by {@link
+ * ConstrainedMqttManager} for publish batching. A batch is sealed (and its combined message
+ * published) once adding a payload would exceed the maximum batch size, or once the linger time
+ * has elapsed since its first payload was added.
+ *
+ * @author HMS Networks; Americas
+ * @since 1.17.0
+ * @version 1.0.0
+ */
+class MqttPublishBatch {
+
+  /**
+   * The MQTT topic of the batch.
+   *
+   * @since 1.0.0
+   */
+  private final String topic;
+
+  /**
+   * The maximum size of the combined message payload, in bytes.
+   *
+   * @since 1.0.0
+   */
+  private final int maxBatchBytes;
+
+  /**
+   * The maximum time (in ms) a payload is held before the batch is sealed.
+   *
+   * @since 1.0.0
+   */
+  private final long lingerMillis;
+
+  /**
+   * The framing used to combine payloads, {@link
+   * ConstrainedMqttManager#PUBLISH_BATCH_FRAMING_JSON_ARRAY} or {@link
+   * ConstrainedMqttManager#PUBLISH_BATCH_FRAMING_NEWLINE_DELIMITED}.
+   *
+   * @since 1.0.0
+   */
+  private final int framing;
+
+  /**
+   * The combined payloads of the batch, without the closing framing.
+   *
+   * @since 1.0.0
+   */
+  private final StringBuffer combinedPayload = new StringBuffer();
+
+  /**
+   * The size (in bytes) of the combined message payload, including framing.
+   *
+   * @since 1.0.0
+   */
+  private int batchBytes;
+
+  /**
+   * The number of payloads in the batch.
+   *
+   * @since 1.0.0
+   */
+  private int payloadCount;
+
+  /**
+   * The MQTT QoS level of the payloads in the batch.
+   *
+   * @since 1.0.0
+   */
+  private int qos;
+
+  /**
+   * The time (in ms) the first payload of the batch was added.
+   *
+   * @since 1.0.0
+   */
+  private long firstPayloadTimeMillis;
+
+  /**
+   * Constructs a new, empty {@link MqttPublishBatch}.
+   *
+   * @param topic the MQTT topic of the batch
+   * @param maxBatchBytes the maximum size of the combined message payload, in bytes
+   * @param lingerMillis the maximum time (in ms) a payload is held before the batch is sealed
+   * @param framing the framing used to combine payloads
+   * @since 1.0.0
+   */
+  MqttPublishBatch(String topic, int maxBatchBytes, long lingerMillis, int framing) {
+    this.topic = topic;
+    this.maxBatchBytes = maxBatchBytes;
+    this.lingerMillis = lingerMillis;
+    this.framing = framing;
+  }
+
+  /**
+   * Gets a boolean indicating if the specified payload can be added to the batch without sealing
+   * it first. A payload can always be added to an empty batch.
+   *
+   * @param payload the MQTT message payload
+   * @param qos the MQTT QoS level of the payload
+   * @return true if the payload can be added to the batch
+   * @since 1.0.0
+   */
+  boolean canAdd(String payload, int qos) {
+    return payloadCount == 0
+        || (qos == this.qos && batchBytes + getUtf8Length(payload) + 1 <= maxBatchBytes);
+  }
+
+  /**
+   * Adds the specified payload to the batch. {@link #canAdd(String, int)} must be checked first.
+   *
+   * @param payload the MQTT message payload
+   * @param qos the MQTT QoS level of the payload
+   * @param currentTimeMillis the current time (in ms)
+   * @since 1.0.0
+   */
+  void add(String payload, int qos, long currentTimeMillis) {
+    if (payloadCount == 0) {
+      this.qos = qos;
+      firstPayloadTimeMillis = currentTimeMillis;
+      if (framing == ConstrainedMqttManager.PUBLISH_BATCH_FRAMING_JSON_ARRAY) {
+        combinedPayload.append('[');
+        batchBytes = 2;
+      }
+    } else {
+      combinedPayload.append(
+          framing == ConstrainedMqttManager.PUBLISH_BATCH_FRAMING_JSON_ARRAY ? ',' : '\n');
+      batchBytes++;
+    }
+    combinedPayload.append(payload);
+    batchBytes += getUtf8Length(payload);
+    payloadCount++;
+  }
+
+  /**
+   * Gets a boolean indicating if the batch has no payloads.
+   *
+   * @return true if the batch is empty
+   * @since 1.0.0
+   */
+  boolean isEmpty() {
+    return payloadCount == 0;
+  }
+
+  /**
+   * Gets the size (in bytes) of the combined message payload of the batch when encoded as UTF-8,
+   * including framing.
+   *
+   * @return the size of the combined message payload in bytes, or 0 if the batch is empty
+   * @since 1.0.0
+   */
+  int getSizeBytes() {
+    return batchBytes;
+  }
+
+  /**
+   * Gets a boolean indicating if the batch should be sealed, because it is full or its linger time
+   * has elapsed.
+   *
+   * @param currentTimeMillis the current time (in ms)
+   * @return true if the batch should be sealed
+   * @since 1.0.0
+   */
+  boolean isDue(long currentTimeMillis) {
+    return payloadCount > 0
+        && (batchBytes >= maxBatchBytes
+            || currentTimeMillis - firstPayloadTimeMillis >= lingerMillis);
+  }
+
+  /**
+   * Seals the batch, returning its combined message and leaving the batch empty.
+   *
+   * @return the combined message of the batch
+   * @since 1.0.0
+   */
+  MqttOutboundMessage seal() {
+    if (framing == ConstrainedMqttManager.PUBLISH_BATCH_FRAMING_JSON_ARRAY) {
+      combinedPayload.append(']');
+    }
+    MqttOutboundMessage message =
+        new MqttOutboundMessage(topic, combinedPayload.toString(), qos, false);
+    combinedPayload.setLength(0);
+    batchBytes = 0;
+    payloadCount = 0;
+    return message;
+  }
+
+  /**
+   * Gets the length of the specified string in bytes when encoded as UTF-8, without encoding it. A
+   * surrogate pair (a character outside the Basic Multilingual Plane) is counted as 4 bytes.
+   *
+   * @param string string
+   * @return UTF-8 encoded length in bytes
+   * @since 1.0.0
+   */
+  static int getUtf8Length(String string) {
+    final int length = string.length();
+    int utf8Length = length;
+    for (int i = 0; i < length; i++) {
+      final char c = string.charAt(i);
+      if (c >= 0xD800
+          && c <= 0xDBFF
+          && i + 1 < length
+          && string.charAt(i + 1) >= 0xDC00
+          && string.charAt(i + 1) <= 0xDFFF) {
+        // Surrogate pair (2 chars) is encoded as 4 bytes
+        utf8Length += 2;
+        i++;
+      } else if (c >= 0x800) {
+        utf8Length += 2;
+      } else if (c >= 0x80) {
+        utf8Length++;
+      }
+    }
+    return utf8Length;
+  }
+}
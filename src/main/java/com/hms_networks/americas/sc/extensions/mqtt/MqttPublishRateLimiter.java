@@ -0,0 +1,235 @@
+package com.hms_networks.americas.sc.extensions.mqtt;
+
+/**
+ * Token bucket rate limiter for the messages published by {@link ConstrainedMqttManager}, limiting
+ * both the number of messages and the number of payload bytes published per second. Each bucket
+ * holds up to one second of tokens at the current rate (and at least one message).
+ *
+ * <p>The current rate is lowered (multiplicatively) when congestion is reported, such as after a
+ * publish error or a disconnect, and is raised again (additively) for each recovery interval
+ * without congestion, until it reaches the configured maximum rate. Congestion reported within the
+ * hold-off time of the previous reduction does not lower the rate again.
+ *
+ * @author HMS Networks; Americas
+ * @since 1.17.0
+ * @version 1.0.0
+ */
+class MqttPublishRateLimiter {
+
+  /**
+   * Factor the current rate is multiplied by when congestion is reported.
+   *
+   * @since 1.0.0
+   */
+  private static final double CONGESTION_RATE_FACTOR = 0.5;
+
+  /**
+   * Minimum fraction of the maximum rate the current rate can be lowered to.
+   *
+   * @since 1.0.0
+   */
+  private static final double MIN_RATE_FRACTION = 0.0625;
+
+  /**
+   * Fraction of the maximum rate the current rate is raised by for each recovery interval without
+   * congestion.
+   *
+   * @since 1.0.0
+   */
+  private static final double RECOVERY_RATE_FRACTION = 0.125;
+
+  /**
+   * Time (in ms) without congestion after which the current rate is raised.
+   *
+   * @since 1.0.0
+   */
+  private static final long RECOVERY_INTERVAL_MILLIS = 5000;
+
+  /**
+   * Time (in ms) after a rate reduction during which further congestion is ignored.
+   *
+   * @since 1.0.0
+   */
+  private static final long CONGESTION_HOLD_OFF_MILLIS = 1000;
+
+  /**
+   * Maximum number of messages published per second, or {@link
+   * ConstrainedMqttManager#PUBLISH_RATE_UNLIMITED}.
+   *
+   * @since 1.0.0
+   */
+  private final int maxMessagesPerSecond;
+
+  /**
+   * Maximum number of payload bytes published per second, or {@link
+   * ConstrainedMqttManager#PUBLISH_RATE_UNLIMITED}.
+   *
+   * @since 1.0.0
+   */
+  private final int maxBytesPerSecond;
+
+  /**
+   * Current fraction of the maximum rates which may be used.
+   *
+   * @since 1.0.0
+   */
+  private double rateFraction = 1.0;
+
+  /**
+   * Tokens in the message bucket.
+   *
+   * @since 1.0.0
+   */
+  private double messageTokens;
+
+  /**
+   * Tokens in the byte bucket. May be negative after a message larger than the bucket is
+   * published.
+   *
+   * @since 1.0.0
+   */
+  private double byteTokens;
+
+  /**
+   * Time (in ms) the buckets were last refilled.
+   *
+   * @since 1.0.0
+   */
+  private long lastRefillTimeMillis;
+
+  /**
+   * Time (in ms) the current rate was last lowered or raised.
+   *
+   * @since 1.0.0
+   */
+  private long lastRateChangeTimeMillis;
+
+  /**
+   * Time (in ms) the current rate was last lowered.
+   *
+   * @since 1.0.0
+   */
+  private long lastCongestionTimeMillis;
+
+  /**
+   * Constructs a new {@link MqttPublishRateLimiter} with full buckets.
+   *
+   * @param maxMessagesPerSecond maximum number of messages published per second, or {@link
+   *     ConstrainedMqttManager#PUBLISH_RATE_UNLIMITED}
+   * @param maxBytesPerSecond maximum number of payload bytes published per second, or {@link
+   *     ConstrainedMqttManager#PUBLISH_RATE_UNLIMITED}
+   * @param currentTimeMillis the current time (in ms)
+   * @since 1.0.0
+   */
+  MqttPublishRateLimiter(int maxMessagesPerSecond, int maxBytesPerSecond, long currentTimeMillis) {
+    this.maxMessagesPerSecond = maxMessagesPerSecond;
+    this.maxBytesPerSecond = maxBytesPerSecond;
+    messageTokens = maxMessagesPerSecond;
+    byteTokens = maxBytesPerSecond;
+    lastRefillTimeMillis = currentTimeMillis;
+    lastRateChangeTimeMillis = currentTimeMillis;
+    lastCongestionTimeMillis = currentTimeMillis - CONGESTION_HOLD_OFF_MILLIS;
+  }
+
+  /**
+   * Takes the tokens for publishing a message with the specified payload size, if available. A
+   * message larger than the byte bucket can be published once the byte bucket is full.
+   *
+   * @param payloadBytes the size (in bytes) of the message payload
+   * @param currentTimeMillis the current time (in ms)
+   * @return true if the message may be published, false if it must wait
+   * @since 1.0.0
+   */
+  synchronized boolean tryAcquire(int payloadBytes, long currentTimeMillis) {
+    refill(currentTimeMillis);
+    if (maxMessagesPerSecond != ConstrainedMqttManager.PUBLISH_RATE_UNLIMITED
+        && messageTokens < 1) {
+      return false;
+    }
+    if (maxBytesPerSecond != ConstrainedMqttManager.PUBLISH_RATE_UNLIMITED
+        && byteTokens < Math.min(payloadBytes, getCurrentBytesPerSecond())) {
+      return false;
+    }
+    messageTokens--;
+    byteTokens -= payloadBytes;
+    return true;
+  }
+
+  /**
+   * Lowers the current rate after congestion, unless the rate was lowered within the hold-off
+   * time. The buckets are limited to the new rate.
+   *
+   * @param currentTimeMillis the current time (in ms)
+   * @since 1.0.0
+   */
+  synchronized void onCongestion(long currentTimeMillis) {
+    refill(currentTimeMillis);
+    if (currentTimeMillis - lastCongestionTimeMillis < CONGESTION_HOLD_OFF_MILLIS) {
+      return;
+    }
+    rateFraction = Math.max(MIN_RATE_FRACTION, rateFraction * CONGESTION_RATE_FACTOR);
+    messageTokens = Math.min(messageTokens, Math.max(1, getCurrentMessagesPerSecond()));
+    byteTokens = Math.min(byteTokens, getCurrentBytesPerSecond());
+    lastCongestionTimeMillis = currentTimeMillis;
+    lastRateChangeTimeMillis = currentTimeMillis;
+  }
+
+  /**
+   * Gets the current number of messages which may be published per second.
+   *
+   * @return current messages per second, or {@link ConstrainedMqttManager#PUBLISH_RATE_UNLIMITED}
+   * @since 1.0.0
+   */
+  synchronized double getCurrentMessagesPerSecond() {
+    return maxMessagesPerSecond * rateFraction;
+  }
+
+  /**
+   * Gets the current number of payload bytes which may be published per second.
+   *
+   * @return current bytes per second, or {@link ConstrainedMqttManager#PUBLISH_RATE_UNLIMITED}
+   * @since 1.0.0
+   */
+  synchronized double getCurrentBytesPerSecond() {
+    return maxBytesPerSecond * rateFraction;
+  }
+
+  /**
+   * Raises the current rate for each elapsed recovery interval, and adds the tokens for the time
+   * elapsed since the previous refill at the current rate. If the clock has moved backwards, the
+   * refill, rate change and congestion times are moved back to the current time, so that refills
+   * and recovery resume from the current time instead of waiting for the clock to catch up.
+   *
+   * @param currentTimeMillis the current time (in ms)
+   * @since 1.0.0
+   */
+  private void refill(long currentTimeMillis) {
+    if (currentTimeMillis < lastRefillTimeMillis) {
+      lastRefillTimeMillis = currentTimeMillis;
+    }
+    if (currentTimeMillis < lastRateChangeTimeMillis) {
+      lastRateChangeTimeMillis = currentTimeMillis;
+    }
+    if (currentTimeMillis < lastCongestionTimeMillis) {
+      lastCongestionTimeMillis = currentTimeMillis;
+    }
+
+    while (rateFraction < 1.0
+        && currentTimeMillis - lastRateChangeTimeMillis >= RECOVERY_INTERVAL_MILLIS) {
+      rateFraction = Math.min(1.0, rateFraction + RECOVERY_RATE_FRACTION);
+      lastRateChangeTimeMillis += RECOVERY_INTERVAL_MILLIS;
+    }
+
+    final long elapsedMillis = currentTimeMillis - lastRefillTimeMillis;
+    if (elapsedMillis > 0) {
+      final double messagesPerSecond = getCurrentMessagesPerSecond();
+      final double bytesPerSecond = getCurrentBytesPerSecond();
+      messageTokens =
+          Math.min(
+              Math.max(1, messagesPerSecond),
+              messageTokens + messagesPerSecond * elapsedMillis / 1000);
+      byteTokens = Math.min(bytesPerSecond, byteTokens + bytesPerSecond * elapsedMillis / 1000);
+      lastRefillTimeMillis = currentTimeMillis;
+    }
+  }
+}
@@ -0,0 +1,562 @@
+package com.hms_networks.americas.sc.extensions.mqtt;
+
+import com.ewon.ewonitf.MqttMessage;
+import com.hms_networks.americas.sc.extensions.logging.Logger;
+
+/**
+ * Dispatcher for received MQTT messages, which calls the {@link MqttMessageHandler}s registered for
+ * each MQTT topic filter matching the topic of a message. Topic filters may contain the single
+ * level wildcard (<code>+</code>) and the multi level wildcard (<code>#</code>), following the
+ * MQTT specification. Topics starting with <code>$</code> are not matched by topic filters
+ * starting with a wildcard.
+ *
+ * <p>Topic filters are stored in a topic trie with one node per topic level. The child nodes of
+ * each node are held in a hash table which is searched using the characters of the topic in place,
+ * so dispatching a message takes time proportional to the number of levels in its topic, and does
+ * not split the topic or allocate substrings.
+ *
+ * <p>Instances of this class are thread safe. Handlers are called while the dispatcher lock is
+ * held, and may add or remove handlers. An exception thrown by a handler is passed to {@link
+ * #onError(Throwable)} and does not prevent the remaining handlers from being called.
+ *
+ * @author HMS Networks; Americas
+ * @since 1.17.0
+ * @version 1.0.0
+ */
+public class MqttTopicDispatcher {
+
+  /**
+   * MQTT topic level separator.
+   *
+   * @since 1.0.0
+   */
+  private static final char LEVEL_SEPARATOR = '/';
+
+  /**
+   * MQTT single level wildcard.
+   *
+   * @since 1.0.0
+   */
+  private static final String SINGLE_LEVEL_WILDCARD = "+";
+
+  /**
+   * MQTT multi level wildcard.
+   *
+   * @since 1.0.0
+   */
+  private static final String MULTI_LEVEL_WILDCARD = "#";
+
+  /**
+   * Prefix of MQTT topics which are not matched by topic filters starting with a wildcard.
+   *
+   * @since 1.0.0
+   */
+  private static final char SYSTEM_TOPIC_PREFIX = '$';
+
+  /**
+   * Initial number of buckets in the child hash table of a node. Must be a power of two.
+   *
+   * @since 1.0.0
+   */
+  private static final int INITIAL_CHILD_BUCKETS = 4;
+
+  /**
+   * Empty handler array, shared by nodes without handlers.
+   *
+   * @since 1.0.0
+   */
+  private static final MqttMessageHandler[] NO_HANDLERS = new MqttMessageHandler[0];
+
+  /**
+   * Root node of the topic trie.
+   *
+   * @since 1.0.0
+   */
+  private final Node root = new Node(null);
+
+  /**
+   * Registers a handler for the specified MQTT topic filter. A handler registered more than once
+   * for the same topic filter is called once per registration.
+   *
+   * @param topicFilter MQTT topic filter, which may contain <code>+</code> and <code>#</code>
+   *     wildcards
+   * @param handler handler to call for messages matching the topic filter
+   * @throws IllegalArgumentException if the topic filter is not valid
+   * @since 1.0.0
+   */
+  public synchronized void addHandler(String topicFilter, MqttMessageHandler handler) {
+    validateTopicFilter(topicFilter);
+    Node node = root;
+    int start = 0;
+    while (true) {
+      int end = topicFilter.indexOf(LEVEL_SEPARATOR, start);
+      if (end == -1) {
+        end = topicFilter.length();
+      }
+      node = node.getOrAddChild(topicFilter.substring(start, end));
+      if (end == topicFilter.length()) {
+        break;
+      }
+      start = end + 1;
+    }
+    MqttMessageHandler[] handlers = new MqttMessageHandler[node.handlers.length + 1];
+    System.arraycopy(node.handlers, 0, handlers, 0, node.handlers.length);
+    handlers[node.handlers.length] = handler;
+    node.handlers = handlers;
+  }
+
+  /**
+   * Removes one registration of a handler for the specified MQTT topic filter. Topic levels left
+   * without handlers or topic filters below them are removed from the topic trie.
+   *
+   * @param topicFilter MQTT topic filter the handler was registered for
+   * @param handler handler to remove
+   * @return true if the handler was removed, false if it was not registered for the topic filter
+   * @throws IllegalArgumentException if the topic filter is not valid
+   * @since 1.0.0
+   */
+  public synchronized boolean removeHandler(String topicFilter, MqttMessageHandler handler) {
+    validateTopicFilter(topicFilter);
+    return removeHandler(root, topicFilter, 0, handler);
+  }
+
+  /**
+   * Removes one registration of a handler for the remainder of the specified MQTT topic filter
+   * below the specified node, starting with the level at the specified index, and removes the child
+   * node of the level if it is left empty.
+   *
+   * @param node node of the matched levels
+   * @param topicFilter MQTT topic filter the handler was registered for
+   * @param start index of the first character of the level to match
+   * @param handler handler to remove
+   * @return true if the handler was removed, false if it was not registered for the topic filter
+   * @since 1.0.0
+   */
+  private static boolean removeHandler(
+      Node node, String topicFilter, int start, MqttMessageHandler handler) {
+    int end = topicFilter.indexOf(LEVEL_SEPARATOR, start);
+    if (end == -1) {
+      end = topicFilter.length();
+    }
+    Node child = node.getFilterChild(topicFilter.substring(start, end));
+    if (child == null) {
+      return false;
+    }
+    final boolean removed =
+        end == topicFilter.length()
+            ? child.removeHandler(handler)
+            : removeHandler(child, topicFilter, end + 1, handler);
+    if (removed && child.isEmpty()) {
+      node.removeChild(child);
+    }
+    return removed;
+  }
+
+  /**
+   * Gets a boolean indicating if no handlers are registered, and no topic levels are left in the
+   * topic trie.
+   *
+   * @return true if the dispatcher is empty
+   * @since 1.0.0
+   */
+  synchronized boolean isEmpty() {
+    return root.isEmpty();
+  }
+
+  /**
+   * Calls the handlers registered for each topic filter matching the topic of the specified
+   * message.
+   *
+   * @param mqttMessage received MQTT message
+   * @return the number of handlers called
+   * @since 1.0.0
+   */
+  public int dispatch(MqttMessage mqttMessage) {
+    return dispatch(mqttMessage.getTopic(), mqttMessage);
+  }
+
+  /**
+   * Calls the handlers registered for each topic filter matching the specified topic.
+   *
+   * @param topic MQTT topic of the message
+   * @param mqttMessage received MQTT message
+   * @return the number of handlers called
+   * @since 1.0.0
+   */
+  synchronized int dispatch(String topic, MqttMessage mqttMessage) {
+    if (topic == null) {
+      return 0;
+    }
+    final boolean systemTopic = topic.length() > 0 && topic.charAt(0) == SYSTEM_TOPIC_PREFIX;
+    return dispatchLevel(root, topic, 0, systemTopic, mqttMessage);
+  }
+
+  /**
+   * Calls the handlers of the topic filters below the specified node which match the remainder of
+   * the topic, starting with the level at the specified index.
+   *
+   * @param node node of the matched levels
+   * @param topic MQTT topic of the message
+   * @param start index of the first character of the level to match
+   * @param noWildcards true if wildcard children of the node must not match the level
+   * @param mqttMessage received MQTT message
+   * @return the number of handlers called
+   * @since 1.0.0
+   */
+  private int dispatchLevel(
+      Node node, String topic, int start, boolean noWildcards, MqttMessage mqttMessage) {
+    int handlerCount = 0;
+    if (!noWildcards && node.multiLevelChild != null) {
+      handlerCount += callHandlers(node.multiLevelChild, mqttMessage);
+    }
+    int end = topic.indexOf(LEVEL_SEPARATOR, start);
+    if (end == -1) {
+      end = topic.length();
+    }
+    Node child = node.getChild(topic, start, end);
+    if (child != null) {
+      handlerCount += dispatchChild(child, topic, end, mqttMessage);
+    }
+    if (!noWildcards && node.singleLevelChild != null) {
+      handlerCount += dispatchChild(node.singleLevelChild, topic, end, mqttMessage);
+    }
+    return handlerCount;
+  }
+
+  /**
+   * Calls the handlers of the specified node if the topic has no more levels, or of the topic
+   * filters below the node which match the remaining levels of the topic.
+   *
+   * @param child node of the level ending at the specified index
+   * @param topic MQTT topic of the message
+   * @param end index of the end of the matched level
+   * @param mqttMessage received MQTT message
+   * @return the number of handlers called
+   * @since 1.0.0
+   */
+  private int dispatchChild(Node child, String topic, int end, MqttMessage mqttMessage) {
+    if (end < topic.length()) {
+      return dispatchLevel(child, topic, end + 1, false, mqttMessage);
+    }
+
+    // A multi level wildcard also matches its parent level
+    int handlerCount = callHandlers(child, mqttMessage);
+    if (child.multiLevelChild != null) {
+      handlerCount += callHandlers(child.multiLevelChild, mqttMessage);
+    }
+    return handlerCount;
+  }
+
+  /**
+   * Calls the handlers of the specified node. An exception thrown by a handler is passed to {@link
+   * #onError(Throwable)}, and the remaining handlers are still called.
+   *
+   * @param node node to call the handlers of
+   * @param mqttMessage received MQTT message
+   * @return the number of handlers called
+   * @since 1.0.0
+   */
+  private int callHandlers(Node node, MqttMessage mqttMessage) {
+    MqttMessageHandler[] handlers = node.handlers;
+    for (int i = 0; i < handlers.length; i++) {
+      try {
+        handlers[i].onMessage(mqttMessage);
+      } catch (Exception e) {
+        onError(e);
+      }
+    }
+    return handlers.length;
+  }
+
+  /**
+   * Method called when a handler throws an exception while handling a message. The default
+   * implementation logs the exception. Subclasses may override this method to report the exception
+   * elsewhere.
+   *
+   * @param throwable exception thrown by the handler
+   * @since 1.0.0
+   */
+  protected void onError(Throwable throwable) {
+    Logger.LOG_SERIOUS("An MQTT message handler threw an exception: " + throwable);
+  }
+
+  /**
+   * Validates the specified MQTT topic filter. Wildcards must occupy an entire level, and the
+   * multi level wildcard must be the last level.
+   *
+   * @param topicFilter MQTT topic filter
+   * @throws IllegalArgumentException if the topic filter is not valid
+   * @since 1.0.0
+   */
+  private static void validateTopicFilter(String topicFilter) {
+    if (topicFilter == null || topicFilter.length() == 0) {
+      throw new IllegalArgumentException("MQTT topic filter must not be empty.");
+    }
+    final int length = topicFilter.length();
+    for (int i = 0; i < length; i++) {
+      final char c = topicFilter.charAt(i);
+      if (c == '+' || c == '#') {
+        final boolean levelStart = i == 0 || topicFilter.charAt(i - 1) == LEVEL_SEPARATOR;
+        final boolean levelEnd = i == length - 1 || topicFilter.charAt(i + 1) == LEVEL_SEPARATOR;
+        if (!levelStart || !levelEnd || (c == '#' && i != length - 1)) {
+          throw new IllegalArgumentException("Invalid MQTT topic filter: " + topicFilter);
+        }
+      }
+    }
+  }
+
+  /**
+   * Class representing a topic level in the topic trie, with the handlers of the topic filter
+   * ending at the level.
+   *
+   * @since 1.0.0
+   */
+  private static class Node {
+
+    /**
+     * Topic level of the node, or null for the root node.
+     *
+     * @since 1.0.0
+     */
+    final String level;
+
+    /**
+     * Hash code of {@link #level}.
+     *
+     * @since 1.0.0
+     */
+    final int levelHash;
+
+    /**
+     * Next node in the same bucket of the parent child hash table, or null.
+     *
+     * @since 1.0.0
+     */
+    Node nextInBucket;
+
+    /**
+     * Hash table of child nodes for non-wildcard levels, or null if there are none.
+     *
+     * @since 1.0.0
+     */
+    Node[] childBuckets;
+
+    /**
+     * Number of child nodes in {@link #childBuckets}.
+     *
+     * @since 1.0.0
+     */
+    int childCount;
+
+    /**
+     * Child node for the single level wildcard, or null.
+     *
+     * @since 1.0.0
+     */
+    Node singleLevelChild;
+
+    /**
+     * Child node for the multi level wildcard, or null.
+     *
+     * @since 1.0.0
+     */
+    Node multiLevelChild;
+
+    /**
+     * Handlers of the topic filter ending at this node.
+     *
+     * @since 1.0.0
+     */
+    MqttMessageHandler[] handlers = NO_HANDLERS;
+
+    /**
+     * Constructs a new {@link Node} for the specified topic level.
+     *
+     * @param level topic level, or null for the root node
+     * @since 1.0.0
+     */
+    Node(String level) {
+      this.level = level;
+      this.levelHash = level != null ? level.hashCode() : 0;
+    }
+
+    /**
+     * Gets the non-wildcard child node for the topic level between the specified indexes of a
+     * topic, without allocating a substring.
+     *
+     * @param topic MQTT topic
+     * @param start index of the first character of the level
+     * @param end index after the last character of the level
+     * @return the child node, or null if there is none
+     * @since 1.0.0
+     */
+    Node getChild(String topic, int start, int end) {
+      final int length = end - start;
+      if (childBuckets == null) {
+        return null;
+      }
+
+      // Hash level in place, matching String.hashCode()
+      int hash = 0;
+      for (int i = start; i < end; i++) {
+        hash = 31 * hash + topic.charAt(i);
+      }
+      Node child = childBuckets[hash & (childBuckets.length - 1)];
+      while (child != null) {
+        if (child.levelHash == hash
+            && child.level.length() == length
+            && topic.regionMatches(start, child.level, 0, length)) {
+          return child;
+        }
+        child = child.nextInBucket;
+      }
+      return null;
+    }
+
+    /**
+     * Gets the child node for the specified topic filter level, which may be a wildcard.
+     *
+     * @param childLevel topic filter level
+     * @return the child node, or null if there is none
+     * @since 1.0.0
+     */
+    Node getFilterChild(String childLevel) {
+      if (childLevel.equals(SINGLE_LEVEL_WILDCARD)) {
+        return singleLevelChild;
+      }
+      if (childLevel.equals(MULTI_LEVEL_WILDCARD)) {
+        return multiLevelChild;
+      }
+      return getChild(childLevel, 0, childLevel.length());
+    }
+
+    /**
+     * Gets the child node for the specified topic filter level, which may be a wildcard, adding it
+     * if required.
+     *
+     * @param childLevel topic filter level
+     * @return the child node
+     * @since 1.0.0
+     */
+    Node getOrAddChild(String childLevel) {
+      Node child = getFilterChild(childLevel);
+      if (child != null) {
+        return child;
+      }
+      if (childLevel.equals(SINGLE_LEVEL_WILDCARD)) {
+        singleLevelChild = new Node(childLevel);
+        return singleLevelChild;
+      }
+      if (childLevel.equals(MULTI_LEVEL_WILDCARD)) {
+        multiLevelChild = new Node(childLevel);
+        return multiLevelChild;
+      }
+
+      // Add child, growing hash table when more than 3/4 full
+      if (childBuckets == null) {
+        childBuckets = new Node[INITIAL_CHILD_BUCKETS];
+      } else if (childCount + 1 > childBuckets.length * 3 / 4) {
+        Node[] oldBuckets = childBuckets;
+        childBuckets = new Node[oldBuckets.length * 2];
+        for (int i = 0; i < oldBuckets.length; i++) {
+          Node oldChild = oldBuckets[i];
+          while (oldChild != null) {
+            Node next = oldChild.nextInBucket;
+            addToBuckets(oldChild);
+            oldChild = next;
+          }
+        }
+      }
+      child = new Node(childLevel);
+      addToBuckets(child);
+      childCount++;
+      return child;
+    }
+
+    /**
+     * Removes one registration of the specified handler from this node.
+     *
+     * @param handler handler to remove
+     * @return true if the handler was removed, false if it was not registered for this node
+     * @since 1.0.0
+     */
+    boolean removeHandler(MqttMessageHandler handler) {
+      for (int i = 0; i < handlers.length; i++) {
+        if (handlers[i] == handler) {
+          MqttMessageHandler[] newHandlers =
+              handlers.length == 1 ? NO_HANDLERS : new MqttMessageHandler[handlers.length - 1];
+          System.arraycopy(handlers, 0, newHandlers, 0, i);
+          System.arraycopy(handlers, i + 1, newHandlers, i, newHandlers.length - i);
+          handlers = newHandlers;
+          return true;
+        }
+      }
+      return false;
+    }
+
+    /**
+     * Gets a boolean indicating if this node has no handlers and no child nodes.
+     *
+     * @return true if this node is empty
+     * @since 1.0.0
+     */
+    boolean isEmpty() {
+      return handlers.length == 0
+          && childCount == 0
+          && singleLevelChild == null
+          && multiLevelChild == null;
+    }
+
+    /**
+     * Removes the specified child node, which may be a wildcard child node.
+     *
+     * @param child child node to remove
+     * @since 1.0.0
+     */
+    void removeChild(Node child) {
+      if (child == singleLevelChild) {
+        singleLevelChild = null;
+        return;
+      }
+      if (child == multiLevelChild) {
+        multiLevelChild = null;
+        return;
+      }
+      if (childBuckets == null) {
+        return;
+      }
+      final int bucket = child.levelHash & (childBuckets.length - 1);
+      Node previous = null;
+      Node current = childBuckets[bucket];
+      while (current != null) {
+        if (current == child) {
+          if (previous == null) {
+            childBuckets[bucket] = current.nextInBucket;
+          } else {
+            previous.nextInBucket = current.nextInBucket;
+          }
+          current.nextInBucket = null;
+          childCount--;
+          if (childCount == 0) {
+            childBuckets = null;
+          }
+          return;
+        }
+        previous = current;
+        current = current.nextInBucket;
+      }
+    }
+
+    /**
+     * Adds a child node to the bucket of its level in {@link #childBuckets}.
+     *
+     * @param child child node
+     * @since 1.0.0
+     */
+    private void addToBuckets(Node child) {
+      final int bucket = child.levelHash & (childBuckets.length - 1);
+      child.nextInBucket = childBuckets[bucket];
+      childBuckets[bucket] = child;
+    }
+  }
+}
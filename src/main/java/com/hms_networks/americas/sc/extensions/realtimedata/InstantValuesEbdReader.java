@@ -0,0 +1,962 @@
+package com.hms_networks.americas.sc.extensions.realtimedata;
+
+import com.ewon.ewonitf.Exporter;
+import com.hms_networks.americas.sc.extensions.datapoint.DataPoint;
+import com.hms_networks.americas.sc.extensions.datapoint.DataPointBoolean;
+import com.hms_networks.americas.sc.extensions.datapoint.DataPointDouble;
+import com.hms_networks.americas.sc.extensions.datapoint.DataPointLong;
+import com.hms_networks.americas.sc.extensions.datapoint.DataPointString;
+import com.hms_networks.americas.sc.extensions.datapoint.DataQuality;
+import com.hms_networks.americas.sc.extensions.historicaldata.EbdTimeoutException;
+import com.hms_networks.americas.sc.extensions.historicaldata.HistoricalDataManager;
+import com.hms_networks.americas.sc.extensions.taginfo.TagConstants;
+import com.hms_networks.americas.sc.extensions.taginfo.TagInfo;
+import com.hms_networks.americas.sc.extensions.taginfo.TagType;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Reusable, allocation-light reader for the Ewon EBD instant values query using the string data
+ * output format. This class provides the same information as {@link InstantValuesEbdString}, but
+ * walks the export bytes once and parses the tag ID, value and quality of each row directly into
+ * primitives, which are stored in reusable arrays indexed by tag ID. Tag names and unused columns
+ * are skipped without creating objects, and a new {@link String} is only created for the value of
+ * a string tag.
+ *
+ * <p>An optional tag ID filter can be set using {@link #setTagIdFilter(int[])}, so that rows of
+ * other tags are skipped. The values of a read are valid until the next read, and a tag is only
+ * present if it was included in the most recent read. Instances of this class are not thread safe.
+ *
+ * <p>To process only the tags whose value or quality changed between reads, difference each read
+ * using an {@link InstantValuesSnapshotDiffer}.
+ *
+ * <p>See {@link InstantValuesEbdString} for the format of the EBD data.
+ *
+ * @author HMS Networks; Americas
+ * @since 1.17.0
+ * @version 1.0.0
+ */
+public class InstantValuesEbdReader {
+
+  /**
+   * Value type of a tag which was not present in the most recent read.
+   *
+   * @since 1.0.0
+   */
+  public static final int VALUE_TYPE_NONE = 0;
+
+  /**
+   * Value type of a tag whose value was an integer (or boolean, stored as 1 or 0).
+   *
+   * @since 1.0.0
+   */
+  public static final int VALUE_TYPE_INTEGER = 1;
+
+  /**
+   * Value type of a tag whose value was a decimal number.
+   *
+   * @since 1.0.0
+   */
+  public static final int VALUE_TYPE_DECIMAL = 2;
+
+  /**
+   * Value type of a tag whose value was a quoted string.
+   *
+   * @since 1.0.0
+   */
+  public static final int VALUE_TYPE_STRING = 3;
+
+  /**
+   * The EBD instant values string used to execute the EBD call.
+   *
+   * @since 1.0.0
+   */
+  private static final String EBD_INSTANT_VALUES_STRING = "$dtIV $ftT";
+
+  /**
+   * The encoding used to decode string values of the EBD data.
+   *
+   * @since 1.0.0
+   */
+  private static final String EBD_ENCODING = "UTF-8";
+
+  /**
+   * The encoding used to decode numeric values which cannot be parsed directly.
+   *
+   * @since 1.0.0
+   */
+  private static final String NUMBER_ENCODING = "US-ASCII";
+
+  /**
+   * The index of the tag ID field on each row.
+   *
+   * @since 1.0.0
+   */
+  private static final int TAG_ID_INDEX = 0;
+
+  /**
+   * The index of the value field on each row.
+   *
+   * @since 1.0.0
+   */
+  private static final int VALUE_INDEX = 2;
+
+  /**
+   * The index of the quality field on each row.
+   *
+   * @since 1.0.0
+   */
+  private static final int QUALITY_INDEX = 5;
+
+  /**
+   * The delimiter character used to separate values in the EBD data.
+   *
+   * @since 1.0.0
+   */
+  private static final byte DELIMITER = ';';
+
+  /**
+   * The size of the buffer used to read chunks of the EBD data.
+   *
+   * @since 1.0.0
+   */
+  private static final int READ_CHUNK_SIZE_BYTES = 4096;
+
+  /**
+   * The initial capacity of the buffer holding the bytes of the current value field.
+   *
+   * @since 1.0.0
+   */
+  private static final int INITIAL_VALUE_CAPACITY_BYTES = 64;
+
+  /**
+   * The maximum number of significant digits of a value parsed by {@link #parseNumber(int, int)}
+   * (the number of digits which always fit in a <code>long</code>).
+   *
+   * @since 1.0.0
+   */
+  private static final int MAX_LONG_DIGITS = 18;
+
+  /**
+   * The largest mantissa of a decimal value which can be converted to a <code>double</code> exactly
+   * by {@link #parseNumber(int, int)} (2<sup>53</sup>).
+   *
+   * @since 1.0.0
+   */
+  private static final long MAX_EXACT_DECIMAL_MANTISSA = 1L << 53;
+
+  /**
+   * Exact <code>double</code> powers of ten used by {@link #parseNumber(int, int)}.
+   *
+   * @since 1.0.0
+   */
+  private static final double[] EXACT_POWERS_OF_TEN = {
+    1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11, 1e12, 1e13, 1e14, 1e15, 1e16,
+    1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+  };
+
+  /**
+   * Buffer used to read chunks of the EBD data.
+   *
+   * @since 1.0.0
+   */
+  private final byte[] readBuffer = new byte[READ_CHUNK_SIZE_BYTES];
+
+  /**
+   * Buffer holding the bytes of the current value field (grows as required).
+   *
+   * @since 1.0.0
+   */
+  private byte[] valueBuffer = new byte[INITIAL_VALUE_CAPACITY_BYTES];
+
+  /**
+   * Value type of each tag, indexed by tag ID.
+   *
+   * @since 1.0.0
+   */
+  private byte[] valueTypes;
+
+  /**
+   * Integer value, or decimal value bits, of each tag, indexed by tag ID.
+   *
+   * @since 1.0.0
+   */
+  private long[] rawValues;
+
+  /**
+   * String value of each string tag, indexed by tag ID.
+   *
+   * @since 1.0.0
+   */
+  private String[] stringValues;
+
+  /**
+   * OPC UA quality of each tag, indexed by tag ID.
+   *
+   * @since 1.0.0
+   */
+  private int[] qualities;
+
+  /**
+   * Sequence number of the read which last included each tag, indexed by tag ID.
+   *
+   * @since 1.0.0
+   */
+  private int[] readSequences;
+
+  /**
+   * Sequence number of the most recent read.
+   *
+   * @since 1.0.0
+   */
+  private int readSequence;
+
+  /**
+   * IDs of the tags included in the most recent read, in export order.
+   *
+   * @since 1.0.0
+   */
+  private int[] readTagIds;
+
+  /**
+   * Number of tags included in the most recent read.
+   *
+   * @since 1.0.0
+   */
+  private int readTagCount;
+
+  /**
+   * Tag ID filter indexed by tag ID, or null to include all tags.
+   *
+   * @since 1.0.0
+   */
+  private boolean[] tagIdFilter;
+
+  /**
+   * Time of the most recent read, in milliseconds since epoch.
+   *
+   * @since 1.0.0
+   */
+  private long readTimeMillis;
+
+  /**
+   * The value (or value bits) parsed by the most recent call to {@link #parseNumber(int, int)}.
+   *
+   * @since 1.0.0
+   */
+  private long parsedNumber;
+
+  /**
+   * Constructs a new {@link InstantValuesEbdReader} with arrays sized for tag IDs up to the
+   * specified tag ID. The arrays grow if a larger tag ID is read.
+   *
+   * @param highestExpectedTagId highest expected tag ID
+   * @since 1.0.0
+   */
+  public InstantValuesEbdReader(int highestExpectedTagId) {
+    final int tagIdCapacity = Math.max(highestExpectedTagId + 1, 1);
+    valueTypes = new byte[tagIdCapacity];
+    rawValues = new long[tagIdCapacity];
+    stringValues = new String[tagIdCapacity];
+    qualities = new int[tagIdCapacity];
+    readSequences = new int[tagIdCapacity];
+    readTagIds = new int[tagIdCapacity];
+  }
+
+  /**
+   * Sets the IDs of the tags to include in each read. Rows of other tags are skipped.
+   *
+   * @param tagIds IDs of the tags to include, or null to include all tags
+   * @since 1.0.0
+   */
+  public void setTagIdFilter(int[] tagIds) {
+    if (tagIds == null) {
+      tagIdFilter = null;
+      return;
+    }
+
+    int highestTagId = 0;
+    for (int i = 0; i < tagIds.length; i++) {
+      highestTagId = Math.max(highestTagId, tagIds[i]);
+    }
+    boolean[] filter = new boolean[highestTagId + 1];
+    for (int i = 0; i < tagIds.length; i++) {
+      if (tagIds[i] >= 0) {
+        filter[tagIds[i]] = true;
+      }
+    }
+    tagIdFilter = filter;
+  }
+
+  /**
+   * Executes the instant values EBD call and reads the values of all tags (or the tags included by
+   * the tag ID filter).
+   *
+   * @return number of tags read
+   * @throws IOException if unable to read the EBD data
+   * @throws EbdTimeoutException if the EBD call times out
+   * @throws IllegalArgumentException if the number of values on a line does not match the number of
+   *     headings, or if a tag ID, value or quality cannot be parsed
+   * @since 1.0.0
+   */
+  public int read() throws IOException, EbdTimeoutException {
+    final long timeMillis = System.currentTimeMillis();
+    Exporter exporter = HistoricalDataManager.executeEbdCall(EBD_INSTANT_VALUES_STRING);
+    try {
+      read(exporter, timeMillis);
+    } finally {
+      exporter.close();
+    }
+    return readTagCount;
+  }
+
+  /**
+   * Reads the values of all tags (or the tags included by the tag ID filter) from the specified
+   * instant values EBD data stream. The stream is read until no more bytes are available.
+   *
+   * @param inputStream instant values EBD data stream
+   * @param timeMillis time of the EBD data, in milliseconds since epoch
+   * @return number of tags read
+   * @throws IOException if unable to read the EBD data
+   * @throws IllegalArgumentException if the number of values on a line does not match the number of
+   *     headings, or if a tag ID, value or quality cannot be parsed
+   * @since 1.0.0
+   */
+  public int read(InputStream inputStream, long timeMillis) throws IOException {
+    readSequence++;
+    readTagCount = 0;
+    readTimeMillis = timeMillis;
+
+    // Line state
+    int lineNumber = 1;
+    int headingsCount = -1;
+    int fieldIndex = 0;
+    int lineLength = 0;
+    boolean inQuotedString = false;
+    boolean escaped = false;
+    boolean skipRow = false;
+
+    // Field state
+    int tagId = 0;
+    boolean tagIdHasDigits = false;
+    int quality = 0;
+    boolean qualityHasDigits = false;
+    int valueLength = 0;
+
+    int bytesAvailable = inputStream.available();
+    while (bytesAvailable != 0) {
+      int bytesRead =
+          inputStream.read(readBuffer, 0, Math.min(bytesAvailable, readBuffer.length));
+      if (bytesRead == TagConstants.TAG_EBD_END_OF_STREAM) {
+        break;
+      }
+
+      for (int i = 0; i < bytesRead; i++) {
+        final byte currentByte = readBuffer[i];
+
+        if (currentByte == TagConstants.TAG_EBD_NEW_LINE) {
+          // Process completed line (empty lines are skipped)
+          if (lineLength > 0) {
+            final int fieldCount = fieldIndex + 1;
+            if (headingsCount == -1) {
+              headingsCount = fieldCount;
+            } else if (fieldCount != headingsCount) {
+              throw new IllegalArgumentException(
+                  "Number of values on line " + lineNumber + " does not match number of headings");
+            } else if (!skipRow) {
+              storeRow(tagId, tagIdHasDigits, valueLength, quality, qualityHasDigits, lineNumber);
+            }
+          }
+
+          // Reset line and field state
+          lineNumber++;
+          fieldIndex = 0;
+          lineLength = 0;
+          inQuotedString = false;
+          escaped = false;
+          skipRow = false;
+          tagId = 0;
+          tagIdHasDigits = false;
+          quality = 0;
+          qualityHasDigits = false;
+          valueLength = 0;
+          continue;
+        }
+        if (currentByte == TagConstants.TAG_EBD_CARRIAGE_RETURN
+            || currentByte == (byte) TagConstants.TAG_EBD_END_OF_STREAM) {
+          continue;
+        }
+        if (currentByte != ' ') {
+          lineLength++;
+        }
+
+        // Advance to next field on unquoted, unescaped delimiter
+        if (currentByte == DELIMITER && !inQuotedString && !escaped) {
+          // Apply tag ID filter once the tag ID field is complete (header row is never filtered)
+          if (fieldIndex == TAG_ID_INDEX && headingsCount != -1 && tagIdFilter != null) {
+            skipRow = !tagIdHasDigits || tagId >= tagIdFilter.length || !tagIdFilter[tagId];
+          }
+          fieldIndex++;
+          continue;
+        }
+
+        // Track quoted strings and escape characters
+        if (currentByte == '"' && !escaped) {
+          inQuotedString = !inQuotedString;
+        }
+        if (currentByte == '\\') {
+          escaped = !escaped;
+        } else {
+          escaped = false;
+        }
+
+        // Accumulate fields of interest on data rows
+        if (headingsCount == -1 || skipRow) {
+          continue;
+        }
+        if (fieldIndex == TAG_ID_INDEX) {
+          if (currentByte >= '0' && currentByte <= '9') {
+            tagId = appendDigit(tagId, currentByte, "tag ID", lineNumber);
+            tagIdHasDigits = true;
+          } else if (currentByte != ' ') {
+            throw new IllegalArgumentException(
+                "Failed to parse tag ID on line " + lineNumber + " as an Integer!");
+          }
+        } else if (fieldIndex == VALUE_INDEX) {
+          if (valueLength == valueBuffer.length) {
+            byte[] grownValueBuffer = new byte[valueBuffer.length * 2];
+            System.arraycopy(valueBuffer, 0, grownValueBuffer, 0, valueLength);
+            valueBuffer = grownValueBuffer;
+          }
+          valueBuffer[valueLength++] = currentByte;
+        } else if (fieldIndex == QUALITY_INDEX) {
+          if (currentByte >= '0' && currentByte <= '9') {
+            quality = appendDigit(quality, currentByte, "quality", lineNumber);
+            qualityHasDigits = true;
+          } else if (currentByte != ' ') {
+            throw new IllegalArgumentException(
+                "Failed to parse quality on line " + lineNumber + " as an Integer!");
+          }
+        }
+      }
+
+      bytesAvailable = inputStream.available();
+    }
+
+    // Process final line if not terminated by a new line
+    if (lineLength > 0 && headingsCount != -1) {
+      if (fieldIndex + 1 != headingsCount) {
+        throw new IllegalArgumentException(
+            "Number of values on line " + lineNumber + " does not match number of headings");
+      } else if (!skipRow) {
+        storeRow(tagId, tagIdHasDigits, valueLength, quality, qualityHasDigits, lineNumber);
+      }
+    }
+    return readTagCount;
+  }
+
+  /**
+   * Appends a decimal digit to a non-negative integer field being parsed.
+   *
+   * @param number value of the field parsed so far
+   * @param digit ASCII decimal digit to append
+   * @param fieldName name of the field, for the exception message
+   * @param lineNumber line number of the field, for the exception message
+   * @return value of the field with the digit appended
+   * @throws IllegalArgumentException if the value would overflow an <code>int</code>
+   * @since 1.0.0
+   */
+  private static int appendDigit(int number, byte digit, String fieldName, int lineNumber) {
+    final int digitValue = digit - '0';
+    if (number > (Integer.MAX_VALUE - digitValue) / 10) {
+      throw new IllegalArgumentException(
+          "Failed to parse " + fieldName + " on line " + lineNumber + " as an Integer!");
+    }
+    return number * 10 + digitValue;
+  }
+
+  /**
+   * Gets the number of tags included in the most recent read.
+   *
+   * @return number of tags read
+   * @since 1.0.0
+   */
+  public int getTagCount() {
+    return readTagCount;
+  }
+
+  /**
+   * Gets the ID of the tag at the specified index of the most recent read, in export order.
+   *
+   * @param index index of the tag, from 0 to {@link #getTagCount()} - 1
+   * @return tag ID
+   * @since 1.0.0
+   */
+  public int getTagId(int index) {
+    if (index < 0 || index >= readTagCount) {
+      throw new IndexOutOfBoundsException("Invalid instant value index: " + index + ".");
+    }
+    return readTagIds[index];
+  }
+
+  /**
+   * Gets the time of the most recent read, in milliseconds since epoch.
+   *
+   * @return read time in milliseconds
+   * @since 1.0.0
+   */
+  public long getReadTimeMillis() {
+    return readTimeMillis;
+  }
+
+  /**
+   * Gets the value type of the specified tag in the most recent read.
+   *
+   * @param tagId tag ID
+   * @return {@link #VALUE_TYPE_INTEGER}, {@link #VALUE_TYPE_DECIMAL}, {@link #VALUE_TYPE_STRING},
+   *     or {@link #VALUE_TYPE_NONE} if the tag was not included in the most recent read
+   * @since 1.0.0
+   */
+  public int getValueType(int tagId) {
+    if (tagId < 0 || tagId >= readSequences.length || readSequences[tagId] != readSequence) {
+      return VALUE_TYPE_NONE;
+    }
+    return valueTypes[tagId];
+  }
+
+  /**
+   * Gets the value of the specified tag as a <code>long</code>. Decimal values are truncated.
+   *
+   * @param tagId tag ID
+   * @return tag value
+   * @throws IllegalStateException if the tag was not included in the most recent read, or has a
+   *     string value
+   * @since 1.0.0
+   */
+  public long getLongValue(int tagId) {
+    final int valueType = getValueType(tagId);
+    if (valueType == VALUE_TYPE_INTEGER) {
+      return rawValues[tagId];
+    } else if (valueType == VALUE_TYPE_DECIMAL) {
+      return (long) Double.longBitsToDouble(rawValues[tagId]);
+    }
+    throw new IllegalStateException("No numeric instant value for tag ID " + tagId + ".");
+  }
+
+  /**
+   * Gets the value of the specified tag as a <code>double</code>.
+   *
+   * @param tagId tag ID
+   * @return tag value
+   * @throws IllegalStateException if the tag was not included in the most recent read, or has a
+   *     string value
+   * @since 1.0.0
+   */
+  public double getDoubleValue(int tagId) {
+    final int valueType = getValueType(tagId);
+    if (valueType == VALUE_TYPE_INTEGER) {
+      return rawValues[tagId];
+    } else if (valueType == VALUE_TYPE_DECIMAL) {
+      return Double.longBitsToDouble(rawValues[tagId]);
+    }
+    throw new IllegalStateException("No numeric instant value for tag ID " + tagId + ".");
+  }
+
+  /**
+   * Gets the string value of the specified tag.
+   *
+   * @param tagId tag ID
+   * @return tag value
+   * @throws IllegalStateException if the tag was not included in the most recent read, or does not
+   *     have a string value
+   * @since 1.0.0
+   */
+  public String getStringValue(int tagId) {
+    if (getValueType(tagId) != VALUE_TYPE_STRING) {
+      throw new IllegalStateException("No string instant value for tag ID " + tagId + ".");
+    }
+    return stringValues[tagId];
+  }
+
+  /**
+   * Gets the OPC UA quality of the specified tag.
+   *
+   * @param tagId tag ID
+   * @return OPC UA quality
+   * @throws IllegalStateException if the tag was not included in the most recent read
+   * @since 1.0.0
+   */
+  public int getQuality(int tagId) {
+    if (getValueType(tagId) == VALUE_TYPE_NONE) {
+      throw new IllegalStateException("No instant value for tag ID " + tagId + ".");
+    }
+    return qualities[tagId];
+  }
+
+  /**
+   * Creates a data point for the specified tag from the most recent read. The data point type
+   * matches the data points created by {@link InstantValuesEbdString} with primitive number values
+   * enabled. Numeric values of boolean tags are truncated to an integer before being compared to
+   * zero.
+   *
+   * @param tagInfo tag information of the tag
+   * @param epochSecondsTimestamp the timestamp of the data point in epoch seconds
+   * @param iso8601Timestamp the timestamp of the data point in ISO 8601 format
+   * @return data point, or null if the tag was not included in the most recent read
+   * @throws IllegalArgumentException if the tag type cannot be decoded from its tag info and value
+   * @since 1.0.0
+   */
+  public DataPoint createDataPoint(
+      TagInfo tagInfo, String epochSecondsTimestamp, String iso8601Timestamp) {
+    final int tagId = tagInfo.getId();
+    final int valueType = getValueType(tagId);
+    if (valueType == VALUE_TYPE_NONE) {
+      return null;
+    }
+    return createDataPoint(
+        tagInfo,
+        valueType,
+        rawValues[tagId],
+        stringValues[tagId],
+        DataQuality.fromOpcuaQuality(qualities[tagId]),
+        epochSecondsTimestamp,
+        iso8601Timestamp);
+  }
+
+  /**
+   * Creates a data point for the specified tag from the specified value. This method is shared by
+   * each source of real time tag values, so that the same value of a tag always results in an equal
+   * data point of the same type.
+   *
+   * @param tagInfo tag information of the tag
+   * @param valueType {@link #VALUE_TYPE_INTEGER}, {@link #VALUE_TYPE_DECIMAL} or {@link
+   *     #VALUE_TYPE_STRING}
+   * @param rawValue integer value, or decimal value bits, of the tag (ignored for string values)
+   * @param stringValue string value of the tag (ignored for numeric values)
+   * @param dataQuality quality of the data point
+   * @param epochSecondsTimestamp the timestamp of the data point in epoch seconds
+   * @param iso8601Timestamp the timestamp of the data point in ISO 8601 format
+   * @return data point
+   * @throws IllegalArgumentException if the tag type cannot be decoded from its tag info and value
+   * @since 1.0.0
+   */
+  static DataPoint createDataPoint(
+      TagInfo tagInfo,
+      int valueType,
+      long rawValue,
+      String stringValue,
+      DataQuality dataQuality,
+      String epochSecondsTimestamp,
+      String iso8601Timestamp) {
+    final int tagId = tagInfo.getId();
+    final String tagName = tagInfo.getName();
+    final String tagUnit = tagInfo.getUnit();
+    final TagType tagType = tagInfo.getType();
+    if (tagType == TagType.STRING && valueType == VALUE_TYPE_STRING) {
+      return new DataPointString(
+          tagName,
+          tagId,
+          tagUnit,
+          stringValue,
+          epochSecondsTimestamp,
+          iso8601Timestamp,
+          dataQuality);
+    } else if (valueType == VALUE_TYPE_STRING) {
+      throw new IllegalArgumentException(
+          "Failed to create data point for tag ["
+              + tagName
+              + "]. Value type cannot be decoded from ["
+              + stringValue
+              + "]");
+    }
+
+    final double doubleValue =
+        valueType == VALUE_TYPE_INTEGER ? rawValue : Double.longBitsToDouble(rawValue);
+    if (tagType == TagType.BOOLEAN) {
+      return new DataPointBoolean(
+          tagName,
+          tagId,
+          tagUnit,
+          valueType == VALUE_TYPE_INTEGER ? rawValue != 0 : (long) doubleValue != 0,
+          epochSecondsTimestamp,
+          iso8601Timestamp,
+          dataQuality);
+    } else if ((tagType == TagType.INTEGER || tagType == TagType.DWORD)
+        && valueType == VALUE_TYPE_INTEGER) {
+      return new DataPointLong(
+          tagName, tagId, tagUnit, rawValue, epochSecondsTimestamp, iso8601Timestamp, dataQuality);
+    } else if (tagType == TagType.INTEGER
+        || tagType == TagType.DWORD
+        || tagType == TagType.FLOAT) {
+      return new DataPointDouble(
+          tagName,
+          tagId,
+          tagUnit,
+          doubleValue,
+          epochSecondsTimestamp,
+          iso8601Timestamp,
+          dataQuality);
+    }
+    throw new IllegalArgumentException(
+        "Failed to create data point for tag ["
+            + tagName
+            + "]. Value type cannot be decoded from ["
+            + doubleValue
+            + "]");
+  }
+
+  /**
+   * Stores the parsed row in the arrays indexed by tag ID, parsing the value field in the value
+   * buffer.
+   *
+   * @param tagId parsed tag ID
+   * @param tagIdHasDigits true if the tag ID field contained digits
+   * @param valueLength length of the value field in the value buffer
+   * @param quality parsed quality
+   * @param qualityHasDigits true if the quality field contained digits
+   * @param lineNumber line number of the row, for error messages
+   * @throws IOException if unable to decode a string value
+   * @throws IllegalArgumentException if the tag ID, value or quality cannot be parsed
+   * @since 1.0.0
+   */
+  private void storeRow(
+      int tagId,
+      boolean tagIdHasDigits,
+      int valueLength,
+      int quality,
+      boolean qualityHasDigits,
+      int lineNumber)
+      throws IOException {
+    if (!tagIdHasDigits || !qualityHasDigits || tagId < 0) {
+      throw new IllegalArgumentException(
+          "Failed to parse tag ID or quality on line " + lineNumber + " as an Integer!");
+    }
+    ensureTagIdCapacity(tagId);
+
+    // Trim value field
+    int start = 0;
+    int end = valueLength;
+    while (start < end && valueBuffer[start] == ' ') {
+      start++;
+    }
+    while (end > start && valueBuffer[end - 1] == ' ') {
+      end--;
+    }
+
+    if (end - start >= 2 && valueBuffer[start] == '"' && valueBuffer[end - 1] == '"') {
+      valueTypes[tagId] = VALUE_TYPE_STRING;
+      stringValues[tagId] = unquoteString(start + 1, end - 1);
+    } else {
+      valueTypes[tagId] = (byte) parseNumber(start, end);
+      rawValues[tagId] = parsedNumber;
+      stringValues[tagId] = null;
+    }
+    qualities[tagId] = quality;
+
+    // Record tag as included in this read (tag IDs are unique, except in malformed data)
+    if (readSequences[tagId] != readSequence) {
+      readSequences[tagId] = readSequence;
+      readTagIds[readTagCount++] = tagId;
+    }
+  }
+
+  /**
+   * Parses the numeric (or boolean) value in the specified range of the value buffer, and stores it
+   * in {@link #parsedNumber}. Integers with up to 18 digits, and decimals whose mantissa and power
+   * of ten are exactly representable as a <code>double</code>, are parsed without creating objects;
+   * other values are parsed using {@link Double#parseDouble(String)}.
+   *
+   * @param start start index of the value (inclusive)
+   * @param end end index of the value (exclusive)
+   * @return {@link #VALUE_TYPE_INTEGER} or {@link #VALUE_TYPE_DECIMAL}
+   * @throws IOException if unable to decode the value
+   * @throws IllegalArgumentException if the value cannot be parsed as a number or boolean
+   * @since 1.0.0
+   */
+  private int parseNumber(int start, int end) throws IOException {
+    int index = start;
+    boolean negative = false;
+    if (index < end && (valueBuffer[index] == '-' || valueBuffer[index] == '+')) {
+      negative = valueBuffer[index] == '-';
+      index++;
+    }
+
+    // Read digits before and after the decimal point into the mantissa
+    long mantissa = 0;
+    int digitCount = 0;
+    int fractionDigitCount = 0;
+    boolean hasDecimalPoint = false;
+    boolean hasDigits = false;
+    while (index < end) {
+      final byte currentByte = valueBuffer[index];
+      if (currentByte >= '0' && currentByte <= '9') {
+        hasDigits = true;
+        if (mantissa != 0 || currentByte != '0') {
+          digitCount++;
+        }
+        if (digitCount > MAX_LONG_DIGITS) {
+          // Too many digits to parse directly
+          return parseNumberFallback(start, end);
+        }
+        mantissa = mantissa * 10 + (currentByte - '0');
+        if (hasDecimalPoint) {
+          fractionDigitCount++;
+        }
+      } else if (currentByte == '.' && !hasDecimalPoint) {
+        hasDecimalPoint = true;
+      } else {
+        break;
+      }
+      index++;
+    }
+
+    // Read exponent, if present
+    int exponent = 0;
+    boolean hasExponent = false;
+    if (hasDigits && index < end && (valueBuffer[index] == 'e' || valueBuffer[index] == 'E')) {
+      hasExponent = true;
+      index++;
+      boolean negativeExponent = false;
+      if (index < end && (valueBuffer[index] == '-' || valueBuffer[index] == '+')) {
+        negativeExponent = valueBuffer[index] == '-';
+        index++;
+      }
+      boolean hasExponentDigits = false;
+      while (index < end && valueBuffer[index] >= '0' && valueBuffer[index] <= '9') {
+        if (exponent < EXACT_POWERS_OF_TEN.length * 2) {
+          exponent = exponent * 10 + (valueBuffer[index] - '0');
+        }
+        hasExponentDigits = true;
+        index++;
+      }
+      if (!hasExponentDigits) {
+        return parseNumberFallback(start, end);
+      }
+      if (negativeExponent) {
+        exponent = -exponent;
+      }
+    }
+
+    if (!hasDigits || index != end) {
+      return parseNumberFallback(start, end);
+    }
+
+    // Integer value
+    if (!hasDecimalPoint && !hasExponent) {
+      parsedNumber = negative ? -mantissa : mantissa;
+      return VALUE_TYPE_INTEGER;
+    }
+
+    // Decimal value, exact if the mantissa and power of ten are exactly representable
+    final int scale = exponent - fractionDigitCount;
+    if (mantissa > MAX_EXACT_DECIMAL_MANTISSA
+        || scale >= EXACT_POWERS_OF_TEN.length
+        || -scale >= EXACT_POWERS_OF_TEN.length) {
+      return parseNumberFallback(start, end);
+    }
+    double value =
+        scale >= 0
+            ? mantissa * EXACT_POWERS_OF_TEN[scale]
+            : mantissa / EXACT_POWERS_OF_TEN[-scale];
+    parsedNumber = Double.doubleToLongBits(negative ? -value : value);
+    return VALUE_TYPE_DECIMAL;
+  }
+
+  /**
+   * Parses the numeric (or boolean) value in the specified range of the value buffer using {@link
+   * Double#parseDouble(String)}, and stores it in {@link #parsedNumber}.
+   *
+   * @param start start index of the value (inclusive)
+   * @param end end index of the value (exclusive)
+   * @return {@link #VALUE_TYPE_INTEGER} or {@link #VALUE_TYPE_DECIMAL}
+   * @throws IOException if unable to decode the value
+   * @throws IllegalArgumentException if the value cannot be parsed as a number or boolean
+   * @since 1.0.0
+   */
+  private int parseNumberFallback(int start, int end) throws IOException {
+    String value = new String(valueBuffer, start, end - start, NUMBER_ENCODING);
+    if (value.equalsIgnoreCase("true")) {
+      parsedNumber = 1;
+      return VALUE_TYPE_INTEGER;
+    } else if (value.equalsIgnoreCase("false")) {
+      parsedNumber = 0;
+      return VALUE_TYPE_INTEGER;
+    }
+
+    try {
+      parsedNumber = Double.doubleToLongBits(Double.parseDouble(value));
+      return VALUE_TYPE_DECIMAL;
+    } catch (NumberFormatException e) {
+      throw new IllegalArgumentException(
+          "Failed to parse value [" + value + "] as a Double, Long, or Boolean!");
+    }
+  }
+
+  /**
+   * Removes escape characters from the quoted string in the specified range of the value buffer
+   * (excluding the enclosing quotes), and decodes the result.
+   *
+   * @param start start index of the string (inclusive)
+   * @param end end index of the string (exclusive)
+   * @return unescaped string
+   * @throws IOException if unable to decode the string
+   * @since 1.0.0
+   */
+  private String unquoteString(int start, int end) throws IOException {
+    // Unescape in place, as the unescaped string is never longer than the escaped string
+    int length = 0;
+    for (int i = start; i < end; i++) {
+      byte currentByte = valueBuffer[i];
+      if (currentByte == '\\' && i + 1 < end) {
+        final byte escapedByte = valueBuffer[i + 1];
+        if (escapedByte == '"' || escapedByte == '\'') {
+          currentByte = escapedByte;
+          i++;
+        } else if (escapedByte == 'n') {
+          currentByte = '\n';
+          i++;
+        } else if (escapedByte == 'r') {
+          currentByte = '\r';
+          i++;
+        } else if (escapedByte == 't') {
+          currentByte = '\t';
+          i++;
+        }
+      }
+      valueBuffer[start + length++] = currentByte;
+    }
+    return new String(valueBuffer, start, length, EBD_ENCODING);
+  }
+
+  /**
+   * Grows the arrays indexed by tag ID, if required, to include the specified tag ID.
+   *
+   * @param tagId tag ID
+   * @since 1.0.0
+   */
+  private void ensureTagIdCapacity(int tagId) {
+    if (tagId < valueTypes.length) {
+      return;
+    }
+
+    final int tagIdCapacity = Math.max(tagId + 1, valueTypes.length * 2);
+    byte[] grownValueTypes = new byte[tagIdCapacity];
+    System.arraycopy(valueTypes, 0, grownValueTypes, 0, valueTypes.length);
+    valueTypes = grownValueTypes;
+    long[] grownRawValues = new long[tagIdCapacity];
+    System.arraycopy(rawValues, 0, grownRawValues, 0, rawValues.length);
+    rawValues = grownRawValues;
+    String[] grownStringValues = new String[tagIdCapacity];
+    System.arraycopy(stringValues, 0, grownStringValues, 0, stringValues.length);
+    stringValues = grownStringValues;
+    int[] grownQualities = new int[tagIdCapacity];
+    System.arraycopy(qualities, 0, grownQualities, 0, qualities.length);
+    qualities = grownQualities;
+    int[] grownReadSequences = new int[tagIdCapacity];
+    System.arraycopy(readSequences, 0, grownReadSequences, 0, readSequences.length);
+    readSequences = grownReadSequences;
+    int[] grownReadTagIds = new int[tagIdCapacity];
+    System.arraycopy(readTagIds, 0, grownReadTagIds, 0, readTagCount);
+    readTagIds = grownReadTagIds;
+  }
+}
@@ -3,6 +3,8 @@ package com.hms_networks.americas.sc.extensions.realtimedata;
 import com.ewon.ewonitf.Exporter;
 import com.hms_networks.americas.sc.extensions.datapoint.DataPoint;
 import com.hms_networks.americas.sc.extensions.datapoint.DataPointBoolean;
+import com.hms_networks.americas.sc.extensions.datapoint.DataPointDouble;
+import com.hms_networks.americas.sc.extensions.datapoint.DataPointLong;
 import com.hms_networks.americas.sc.extensions.datapoint.DataPointNumber;
 import com.hms_networks.americas.sc.extensions.datapoint.DataPointString;
 import com.hms_networks.americas.sc.extensions.datapoint.DataQuality;
@@ -29,6 +31,9 @@ import java.util.Map;
  * configurations. The {@link TagInfoManager} is used to get tag information for each tag ID, and
  * must be populated with tag information before using this class.
  *
+ * <p>For repeated snapshots (for example, once per second), {@link InstantValuesEbdReader} reads
+ * the same data into reusable primitive arrays without creating a data point for every tag.
+ *
  * <p>Format of the EBD data:
  *
  * <ul>
@@ -106,6 +111,14 @@ public class InstantValuesEbdString {
    */
   private static final char DELIMITER = ';';
 
+  /**
+   * The initial capacity of the delimiter index array used when scanning a line. The expected
+   * header has six columns, and therefore five delimiters.
+   *
+   * @since 1.0.0
+   */
+  private static final int INITIAL_DELIMITER_CAPACITY = 8;
+
   /**
    * The delimiter character used to separate lines in the EBD data.
    *
@@ -158,13 +171,46 @@ public class InstantValuesEbdString {
    */
   public InstantValuesEbdString(Date date, String ebdData)
       throws Exception, IllegalArgumentException {
+    this(date, ebdData, false);
+  }
+
+  /**
+   * Constructor for the InstantValuesEbdString class. This constructor parses the EBD data and
+   * creates data points for each tag.
+   *
+   * <p>By default, numeric values are stored in {@link DataPointNumber} data points holding an
+   * {@link Integer} (for integer values) or a {@link Float}. When <code>primitiveNumberValues
+   * </code> is true, numeric values are instead parsed directly to primitives and stored in {@link
+   * DataPointLong} (for integer values) or {@link DataPointDouble} data points, without creating
+   * intermediate {@link Number} objects. Note that this changes the value type (and string
+   * representation) of the resulting data points, for example, a float tag value of 5 is
+   * represented as 5.0.
+   *
+   * @param date {@link Date} object of the EBD data
+   * @param ebdData the EBD data to parse
+   * @param primitiveNumberValues true to create {@link DataPointLong} and {@link DataPointDouble}
+   *     data points for numeric values
+   * @throws Exception when unable to get UTC export value
+   * @throws IllegalStateException when the {@link TagInfoManager} has not been initialized with
+   *     {@link TagInfoManager#refreshTagList()}
+   * @throws IllegalArgumentException if one of the following occurs:
+   *     <ul>
+   *       <li>a tag type cannot be decoded from its tag info and value
+   *       <li>the number of values on a line does not match the number of headings
+   *       <li>a value cannot be parsed as a string, integer, float, long, double, or boolean
+   *     </ul>
+   *
+   * @since 1.17.0
+   */
+  public InstantValuesEbdString(Date date, String ebdData, boolean primitiveNumberValues)
+      throws Exception, IllegalArgumentException {
     // Store timestamp
     this.iso8601Timestamp = SCTimeUtils.getIso8601FormattedTimestampForDate(date);
     String epochSec = Long.toString(date.getTime() / SCTimeUnit.SECONDS.toMillis(1));
 
     // Parse the EBD data
-    Object[][] parsedData = parse(ebdData);
-    dataPoints = buildDataPoints(iso8601Timestamp, epochSec, parsedData);
+    String[][] parsedFields = parseFields(ebdData);
+    dataPoints = buildDataPoints(iso8601Timestamp, epochSec, parsedFields, primitiveNumberValues);
   }
 
   /**
@@ -205,13 +251,38 @@ public class InstantValuesEbdString {
    * @since 1.0.0
    */
   public static InstantValuesEbdString doEbd(Date date) throws Exception {
+    return doEbd(date, false);
+  }
+
+  /**
+   * Method to execute an EBD call and parse the data into data points for each tag. See {@link
+   * #InstantValuesEbdString(Date, String, boolean)} for the data points created for numeric values.
+   *
+   * @param date {@link Date} object to associate with the EBD data
+   * @param primitiveNumberValues true to create {@link DataPointLong} and {@link DataPointDouble}
+   *     data points for numeric values
+   * @return an {@link InstantValuesEbdString} object containing the parsed data points
+   * @throws IllegalStateException when the {@link TagInfoManager} has not been initialized with
+   *     {@link TagInfoManager#refreshTagList()}
+   * @throws IllegalArgumentException if one of the following occurs:
+   *     <ul>
+   *       <li>a tag type cannot be decoded from its tag info and value
+   *       <li>the number of values on a line does not match the number of headings
+   *       <li>a value cannot be parsed as a string, integer, float, long, double, or boolean
+   *     </ul>
+   *
+   * @throws Exception if an error occurs while executing the EBD call
+   * @since 1.17.0
+   */
+  public static InstantValuesEbdString doEbd(Date date, boolean primitiveNumberValues)
+      throws Exception {
     // Store timestamp and execute EBD call
     Exporter ebdInstantValuesExporter =
         HistoricalDataManager.executeEbdCall(EBD_INSTANT_VALUES_STRING);
 
     // Pull in bytes from Exporter (input stream)
     String ebdData = StreamUtils.getStringFromInputStream(ebdInstantValuesExporter, EBD_ENCODING);
-    return new InstantValuesEbdString(date, ebdData);
+    return new InstantValuesEbdString(date, ebdData, primitiveNumberValues);
   }
 
   /**
@@ -219,7 +290,9 @@ public class InstantValuesEbdString {
    *
    * @param iso8601Timestamp the timestamp of the EBD data in ISO 8601 format
    * @param epochSecondsTimestamp the timestamp of the EBD data in epoch seconds
-   * @param parsedData the parsed data
+   * @param parsedFields the parsed (unconverted) fields of each line, including the header line
+   * @param primitiveNumberValues true to create {@link DataPointLong} and {@link DataPointDouble}
+   *     data points for numeric values, false to create {@link DataPointNumber} data points
    * @return a map of data points (Parameterized type: Map&lt;String, DataPoint&gt;)
    * @throws IllegalArgumentException if a tag type cannot be decoded from its tag info and value
    * @throws IllegalStateException when the {@link TagInfoManager} has not been initialized with
@@ -227,103 +300,101 @@ public class InstantValuesEbdString {
    * @since 1.0.0
    */
   private static Map buildDataPoints(
-      String iso8601Timestamp, String epochSecondsTimestamp, Object[][] parsedData) {
+      String iso8601Timestamp,
+      String epochSecondsTimestamp,
+      String[][] parsedFields,
+      boolean primitiveNumberValues) {
     // Create a map to store the data points
     Map dataPoints = new HashMap(); // Map<String, DataPoint>
 
     // Loop through each row of the parsed data (except headings)
-    for (int i = 1; i < parsedData.length; i++) {
-      // Get the values for the row
-      Object[] values = parsedData[i];
+    for (int i = 1; i < parsedFields.length; i++) {
+      // Get the fields for the row
+      String[] fields = parsedFields[i];
 
       // Extract the values from the row
-      int tagId = ((Integer) values[TAG_ID_INDEX]).intValue();
-      String tagName = (String) values[TAG_NAME_INDEX];
-      Object value = values[VALUE_INDEX];
-      int quality = ((Integer) values[QUALITY_INDEX]).intValue();
+      int tagId = parseIntField(fields[TAG_ID_INDEX]);
+      String tagName = unquoteString(fields[TAG_NAME_INDEX]);
+      String value = fields[VALUE_INDEX];
+      int quality = parseIntField(fields[QUALITY_INDEX]);
 
       // Build required values
       TagInfo tagInfo = TagInfoManager.getTagInfoFromTagId(tagId);
       String tagUnit = tagInfo.getUnit();
       DataQuality dataQuality = DataQuality.fromOpcuaQuality(quality);
+      TagType tagType = tagInfo.getType();
+      boolean isNumericTag =
+          tagType == TagType.INTEGER || tagType == TagType.DWORD || tagType == TagType.FLOAT;
 
       // Create a data point for the tag
-      DataPoint dataPoint;
-
-      // Check if string
-      if (tagInfo.getType() == TagType.STRING) {
-        String valueString = value instanceof String ? (String) value : value.toString();
-        dataPoint =
-            new DataPointString(
-                tagName,
-                tagId,
-                tagUnit,
-                valueString,
-                epochSecondsTimestamp,
-                iso8601Timestamp,
-                dataQuality);
-      } else if (tagInfo.getType() == TagType.BOOLEAN && value instanceof Boolean) {
-        boolean valueBoolean = ((Boolean) value).booleanValue();
-        dataPoint =
-            new DataPointBoolean(
-                tagName,
-                tagId,
-                tagUnit,
-                valueBoolean,
-                epochSecondsTimestamp,
-                iso8601Timestamp,
-                dataQuality);
-      } else {
-        Number valueNumber = (Number) value;
-        if (tagInfo.getType() == TagType.BOOLEAN) {
-          boolean valueBoolean = valueNumber.intValue() != 0;
+      DataPoint dataPoint = null;
+
+      try {
+        if (tagType == TagType.STRING) {
           dataPoint =
-              new DataPointBoolean(
+              new DataPointString(
                   tagName,
                   tagId,
                   tagUnit,
-                  valueBoolean,
+                  parseValueObject(value).toString(),
                   epochSecondsTimestamp,
                   iso8601Timestamp,
                   dataQuality);
-        } else if (tagInfo.getType() == TagType.INTEGER) {
+        } else if (tagType == TagType.BOOLEAN) {
           dataPoint =
-              new DataPointNumber(
+              new DataPointBoolean(
                   tagName,
                   tagId,
                   tagUnit,
-                  valueNumber,
+                  parseBooleanValue(value),
                   epochSecondsTimestamp,
                   iso8601Timestamp,
                   dataQuality);
-        } else if (tagInfo.getType() == TagType.FLOAT) {
+        } else if (isNumericTag && primitiveNumberValues && isIntegerString(value)) {
           dataPoint =
-              new DataPointNumber(
+              new DataPointLong(
                   tagName,
                   tagId,
                   tagUnit,
-                  valueNumber,
+                  Long.parseLong(value),
                   epochSecondsTimestamp,
                   iso8601Timestamp,
                   dataQuality);
-        } else if (tagInfo.getType() == TagType.DWORD) {
+        } else if (isNumericTag && primitiveNumberValues) {
           dataPoint =
-              new DataPointNumber(
+              new DataPointDouble(
                   tagName,
                   tagId,
                   tagUnit,
-                  valueNumber,
+                  Double.parseDouble(value),
                   epochSecondsTimestamp,
                   iso8601Timestamp,
                   dataQuality);
-        } else {
-          throw new IllegalArgumentException(
-              "Failed to create data point for tag ["
-                  + tagName
-                  + "]. Value type cannot be decoded from ["
-                  + value
-                  + "]");
+        } else if (isNumericTag) {
+          Object valueObject = parseValueObject(value);
+          if (valueObject instanceof Number) {
+            dataPoint =
+                new DataPointNumber(
+                    tagName,
+                    tagId,
+                    tagUnit,
+                    (Number) valueObject,
+                    epochSecondsTimestamp,
+                    iso8601Timestamp,
+                    dataQuality);
+          }
         }
+      } catch (IllegalArgumentException e) {
+        // Value could not be parsed (includes NumberFormatException), reported below
+      }
+
+      if (dataPoint == null) {
+        throw new IllegalArgumentException(
+            "Failed to create data point for tag ["
+                + tagName
+                + "]. Value type cannot be decoded from ["
+                + value
+                + "]");
       }
 
       // Add the data point to the map
@@ -333,6 +404,158 @@ public class InstantValuesEbdString {
     return dataPoints;
   }
 
+  /**
+   * Parse the specified unquoted boolean tag value. The values <code>true</code> and <code>false
+   * </code> are parsed directly, and numeric values are truncated to an integer (as an {@link
+   * Integer} or {@link Float} value returned by {@link #getValueObject(String)} would be) and
+   * compared to zero.
+   *
+   * @param value value to parse
+   * @return parsed boolean
+   * @throws NumberFormatException if the value is not a boolean or numeric value
+   * @since 1.17.0
+   */
+  private static boolean parseBooleanValue(String value) {
+    if (value.equalsIgnoreCase("true")) {
+      return true;
+    } else if (value.equalsIgnoreCase("false")) {
+      return false;
+    } else if (isIntegerString(value)) {
+      long longValue = Long.parseLong(value);
+      if (longValue >= Integer.MIN_VALUE && longValue <= Integer.MAX_VALUE) {
+        return longValue != 0;
+      }
+    }
+    return (int) Float.parseFloat(value) != 0;
+  }
+
+  /**
+   * Method to parse the EBD data into a 2D array of unconverted (but trimmed) fields. Unlike {@link
+   * #parse(String)}, values are not converted to objects, which allows numeric values to be parsed
+   * directly to primitives. Empty lines are skipped.
+   *
+   * @param ebdData the EBD data to parse
+   * @return a 2D array of fields, with the header line at index 0
+   * @throws IllegalArgumentException if the number of values on a line does not match the number of
+   *     headings
+   * @since 1.17.0
+   */
+  private String[][] parseFields(String ebdData) {
+    // Split the EBD data into lines
+    List lines = StringUtils.split(ebdData, NEW_LINE_DELIMITER);
+    List parsedFields = new ArrayList(lines.size()); // List<String[]>
+    int headingsCount = -1;
+
+    // Loop through each line of the EBD data
+    for (int i = 0; i < lines.size(); i++) {
+      String line = (String) lines.get(i);
+      if (line.trim().length() > 0) {
+        String[] fields = splitLine(line);
+
+        // Check if the number of values is equal to the number of headings
+        if (headingsCount == -1) {
+          headingsCount = fields.length;
+        } else if (fields.length != headingsCount) {
+          int lineNumber = i + 1;
+          throw new IllegalArgumentException(
+              "Number of values on line " + lineNumber + " does not match number of headings");
+        }
+
+        parsedFields.add(fields);
+      }
+    }
+
+    String[][] parsedFieldsArray = new String[parsedFields.size()][];
+    for (int i = 0; i < parsedFieldsArray.length; i++) {
+      parsedFieldsArray[i] = (String[]) parsedFields.get(i);
+    }
+    return parsedFieldsArray;
+  }
+
+  /**
+   * Split the specified line into an array of trimmed fields using the delimiter character. The
+   * fields are not converted or unescaped.
+   *
+   * @param line line to split
+   * @return array of trimmed fields
+   * @since 1.17.0
+   */
+  private String[] splitLine(String line) {
+    int[] delimiterIndices = getDelimiterIndicesForLine(line);
+    String[] fields = new String[delimiterIndices.length + 1];
+    int start = 0;
+    for (int i = 0; i < delimiterIndices.length; i++) {
+      fields[i] = line.substring(start, delimiterIndices[i]).trim();
+      start = delimiterIndices[i] + 1;
+    }
+    fields[delimiterIndices.length] = line.substring(start).trim();
+    return fields;
+  }
+
+  /**
+   * Parse the specified unquoted integer field.
+   *
+   * @param field field to parse
+   * @return parsed integer
+   * @throws IllegalArgumentException if the field is not an integer
+   * @since 1.17.0
+   */
+  private static int parseIntField(String field) {
+    try {
+      return Integer.parseInt(field);
+    } catch (NumberFormatException e) {
+      throw new IllegalArgumentException("Failed to parse value [" + field + "] as an Integer!");
+    }
+  }
+
+  /**
+   * Check if the specified value is an optionally signed sequence of decimal digits, and can
+   * therefore be parsed as a <code>long</code> without a {@link NumberFormatException} (barring
+   * overflow).
+   *
+   * @param value value to check
+   * @return true if the value is an integer string
+   * @since 1.17.0
+   */
+  private static boolean isIntegerString(String value) {
+    final int maxLongDigits = 18;
+    int start = value.length() > 0 && value.charAt(0) == '-' ? 1 : 0;
+    int digits = value.length() - start;
+    if (digits == 0 || digits > maxLongDigits) {
+      return false;
+    }
+    for (int i = start; i < value.length(); i++) {
+      char c = value.charAt(i);
+      if (c < '0' || c > '9') {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Remove the enclosing quotes from the specified value and unescape special characters. If the
+   * value is not enclosed in quotes, it is returned unchanged.
+   *
+   * @param value value to unquote
+   * @return unquoted and unescaped value
+   * @since 1.17.0
+   */
+  private static String unquoteString(String value) {
+    if (value.length() >= 2 && value.startsWith("\"") && value.endsWith("\"")) {
+      // Remove the quotes
+      value = value.substring(1, value.length() - 1);
+
+      // Unescape special characters
+      value = StringUtils.replace(value, "\\\"", "\"");
+      value = StringUtils.replace(value, "\\'", "'");
+      value = StringUtils.replace(value, "\\n", "\n");
+      value = StringUtils.replace(value, "\\r", "\r");
+      value = StringUtils.replace(value, "\\t", "\t");
+    }
+    return value;
+  }
+
   /**
    * Method to parse the EBD data into a 2D array of objects.
    *
@@ -392,7 +615,8 @@ public class InstantValuesEbdString {
    * @since 1.0.0
    */
   public int[] getDelimiterIndicesForLine(String line) {
-    List delimiterIndices = new ArrayList(); // List<Integer>
+    int[] delimiterIndices = new int[INITIAL_DELIMITER_CAPACITY];
+    int delimiterCount = 0;
     boolean inQuotedString = false;
     boolean escaped = false;
 
@@ -402,11 +626,16 @@ public class InstantValuesEbdString {
 
       // Check if the character is a delimiter
       if (c == DELIMITER && !inQuotedString && !escaped) {
-        delimiterIndices.add(new Integer(i));
+        if (delimiterCount == delimiterIndices.length) {
+          int[] grownDelimiterIndices = new int[delimiterIndices.length * 2];
+          System.arraycopy(delimiterIndices, 0, grownDelimiterIndices, 0, delimiterCount);
+          delimiterIndices = grownDelimiterIndices;
+        }
+        delimiterIndices[delimiterCount++] = i;
       }
 
-      // Check if the character is a quote
-      if (c == '"') {
+      // Check if the character is an (unescaped) quote
+      if (c == '"' && !escaped) {
         inQuotedString = !inQuotedString;
       }
 
@@ -418,11 +647,9 @@ public class InstantValuesEbdString {
       }
     }
 
-    // Return the list of delimiter indices converted to an array (List<Integer> -> int[])
-    int[] delimiterIndicesArray = new int[delimiterIndices.size()];
-    for (int i = 0; i < delimiterIndices.size(); i++) {
-      delimiterIndicesArray[i] = ((Integer) delimiterIndices.get(i)).intValue();
-    }
+    // Return the delimiter indices trimmed to the number of delimiters found
+    int[] delimiterIndicesArray = new int[delimiterCount];
+    System.arraycopy(delimiterIndices, 0, delimiterIndicesArray, 0, delimiterCount);
     return delimiterIndicesArray;
   }
 
@@ -491,21 +718,24 @@ public class InstantValuesEbdString {
    * @since 1.0.0
    */
   public Object getValueObject(String value) {
+    return parseValueObject(value);
+  }
+
+  /**
+   * Get the object representation of the specified value. See {@link #getValueObject(String)}.
+   *
+   * @param value value to parse
+   * @return object representation of the value
+   * @throws IllegalArgumentException if the value cannot be parsed as a string, integer, float,
+   *     long, double, or boolean
+   * @since 1.17.0
+   */
+  private static Object parseValueObject(String value) {
     Object result;
 
     // Check if the value is a string (enclosed in quotes)
     if (value.startsWith("\"") && value.endsWith("\"")) {
-      // Remove the quotes
-      value = value.substring(1, value.length() - 1);
-
-      // Unescape special characters
-      value = StringUtils.replace(value, "\\\"", "\"");
-      value = StringUtils.replace(value, "\\'", "'");
-      value = StringUtils.replace(value, "\\n", "\n");
-      value = StringUtils.replace(value, "\\r", "\r");
-      value = StringUtils.replace(value, "\\t", "\t");
-
-      result = value;
+      result = unquoteString(value);
     } else {
       // Check if the value is an integer
       try {
@@ -0,0 +1,160 @@
+package com.hms_networks.americas.sc.extensions.realtimedata;
+
+/**
+ * Reusable result of {@link InstantValuesSnapshotDiffer#diff(InstantValuesEbdReader,
+ * InstantValuesSnapshotChanges)}, holding the IDs of the tags which are emitted by a snapshot and
+ * the reason each tag is emitted. The values of the emitted tags are read from the {@link
+ * InstantValuesEbdReader} which was differenced, and are valid until its next read.
+ *
+ * @author HMS Networks; Americas
+ * @since 1.17.0
+ * @version 1.0.0
+ */
+public class InstantValuesSnapshotChanges {
+
+  /**
+   * Change flag indicating that the value (or value type) of the tag changed.
+   *
+   * @since 1.0.0
+   */
+  public static final int CHANGED_VALUE = 1;
+
+  /**
+   * Change flag indicating that the quality of the tag changed.
+   *
+   * @since 1.0.0
+   */
+  public static final int CHANGED_QUALITY = 2;
+
+  /**
+   * Change flag indicating that the tag is emitted because its full-refresh interval elapsed.
+   *
+   * @since 1.0.0
+   */
+  public static final int FULL_REFRESH = 4;
+
+  /**
+   * Initial capacity of the arrays of emitted tags.
+   *
+   * @since 1.0.0
+   */
+  private static final int INITIAL_CAPACITY = 64;
+
+  /**
+   * IDs of the emitted tags, in export order.
+   *
+   * @since 1.0.0
+   */
+  private int[] tagIds = new int[INITIAL_CAPACITY];
+
+  /**
+   * Change flags of the emitted tags.
+   *
+   * @since 1.0.0
+   */
+  private int[] changeFlags = new int[INITIAL_CAPACITY];
+
+  /**
+   * Number of emitted tags.
+   *
+   * @since 1.0.0
+   */
+  private int size;
+
+  /**
+   * Time of the differenced snapshot, in milliseconds since epoch.
+   *
+   * @since 1.0.0
+   */
+  private long snapshotTimeMillis;
+
+  /**
+   * Gets the number of tags emitted by the snapshot.
+   *
+   * @return number of emitted tags
+   * @since 1.0.0
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Gets the time of the differenced snapshot, in milliseconds since epoch.
+   *
+   * @return snapshot time in milliseconds
+   * @since 1.0.0
+   */
+  public long getSnapshotTimeMillis() {
+    return snapshotTimeMillis;
+  }
+
+  /**
+   * Gets the ID of the emitted tag at the specified index, in export order.
+   *
+   * @param index index of the emitted tag, from 0 to {@link #size()} - 1
+   * @return tag ID
+   * @since 1.0.0
+   */
+  public int getTagId(int index) {
+    return tagIds[checkIndex(index)];
+  }
+
+  /**
+   * Gets the change flags of the emitted tag at the specified index.
+   *
+   * @param index index of the emitted tag, from 0 to {@link #size()} - 1
+   * @return combination of {@link #CHANGED_VALUE}, {@link #CHANGED_QUALITY} and {@link
+   *     #FULL_REFRESH}
+   * @since 1.0.0
+   */
+  public int getChangeFlags(int index) {
+    return changeFlags[checkIndex(index)];
+  }
+
+  /**
+   * Removes all emitted tags and sets the snapshot time.
+   *
+   * @param snapshotTimeMillis time of the differenced snapshot, in milliseconds since epoch
+   * @since 1.0.0
+   */
+  void reset(long snapshotTimeMillis) {
+    this.snapshotTimeMillis = snapshotTimeMillis;
+    size = 0;
+  }
+
+  /**
+   * Appends an emitted tag, growing the arrays if required.
+   *
+   * @param tagId ID of the emitted tag
+   * @param flags change flags of the emitted tag
+   * @since 1.0.0
+   */
+  void add(int tagId, int flags) {
+    if (size == tagIds.length) {
+      int[] grownTagIds = new int[tagIds.length * 2];
+      System.arraycopy(tagIds, 0, grownTagIds, 0, size);
+      tagIds = grownTagIds;
+      int[] grownChangeFlags = new int[changeFlags.length * 2];
+      System.arraycopy(changeFlags, 0, grownChangeFlags, 0, size);
+      changeFlags = grownChangeFlags;
+    }
+    tagIds[size] = tagId;
+    changeFlags[size] = flags;
+    size++;
+  }
+
+  /**
+   * Checks that the specified index is a valid emitted tag index.
+   *
+   * @param index emitted tag index
+   * @return the emitted tag index
+   * @throws IndexOutOfBoundsException if the index is not valid
+   * @since 1.0.0
+   */
+  private int checkIndex(int index) {
+    if (index < 0 || index >= size) {
+      throw new IndexOutOfBoundsException("Invalid snapshot change index: " + index + ".");
+    }
+    return index;
+  }
+}
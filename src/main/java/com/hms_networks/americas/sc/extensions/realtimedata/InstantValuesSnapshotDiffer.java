@@ -0,0 +1,276 @@
+package com.hms_networks.americas.sc.extensions.realtimedata;
+
+import java.util.Arrays;
+
+/**
+ * Differencing layer for instant value snapshots read by an {@link InstantValuesEbdReader}. The
+ * value, value type and quality of each tag in the previous snapshot are kept in primitive arrays
+ * indexed by tag ID, and each new snapshot is compared against them so that only the tags whose
+ * value or quality changed are emitted.
+ *
+ * <p>An optional full-refresh interval re-emits a tag whose value and quality have not changed
+ * once the interval has elapsed since the tag was last emitted. The interval can be set for all
+ * tags using {@link #setFullRefreshIntervalMillis(long)}, and overridden for individual tags using
+ * {@link #setFullRefreshIntervalMillis(int, long)}.
+ *
+ * <p>The first snapshot of a tag is always emitted. Tags which are not included in a snapshot (for
+ * example, because of the reader tag ID filter) keep their previous values. Instances of this class
+ * are not thread safe.
+ *
+ * @author HMS Networks; Americas
+ * @since 1.17.0
+ * @version 1.0.0
+ */
+public class InstantValuesSnapshotDiffer {
+
+  /**
+   * Value indicating that the full-refresh interval is disabled.
+   *
+   * @since 1.0.0
+   */
+  public static final long FULL_REFRESH_DISABLED = 0;
+
+  /**
+   * Per-tag full-refresh interval value indicating that the interval for all tags is used.
+   *
+   * @since 1.0.0
+   */
+  public static final long FULL_REFRESH_USE_DEFAULT = -1;
+
+  /**
+   * Value type of each tag in the previous snapshot, indexed by tag ID.
+   *
+   * @since 1.0.0
+   */
+  private byte[] previousValueTypes;
+
+  /**
+   * Integer value, or decimal value bits, of each tag in the previous snapshot, indexed by tag ID.
+   *
+   * @since 1.0.0
+   */
+  private long[] previousRawValues;
+
+  /**
+   * String value of each string tag in the previous snapshot, indexed by tag ID.
+   *
+   * @since 1.0.0
+   */
+  private String[] previousStringValues;
+
+  /**
+   * OPC UA quality of each tag in the previous snapshot, indexed by tag ID.
+   *
+   * @since 1.0.0
+   */
+  private int[] previousQualities;
+
+  /**
+   * Time each tag was last emitted, in milliseconds since epoch, indexed by tag ID.
+   *
+   * @since 1.0.0
+   */
+  private long[] lastEmittedTimes;
+
+  /**
+   * Full-refresh interval of each tag, indexed by tag ID, or null if no tag overrides the interval
+   * for all tags.
+   *
+   * @since 1.0.0
+   */
+  private long[] tagFullRefreshIntervals;
+
+  /**
+   * Full-refresh interval for all tags, in milliseconds, or {@link #FULL_REFRESH_DISABLED}.
+   *
+   * @since 1.0.0
+   */
+  private long fullRefreshIntervalMillis = FULL_REFRESH_DISABLED;
+
+  /**
+   * Constructs a new {@link InstantValuesSnapshotDiffer} with arrays sized for tag IDs up to the
+   * specified tag ID. The arrays grow if a larger tag ID is differenced.
+   *
+   * @param highestExpectedTagId highest expected tag ID
+   * @since 1.0.0
+   */
+  public InstantValuesSnapshotDiffer(int highestExpectedTagId) {
+    final int tagIdCapacity = Math.max(highestExpectedTagId + 1, 1);
+    previousValueTypes = new byte[tagIdCapacity];
+    previousRawValues = new long[tagIdCapacity];
+    previousStringValues = new String[tagIdCapacity];
+    previousQualities = new int[tagIdCapacity];
+    lastEmittedTimes = new long[tagIdCapacity];
+  }
+
+  /**
+   * Sets the full-refresh interval for all tags. A tag whose value and quality have not changed is
+   * emitted once the interval has elapsed since it was last emitted.
+   *
+   * @param fullRefreshIntervalMillis full-refresh interval in milliseconds, or {@link
+   *     #FULL_REFRESH_DISABLED}
+   * @throws IllegalArgumentException if the interval is negative
+   * @since 1.0.0
+   */
+  public void setFullRefreshIntervalMillis(long fullRefreshIntervalMillis) {
+    if (fullRefreshIntervalMillis < 0) {
+      throw new IllegalArgumentException("Full-refresh interval must not be negative.");
+    }
+    this.fullRefreshIntervalMillis = fullRefreshIntervalMillis;
+  }
+
+  /**
+   * Sets the full-refresh interval for the specified tag, overriding the interval for all tags.
+   *
+   * @param tagId tag ID
+   * @param fullRefreshIntervalMillis full-refresh interval in milliseconds, {@link
+   *     #FULL_REFRESH_DISABLED}, or {@link #FULL_REFRESH_USE_DEFAULT} to use the interval for all
+   *     tags
+   * @throws IllegalArgumentException if the tag ID is negative, or the interval is less than {@link
+   *     #FULL_REFRESH_USE_DEFAULT}
+   * @since 1.0.0
+   */
+  public void setFullRefreshIntervalMillis(int tagId, long fullRefreshIntervalMillis) {
+    if (tagId < 0 || fullRefreshIntervalMillis < FULL_REFRESH_USE_DEFAULT) {
+      throw new IllegalArgumentException(
+          "Invalid full-refresh interval " + fullRefreshIntervalMillis + " for tag ID " + tagId);
+    }
+    ensureTagIdCapacity(tagId);
+    if (tagFullRefreshIntervals == null) {
+      tagFullRefreshIntervals = new long[previousValueTypes.length];
+      Arrays.fill(tagFullRefreshIntervals, FULL_REFRESH_USE_DEFAULT);
+    }
+    tagFullRefreshIntervals[tagId] = fullRefreshIntervalMillis;
+  }
+
+  /**
+   * Compares the most recent read of the specified reader against the previous snapshot, and
+   * stores the tags whose value or quality changed (or whose full-refresh interval elapsed) in the
+   * specified result. The read then becomes the previous snapshot.
+   *
+   * @param reader instant values reader holding the snapshot
+   * @param changes reusable result, cleared before the emitted tags are stored
+   * @return number of emitted tags
+   * @since 1.0.0
+   */
+  public int diff(InstantValuesEbdReader reader, InstantValuesSnapshotChanges changes) {
+    final long snapshotTimeMillis = reader.getReadTimeMillis();
+    changes.reset(snapshotTimeMillis);
+
+    final int tagCount = reader.getTagCount();
+    for (int i = 0; i < tagCount; i++) {
+      final int tagId = reader.getTagId(i);
+      ensureTagIdCapacity(tagId);
+
+      // Get value of tag in snapshot
+      final int valueType = reader.getValueType(tagId);
+      final int quality = reader.getQuality(tagId);
+      long rawValue = 0;
+      String stringValue = null;
+      if (valueType == InstantValuesEbdReader.VALUE_TYPE_INTEGER) {
+        rawValue = reader.getLongValue(tagId);
+      } else if (valueType == InstantValuesEbdReader.VALUE_TYPE_DECIMAL) {
+        rawValue = Double.doubleToLongBits(reader.getDoubleValue(tagId));
+      } else {
+        stringValue = reader.getStringValue(tagId);
+      }
+
+      // Compare against previous snapshot
+      final int previousValueType = previousValueTypes[tagId];
+      int flags = 0;
+      if (previousValueType == InstantValuesEbdReader.VALUE_TYPE_NONE) {
+        flags = InstantValuesSnapshotChanges.CHANGED_VALUE;
+      } else {
+        if (valueType != previousValueType
+            || rawValue != previousRawValues[tagId]
+            || (stringValue != null && !stringValue.equals(previousStringValues[tagId]))) {
+          flags |= InstantValuesSnapshotChanges.CHANGED_VALUE;
+        }
+        if (quality != previousQualities[tagId]) {
+          flags |= InstantValuesSnapshotChanges.CHANGED_QUALITY;
+        }
+        if (flags == 0) {
+          final long refreshIntervalMillis = getFullRefreshIntervalMillis(tagId);
+          if (refreshIntervalMillis != FULL_REFRESH_DISABLED
+              && snapshotTimeMillis - lastEmittedTimes[tagId] >= refreshIntervalMillis) {
+            flags = InstantValuesSnapshotChanges.FULL_REFRESH;
+          }
+        }
+      }
+
+      // Store emitted tag as previous snapshot
+      if (flags != 0) {
+        previousValueTypes[tagId] = (byte) valueType;
+        previousRawValues[tagId] = rawValue;
+        previousStringValues[tagId] = stringValue;
+        previousQualities[tagId] = quality;
+        lastEmittedTimes[tagId] = snapshotTimeMillis;
+        changes.add(tagId, flags);
+      }
+    }
+    return changes.size();
+  }
+
+  /**
+   * Clears the previous snapshot, so that all tags are emitted by the next call to {@link
+   * #diff(InstantValuesEbdReader, InstantValuesSnapshotChanges)}.
+   *
+   * @since 1.0.0
+   */
+  public void reset() {
+    Arrays.fill(previousValueTypes, (byte) InstantValuesEbdReader.VALUE_TYPE_NONE);
+    Arrays.fill(previousStringValues, null);
+  }
+
+  /**
+   * Gets the full-refresh interval of the specified tag.
+   *
+   * @param tagId tag ID
+   * @return full-refresh interval in milliseconds, or {@link #FULL_REFRESH_DISABLED}
+   * @since 1.0.0
+   */
+  private long getFullRefreshIntervalMillis(int tagId) {
+    if (tagFullRefreshIntervals != null
+        && tagFullRefreshIntervals[tagId] != FULL_REFRESH_USE_DEFAULT) {
+      return tagFullRefreshIntervals[tagId];
+    }
+    return fullRefreshIntervalMillis;
+  }
+
+  /**
+   * Grows the arrays indexed by tag ID, if required, to include the specified tag ID.
+   *
+   * @param tagId tag ID
+   * @since 1.0.0
+   */
+  private void ensureTagIdCapacity(int tagId) {
+    if (tagId < previousValueTypes.length) {
+      return;
+    }
+
+    final int tagIdCapacity = Math.max(tagId + 1, previousValueTypes.length * 2);
+    byte[] grownValueTypes = new byte[tagIdCapacity];
+    System.arraycopy(previousValueTypes, 0, grownValueTypes, 0, previousValueTypes.length);
+    previousValueTypes = grownValueTypes;
+    long[] grownRawValues = new long[tagIdCapacity];
+    System.arraycopy(previousRawValues, 0, grownRawValues, 0, previousRawValues.length);
+    previousRawValues = grownRawValues;
+    String[] grownStringValues = new String[tagIdCapacity];
+    System.arraycopy(previousStringValues, 0, grownStringValues, 0, previousStringValues.length);
+    previousStringValues = grownStringValues;
+    int[] grownQualities = new int[tagIdCapacity];
+    System.arraycopy(previousQualities, 0, grownQualities, 0, previousQualities.length);
+    previousQualities = grownQualities;
+    long[] grownLastEmittedTimes = new long[tagIdCapacity];
+    System.arraycopy(lastEmittedTimes, 0, grownLastEmittedTimes, 0, lastEmittedTimes.length);
+    lastEmittedTimes = grownLastEmittedTimes;
+    if (tagFullRefreshIntervals != null) {
+      long[] grownIntervals = new long[tagIdCapacity];
+      System.arraycopy(
+          tagFullRefreshIntervals, 0, grownIntervals, 0, tagFullRefreshIntervals.length);
+      Arrays.fill(
+          grownIntervals, tagFullRefreshIntervals.length, tagIdCapacity, FULL_REFRESH_USE_DEFAULT);
+      tagFullRefreshIntervals = grownIntervals;
+    }
+  }
+}
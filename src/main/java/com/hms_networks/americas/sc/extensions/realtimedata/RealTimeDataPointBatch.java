@@ -0,0 +1,383 @@
+package com.hms_networks.americas.sc.extensions.realtimedata;
+
+import com.hms_networks.americas.sc.extensions.datapoint.DataQuality;
+
+/**
+ * Reusable, column-oriented batch of real time data points, filled by {@link
+ * RealTimeDataQueueManager#drainGroup(int, RealTimeDataPointBatch)}. Each data point is stored as
+ * a row of parallel arrays (tag, value type, value, timestamp and quality), so that draining a tag
+ * group does not create a {@link com.hms_networks.americas.sc.extensions.datapoint.DataPoint}
+ * object for each sample.
+ *
+ * <p>Integer, DWORD and long values are stored as {@link #VALUE_TYPE_INTEGER}, float and double
+ * values as {@link #VALUE_TYPE_DECIMAL}, boolean values as {@link #VALUE_TYPE_BOOLEAN} and string
+ * values as {@link #VALUE_TYPE_STRING}.
+ *
+ * @author HMS Networks; Americas
+ * @since 1.17.0
+ * @version 1.0.0
+ */
+public class RealTimeDataPointBatch {
+
+  /**
+   * Value type of an integer value.
+   *
+   * @since 1.0.0
+   */
+  public static final byte VALUE_TYPE_INTEGER = 1;
+
+  /**
+   * Value type of a decimal value.
+   *
+   * @since 1.0.0
+   */
+  public static final byte VALUE_TYPE_DECIMAL = 2;
+
+  /**
+   * Value type of a boolean value.
+   *
+   * @since 1.0.0
+   */
+  public static final byte VALUE_TYPE_BOOLEAN = 3;
+
+  /**
+   * Value type of a string value.
+   *
+   * @since 1.0.0
+   */
+  public static final byte VALUE_TYPE_STRING = 4;
+
+  /**
+   * Tag name of each data point.
+   *
+   * @since 1.0.0
+   */
+  private final String[] tagNames;
+
+  /**
+   * Tag ID of each data point.
+   *
+   * @since 1.0.0
+   */
+  private final int[] tagIds;
+
+  /**
+   * Tag unit of each data point.
+   *
+   * @since 1.0.0
+   */
+  private final String[] tagUnits;
+
+  /**
+   * Value type of each data point.
+   *
+   * @since 1.0.0
+   */
+  private final byte[] valueTypes;
+
+  /**
+   * Integer value (or 1 for true and 0 for false), or decimal value bits, of each data point.
+   *
+   * @since 1.0.0
+   */
+  private final long[] rawValues;
+
+  /**
+   * String value of each data point with a string value.
+   *
+   * @since 1.0.0
+   */
+  private final String[] stringValues;
+
+  /**
+   * Timestamp (UNIX epoch seconds) of each data point.
+   *
+   * @since 1.0.0
+   */
+  private final long[] timestamps;
+
+  /**
+   * ISO 8601 timestamp of each data point.
+   *
+   * @since 1.0.0
+   */
+  private final String[] iso8601Timestamps;
+
+  /**
+   * Quality of each data point.
+   *
+   * @since 1.0.0
+   */
+  private final DataQuality[] qualities;
+
+  /**
+   * Number of data points in the batch.
+   *
+   * @since 1.0.0
+   */
+  private int size;
+
+  /**
+   * Constructs a new, empty {@link RealTimeDataPointBatch} with the specified capacity.
+   *
+   * @param capacity maximum number of data points in the batch
+   * @throws IllegalArgumentException if the capacity is negative
+   * @since 1.0.0
+   */
+  public RealTimeDataPointBatch(int capacity) {
+    if (capacity < 0) {
+      throw new IllegalArgumentException(
+          "Real time data point batch capacity must not be negative.");
+    }
+    tagNames = new String[capacity];
+    tagIds = new int[capacity];
+    tagUnits = new String[capacity];
+    valueTypes = new byte[capacity];
+    rawValues = new long[capacity];
+    stringValues = new String[capacity];
+    timestamps = new long[capacity];
+    iso8601Timestamps = new String[capacity];
+    qualities = new DataQuality[capacity];
+  }
+
+  /**
+   * Removes all data points from the batch.
+   *
+   * @since 1.0.0
+   */
+  public void clear() {
+    for (int i = 0; i < size; i++) {
+      tagNames[i] = null;
+      tagUnits[i] = null;
+      stringValues[i] = null;
+      iso8601Timestamps[i] = null;
+    }
+    size = 0;
+  }
+
+  /**
+   * Gets the number of data points in the batch.
+   *
+   * @return number of data points
+   * @since 1.0.0
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Gets the maximum number of data points in the batch.
+   *
+   * @return batch capacity
+   * @since 1.0.0
+   */
+  public int getCapacity() {
+    return tagIds.length;
+  }
+
+  /**
+   * Gets a boolean indicating if the batch is full.
+   *
+   * @return true if the batch is full
+   * @since 1.0.0
+   */
+  public boolean isFull() {
+    return size == tagIds.length;
+  }
+
+  /**
+   * Gets the tag name of the data point at the specified index.
+   *
+   * @param index data point index
+   * @return tag name
+   * @since 1.0.0
+   */
+  public String getTagName(int index) {
+    return tagNames[checkIndex(index)];
+  }
+
+  /**
+   * Gets the tag ID of the data point at the specified index.
+   *
+   * @param index data point index
+   * @return tag ID
+   * @since 1.0.0
+   */
+  public int getTagId(int index) {
+    return tagIds[checkIndex(index)];
+  }
+
+  /**
+   * Gets the tag unit of the data point at the specified index.
+   *
+   * @param index data point index
+   * @return tag unit
+   * @since 1.0.0
+   */
+  public String getTagUnit(int index) {
+    return tagUnits[checkIndex(index)];
+  }
+
+  /**
+   * Gets the value type of the data point at the specified index.
+   *
+   * @param index data point index
+   * @return {@link #VALUE_TYPE_INTEGER}, {@link #VALUE_TYPE_DECIMAL}, {@link #VALUE_TYPE_BOOLEAN}
+   *     or {@link #VALUE_TYPE_STRING}
+   * @since 1.0.0
+   */
+  public byte getValueType(int index) {
+    return valueTypes[checkIndex(index)];
+  }
+
+  /**
+   * Gets the value of the data point at the specified index as a <code>long</code>. Decimal values
+   * are truncated, and boolean values are 1 (true) or 0 (false).
+   *
+   * @param index data point index
+   * @return data point value
+   * @throws IllegalStateException if the data point has a string value
+   * @since 1.0.0
+   */
+  public long getLongValue(int index) {
+    final byte valueType = valueTypes[checkIndex(index)];
+    if (valueType == VALUE_TYPE_DECIMAL) {
+      return (long) Double.longBitsToDouble(rawValues[index]);
+    } else if (valueType == VALUE_TYPE_STRING) {
+      throw new IllegalStateException("Real time data point " + index + " has a string value.");
+    }
+    return rawValues[index];
+  }
+
+  /**
+   * Gets the value of the data point at the specified index as a <code>double</code>. Boolean
+   * values are 1 (true) or 0 (false).
+   *
+   * @param index data point index
+   * @return data point value
+   * @throws IllegalStateException if the data point has a string value
+   * @since 1.0.0
+   */
+  public double getDoubleValue(int index) {
+    final byte valueType = valueTypes[checkIndex(index)];
+    if (valueType == VALUE_TYPE_DECIMAL) {
+      return Double.longBitsToDouble(rawValues[index]);
+    } else if (valueType == VALUE_TYPE_STRING) {
+      throw new IllegalStateException("Real time data point " + index + " has a string value.");
+    }
+    return rawValues[index];
+  }
+
+  /**
+   * Gets the value of the data point at the specified index as a <code>boolean</code>. Numeric
+   * values are true if not zero.
+   *
+   * @param index data point index
+   * @return data point value
+   * @throws IllegalStateException if the data point has a string value
+   * @since 1.0.0
+   */
+  public boolean getBooleanValue(int index) {
+    return getDoubleValue(index) != 0;
+  }
+
+  /**
+   * Gets the string value of the data point at the specified index.
+   *
+   * @param index data point index
+   * @return data point value
+   * @throws IllegalStateException if the data point does not have a string value
+   * @since 1.0.0
+   */
+  public String getStringValue(int index) {
+    if (valueTypes[checkIndex(index)] != VALUE_TYPE_STRING) {
+      throw new IllegalStateException(
+          "Real time data point " + index + " does not have a string value.");
+    }
+    return stringValues[index];
+  }
+
+  /**
+   * Gets the timestamp (UNIX epoch seconds) of the data point at the specified index.
+   *
+   * @param index data point index
+   * @return data point timestamp, UNIX epoch seconds
+   * @since 1.0.0
+   */
+  public long getTimestamp(int index) {
+    return timestamps[checkIndex(index)];
+  }
+
+  /**
+   * Gets the ISO 8601 timestamp of the data point at the specified index.
+   *
+   * @param index data point index
+   * @return data point timestamp, ISO 8601 format
+   * @since 1.0.0
+   */
+  public String getIso8601Timestamp(int index) {
+    return iso8601Timestamps[checkIndex(index)];
+  }
+
+  /**
+   * Gets the quality of the data point at the specified index.
+   *
+   * @param index data point index
+   * @return data point quality
+   * @since 1.0.0
+   */
+  public DataQuality getQuality(int index) {
+    return qualities[checkIndex(index)];
+  }
+
+  /**
+   * Appends a data point to the batch. The batch must not be full.
+   *
+   * @param tagName data point tag name
+   * @param tagId data point tag ID
+   * @param tagUnit data point tag unit
+   * @param valueType data point value type
+   * @param rawValue data point integer value, or decimal value bits
+   * @param stringValue data point string value, or null
+   * @param timestamp data point timestamp, UNIX epoch seconds
+   * @param iso8601Timestamp data point timestamp, ISO 8601 format
+   * @param quality data point quality
+   * @since 1.0.0
+   */
+  void append(
+      String tagName,
+      int tagId,
+      String tagUnit,
+      byte valueType,
+      long rawValue,
+      String stringValue,
+      long timestamp,
+      String iso8601Timestamp,
+      DataQuality quality) {
+    tagNames[size] = tagName;
+    tagIds[size] = tagId;
+    tagUnits[size] = tagUnit;
+    valueTypes[size] = valueType;
+    rawValues[size] = rawValue;
+    stringValues[size] = stringValue;
+    timestamps[size] = timestamp;
+    iso8601Timestamps[size] = iso8601Timestamp;
+    qualities[size] = quality;
+    size++;
+  }
+
+  /**
+   * Checks that the specified index is a valid data point index.
+   *
+   * @param index data point index
+   * @return the data point index
+   * @throws IndexOutOfBoundsException if the index is not valid
+   * @since 1.0.0
+   */
+  private int checkIndex(int index) {
+    if (index < 0 || index >= size) {
+      throw new IndexOutOfBoundsException("Invalid real time data point index: " + index + ".");
+    }
+    return index;
+  }
+}
@@ -1,11 +1,20 @@
 package com.hms_networks.americas.sc.extensions.realtimedata;
 
+import com.ewon.ewonitf.DefaultEventHandler;
 import com.hms_networks.americas.sc.extensions.datapoint.DataPoint;
 import com.hms_networks.americas.sc.extensions.logging.Logger;
+import com.hms_networks.americas.sc.extensions.system.time.SCTimeUnit;
+import com.hms_networks.americas.sc.extensions.system.time.SCTimeUtils;
 import com.hms_networks.americas.sc.extensions.taginfo.TagGroup;
 import com.hms_networks.americas.sc.extensions.taginfo.TagInfo;
 import com.hms_networks.americas.sc.extensions.taginfo.TagInfoManager;
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 /**
  * This class is used to retrieve real time data from the Flexy.
@@ -27,6 +36,9 @@ public class RealTimeDataQueueManager {
    */
   private static int[] tagManagerIterators;
 
+  /** Holds an array of the tag managers of each tag group, used when draining a tag group. */
+  private static RealTimeTagDataPointManager[][] groupTagManagers;
+
   /** Index of information for tag group A in class ArrayLists. */
   public static final int GROUP_A = 0;
 
@@ -42,59 +54,290 @@ public class RealTimeDataQueueManager {
   /** The number of tag groups. */
   public static final int NUM_TAG_GROUPS = 4;
 
-  /** Store the tag groups in an ArrayList for access by tag group index. */
-  private static void initTagGroups() {
-    tagGroupList = new ArrayList();
-    tagGroupList.add(TagInfoManager.getTagInfoListFiltered(TagGroup.A));
-    tagGroupList.add(TagInfoManager.getTagInfoListFiltered(TagGroup.B));
-    tagGroupList.add(TagInfoManager.getTagInfoListFiltered(TagGroup.C));
-    tagGroupList.add(TagInfoManager.getTagInfoListFiltered(TagGroup.D));
+  /**
+   * Sampler mode which reads the value of each tag using its own TagControl object.
+   *
+   * @since 1.17.0
+   */
+  public static final int SAMPLER_MODE_TAG_CONTROL = 0;
+
+  /**
+   * Sampler mode which reads the values of all tags from a single instant values ($dtIV) snapshot
+   * per cycle, using {@link InstantValuesEbdReader}.
+   *
+   * @since 1.17.0
+   */
+  public static final int SAMPLER_MODE_INSTANT_VALUES_SNAPSHOT = 1;
+
+  /**
+   * Sampler mode which records tag values as they change using a {@link
+   * RealTimeValueChangeListener}, and records the values of all tags from a periodic instant values
+   * snapshot for integrity. Enabled using {@link #enableValueChangeCapture(long)}.
+   *
+   * @since 1.17.0
+   */
+  public static final int SAMPLER_MODE_VALUE_CHANGE_EVENTS = 2;
+
+  /**
+   * Default interval between integrity snapshots for {@link #SAMPLER_MODE_VALUE_CHANGE_EVENTS}.
+   *
+   * @since 1.17.0
+   */
+  public static final long DEFAULT_INTEGRITY_SNAPSHOT_INTERVAL_MILLIS = 60000;
+
+  /**
+   * Interval between yields of the default yield policy for {@link
+   * #SAMPLER_MODE_INSTANT_VALUES_SNAPSHOT}.
+   *
+   * @since 1.17.0
+   */
+  public static final long DEFAULT_SNAPSHOT_YIELD_INTERVAL_MILLIS = 50;
+
+  /** Default yield policy for {@link #SAMPLER_MODE_TAG_CONTROL}: one millisecond per tag. */
+  private static final RealTimeYieldPolicy DEFAULT_TAG_CONTROL_YIELD_POLICY =
+      RealTimeYieldPolicy.everyNumTags(1, 1);
+
+  /** Default yield policy for {@link #SAMPLER_MODE_INSTANT_VALUES_SNAPSHOT}. */
+  private static final RealTimeYieldPolicy DEFAULT_SNAPSHOT_YIELD_POLICY =
+      RealTimeYieldPolicy.everyMillis(DEFAULT_SNAPSHOT_YIELD_INTERVAL_MILLIS, 1);
+
+  /** Maximum number of data points held for each tag. */
+  private static int tagDataPointCapacity = RealTimeTagDataPointManager.DEFAULT_CAPACITY;
+
+  /** Overflow policy applied when the data points held for a tag are full. */
+  private static int tagDataPointOverflowPolicy =
+      RealTimeTagDataPointManager.OVERFLOW_POLICY_DROP_OLDEST;
+
+  /** Sampler mode used to record new tag values. */
+  private static int samplerMode = SAMPLER_MODE_TAG_CONTROL;
+
+  /** Configured yield policy, or null to use the default yield policy of the sampler mode. */
+  private static RealTimeYieldPolicy yieldPolicy = null;
+
+  /** Interval between integrity snapshots for {@link #SAMPLER_MODE_VALUE_CHANGE_EVENTS}. */
+  private static long integritySnapshotIntervalMillis =
+      DEFAULT_INTEGRITY_SNAPSHOT_INTERVAL_MILLIS;
+
+  /** Time of the most recent integrity snapshot of each tag group, in milliseconds. */
+  private static final long[] integritySnapshotTimes = new long[NUM_TAG_GROUPS];
+
+  /** Number of data points held by the tag managers of each tag group, updated incrementally. */
+  private static final int[] groupDataPointCounts = new int[NUM_TAG_GROUPS];
+
+  /** Lock for {@link #groupDataPointCounts} and {@link #tagManagerGeneration}. */
+  private static final Object groupDataPointCountsLock = new Object();
+
+  /**
+   * Generation of the current tag managers, incremented by {@link #init()}. Only the tag managers
+   * of the current generation update {@link #groupDataPointCounts}.
+   */
+  private static int tagManagerGeneration = 0;
+
+  /**
+   * Map of tag IDs to the tag managers of the tag in each group containing the tag.
+   *
+   * <p>Parameterized type: Map&lt;Integer, RealTimeTagDataPointManager[]&gt;
+   */
+  private static volatile Map tagManagersByTagId;
+
+  /**
+   * Map of tag IDs to the tag information of each tag in the tag groups.
+   *
+   * <p>Parameterized type: Map&lt;Integer, TagInfo&gt;
+   */
+  private static volatile Map tagInfosByTagId;
+
+  /** Reader for instant values snapshots, filtered to the tags in the tag groups. */
+  private static InstantValuesEbdReader instantValuesReader;
+
+  /** Timestamp of the most recent instant values snapshot, UNIX epoch seconds. */
+  private static String snapshotTimestamp;
+
+  /** Timestamp of the most recent instant values snapshot, ISO 8601 format. */
+  private static String snapshotIso8601Timestamp;
+
+  /**
+   * Gets the tag group members of each tag group in an ArrayList for access by tag group index.
+   *
+   * @return the tag group members of each tag group
+   */
+  private static ArrayList getTagGroupMembers() {
+    ArrayList tagGroupMembers = new ArrayList();
+    tagGroupMembers.add(TagInfoManager.getTagGroupMembers(TagGroup.A));
+    tagGroupMembers.add(TagInfoManager.getTagGroupMembers(TagGroup.B));
+    tagGroupMembers.add(TagInfoManager.getTagGroupMembers(TagGroup.C));
+    tagGroupMembers.add(TagInfoManager.getTagGroupMembers(TagGroup.D));
+    return tagGroupMembers;
   }
 
   /**
-   * Initialize a tag manager object for each tag in the tag's group.
+   * Create a tag manager object for each tag in the tag's group.
    *
+   * @param tagGroupMembers the tag group members of each tag group
+   * @param generation generation of the new tag managers
+   * @return a list of the tag managers of each tag group, or null for a tag group without tags
    * @throws Exception If the TagControl object fails to initialize for a given tag.
    */
-  private static void initTagManagers() throws Exception {
-    tagManagers = new ArrayList();
+  private static ArrayList createTagManagers(ArrayList tagGroupMembers, int generation)
+      throws Exception {
+    ArrayList newTagManagers = new ArrayList();
     for (int tagGroupIndex = 0; tagGroupIndex < NUM_TAG_GROUPS; tagGroupIndex++) {
       ArrayList tagManagerTmp = new ArrayList();
-      final int tagGroupListSize = ((ArrayList) tagGroupList.get(tagGroupIndex)).size();
+      final int tagGroupListSize = ((List) tagGroupMembers.get(tagGroupIndex)).size();
       for (int tagListIndex = 0; tagListIndex < tagGroupListSize; tagListIndex++) {
         TagInfo currentTag =
-            ((TagInfo) ((ArrayList) tagGroupList.get(tagGroupIndex)).get(tagListIndex));
-        tagManagerTmp.add(new RealTimeTagDataPointManager(currentTag.getName()));
+            ((TagInfo) ((List) tagGroupMembers.get(tagGroupIndex)).get(tagListIndex));
+        tagManagerTmp.add(
+            new RealTimeTagDataPointManager(
+                currentTag.getName(),
+                tagDataPointCapacity,
+                tagDataPointOverflowPolicy,
+                tagGroupIndex,
+                generation));
       }
       if (tagManagerTmp.isEmpty()) {
-        tagManagers.add(null);
+        newTagManagers.add(null);
       } else {
-        tagManagers.add(tagManagerTmp);
+        newTagManagers.add(tagManagerTmp);
       }
     }
+    return newTagManagers;
   }
 
   /**
-   * Tag iterators are used to retrieve a single data point from each tag before going to the next
-   * tag in a tag group list. Initialize all tag iterators to 0 to start at the beginning of the
-   * lists.
+   * Create an array of the tag managers of each tag group, used when draining a tag group.
+   *
+   * @param newTagManagers a list of the tag managers of each tag group
+   * @return an array of the tag managers of each tag group
    */
-  private static void initTagManageIterators() {
-    tagManagerIterators = new int[NUM_TAG_GROUPS];
-    for (int i = 0; i < NUM_TAG_GROUPS; i++) {
-      tagManagerIterators[i] = 0;
+  private static RealTimeTagDataPointManager[][] createGroupTagManagers(ArrayList newTagManagers) {
+    RealTimeTagDataPointManager[][] newGroupTagManagers =
+        new RealTimeTagDataPointManager[NUM_TAG_GROUPS][];
+    for (int tagGroupIndex = 0; tagGroupIndex < NUM_TAG_GROUPS; tagGroupIndex++) {
+      List tagManagerTmp = (List) newTagManagers.get(tagGroupIndex);
+      if (tagManagerTmp == null) {
+        newGroupTagManagers[tagGroupIndex] = new RealTimeTagDataPointManager[0];
+      } else {
+        newGroupTagManagers[tagGroupIndex] =
+            new RealTimeTagDataPointManager[tagManagerTmp.size()];
+        tagManagerTmp.toArray(newGroupTagManagers[tagGroupIndex]);
+      }
+    }
+    return newGroupTagManagers;
+  }
+
+  /**
+   * Fill the maps of tag IDs to tag managers and tag information, used by {@link
+   * RealTimeValueChangeListener}.
+   *
+   * @param tagGroupMembers the tag group members of each tag group
+   * @param newTagManagers a list of the tag managers of each tag group
+   * @param managersByTagId map to fill with the tag managers of each tag ID
+   * @param infosByTagId map to fill with the tag information of each tag ID
+   */
+  private static void fillTagIdMaps(
+      ArrayList tagGroupMembers, ArrayList newTagManagers, Map managersByTagId, Map infosByTagId) {
+    for (int tagGroupIndex = 0; tagGroupIndex < NUM_TAG_GROUPS; tagGroupIndex++) {
+      List currentGroupMembers = (List) tagGroupMembers.get(tagGroupIndex);
+      for (int tagListIndex = 0; tagListIndex < currentGroupMembers.size(); tagListIndex++) {
+        TagInfo currentTag = (TagInfo) currentGroupMembers.get(tagListIndex);
+        RealTimeTagDataPointManager tagManager =
+            (RealTimeTagDataPointManager)
+                ((List) newTagManagers.get(tagGroupIndex)).get(tagListIndex);
+        Integer tagIdKey = new Integer(currentTag.getId());
+
+        // Append tag manager to managers of tag in other groups
+        RealTimeTagDataPointManager[] previousManagers =
+            (RealTimeTagDataPointManager[]) managersByTagId.get(tagIdKey);
+        RealTimeTagDataPointManager[] tagIdManagers;
+        if (previousManagers == null) {
+          tagIdManagers = new RealTimeTagDataPointManager[] {tagManager};
+        } else {
+          tagIdManagers = new RealTimeTagDataPointManager[previousManagers.length + 1];
+          System.arraycopy(previousManagers, 0, tagIdManagers, 0, previousManagers.length);
+          tagIdManagers[previousManagers.length] = tagManager;
+        }
+        managersByTagId.put(tagIdKey, tagIdManagers);
+        infosByTagId.put(tagIdKey, currentTag);
+      }
     }
   }
 
+  /**
+   * Create the instant values reader used by {@link #SAMPLER_MODE_INSTANT_VALUES_SNAPSHOT},
+   * filtered to the tags in the tag groups.
+   *
+   * @param tagGroupMembers the tag group members of each tag group
+   * @return the instant values reader
+   */
+  private static InstantValuesEbdReader createInstantValuesReader(ArrayList tagGroupMembers) {
+    int tagIdCount = 0;
+    for (int tagGroupIndex = 0; tagGroupIndex < NUM_TAG_GROUPS; tagGroupIndex++) {
+      tagIdCount += ((List) tagGroupMembers.get(tagGroupIndex)).size();
+    }
+    int[] tagIds = new int[tagIdCount];
+    int tagIdIndex = 0;
+    int highestTagId = 0;
+    for (int tagGroupIndex = 0; tagGroupIndex < NUM_TAG_GROUPS; tagGroupIndex++) {
+      List currentGroupMembers = (List) tagGroupMembers.get(tagGroupIndex);
+      for (int tagListIndex = 0; tagListIndex < currentGroupMembers.size(); tagListIndex++) {
+        final int tagId = ((TagInfo) currentGroupMembers.get(tagListIndex)).getId();
+        tagIds[tagIdIndex++] = tagId;
+        highestTagId = Math.max(highestTagId, tagId);
+      }
+    }
+    InstantValuesEbdReader reader = new InstantValuesEbdReader(highestTagId);
+    reader.setTagIdFilter(tagIds);
+    return reader;
+  }
+
   /**
    * Initializes RealTimeDataQueueManager.
    *
    * @throws Exception If the TagControl object fails to initialize for a given tag.
    */
   public static void init() throws Exception {
-    initTagGroups();
-    initTagManagers();
-    initTagManageIterators();
+    init(getTagGroupMembers());
+  }
+
+  /**
+   * Initializes RealTimeDataQueueManager with the specified tag group members.
+   *
+   * <p>The new tag managers, maps and reader are created first, then published and the data point
+   * counts reset together while holding {@link #groupDataPointCountsLock}. Data points added to or
+   * removed from the replaced tag managers after that are not counted, so the counts match the
+   * data points held by the new tag managers.
+   *
+   * @param tagGroupMembers a list of the tag group members (list of {@link TagInfo}) of each tag
+   *     group, by tag group index
+   * @throws Exception If the TagControl object fails to initialize for a given tag.
+   * @since 1.17.0
+   */
+  static void init(ArrayList tagGroupMembers) throws Exception {
+    final int generation;
+    synchronized (groupDataPointCountsLock) {
+      generation = tagManagerGeneration + 1;
+    }
+    ArrayList newTagManagers = createTagManagers(tagGroupMembers, generation);
+    RealTimeTagDataPointManager[][] newGroupTagManagers = createGroupTagManagers(newTagManagers);
+    InstantValuesEbdReader newInstantValuesReader = createInstantValuesReader(tagGroupMembers);
+    Map managersByTagId = new HashMap(); // Map<Integer, RealTimeTagDataPointManager[]>
+    Map infosByTagId = new HashMap(); // Map<Integer, TagInfo>
+    fillTagIdMaps(tagGroupMembers, newTagManagers, managersByTagId, infosByTagId);
+
+    synchronized (groupDataPointCountsLock) {
+      tagGroupList = tagGroupMembers;
+      tagManagers = newTagManagers;
+      groupTagManagers = newGroupTagManagers;
+      tagManagerIterators = new int[NUM_TAG_GROUPS];
+      instantValuesReader = newInstantValuesReader;
+      tagInfosByTagId = infosByTagId;
+      tagManagersByTagId = managersByTagId;
+      tagManagerGeneration = generation;
+      for (int tagGroupIndex = 0; tagGroupIndex < NUM_TAG_GROUPS; tagGroupIndex++) {
+        groupDataPointCounts[tagGroupIndex] = 0;
+      }
+    }
   }
 
   /**
@@ -116,52 +359,524 @@ public class RealTimeDataQueueManager {
       data = dataPoints.removeDataPoint();
       tagManagerIterators[tagGroup]++;
       tagManagerIterators[tagGroup] =
-          (tagManagerIterators[tagGroup] % ((ArrayList) tagGroupList.get(tagGroup)).size());
+          (tagManagerIterators[tagGroup] % ((List) tagGroupList.get(tagGroup)).size());
     }
     return data;
   }
 
   /**
-   * Gets the number of data points retrieved from tag a group.
+   * Removes up to <code>max</code> data points from the tags in a group and stores them in the
+   * specified array, starting at index 0. The tags of the group are visited once, starting with
+   * the tag after the last tag drained by the previous call, and the data points of each tag are
+   * removed oldest first. If there are fewer than <code>max</code> data points in the group, the
+   * group is emptied.
+   *
+   * @param tagGroup The tag group to remove data points from.
+   * @param dest array to store the removed data points in
+   * @param max maximum number of data points to remove (limited to the length of the array)
+   * @return the number of data points removed and stored in the array
+   * @since 1.17.0
+   */
+  public static int drainGroup(int tagGroup, DataPoint[] dest, int max) {
+    return drainGroup(tagGroup, dest, null, Math.min(max, dest.length));
+  }
+
+  /**
+   * Removes data points from the tags in a group and appends them to the specified column-oriented
+   * batch until the batch is full, without creating a data point object for each sample. The tags
+   * of the group are visited once, starting with the tag after the last tag drained by the previous
+   * call, and the data points of each tag are removed oldest first.
+   *
+   * @param tagGroup The tag group to remove data points from.
+   * @param batch batch to append the removed data points to
+   * @return the number of data points removed and appended to the batch
+   * @since 1.17.0
+   */
+  public static int drainGroup(int tagGroup, RealTimeDataPointBatch batch) {
+    return drainGroup(tagGroup, null, batch, batch.getCapacity() - batch.size());
+  }
+
+  /**
+   * Removes up to <code>max</code> data points from the tags in a group, and stores them in the
+   * specified array or appends them to the specified batch.
+   *
+   * @param tagGroup The tag group to remove data points from.
+   * @param dest array to store the removed data points in, or null to use the batch
+   * @param batch batch to append the removed data points to, if the array is null
+   * @param max maximum number of data points to remove
+   * @return the number of data points removed
+   * @since 1.17.0
+   */
+  private static int drainGroup(
+      int tagGroup, DataPoint[] dest, RealTimeDataPointBatch batch, int max) {
+    RealTimeTagDataPointManager[] groupManagers = groupTagManagers[tagGroup];
+    final int groupManagerCount = groupManagers.length;
+    int drainedCount = 0;
+    int tagIndex = tagManagerIterators[tagGroup];
+    for (int visited = 0; visited < groupManagerCount && drainedCount < max; visited++) {
+      RealTimeTagDataPointManager tagManager = groupManagers[tagIndex];
+      if (dest != null) {
+        drainedCount += tagManager.removeDataPoints(dest, drainedCount, max - drainedCount);
+      } else {
+        drainedCount += tagManager.removeDataPoints(batch, max - drainedCount);
+      }
+      tagIndex++;
+      if (tagIndex == groupManagerCount) {
+        tagIndex = 0;
+      }
+    }
+    if (groupManagerCount > 0) {
+      tagManagerIterators[tagGroup] = tagIndex;
+    }
+    return drainedCount;
+  }
+
+  /**
+   * Gets the number of data points retrieved from tag a group. The count is maintained as data
+   * points are added and removed, so it is not recomputed over every tag.
    *
    * @param tagGroup The tag group to get the number of data points from.
    * @return returns the number of data points in specified group.
    */
   public static int getNumGroupDataPoints(int tagGroup) {
-    int numDataPoints = 0;
-    ArrayList tagGroupList = (ArrayList) tagManagers.get(tagGroup);
-    if (tagGroupList != null) {
-      for (int i = 0; i < tagGroupList.size(); i++) {
-        numDataPoints += ((RealTimeTagDataPointManager) tagGroupList.get(i)).getSize();
+    synchronized (groupDataPointCountsLock) {
+      return groupDataPointCounts[tagGroup];
+    }
+  }
+
+  /**
+   * Updates the number of data points held by the tag managers of a tag group. Updates from tag
+   * managers which have been replaced by {@link #init()} are ignored.
+   *
+   * @param tagGroup The tag group to update the number of data points of.
+   * @param generation generation of the tag manager whose data points changed
+   * @param delta change in the number of data points
+   * @since 1.17.0
+   */
+  static void updateGroupDataPointCount(int tagGroup, int generation, int delta) {
+    synchronized (groupDataPointCountsLock) {
+      if (generation == tagManagerGeneration) {
+        groupDataPointCounts[tagGroup] += delta;
       }
     }
-    return numDataPoints;
+  }
+
+  /**
+   * Sets the maximum number of data points held for each tag and the overflow policy applied when
+   * they are full. Takes effect the next time {@link #init()} is called.
+   *
+   * @param capacity maximum number of data points held for each tag
+   * @param overflowPolicy overflow policy, {@link
+   *     RealTimeTagDataPointManager#OVERFLOW_POLICY_DROP_OLDEST}, {@link
+   *     RealTimeTagDataPointManager#OVERFLOW_POLICY_DROP_NEWEST} or {@link
+   *     RealTimeTagDataPointManager#OVERFLOW_POLICY_DOWNSAMPLE}
+   * @since 1.17.0
+   */
+  public static void setTagDataPointCapacity(int capacity, int overflowPolicy) {
+    tagDataPointCapacity = capacity;
+    tagDataPointOverflowPolicy = overflowPolicy;
+  }
+
+  /**
+   * Gets the number of data points dropped from a tag group because the data points held for a tag
+   * were full.
+   *
+   * @param tagGroup The tag group to get the number of dropped data points from.
+   * @return the number of dropped data points in the specified group
+   * @since 1.17.0
+   */
+  public static long getNumGroupDroppedDataPoints(int tagGroup) {
+    long numDroppedDataPoints = 0;
+    ArrayList tagGroupManagers = (ArrayList) tagManagers.get(tagGroup);
+    if (tagGroupManagers != null) {
+      for (int i = 0; i < tagGroupManagers.size(); i++) {
+        numDroppedDataPoints +=
+            ((RealTimeTagDataPointManager) tagGroupManagers.get(i)).getDroppedDataPointCount();
+      }
+    }
+    return numDroppedDataPoints;
+  }
+
+  /**
+   * Sets the sampler mode used to record new tag values. The default sampler mode is {@link
+   * #SAMPLER_MODE_TAG_CONTROL}.
+   *
+   * <p>{@link #SAMPLER_MODE_VALUE_CHANGE_EVENTS} should be enabled using {@link
+   * #enableValueChangeCapture(long)}, which also registers the value change listener.
+   *
+   * @param mode sampler mode, {@link #SAMPLER_MODE_TAG_CONTROL}, {@link
+   *     #SAMPLER_MODE_INSTANT_VALUES_SNAPSHOT} or {@link #SAMPLER_MODE_VALUE_CHANGE_EVENTS}
+   * @throws IllegalArgumentException if the sampler mode is not valid
+   * @since 1.17.0
+   */
+  public static void setSamplerMode(int mode) {
+    if (mode != SAMPLER_MODE_TAG_CONTROL
+        && mode != SAMPLER_MODE_INSTANT_VALUES_SNAPSHOT
+        && mode != SAMPLER_MODE_VALUE_CHANGE_EVENTS) {
+      throw new IllegalArgumentException("Invalid real time data sampler mode: " + mode + ".");
+    }
+    samplerMode = mode;
+  }
+
+  /**
+   * Gets the sampler mode used to record new tag values.
+   *
+   * @return sampler mode, {@link #SAMPLER_MODE_TAG_CONTROL}, {@link
+   *     #SAMPLER_MODE_INSTANT_VALUES_SNAPSHOT} or {@link #SAMPLER_MODE_VALUE_CHANGE_EVENTS}
+   * @since 1.17.0
+   */
+  public static int getSamplerMode() {
+    return samplerMode;
+  }
+
+  /**
+   * Enables {@link #SAMPLER_MODE_VALUE_CHANGE_EVENTS}, and registers a {@link
+   * RealTimeValueChangeListener} as the default tag value listener of the {@link
+   * DefaultEventHandler} (replacing any previously registered default tag value listener). The
+   * event manager must be running for value changes to be received.
+   *
+   * <p>In this mode, changed tag values are added to the queues of the tag as they happen, and
+   * {@link #dataFetcher()} or {@link #dataFetcher(int)} only records the values of all tags from an
+   * instant values snapshot once the integrity snapshot interval has elapsed, so the processing
+   * cost depends on the rate of value changes rather than the number of tags.
+   *
+   * @param integritySnapshotIntervalMillis interval between integrity snapshots, in milliseconds
+   * @throws IllegalArgumentException if the integrity snapshot interval is negative
+   * @since 1.17.0
+   */
+  public static void enableValueChangeCapture(long integritySnapshotIntervalMillis) {
+    if (integritySnapshotIntervalMillis < 0) {
+      throw new IllegalArgumentException("Integrity snapshot interval must not be negative.");
+    }
+    RealTimeDataQueueManager.integritySnapshotIntervalMillis = integritySnapshotIntervalMillis;
+    samplerMode = SAMPLER_MODE_VALUE_CHANGE_EVENTS;
+    DefaultEventHandler.setDefaultTagValueListener(new RealTimeValueChangeListener());
+  }
+
+  /**
+   * Gets the tag managers of the specified tag in each group containing the tag.
+   *
+   * @param tagId tag ID
+   * @return tag managers, or null if the tag is not in a tag group
+   * @since 1.17.0
+   */
+  static RealTimeTagDataPointManager[] getTagManagersForTagId(int tagId) {
+    Map managersByTagId = tagManagersByTagId;
+    if (managersByTagId == null) {
+      return null;
+    }
+    return (RealTimeTagDataPointManager[]) managersByTagId.get(new Integer(tagId));
+  }
+
+  /**
+   * Gets the tag information of the specified tag in the tag groups.
+   *
+   * @param tagId tag ID
+   * @return tag information, or null if the tag is not in a tag group
+   * @since 1.17.0
+   */
+  static TagInfo getTagInfoForTagId(int tagId) {
+    Map infosByTagId = tagInfosByTagId;
+    if (infosByTagId == null) {
+      return null;
+    }
+    return (TagInfo) infosByTagId.get(new Integer(tagId));
+  }
+
+  /**
+   * Sets the yield policy used while recording new tag values. If set to null, the default yield
+   * policy of the sampler mode is used: one millisecond after every tag for {@link
+   * #SAMPLER_MODE_TAG_CONTROL}, or one millisecond every {@link
+   * #DEFAULT_SNAPSHOT_YIELD_INTERVAL_MILLIS} milliseconds for {@link
+   * #SAMPLER_MODE_INSTANT_VALUES_SNAPSHOT} and {@link #SAMPLER_MODE_VALUE_CHANGE_EVENTS}.
+   *
+   * @param policy yield policy, or null to use the default yield policy of the sampler mode
+   * @since 1.17.0
+   */
+  public static void setYieldPolicy(RealTimeYieldPolicy policy) {
+    yieldPolicy = policy;
+  }
+
+  /**
+   * Gets the yield policy used with the current sampler mode.
+   *
+   * @return yield policy
+   * @since 1.17.0
+   */
+  public static RealTimeYieldPolicy getYieldPolicy() {
+    if (yieldPolicy != null) {
+      return yieldPolicy;
+    }
+    return samplerMode == SAMPLER_MODE_TAG_CONTROL
+        ? DEFAULT_TAG_CONTROL_YIELD_POLICY
+        : DEFAULT_SNAPSHOT_YIELD_POLICY;
   }
 
   /**
    * Gets a new data point for each tag in a specified group and then adds it to an internal queue
    * in the tag's tag Manager.
    *
+   * <p>In {@link #SAMPLER_MODE_INSTANT_VALUES_SNAPSHOT} mode, a single instant values snapshot is
+   * taken for the group. Use {@link #dataFetcher()} to record all groups from a single snapshot.
+   * In {@link #SAMPLER_MODE_VALUE_CHANGE_EVENTS} mode, the snapshot is only taken if the integrity
+   * snapshot interval of the group has elapsed.
+   *
    * @param tagGroup The tag group to fetch data from.
    */
   public static void dataFetcher(int tagGroup) {
+    if (samplerMode != SAMPLER_MODE_TAG_CONTROL) {
+      final long currentTimeMillis = System.currentTimeMillis();
+      if (isIntegritySnapshotDue(tagGroup, currentTimeMillis) && readInstantValuesSnapshot()) {
+        integritySnapshotTimes[tagGroup] = currentTimeMillis;
+        recordSnapshotValues(tagGroup, getYieldPolicy());
+      }
+      return;
+    }
+
     ArrayList tagGroupArray = (ArrayList) tagManagers.get(tagGroup);
     if (tagGroupArray != null) {
+      RealTimeYieldPolicy policy = getYieldPolicy();
+      int tagsSinceYield = 0;
+      long lastYieldTime = System.currentTimeMillis();
       // for each tag in the tag group, record a new value
       for (int tagNum = 0; tagNum < tagGroupArray.size(); tagNum++) {
-        TagInfo currentTag = ((TagInfo) ((ArrayList) tagGroupList.get(tagGroup)).get(tagNum));
+        TagInfo currentTag = ((TagInfo) ((List) tagGroupList.get(tagGroup)).get(tagNum));
         ((RealTimeTagDataPointManager) tagGroupArray.get(tagNum)).recordCurentTagValue(currentTag);
-        final int numTagsBeforeSleep = 1;
-        final int sleepMilliseconds = 1;
-        if ((tagNum % numTagsBeforeSleep) == 0) {
-          try {
-            Thread.sleep(sleepMilliseconds);
-          } catch (InterruptedException e) {
-            Logger.LOG_WARN("Unable to sleep thread between real time data reads.");
-            Logger.LOG_EXCEPTION(e);
+        tagsSinceYield++;
+        if (policy.isYieldDue(tagsSinceYield, System.currentTimeMillis() - lastYieldTime)) {
+          yieldThread(policy);
+          tagsSinceYield = 0;
+          lastYieldTime = System.currentTimeMillis();
+        }
+      }
+    }
+  }
+
+  /**
+   * Gets a new data point for each tag in every tag group and then adds it to an internal queue in
+   * the tag's tag manager.
+   *
+   * <p>In {@link #SAMPLER_MODE_INSTANT_VALUES_SNAPSHOT} mode, a single instant values snapshot is
+   * taken and its values are recorded for all tag groups, so the sweep time depends on the size of
+   * the export rather than the number of tags. In {@link #SAMPLER_MODE_VALUE_CHANGE_EVENTS} mode,
+   * the snapshot is only taken if the integrity snapshot interval of a tag group has elapsed, and
+   * is only recorded for those tag groups.
+   *
+   * @since 1.17.0
+   */
+  public static void dataFetcher() {
+    if (samplerMode != SAMPLER_MODE_TAG_CONTROL) {
+      final long currentTimeMillis = System.currentTimeMillis();
+      boolean[] dueTagGroups = new boolean[NUM_TAG_GROUPS];
+      boolean snapshotDue = false;
+      for (int tagGroup = 0; tagGroup < NUM_TAG_GROUPS; tagGroup++) {
+        dueTagGroups[tagGroup] = isIntegritySnapshotDue(tagGroup, currentTimeMillis);
+        snapshotDue |= dueTagGroups[tagGroup];
+      }
+      if (snapshotDue && readInstantValuesSnapshot()) {
+        RealTimeYieldPolicy policy = getYieldPolicy();
+        for (int tagGroup = 0; tagGroup < NUM_TAG_GROUPS; tagGroup++) {
+          if (dueTagGroups[tagGroup]) {
+            integritySnapshotTimes[tagGroup] = currentTimeMillis;
+            recordSnapshotValues(tagGroup, policy);
           }
         }
       }
+    } else {
+      for (int tagGroup = 0; tagGroup < NUM_TAG_GROUPS; tagGroup++) {
+        dataFetcher(tagGroup);
+      }
+    }
+  }
+
+  /**
+   * Gets a boolean indicating if an instant values snapshot is due for the specified tag group. A
+   * snapshot is always due in {@link #SAMPLER_MODE_INSTANT_VALUES_SNAPSHOT} mode, and is due once
+   * the integrity snapshot interval has elapsed in {@link #SAMPLER_MODE_VALUE_CHANGE_EVENTS} mode.
+   *
+   * @param tagGroup The tag group to check.
+   * @param currentTimeMillis current time in milliseconds
+   * @return true if a snapshot is due
+   * @since 1.17.0
+   */
+  private static boolean isIntegritySnapshotDue(int tagGroup, long currentTimeMillis) {
+    return samplerMode == SAMPLER_MODE_INSTANT_VALUES_SNAPSHOT
+        || integritySnapshotTimes[tagGroup] == 0
+        || currentTimeMillis - integritySnapshotTimes[tagGroup] >= integritySnapshotIntervalMillis;
+  }
+
+  /**
+   * Reads an instant values snapshot of the tags in the tag groups.
+   *
+   * @return true if the snapshot was read, false if unable to read the snapshot
+   * @since 1.17.0
+   */
+  private static boolean readInstantValuesSnapshot() {
+    try {
+      instantValuesReader.read();
+      final long readTimeMillis = instantValuesReader.getReadTimeMillis();
+      final String readTimeIso8601 =
+          SCTimeUtils.getIso8601FormattedTimestampForDate(new Date(readTimeMillis));
+      setSnapshotTimestamps(readTimeMillis, readTimeIso8601);
+      return true;
+    } catch (Exception e) {
+      Logger.LOG_WARN("Unable to read instant values snapshot for real time data.", e);
+      return false;
+    }
+  }
+
+  /**
+   * Reads an instant values snapshot of the tags in the tag groups from the specified instant
+   * values EBD data stream.
+   *
+   * @param inputStream instant values EBD data stream
+   * @param readTimeMillis time of the EBD data, in milliseconds since epoch
+   * @param readTimeIso8601 time of the EBD data, ISO 8601 format
+   * @throws IOException if unable to read the EBD data
+   * @since 1.17.0
+   */
+  static void readInstantValuesSnapshot(
+      InputStream inputStream, long readTimeMillis, String readTimeIso8601) throws IOException {
+    instantValuesReader.read(inputStream, readTimeMillis);
+    setSnapshotTimestamps(readTimeMillis, readTimeIso8601);
+  }
+
+  /**
+   * Sets the timestamps of the data points recorded from the most recent instant values snapshot.
+   *
+   * @param readTimeMillis time of the instant values snapshot, in milliseconds since epoch
+   * @param readTimeIso8601 time of the instant values snapshot, ISO 8601 format
+   * @since 1.17.0
+   */
+  private static void setSnapshotTimestamps(long readTimeMillis, String readTimeIso8601) {
+    snapshotTimestamp = String.valueOf(readTimeMillis / SCTimeUnit.SECONDS.toMillis(1));
+    snapshotIso8601Timestamp = readTimeIso8601;
+  }
+
+  /**
+   * Adds the data point of each tag in a specified group from the most recent instant values
+   * snapshot to an internal queue in the tag's tag manager. Tags which are not in the snapshot are
+   * skipped.
+   *
+   * @param tagGroup The tag group to record data for.
+   * @param policy yield policy
+   * @since 1.17.0
+   */
+  static void recordSnapshotValues(int tagGroup, RealTimeYieldPolicy policy) {
+    ArrayList tagGroupArray = (ArrayList) tagManagers.get(tagGroup);
+    if (tagGroupArray != null) {
+      int tagsSinceYield = 0;
+      long lastYieldTime = System.currentTimeMillis();
+      for (int tagNum = 0; tagNum < tagGroupArray.size(); tagNum++) {
+        TagInfo currentTag = ((TagInfo) ((List) tagGroupList.get(tagGroup)).get(tagNum));
+        recordSnapshotValue(currentTag, (RealTimeTagDataPointManager) tagGroupArray.get(tagNum));
+        tagsSinceYield++;
+        if (policy.isYieldDue(tagsSinceYield, System.currentTimeMillis() - lastYieldTime)) {
+          yieldThread(policy);
+          tagsSinceYield = 0;
+          lastYieldTime = System.currentTimeMillis();
+        }
+      }
+    }
+  }
+
+  /**
+   * Adds the data point of the specified tag from the most recent instant values snapshot to an
+   * internal queue in the tag's tag manager. The tag is skipped if it is not in the snapshot.
+   *
+   * @param tag tag information of the tag
+   * @param tagManager tag manager of the tag
+   * @since 1.17.0
+   */
+  private static void recordSnapshotValue(TagInfo tag, RealTimeTagDataPointManager tagManager) {
+    try {
+      DataPoint dataPoint =
+          instantValuesReader.createDataPoint(tag, snapshotTimestamp, snapshotIso8601Timestamp);
+      if (dataPoint != null) {
+        tagManager.addDataPoint(dataPoint);
+      }
+    } catch (IllegalArgumentException e) {
+      Logger.LOG_WARN("Unable to record instant value of tag " + tag.getName() + ".", e);
+    }
+  }
+
+  /**
+   * Gets a new data point for each of the specified tags and then adds it to an internal queue in
+   * the tag's tag manager. Used by {@link RealTimeSampleScheduler} to record only the tags which
+   * are due.
+   *
+   * <p>In {@link #SAMPLER_MODE_TAG_CONTROL} mode, the value of each tag is read using its own
+   * TagControl object. In the other sampler modes, a single instant values snapshot is taken and
+   * the values of the specified tags are recorded from it.
+   *
+   * @param tagGroups tag group of each tag
+   * @param tagIndexes index of each tag in its tag group
+   * @param count number of tags
+   * @return the number of tags recorded, or 0 if unable to read the instant values snapshot
+   * @since 1.17.0
+   */
+  static int recordTagValues(int[] tagGroups, int[] tagIndexes, int count) {
+    final boolean tagControlMode = samplerMode == SAMPLER_MODE_TAG_CONTROL;
+    if (count == 0 || (!tagControlMode && !readInstantValuesSnapshot())) {
+      return 0;
+    }
+
+    RealTimeYieldPolicy policy = getYieldPolicy();
+    int tagsSinceYield = 0;
+    long lastYieldTime = System.currentTimeMillis();
+    for (int i = 0; i < count; i++) {
+      TagInfo currentTag = getGroupTagInfo(tagGroups[i], tagIndexes[i]);
+      RealTimeTagDataPointManager tagManager = groupTagManagers[tagGroups[i]][tagIndexes[i]];
+      if (tagControlMode) {
+        tagManager.recordCurentTagValue(currentTag);
+      } else {
+        recordSnapshotValue(currentTag, tagManager);
+      }
+      tagsSinceYield++;
+      if (policy.isYieldDue(tagsSinceYield, System.currentTimeMillis() - lastYieldTime)) {
+        yieldThread(policy);
+        tagsSinceYield = 0;
+        lastYieldTime = System.currentTimeMillis();
+      }
+    }
+    return count;
+  }
+
+  /**
+   * Gets the number of tags in a tag group.
+   *
+   * @param tagGroup The tag group to get the number of tags of.
+   * @return the number of tags in the specified group
+   * @since 1.17.0
+   */
+  static int getNumGroupTags(int tagGroup) {
+    return groupTagManagers[tagGroup].length;
+  }
+
+  /**
+   * Gets the tag information of a tag in a tag group.
+   *
+   * @param tagGroup The tag group of the tag.
+   * @param tagIndex index of the tag in the tag group
+   * @return tag information
+   * @since 1.17.0
+   */
+  static TagInfo getGroupTagInfo(int tagGroup, int tagIndex) {
+    return (TagInfo) ((List) tagGroupList.get(tagGroup)).get(tagIndex);
+  }
+
+  /**
+   * Sleeps the current thread for the yield sleep time of the specified yield policy.
+   *
+   * @param policy yield policy
+   * @since 1.17.0
+   */
+  private static void yieldThread(RealTimeYieldPolicy policy) {
+    try {
+      Thread.sleep(policy.getYieldSleepMillis());
+    } catch (InterruptedException e) {
+      Logger.LOG_WARN("Unable to sleep thread between real time data reads.");
+      Logger.LOG_EXCEPTION(e);
     }
   }
 }
@@ -0,0 +1,453 @@
+package com.hms_networks.americas.sc.extensions.realtimedata;
+
+import com.hms_networks.americas.sc.extensions.datapoint.DataPoint;
+
+/**
+ * Weighted fair drainer for the tag groups of {@link RealTimeDataQueueManager}. Each call to {@link
+ * #drain(DataPoint[], int[], int)} removes data points from the tag groups until a budget, in data
+ * points or estimated bytes, is spent. The budget is shared between the tag groups using deficit
+ * round robin, so each tag group with data receives a share of the budget proportional to its
+ * weight, and a busy tag group cannot crowd out the others. One tag group may be given strict
+ * priority, in which case it is drained before the other tag groups receive any of the budget.
+ *
+ * <p>Data points are removed from each tag group in small batches, which are held by the drainer
+ * and returned one at a time, so the tags of a tag group are not visited again for each data point.
+ * A data point which does not fit in the remaining share of its tag group (or the remaining budget)
+ * stays held by the drainer and is returned first by a later call, so the data points of each tag
+ * are returned in order. Data points held by the drainer are not included in {@link
+ * RealTimeDataQueueManager#getNumGroupDataPoints(int)}, and tag groups drained by a drainer should
+ * not also be drained using other methods. Instances of this class are not thread safe.
+ *
+ * @author HMS Networks; Americas
+ * @since 1.17.0
+ * @version 1.0.0
+ */
+public class RealTimeGroupDrainer {
+
+  /**
+   * Budget type where each data point costs one unit of the budget.
+   *
+   * @since 1.0.0
+   */
+  public static final int BUDGET_DATA_POINTS = 0;
+
+  /**
+   * Budget type where each data point costs its estimated size in bytes. See {@link
+   * #estimateSizeBytes(DataPoint)}.
+   *
+   * @since 1.0.0
+   */
+  public static final int BUDGET_BYTES = 1;
+
+  /**
+   * Value indicating that no tag group has strict priority.
+   *
+   * @since 1.0.0
+   */
+  public static final int NO_PRIORITY_GROUP = -1;
+
+  /**
+   * Default weight of each tag group.
+   *
+   * @since 1.0.0
+   */
+  public static final int DEFAULT_GROUP_WEIGHT = 1;
+
+  /**
+   * Default number of bytes added to the share of a tag group per unit of weight in each round,
+   * for {@link #BUDGET_BYTES}.
+   *
+   * @since 1.0.0
+   */
+  public static final int DEFAULT_BYTES_QUANTUM = 512;
+
+  /**
+   * Estimated size in bytes of the fields of a data point other than its tag name, value and
+   * timestamp (for example, the quality and field separators).
+   *
+   * @since 1.0.0
+   */
+  private static final int DATA_POINT_OVERHEAD_BYTES = 16;
+
+  /**
+   * Maximum number of data points removed from a tag group at once and held by the drainer.
+   *
+   * @since 1.0.0
+   */
+  private static final int TAKE_BATCH_SIZE = 32;
+
+  /**
+   * Budget type, {@link #BUDGET_DATA_POINTS} or {@link #BUDGET_BYTES}.
+   *
+   * @since 1.0.0
+   */
+  private final int budgetType;
+
+  /**
+   * Budget added to the share of a tag group per unit of weight in each round.
+   *
+   * @since 1.0.0
+   */
+  private final int quantum;
+
+  /**
+   * Weight of each tag group.
+   *
+   * @since 1.0.0
+   */
+  private final int[] groupWeights = new int[RealTimeDataQueueManager.NUM_TAG_GROUPS];
+
+  /**
+   * Remaining share (deficit) of each tag group, carried over between rounds and calls.
+   *
+   * @since 1.0.0
+   */
+  private final long[] groupDeficits = new long[RealTimeDataQueueManager.NUM_TAG_GROUPS];
+
+  /**
+   * Data points of each tag group removed from the tag group, of which the data points from the
+   * cursor of the tag group up to its held count have not yet been returned.
+   *
+   * @since 1.0.0
+   */
+  private final DataPoint[][] heldDataPoints =
+      new DataPoint[RealTimeDataQueueManager.NUM_TAG_GROUPS][TAKE_BATCH_SIZE];
+
+  /**
+   * Index of the next held data point of each tag group to return.
+   *
+   * @since 1.0.0
+   */
+  private final int[] heldDataPointCursors = new int[RealTimeDataQueueManager.NUM_TAG_GROUPS];
+
+  /**
+   * Number of data points of each tag group removed by the most recent batch.
+   *
+   * @since 1.0.0
+   */
+  private final int[] heldDataPointCounts = new int[RealTimeDataQueueManager.NUM_TAG_GROUPS];
+
+  /**
+   * Tag group with strict priority, or {@link #NO_PRIORITY_GROUP}.
+   *
+   * @since 1.0.0
+   */
+  private int priorityGroup = NO_PRIORITY_GROUP;
+
+  /**
+   * Tag group which receives the first share of the next round.
+   *
+   * @since 1.0.0
+   */
+  private int nextRoundGroup = 0;
+
+  /**
+   * Boolean indicating if the tag group which receives the first share of the next round already
+   * received its share, because the previous call ran out of budget while draining it.
+   *
+   * @since 1.0.0
+   */
+  private boolean nextRoundGroupHasShare = false;
+
+  /**
+   * Constructs a new {@link RealTimeGroupDrainer} with the specified budget type. The share of
+   * each tag group per unit of weight is one data point for {@link #BUDGET_DATA_POINTS}, or {@link
+   * #DEFAULT_BYTES_QUANTUM} bytes for {@link #BUDGET_BYTES}.
+   *
+   * @param budgetType budget type, {@link #BUDGET_DATA_POINTS} or {@link #BUDGET_BYTES}
+   * @throws IllegalArgumentException if the budget type is not valid
+   * @since 1.0.0
+   */
+  public RealTimeGroupDrainer(int budgetType) {
+    this(budgetType, budgetType == BUDGET_BYTES ? DEFAULT_BYTES_QUANTUM : 1);
+  }
+
+  /**
+   * Constructs a new {@link RealTimeGroupDrainer} with the specified budget type and share of each
+   * tag group per unit of weight in each round.
+   *
+   * @param budgetType budget type, {@link #BUDGET_DATA_POINTS} or {@link #BUDGET_BYTES}
+   * @param quantum budget added to the share of a tag group per unit of weight in each round
+   * @throws IllegalArgumentException if the budget type is not valid, or the quantum is not
+   *     positive
+   * @since 1.0.0
+   */
+  public RealTimeGroupDrainer(int budgetType, int quantum) {
+    if (budgetType != BUDGET_DATA_POINTS && budgetType != BUDGET_BYTES) {
+      throw new IllegalArgumentException(
+          "Invalid real time drain budget type: " + budgetType + ".");
+    }
+    if (quantum <= 0) {
+      throw new IllegalArgumentException("Real time drain quantum must be positive.");
+    }
+    this.budgetType = budgetType;
+    this.quantum = quantum;
+    for (int i = 0; i < RealTimeDataQueueManager.NUM_TAG_GROUPS; i++) {
+      groupWeights[i] = DEFAULT_GROUP_WEIGHT;
+    }
+  }
+
+  /**
+   * Sets the weight of a tag group. Each tag group with data receives a share of the budget
+   * proportional to its weight.
+   *
+   * @param tagGroup The tag group to set the weight of.
+   * @param weight tag group weight
+   * @throws IllegalArgumentException if the tag group is not valid, or the weight is not positive
+   * @since 1.0.0
+   */
+  public void setGroupWeight(int tagGroup, int weight) {
+    checkTagGroup(tagGroup);
+    if (weight <= 0) {
+      throw new IllegalArgumentException("Real time drain weight must be positive.");
+    }
+    groupWeights[tagGroup] = weight;
+  }
+
+  /**
+   * Sets the tag group with strict priority, which is drained before the other tag groups receive
+   * any of the budget.
+   *
+   * @param tagGroup The tag group with strict priority, or {@link #NO_PRIORITY_GROUP}.
+   * @throws IllegalArgumentException if the tag group is not valid
+   * @since 1.0.0
+   */
+  public void setPriorityGroup(int tagGroup) {
+    if (tagGroup != NO_PRIORITY_GROUP) {
+      checkTagGroup(tagGroup);
+    }
+    priorityGroup = tagGroup;
+  }
+
+  /**
+   * Removes data points from the tag groups and stores them in the specified array, starting at
+   * index 0, until the budget is spent, the array is full or the tag groups are empty. A data point
+   * which costs more than the whole budget is returned on its own, so that it cannot block its tag
+   * group.
+   *
+   * @param dest array to store the removed data points in
+   * @param destTagGroups array to store the tag group of each removed data point in, or null
+   * @param budget budget of the call, in data points or estimated bytes
+   * @return the number of data points removed and stored in the array
+   * @since 1.0.0
+   */
+  public int drain(DataPoint[] dest, int[] destTagGroups, int budget) {
+    if (budget <= 0) {
+      return 0;
+    }
+    int count = 0;
+    long remainingBudget = budget;
+
+    // Drain tag group with strict priority
+    if (priorityGroup != NO_PRIORITY_GROUP) {
+      while (count < dest.length) {
+        DataPoint dataPoint = takeDataPoint(priorityGroup);
+        if (dataPoint == null) {
+          break;
+        }
+        final int cost = getCost(dataPoint);
+        if (cost > remainingBudget && !(count == 0 && cost > budget)) {
+          returnDataPoint(priorityGroup, dataPoint);
+          return count;
+        }
+        storeDataPoint(dest, destTagGroups, count++, dataPoint, priorityGroup);
+        remainingBudget -= cost;
+      }
+    }
+
+    // Share remaining budget between other tag groups using deficit round robin. Rounds end once
+    // no tag group has a data point to take, even if a tag group count is not zero.
+    boolean firstGroupHasShare = nextRoundGroupHasShare;
+    nextRoundGroupHasShare = false;
+    while (count < dest.length && remainingBudget > 0) {
+      boolean tookDataPoint = false;
+      for (int i = 0; i < RealTimeDataQueueManager.NUM_TAG_GROUPS; i++) {
+        final int tagGroup = (nextRoundGroup + i) % RealTimeDataQueueManager.NUM_TAG_GROUPS;
+        if (tagGroup == priorityGroup) {
+          continue;
+        }
+        if (!hasDataPoints(tagGroup)) {
+          groupDeficits[tagGroup] = 0;
+          continue;
+        }
+        if (i == 0 && firstGroupHasShare) {
+          firstGroupHasShare = false;
+        } else {
+          groupDeficits[tagGroup] += (long) groupWeights[tagGroup] * quantum;
+        }
+
+        while (count < dest.length) {
+          DataPoint dataPoint = takeDataPoint(tagGroup);
+          if (dataPoint == null) {
+            groupDeficits[tagGroup] = 0;
+            break;
+          }
+          tookDataPoint = true;
+          final int cost = getCost(dataPoint);
+          final boolean exceedsBudget = cost > remainingBudget && !(count == 0 && cost > budget);
+          if (exceedsBudget || cost > groupDeficits[tagGroup]) {
+            returnDataPoint(tagGroup, dataPoint);
+            if (exceedsBudget) {
+              // Resume with this tag group and its remaining share on the next call
+              nextRoundGroup = tagGroup;
+              nextRoundGroupHasShare = true;
+              return count;
+            }
+            break;
+          }
+          storeDataPoint(dest, destTagGroups, count++, dataPoint, tagGroup);
+          groupDeficits[tagGroup] -= cost;
+          remainingBudget -= cost;
+        }
+
+        if (count == dest.length) {
+          nextRoundGroup = (tagGroup + 1) % RealTimeDataQueueManager.NUM_TAG_GROUPS;
+          return count;
+        }
+      }
+      if (!tookDataPoint) {
+        break;
+      }
+      firstGroupHasShare = false;
+    }
+    return count;
+  }
+
+  /**
+   * Estimates the size in bytes of a data point when sent as text, from the lengths of its tag
+   * name, value and ISO 8601 timestamp.
+   *
+   * @param dataPoint data point
+   * @return estimated size in bytes
+   * @since 1.0.0
+   */
+  public static int estimateSizeBytes(DataPoint dataPoint) {
+    int sizeBytes = DATA_POINT_OVERHEAD_BYTES;
+    if (dataPoint.getTagName() != null) {
+      sizeBytes += dataPoint.getTagName().length();
+    }
+    if (dataPoint.getValueString() != null) {
+      sizeBytes += dataPoint.getValueString().length();
+    }
+    if (dataPoint.getIso8601Timestamp() != null) {
+      sizeBytes += dataPoint.getIso8601Timestamp().length();
+    }
+    return sizeBytes;
+  }
+
+  /**
+   * Gets the cost of a data point in the budget type of this drainer.
+   *
+   * @param dataPoint data point
+   * @return data point cost
+   * @since 1.0.0
+   */
+  private int getCost(DataPoint dataPoint) {
+    return budgetType == BUDGET_BYTES ? estimateSizeBytes(dataPoint) : 1;
+  }
+
+  /**
+   * Checks that the specified tag group is valid.
+   *
+   * @param tagGroup The tag group to check.
+   * @throws IllegalArgumentException if the tag group is not valid
+   * @since 1.0.0
+   */
+  private static void checkTagGroup(int tagGroup) {
+    if (tagGroup < 0 || tagGroup >= RealTimeDataQueueManager.NUM_TAG_GROUPS) {
+      throw new IllegalArgumentException("Invalid real time tag group: " + tagGroup + ".");
+    }
+  }
+
+  /**
+   * Gets a boolean indicating if a tag group (or the drainer) holds data points of the tag group.
+   *
+   * @param tagGroup The tag group to check.
+   * @return true if the tag group has data points
+   * @since 1.0.0
+   */
+  private boolean hasDataPoints(int tagGroup) {
+    return heldDataPointCursors[tagGroup] < heldDataPointCounts[tagGroup]
+        || getNumGroupDataPoints(tagGroup) > 0;
+  }
+
+  /**
+   * Gets the number of data points in a tag group of {@link RealTimeDataQueueManager}.
+   *
+   * @param tagGroup The tag group to get the number of data points of.
+   * @return the number of data points in the specified group
+   * @since 1.0.0
+   */
+  int getNumGroupDataPoints(int tagGroup) {
+    return RealTimeDataQueueManager.getNumGroupDataPoints(tagGroup);
+  }
+
+  /**
+   * Removes up to <code>max</code> data points from a tag group of {@link
+   * RealTimeDataQueueManager}.
+   *
+   * @param tagGroup The tag group to remove data points from.
+   * @param dest array to store the removed data points in
+   * @param max maximum number of data points to remove
+   * @return the number of data points removed and stored in the array
+   * @since 1.0.0
+   */
+  int drainGroup(int tagGroup, DataPoint[] dest, int max) {
+    return RealTimeDataQueueManager.drainGroup(tagGroup, dest, max);
+  }
+
+  /**
+   * Takes the next data point of a tag group. The held data points of the tag group are returned
+   * first, and once they have all been returned, the next batch of data points is removed from the
+   * tag group.
+   *
+   * @param tagGroup The tag group to take a data point from.
+   * @return the next data point, or null if the tag group is empty
+   * @since 1.0.0
+   */
+  private DataPoint takeDataPoint(int tagGroup) {
+    DataPoint[] held = heldDataPoints[tagGroup];
+    if (heldDataPointCursors[tagGroup] == heldDataPointCounts[tagGroup]) {
+      heldDataPointCursors[tagGroup] = 0;
+      heldDataPointCounts[tagGroup] = drainGroup(tagGroup, held, held.length);
+      if (heldDataPointCounts[tagGroup] == 0) {
+        return null;
+      }
+    }
+    final int cursor = heldDataPointCursors[tagGroup]++;
+    DataPoint dataPoint = held[cursor];
+    held[cursor] = null;
+    return dataPoint;
+  }
+
+  /**
+   * Returns the data point most recently taken from a tag group to the held data points of the
+   * tag group, so that it is taken first by the next call to {@link #takeDataPoint(int)}.
+   *
+   * @param tagGroup The tag group the data point was taken from.
+   * @param dataPoint data point to return
+   * @since 1.0.0
+   */
+  private void returnDataPoint(int tagGroup, DataPoint dataPoint) {
+    final int cursor = --heldDataPointCursors[tagGroup];
+    heldDataPoints[tagGroup][cursor] = dataPoint;
+  }
+
+  /**
+   * Stores a removed data point and its tag group in the destination arrays.
+   *
+   * @param dest array to store the data point in
+   * @param destTagGroups array to store the tag group in, or null
+   * @param index index to store the data point at
+   * @param dataPoint removed data point
+   * @param tagGroup tag group of the data point
+   * @since 1.0.0
+   */
+  private static void storeDataPoint(
+      DataPoint[] dest, int[] destTagGroups, int index, DataPoint dataPoint, int tagGroup) {
+    dest[index] = dataPoint;
+    if (destTagGroups != null) {
+      destTagGroups[index] = tagGroup;
+    }
+  }
+}
@@ -0,0 +1,411 @@
+package com.hms_networks.americas.sc.extensions.realtimedata;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Multi-rate scheduler for {@link RealTimeDataQueueManager}, which records the value of each tag
+ * at its own sample interval instead of recording every tag of a group on every call to {@link
+ * RealTimeDataQueueManager#dataFetcher(int)}. The sample interval can be set for each tag group
+ * (tag class) using {@link #setGroupSampleIntervalMillis(int, long)}, and overridden for
+ * individual tags using {@link #setTagSampleIntervalMillis(int, long)}.
+ *
+ * <p>The tags are held in a hashed timer wheel with one slot per tick. Each call to {@link
+ * #tick()} only visits the slots of the ticks which have elapsed since the previous call, and only
+ * records the tags which are due, so the number of reads matches the configured sample intervals.
+ * Sample intervals are rounded down to a multiple of the tick interval (with a minimum of one
+ * tick), and all tags are due on the first tick. If the values of the due tags cannot be recorded
+ * (for example, because the instant values snapshot could not be read), the tags are due again on
+ * the next tick. If the system clock moves backwards, the schedule continues from the most recent
+ * tick instead of waiting for the clock to catch up.
+ *
+ * <p>Example usage:
+ *
+ * <pre>
+ * RealTimeDataQueueManager.init();
+ * RealTimeSampleScheduler scheduler = new RealTimeSampleScheduler(100, 512);
+ * scheduler.setGroupSampleIntervalMillis(RealTimeDataQueueManager.GROUP_A, 1000);
+ * scheduler.setGroupSampleIntervalMillis(RealTimeDataQueueManager.GROUP_B, 300000);
+ * scheduler.start();
+ * while (running) {
+ *   scheduler.tick();
+ *   Thread.sleep(scheduler.getNextTickDelayMillis());
+ * }
+ * </pre>
+ *
+ * <p>The scheduler must be started again using {@link #start()} after {@link
+ * RealTimeDataQueueManager#init()} is called, or after a sample interval is changed. Instances of
+ * this class are not thread safe, and should be ticked from the thread recording real time data.
+ *
+ * @author HMS Networks; Americas
+ * @since 1.17.0
+ * @version 1.0.0
+ */
+public class RealTimeSampleScheduler {
+
+  /**
+   * Value indicating the end of a timer wheel slot list.
+   *
+   * @since 1.0.0
+   */
+  private static final int NO_ENTRY = -1;
+
+  /**
+   * Tick interval in milliseconds.
+   *
+   * @since 1.0.0
+   */
+  private final long tickMillis;
+
+  /**
+   * Sample interval of each tag group in milliseconds.
+   *
+   * @since 1.0.0
+   */
+  private final long[] groupSampleIntervalsMillis =
+      new long[RealTimeDataQueueManager.NUM_TAG_GROUPS];
+
+  /**
+   * Map of tag IDs to the sample interval of the tag in milliseconds, overriding the sample
+   * interval of the tag groups containing the tag.
+   *
+   * <p>Parameterized type: Map&lt;Integer, Long&gt;
+   *
+   * @since 1.0.0
+   */
+  private final Map tagSampleIntervalsMillis = new HashMap();
+
+  /**
+   * First entry of each timer wheel slot, or {@link #NO_ENTRY}.
+   *
+   * @since 1.0.0
+   */
+  private final int[] slotHeads;
+
+  /**
+   * Next entry in the timer wheel slot of each entry, or {@link #NO_ENTRY}.
+   *
+   * @since 1.0.0
+   */
+  private int[] entryNexts = new int[0];
+
+  /**
+   * Tag group of each entry.
+   *
+   * @since 1.0.0
+   */
+  private int[] entryTagGroups = new int[0];
+
+  /**
+   * Index of the tag of each entry in its tag group.
+   *
+   * @since 1.0.0
+   */
+  private int[] entryTagIndexes = new int[0];
+
+  /**
+   * Sample interval of each entry in ticks.
+   *
+   * @since 1.0.0
+   */
+  private long[] entryIntervalTicks = new long[0];
+
+  /**
+   * Tick at which each entry is next due.
+   *
+   * @since 1.0.0
+   */
+  private long[] entryDueTicks = new long[0];
+
+  /**
+   * Entries which are due on the current tick.
+   *
+   * @since 1.0.0
+   */
+  private int[] dueEntries = new int[0];
+
+  /**
+   * Tag group of each tag which is due on the current tick.
+   *
+   * @since 1.0.0
+   */
+  private int[] dueTagGroups = new int[0];
+
+  /**
+   * Index of each tag which is due on the current tick in its tag group.
+   *
+   * @since 1.0.0
+   */
+  private int[] dueTagIndexes = new int[0];
+
+  /**
+   * Time the scheduler was started, in milliseconds since epoch.
+   *
+   * @since 1.0.0
+   */
+  private long startTimeMillis;
+
+  /**
+   * Most recent tick processed by {@link #tick()}, or -1 if no tick has been processed.
+   *
+   * @since 1.0.0
+   */
+  private long currentTick = -1;
+
+  /**
+   * Boolean indicating if the scheduler has been started.
+   *
+   * @since 1.0.0
+   */
+  private boolean started = false;
+
+  /**
+   * Constructs a new {@link RealTimeSampleScheduler}. The sample interval of each tag group
+   * defaults to the tick interval.
+   *
+   * @param tickMillis tick interval in milliseconds, which is the shortest sample interval
+   * @param wheelSize number of slots in the timer wheel. Tags with a sample interval of up to
+   *     <code>wheelSize</code> ticks are visited once per sample.
+   * @throws IllegalArgumentException if the tick interval or wheel size is not positive
+   * @since 1.0.0
+   */
+  public RealTimeSampleScheduler(long tickMillis, int wheelSize) {
+    if (tickMillis <= 0 || wheelSize <= 0) {
+      throw new IllegalArgumentException(
+          "Real time sample scheduler tick interval and wheel size must be positive.");
+    }
+    this.tickMillis = tickMillis;
+    slotHeads = new int[wheelSize];
+    for (int i = 0; i < RealTimeDataQueueManager.NUM_TAG_GROUPS; i++) {
+      groupSampleIntervalsMillis[i] = tickMillis;
+    }
+  }
+
+  /**
+   * Sets the sample interval of the tags in a tag group. Takes effect the next time {@link
+   * #start()} is called.
+   *
+   * @param tagGroup The tag group to set the sample interval of.
+   * @param sampleIntervalMillis sample interval in milliseconds
+   * @throws IllegalArgumentException if the tag group is not valid or the sample interval is not
+   *     positive
+   * @since 1.0.0
+   */
+  public void setGroupSampleIntervalMillis(int tagGroup, long sampleIntervalMillis) {
+    checkTagGroup(tagGroup);
+    if (sampleIntervalMillis <= 0) {
+      throw new IllegalArgumentException("Real time sample interval must be positive.");
+    }
+    groupSampleIntervalsMillis[tagGroup] = sampleIntervalMillis;
+  }
+
+  /**
+   * Sets the sample interval of a tag, overriding the sample interval of the tag groups containing
+   * the tag. Takes effect the next time {@link #start()} is called.
+   *
+   * @param tagId tag ID
+   * @param sampleIntervalMillis sample interval in milliseconds
+   * @throws IllegalArgumentException if the sample interval is not positive
+   * @since 1.0.0
+   */
+  public void setTagSampleIntervalMillis(int tagId, long sampleIntervalMillis) {
+    if (sampleIntervalMillis <= 0) {
+      throw new IllegalArgumentException("Real time sample interval must be positive.");
+    }
+    tagSampleIntervalsMillis.put(new Integer(tagId), new Long(sampleIntervalMillis));
+  }
+
+  /**
+   * Starts (or restarts) the scheduler with the tags in the tag groups of {@link
+   * RealTimeDataQueueManager}, which must be initialized. All tags are due on the first tick.
+   *
+   * @since 1.0.0
+   */
+  public void start() {
+    int entryCount = 0;
+    for (int i = 0; i < RealTimeDataQueueManager.NUM_TAG_GROUPS; i++) {
+      entryCount += getNumGroupTags(i);
+    }
+    entryNexts = new int[entryCount];
+    entryTagGroups = new int[entryCount];
+    entryTagIndexes = new int[entryCount];
+    entryIntervalTicks = new long[entryCount];
+    entryDueTicks = new long[entryCount];
+    dueEntries = new int[entryCount];
+    dueTagGroups = new int[entryCount];
+    dueTagIndexes = new int[entryCount];
+    for (int i = 0; i < slotHeads.length; i++) {
+      slotHeads[i] = NO_ENTRY;
+    }
+
+    // Add an entry for each tag in each tag group, due on the first tick
+    int entry = 0;
+    for (int tagGroup = 0; tagGroup < RealTimeDataQueueManager.NUM_TAG_GROUPS; tagGroup++) {
+      final int numGroupTags = getNumGroupTags(tagGroup);
+      for (int tagIndex = 0; tagIndex < numGroupTags; tagIndex++) {
+        final int tagId = getGroupTagId(tagGroup, tagIndex);
+        Long tagSampleIntervalMillis = (Long) tagSampleIntervalsMillis.get(new Integer(tagId));
+        final long sampleIntervalMillis =
+            tagSampleIntervalMillis != null
+                ? tagSampleIntervalMillis.longValue()
+                : groupSampleIntervalsMillis[tagGroup];
+        entryTagGroups[entry] = tagGroup;
+        entryTagIndexes[entry] = tagIndex;
+        entryIntervalTicks[entry] = Math.max(1, sampleIntervalMillis / tickMillis);
+        scheduleEntry(entry, 0);
+        entry++;
+      }
+    }
+
+    startTimeMillis = getCurrentTimeMillis();
+    currentTick = -1;
+    started = true;
+  }
+
+  /**
+   * Records the value of each tag which is due, based on the number of ticks elapsed since the
+   * scheduler was started. Each due tag is recorded once, even if more than one of its sample
+   * intervals has elapsed since the previous call. If the due tags cannot be recorded, they are due
+   * again on the next tick.
+   *
+   * @return the number of tags recorded
+   * @throws IllegalStateException if the scheduler has not been started
+   * @since 1.0.0
+   */
+  public int tick() {
+    if (!started) {
+      throw new IllegalStateException("Real time sample scheduler has not been started.");
+    }
+    final long currentTimeMillis = getCurrentTimeMillis();
+    long elapsedMillis = currentTimeMillis - startTimeMillis;
+    final long currentTickStartMillis = Math.max(currentTick, 0) * tickMillis;
+    if (elapsedMillis < currentTickStartMillis) {
+      // System clock moved backwards, re-base the schedule on the most recent tick
+      startTimeMillis = currentTimeMillis - currentTickStartMillis;
+      elapsedMillis = currentTickStartMillis;
+    }
+    final long targetTick = elapsedMillis / tickMillis;
+    if (targetTick <= currentTick) {
+      return 0;
+    }
+
+    // Remove due entries from the slots of the elapsed ticks
+    final long numSlotsToVisit = Math.min(targetTick - currentTick, slotHeads.length);
+    int dueCount = 0;
+    for (long tick = currentTick + 1; tick <= currentTick + numSlotsToVisit; tick++) {
+      final int slot = (int) (tick % slotHeads.length);
+      int previous = NO_ENTRY;
+      int entry = slotHeads[slot];
+      while (entry != NO_ENTRY) {
+        final int next = entryNexts[entry];
+        if (entryDueTicks[entry] <= targetTick) {
+          if (previous == NO_ENTRY) {
+            slotHeads[slot] = next;
+          } else {
+            entryNexts[previous] = next;
+          }
+          dueEntries[dueCount] = entry;
+          dueTagGroups[dueCount] = entryTagGroups[entry];
+          dueTagIndexes[dueCount] = entryTagIndexes[entry];
+          dueCount++;
+        } else {
+          previous = entry;
+        }
+        entry = next;
+      }
+    }
+    currentTick = targetTick;
+
+    // Record due tags and schedule their next samples (or retry on the next tick if not recorded)
+    final int numRecorded = recordTagValues(dueTagGroups, dueTagIndexes, dueCount);
+    for (int i = 0; i < dueCount; i++) {
+      final int entry = dueEntries[i];
+      scheduleEntry(entry, targetTick + (numRecorded == 0 ? 1 : entryIntervalTicks[entry]));
+    }
+    return numRecorded;
+  }
+
+  /**
+   * Gets the number of milliseconds until the next tick is due.
+   *
+   * @return milliseconds until the next tick, or 0 if a tick is due
+   * @since 1.0.0
+   */
+  public long getNextTickDelayMillis() {
+    final long nextTickTimeMillis = startTimeMillis + (currentTick + 1) * tickMillis;
+    return Math.max(0, nextTickTimeMillis - getCurrentTimeMillis());
+  }
+
+  /**
+   * Gets the current time used to determine the elapsed ticks.
+   *
+   * @return current time in milliseconds since epoch
+   * @since 1.0.0
+   */
+  long getCurrentTimeMillis() {
+    return System.currentTimeMillis();
+  }
+
+  /**
+   * Gets the number of tags in a tag group of {@link RealTimeDataQueueManager}.
+   *
+   * @param tagGroup The tag group to get the number of tags of.
+   * @return the number of tags in the specified group
+   * @since 1.0.0
+   */
+  int getNumGroupTags(int tagGroup) {
+    return RealTimeDataQueueManager.getNumGroupTags(tagGroup);
+  }
+
+  /**
+   * Gets the ID of a tag in a tag group of {@link RealTimeDataQueueManager}.
+   *
+   * @param tagGroup The tag group of the tag.
+   * @param tagIndex index of the tag in the tag group
+   * @return tag ID
+   * @since 1.0.0
+   */
+  int getGroupTagId(int tagGroup, int tagIndex) {
+    return RealTimeDataQueueManager.getGroupTagInfo(tagGroup, tagIndex).getId();
+  }
+
+  /**
+   * Records the values of the specified due tags using {@link RealTimeDataQueueManager}.
+   *
+   * @param tagGroups tag group of each tag
+   * @param tagIndexes index of each tag in its tag group
+   * @param count number of tags
+   * @return the number of tags recorded, or 0 if unable to record the tags
+   * @since 1.0.0
+   */
+  int recordTagValues(int[] tagGroups, int[] tagIndexes, int count) {
+    return RealTimeDataQueueManager.recordTagValues(tagGroups, tagIndexes, count);
+  }
+
+  /**
+   * Adds an entry to the timer wheel slot of the specified tick.
+   *
+   * @param entry entry to add
+   * @param dueTick tick at which the entry is due
+   * @since 1.0.0
+   */
+  private void scheduleEntry(int entry, long dueTick) {
+    final int slot = (int) (dueTick % slotHeads.length);
+    entryDueTicks[entry] = dueTick;
+    entryNexts[entry] = slotHeads[slot];
+    slotHeads[slot] = entry;
+  }
+
+  /**
+   * Checks that the specified tag group is valid.
+   *
+   * @param tagGroup The tag group to check.
+   * @throws IllegalArgumentException if the tag group is not valid
+   * @since 1.0.0
+   */
+  private static void checkTagGroup(int tagGroup) {
+    if (tagGroup < 0 || tagGroup >= RealTimeDataQueueManager.NUM_TAG_GROUPS) {
+      throw new IllegalArgumentException("Invalid real time tag group: " + tagGroup + ".");
+    }
+  }
+}
@@ -0,0 +1,553 @@
+package com.hms_networks.americas.sc.extensions.realtimedata;
+
+import com.hms_networks.americas.sc.extensions.datapoint.DataPoint;
+import com.hms_networks.americas.sc.extensions.datapoint.DataPointBoolean;
+import com.hms_networks.americas.sc.extensions.datapoint.DataPointDouble;
+import com.hms_networks.americas.sc.extensions.datapoint.DataPointDword;
+import com.hms_networks.americas.sc.extensions.datapoint.DataPointFloat;
+import com.hms_networks.americas.sc.extensions.datapoint.DataPointInteger;
+import com.hms_networks.americas.sc.extensions.datapoint.DataPointLong;
+import com.hms_networks.americas.sc.extensions.datapoint.DataPointString;
+import com.hms_networks.americas.sc.extensions.datapoint.DataQuality;
+
+/**
+ * Fixed-capacity first-in first-out ring buffer of the data points of a single tag, used by {@link
+ * RealTimeTagDataPointManager}.
+ *
+ * <p>The buffer is preallocated when it is constructed. Data points of the types created by the
+ * real time data samplers (float, integer, DWORD, boolean, string, double and long, with good
+ * quality) are stored as primitive values and epoch second timestamps, and are rebuilt when
+ * removed. Other data points are stored as-is. When the buffer is full, the overflow policy
+ * determines which data point is dropped, and the number of dropped data points is counted.
+ *
+ * @author HMS Networks; Americas
+ * @since 1.17.0
+ * @version 1.0.0
+ */
+class RealTimeTagDataPointBuffer {
+
+  /**
+   * Slot kind for a {@link DataPointFloat} stored as float bits.
+   *
+   * @since 1.0.0
+   */
+  private static final byte KIND_FLOAT = 0;
+
+  /**
+   * Slot kind for a {@link DataPointInteger} stored as an integer.
+   *
+   * @since 1.0.0
+   */
+  private static final byte KIND_INTEGER = 1;
+
+  /**
+   * Slot kind for a {@link DataPointDword} stored as a long.
+   *
+   * @since 1.0.0
+   */
+  private static final byte KIND_DWORD = 2;
+
+  /**
+   * Slot kind for a {@link DataPointBoolean} stored as 1 (true) or 0 (false).
+   *
+   * @since 1.0.0
+   */
+  private static final byte KIND_BOOLEAN = 3;
+
+  /**
+   * Slot kind for a {@link DataPointString} whose value is stored in the object value array.
+   *
+   * @since 1.0.0
+   */
+  private static final byte KIND_STRING = 4;
+
+  /**
+   * Slot kind for a {@link DataPointDouble} stored as double bits.
+   *
+   * @since 1.0.0
+   */
+  private static final byte KIND_DOUBLE = 5;
+
+  /**
+   * Slot kind for a {@link DataPointLong} stored as a long.
+   *
+   * @since 1.0.0
+   */
+  private static final byte KIND_LONG = 6;
+
+  /**
+   * Slot kind for any other data point, stored as-is in the object value array.
+   *
+   * @since 1.0.0
+   */
+  private static final byte KIND_DATA_POINT = 7;
+
+  /**
+   * Name of the tag whose data points are stored in the buffer.
+   *
+   * @since 1.0.0
+   */
+  private final String tagName;
+
+  /**
+   * Boolean indicating if the tag ID and unit have been set from the first data point added to the
+   * buffer.
+   *
+   * @since 1.0.0
+   */
+  private boolean tagDetailsSet;
+
+  /**
+   * ID of the tag, set from the first data point added to the buffer.
+   *
+   * @since 1.0.0
+   */
+  private int tagId;
+
+  /**
+   * Unit of the tag, set from the first data point added to the buffer.
+   *
+   * @since 1.0.0
+   */
+  private String tagUnit;
+
+  /**
+   * Overflow policy applied when a data point is added to a full buffer.
+   *
+   * @since 1.0.0
+   */
+  private final int overflowPolicy;
+
+  /**
+   * Kind of the data point in each slot.
+   *
+   * @since 1.0.0
+   */
+  private final byte[] kinds;
+
+  /**
+   * Primitive value (or value bits) of the data point in each slot.
+   *
+   * @since 1.0.0
+   */
+  private final long[] values;
+
+  /**
+   * Timestamp (UNIX epoch seconds) of the data point in each slot.
+   *
+   * @since 1.0.0
+   */
+  private final long[] timestamps;
+
+  /**
+   * ISO 8601 timestamp of the data point in each slot.
+   *
+   * @since 1.0.0
+   */
+  private final String[] iso8601Timestamps;
+
+  /**
+   * String value or data point of each slot of kind {@link #KIND_STRING} or {@link
+   * #KIND_DATA_POINT}.
+   *
+   * @since 1.0.0
+   */
+  private final Object[] objectValues;
+
+  /**
+   * Slot index of the oldest data point in the buffer.
+   *
+   * @since 1.0.0
+   */
+  private int head;
+
+  /**
+   * Number of data points in the buffer.
+   *
+   * @since 1.0.0
+   */
+  private int size;
+
+  /**
+   * Number of data points dropped because the buffer was full.
+   *
+   * @since 1.0.0
+   */
+  private long droppedCount;
+
+  /**
+   * Constructs a new, empty {@link RealTimeTagDataPointBuffer}.
+   *
+   * @param tagName name of the tag whose data points are stored in the buffer
+   * @param capacity maximum number of data points in the buffer
+   * @param overflowPolicy overflow policy applied when a data point is added to a full buffer
+   * @since 1.0.0
+   */
+  RealTimeTagDataPointBuffer(String tagName, int capacity, int overflowPolicy) {
+    this.tagName = tagName;
+    this.overflowPolicy = overflowPolicy;
+    this.kinds = new byte[capacity];
+    this.values = new long[capacity];
+    this.timestamps = new long[capacity];
+    this.iso8601Timestamps = new String[capacity];
+    this.objectValues = new Object[capacity];
+  }
+
+  /**
+   * Adds a data point to the end of the buffer, applying the overflow policy if the buffer is full.
+   *
+   * @param data data point to add
+   * @return true if the data point was added, false if it was dropped
+   * @since 1.0.0
+   */
+  boolean add(DataPoint data) {
+    if (size == kinds.length) {
+      if (overflowPolicy == RealTimeTagDataPointManager.OVERFLOW_POLICY_DROP_NEWEST) {
+        droppedCount++;
+        return false;
+      } else if (overflowPolicy == RealTimeTagDataPointManager.OVERFLOW_POLICY_DOWNSAMPLE) {
+        downsample();
+      } else {
+        clearSlot(head);
+        head = (head + 1) % kinds.length;
+        size--;
+        droppedCount++;
+      }
+    }
+
+    if (!tagDetailsSet) {
+      tagId = data.getTagId();
+      tagUnit = data.getTagUnit();
+      tagDetailsSet = true;
+    }
+    storeSlot((head + size) % kinds.length, data);
+    size++;
+    return true;
+  }
+
+  /**
+   * Removes the oldest data point from the buffer.
+   *
+   * @return the oldest data point, or null if the buffer is empty
+   * @since 1.0.0
+   */
+  DataPoint remove() {
+    if (size == 0) {
+      return null;
+    }
+    DataPoint data = buildDataPoint(head);
+    clearSlot(head);
+    head = (head + 1) % kinds.length;
+    size--;
+    return data;
+  }
+
+  /**
+   * Removes the oldest data point from the buffer and appends it to the specified batch, without
+   * creating a data point object. The batch must not be full.
+   *
+   * @param batch batch to append the data point to
+   * @return true if a data point was removed, false if the buffer is empty
+   * @since 1.0.0
+   */
+  boolean removeInto(RealTimeDataPointBatch batch) {
+    if (size == 0) {
+      return false;
+    }
+
+    final int slot = head;
+    final byte kind = kinds[slot];
+    if (kind == KIND_DATA_POINT) {
+      appendDataPoint(batch, (DataPoint) objectValues[slot]);
+    } else {
+      byte valueType;
+      long value = values[slot];
+      String stringValue = null;
+      if (kind == KIND_FLOAT) {
+        valueType = RealTimeDataPointBatch.VALUE_TYPE_DECIMAL;
+        value = Double.doubleToLongBits(Float.intBitsToFloat((int) value));
+      } else if (kind == KIND_DOUBLE) {
+        valueType = RealTimeDataPointBatch.VALUE_TYPE_DECIMAL;
+      } else if (kind == KIND_BOOLEAN) {
+        valueType = RealTimeDataPointBatch.VALUE_TYPE_BOOLEAN;
+      } else if (kind == KIND_STRING) {
+        valueType = RealTimeDataPointBatch.VALUE_TYPE_STRING;
+        stringValue = (String) objectValues[slot];
+      } else {
+        valueType = RealTimeDataPointBatch.VALUE_TYPE_INTEGER;
+      }
+      batch.append(
+          tagName,
+          tagId,
+          tagUnit,
+          valueType,
+          value,
+          stringValue,
+          timestamps[slot],
+          iso8601Timestamps[slot],
+          DataQuality.GOOD);
+    }
+
+    clearSlot(slot);
+    head = (head + 1) % kinds.length;
+    size--;
+    return true;
+  }
+
+  /**
+   * Gets the number of data points in the buffer.
+   *
+   * @return number of data points
+   * @since 1.0.0
+   */
+  int size() {
+    return size;
+  }
+
+  /**
+   * Gets the maximum number of data points in the buffer.
+   *
+   * @return buffer capacity
+   * @since 1.0.0
+   */
+  int getCapacity() {
+    return kinds.length;
+  }
+
+  /**
+   * Gets the number of data points dropped because the buffer was full.
+   *
+   * @return number of dropped data points
+   * @since 1.0.0
+   */
+  long getDroppedCount() {
+    return droppedCount;
+  }
+
+  /**
+   * Resets the number of dropped data points to zero.
+   *
+   * @since 1.0.0
+   */
+  void resetDroppedCount() {
+    droppedCount = 0;
+  }
+
+  /**
+   * Halves the number of data points in the buffer by dropping every other data point, starting
+   * with the oldest, so that the newest data point is kept.
+   *
+   * @since 1.0.0
+   */
+  private void downsample() {
+    final int firstKeptOffset = size % 2 == 0 ? 1 : 0;
+    int keptCount = 0;
+    for (int offset = 0; offset < size; offset++) {
+      int slot = (head + offset) % kinds.length;
+      if (offset % 2 == firstKeptOffset) {
+        int targetSlot = (head + keptCount) % kinds.length;
+        if (targetSlot != slot) {
+          copySlot(slot, targetSlot);
+        }
+        keptCount++;
+      }
+    }
+    for (int offset = keptCount; offset < size; offset++) {
+      clearSlot((head + offset) % kinds.length);
+    }
+    droppedCount += size - keptCount;
+    size = keptCount;
+
+    // A buffer with a capacity of one keeps its only data point, so drop it to make room
+    if (size == kinds.length) {
+      clearSlot(head);
+      size = 0;
+      droppedCount++;
+    }
+  }
+
+  /**
+   * Stores a data point in the specified slot.
+   *
+   * @param slot slot index
+   * @param data data point to store
+   * @since 1.0.0
+   */
+  private void storeSlot(int slot, DataPoint data) {
+    long timestamp = 0;
+    boolean storePrimitive =
+        data.getQuality() == DataQuality.GOOD
+            && !data.isInitValue()
+            && data.getTagId() == tagId
+            && (tagUnit == null ? data.getTagUnit() == null : tagUnit.equals(data.getTagUnit()))
+            && tagName.equals(data.getTagName());
+    if (storePrimitive) {
+      try {
+        timestamp = Long.parseLong(data.getTimeStamp());
+      } catch (NumberFormatException e) {
+        storePrimitive = false;
+      }
+    }
+
+    byte kind = KIND_DATA_POINT;
+    long value = 0;
+    Object objectValue = null;
+    if (storePrimitive) {
+      Class dataClass = data.getClass();
+      if (dataClass == DataPointFloat.class) {
+        kind = KIND_FLOAT;
+        value = Float.floatToIntBits((float) ((DataPointFloat) data).getValue());
+      } else if (dataClass == DataPointInteger.class) {
+        kind = KIND_INTEGER;
+        value = ((DataPointInteger) data).getValue();
+      } else if (dataClass == DataPointDword.class) {
+        kind = KIND_DWORD;
+        value = ((DataPointDword) data).getValue();
+      } else if (dataClass == DataPointBoolean.class) {
+        kind = KIND_BOOLEAN;
+        value = ((DataPointBoolean) data).getValue() ? 1 : 0;
+      } else if (dataClass == DataPointString.class) {
+        kind = KIND_STRING;
+        objectValue = ((DataPointString) data).getValue();
+      } else if (dataClass == DataPointDouble.class) {
+        kind = KIND_DOUBLE;
+        value = Double.doubleToLongBits(((DataPointDouble) data).getDoubleValue());
+      } else if (dataClass == DataPointLong.class) {
+        kind = KIND_LONG;
+        value = ((DataPointLong) data).getLongValue();
+      }
+    }
+    if (kind == KIND_DATA_POINT) {
+      objectValue = data;
+    }
+
+    kinds[slot] = kind;
+    values[slot] = value;
+    timestamps[slot] = timestamp;
+    iso8601Timestamps[slot] = data.getIso8601Timestamp();
+    objectValues[slot] = objectValue;
+  }
+
+  /**
+   * Builds the data point stored in the specified slot.
+   *
+   * @param slot slot index
+   * @return data point
+   * @since 1.0.0
+   */
+  private DataPoint buildDataPoint(int slot) {
+    final byte kind = kinds[slot];
+    if (kind == KIND_DATA_POINT) {
+      return (DataPoint) objectValues[slot];
+    }
+
+    final long value = values[slot];
+    final String timestamp = String.valueOf(timestamps[slot]);
+    final String iso8601Timestamp = iso8601Timestamps[slot];
+    DataPoint data;
+    if (kind == KIND_FLOAT) {
+      data =
+          new DataPointFloat(
+              tagName,
+              tagId,
+              tagUnit,
+              Float.intBitsToFloat((int) value),
+              timestamp,
+              iso8601Timestamp);
+    } else if (kind == KIND_INTEGER) {
+      data =
+          new DataPointInteger(tagName, tagId, tagUnit, (int) value, timestamp, iso8601Timestamp);
+    } else if (kind == KIND_DWORD) {
+      data = new DataPointDword(tagName, tagId, tagUnit, value, timestamp, iso8601Timestamp);
+    } else if (kind == KIND_BOOLEAN) {
+      data =
+          new DataPointBoolean(tagName, tagId, tagUnit, value != 0, timestamp, iso8601Timestamp);
+    } else if (kind == KIND_STRING) {
+      data =
+          new DataPointString(
+              tagName, tagId, tagUnit, (String) objectValues[slot], timestamp, iso8601Timestamp);
+    } else if (kind == KIND_DOUBLE) {
+      data =
+          new DataPointDouble(
+              tagName,
+              tagId,
+              tagUnit,
+              Double.longBitsToDouble(value),
+              timestamp,
+              iso8601Timestamp);
+    } else {
+      data = new DataPointLong(tagName, tagId, tagUnit, value, timestamp, iso8601Timestamp);
+    }
+    return data;
+  }
+
+  /**
+   * Appends a data point which is not stored as a primitive value to the specified batch.
+   *
+   * @param batch batch to append the data point to
+   * @param data data point to append
+   * @since 1.0.0
+   */
+  private static void appendDataPoint(RealTimeDataPointBatch batch, DataPoint data) {
+    long timestamp = 0;
+    try {
+      timestamp = Long.parseLong(data.getTimeStamp());
+    } catch (NumberFormatException e) {
+      // Timestamp is not in epoch seconds, leave as 0 (ISO 8601 timestamp is still available)
+    }
+
+    byte valueType;
+    long value = 0;
+    String stringValue = null;
+    Object valueObject = data.getValueObject();
+    if (valueObject instanceof Boolean) {
+      valueType = RealTimeDataPointBatch.VALUE_TYPE_BOOLEAN;
+      value = ((Boolean) valueObject).booleanValue() ? 1 : 0;
+    } else if (valueObject instanceof Float || valueObject instanceof Double) {
+      valueType = RealTimeDataPointBatch.VALUE_TYPE_DECIMAL;
+      value = Double.doubleToLongBits(((Number) valueObject).doubleValue());
+    } else if (valueObject instanceof Number) {
+      valueType = RealTimeDataPointBatch.VALUE_TYPE_INTEGER;
+      value = ((Number) valueObject).longValue();
+    } else {
+      valueType = RealTimeDataPointBatch.VALUE_TYPE_STRING;
+      stringValue = data.getValueString();
+    }
+    batch.append(
+        data.getTagName(),
+        data.getTagId(),
+        data.getTagUnit(),
+        valueType,
+        value,
+        stringValue,
+        timestamp,
+        data.getIso8601Timestamp(),
+        data.getQuality());
+  }
+
+  /**
+   * Copies the contents of one slot to another slot.
+   *
+   * @param fromSlot index of the slot to copy from
+   * @param toSlot index of the slot to copy to
+   * @since 1.0.0
+   */
+  private void copySlot(int fromSlot, int toSlot) {
+    kinds[toSlot] = kinds[fromSlot];
+    values[toSlot] = values[fromSlot];
+    timestamps[toSlot] = timestamps[fromSlot];
+    iso8601Timestamps[toSlot] = iso8601Timestamps[fromSlot];
+    objectValues[toSlot] = objectValues[fromSlot];
+  }
+
+  /**
+   * Clears the object references of the specified slot, so that they can be garbage collected.
+   *
+   * @param slot slot index
+   * @since 1.0.0
+   */
+  private void clearSlot(int slot) {
+    iso8601Timestamps[slot] = null;
+    objectValues[slot] = null;
+  }
+}
@@ -11,22 +11,74 @@ import com.hms_networks.americas.sc.extensions.system.time.SCTimeUnit;
 import com.hms_networks.americas.sc.extensions.system.time.SCTimeUtils;
 import com.hms_networks.americas.sc.extensions.taginfo.TagInfo;
 import com.hms_networks.americas.sc.extensions.taginfo.TagType;
-import java.util.ArrayList;
 import java.util.Date;
 
 /**
  * This class will hold a list of data points for each tag. One instance of the class is made per
  * tag.
  *
+ * <p>Data points are held in a fixed-capacity ring buffer and removed in the order they were added
+ * (oldest first). When the buffer is full, the overflow policy of the manager determines which data
+ * point is dropped. Data points may be added and removed from different threads (for example, by a
+ * {@link RealTimeValueChangeListener}).
+ *
  * @author HMS Networks, MU Americas Solution Center
  * @since 1.0.0
  */
 public class RealTimeTagDataPointManager {
+  /**
+   * Overflow policy which drops the oldest data point to make room for a new data point.
+   *
+   * @since 1.17.0
+   */
+  public static final int OVERFLOW_POLICY_DROP_OLDEST = 0;
+
+  /**
+   * Overflow policy which drops a new data point when the buffer is full.
+   *
+   * @since 1.17.0
+   */
+  public static final int OVERFLOW_POLICY_DROP_NEWEST = 1;
+
+  /**
+   * Overflow policy which drops every other buffered data point (halving the sample rate of the
+   * buffered history) to make room for a new data point.
+   *
+   * @since 1.17.0
+   */
+  public static final int OVERFLOW_POLICY_DOWNSAMPLE = 2;
+
+  /**
+   * Default maximum number of data points held for a tag.
+   *
+   * @since 1.17.0
+   */
+  public static final int DEFAULT_CAPACITY = 32;
+
+  /**
+   * Tag group index of a manager which is not part of a {@link RealTimeDataQueueManager} tag group.
+   *
+   * @since 1.17.0
+   */
+  static final int NO_TAG_GROUP = -1;
+
   /** The name of the tag */
   public String tagName;
 
-  /** A list of data points retrieved for the tag */
-  private ArrayList dataPoints;
+  /** A buffer of data points retrieved for the tag */
+  private final RealTimeTagDataPointBuffer dataPoints;
+
+  /**
+   * Index of the {@link RealTimeDataQueueManager} tag group whose data point count is updated when
+   * data points are added or removed, or {@link #NO_TAG_GROUP}.
+   */
+  private final int tagGroup;
+
+  /**
+   * Generation of the {@link RealTimeDataQueueManager} tag managers this manager belongs to. Data
+   * point count updates are ignored once the manager is replaced by a newer generation.
+   */
+  private final int generation;
 
   /** The last data value retrieved for this tag */
   private DataPoint lastDataPoint;
@@ -44,27 +96,80 @@ public class RealTimeTagDataPointManager {
   }
 
   /**
-   * Default constructor for {@link RealTimeTagDataPointManager}.
+   * Default constructor for {@link RealTimeTagDataPointManager}. Holds up to {@link
+   * #DEFAULT_CAPACITY} data points and drops the oldest data point when full.
    *
    * @param tagName The name of the tag that data points are coming from
    * @throws Exception when unable to create TagControl Object
    */
   public RealTimeTagDataPointManager(String tagName) throws Exception {
+    this(tagName, DEFAULT_CAPACITY, OVERFLOW_POLICY_DROP_OLDEST);
+  }
+
+  /**
+   * Constructor for {@link RealTimeTagDataPointManager} with the specified capacity and overflow
+   * policy.
+   *
+   * @param tagName The name of the tag that data points are coming from
+   * @param capacity maximum number of data points held for the tag
+   * @param overflowPolicy overflow policy, {@link #OVERFLOW_POLICY_DROP_OLDEST}, {@link
+   *     #OVERFLOW_POLICY_DROP_NEWEST} or {@link #OVERFLOW_POLICY_DOWNSAMPLE}
+   * @throws IllegalArgumentException if the capacity or overflow policy is not valid
+   * @throws Exception when unable to create TagControl Object
+   * @since 1.17.0
+   */
+  public RealTimeTagDataPointManager(String tagName, int capacity, int overflowPolicy)
+      throws Exception {
+    this(tagName, capacity, overflowPolicy, NO_TAG_GROUP, 0);
+  }
+
+  /**
+   * Constructor for {@link RealTimeTagDataPointManager} with the specified capacity and overflow
+   * policy, whose data points are counted in the specified {@link RealTimeDataQueueManager} tag
+   * group while the specified generation of tag managers is current.
+   *
+   * @param tagName The name of the tag that data points are coming from
+   * @param capacity maximum number of data points held for the tag
+   * @param overflowPolicy overflow policy, {@link #OVERFLOW_POLICY_DROP_OLDEST}, {@link
+   *     #OVERFLOW_POLICY_DROP_NEWEST} or {@link #OVERFLOW_POLICY_DOWNSAMPLE}
+   * @param tagGroup tag group index, or {@link #NO_TAG_GROUP}
+   * @param generation generation of the tag managers this manager belongs to
+   * @throws IllegalArgumentException if the capacity or overflow policy is not valid
+   * @throws Exception when unable to create TagControl Object
+   * @since 1.17.0
+   */
+  RealTimeTagDataPointManager(
+      String tagName, int capacity, int overflowPolicy, int tagGroup, int generation)
+      throws Exception {
+    if (capacity < 1) {
+      throw new IllegalArgumentException("Real time data point capacity must be at least 1.");
+    }
+    if (overflowPolicy != OVERFLOW_POLICY_DROP_OLDEST
+        && overflowPolicy != OVERFLOW_POLICY_DROP_NEWEST
+        && overflowPolicy != OVERFLOW_POLICY_DOWNSAMPLE) {
+      throw new IllegalArgumentException(
+          "Invalid real time data point overflow policy: " + overflowPolicy + ".");
+    }
     this.tagName = tagName;
+    this.tagGroup = tagGroup;
+    this.generation = generation;
     this.lastDataPoint = null;
-    this.dataPoints = new ArrayList();
+    this.dataPoints = new RealTimeTagDataPointBuffer(tagName, capacity, overflowPolicy);
     tagControl = new TagControl(tagName);
   }
 
   /**
-   * Add a point to the list of data points only if it is not a duplicate data point.
+   * Add a point to the list of data points only if it is not a duplicate data point. If the list is
+   * full, the overflow policy is applied.
    *
    * @param data the data point to add to the data point list.
    */
-  public void addDataPoint(DataPoint data) {
+  public synchronized void addDataPoint(DataPoint data) {
     if (!data.equals(lastDataPoint)) {
+      final int previousSize = dataPoints.size();
       dataPoints.add(data);
       lastDataPoint = data;
+      updateGroupDataPointCount(dataPoints.size() - previousSize);
     } else {
       Logger.LOG_INFO(
           "Duplicate data point not added. Tag: "
@@ -75,26 +180,108 @@ public class RealTimeTagDataPointManager {
   }
 
   /**
-   * Removes data point from the top of the list of data points.
+   * Removes the oldest data point from the list of data points.
    *
-   * @return the data point that was removed
+   * @return the data point that was removed, or null if there are no data points
    */
-  public DataPoint removeDataPoint() {
-    final int lastDataPointIndex = dataPoints.size() - 1;
-    DataPoint data = (DataPoint) dataPoints.get(lastDataPointIndex);
-    dataPoints.remove(lastDataPointIndex);
+  public synchronized DataPoint removeDataPoint() {
+    DataPoint data = dataPoints.remove();
+    if (data != null) {
+      updateGroupDataPointCount(-1);
+    }
     return data;
   }
 
+  /**
+   * Removes up to the specified number of the oldest data points from the list of data points, and
+   * stores them in the specified array.
+   *
+   * @param dest array to store the removed data points in
+   * @param offset index of the array to store the first data point at
+   * @param max maximum number of data points to remove
+   * @return the number of data points removed
+   * @since 1.17.0
+   */
+  synchronized int removeDataPoints(DataPoint[] dest, int offset, int max) {
+    int removedCount = 0;
+    while (removedCount < max && dataPoints.size() > 0) {
+      dest[offset + removedCount] = dataPoints.remove();
+      removedCount++;
+    }
+    updateGroupDataPointCount(-removedCount);
+    return removedCount;
+  }
+
+  /**
+   * Removes up to the specified number of the oldest data points from the list of data points, and
+   * appends them to the specified batch (until the batch is full).
+   *
+   * @param batch batch to append the removed data points to
+   * @param max maximum number of data points to remove
+   * @return the number of data points removed
+   * @since 1.17.0
+   */
+  synchronized int removeDataPoints(RealTimeDataPointBatch batch, int max) {
+    int removedCount = 0;
+    while (removedCount < max && !batch.isFull() && dataPoints.removeInto(batch)) {
+      removedCount++;
+    }
+    updateGroupDataPointCount(-removedCount);
+    return removedCount;
+  }
+
+  /**
+   * Updates the data point count of the tag group of the manager, if any. The update is ignored if
+   * the manager has been replaced by {@link RealTimeDataQueueManager#init()}.
+   *
+   * @param delta change in the number of data points
+   * @since 1.17.0
+   */
+  private void updateGroupDataPointCount(int delta) {
+    if (tagGroup != NO_TAG_GROUP && delta != 0) {
+      RealTimeDataQueueManager.updateGroupDataPointCount(tagGroup, generation, delta);
+    }
+  }
+
   /**
    * Get the size of the list of data points.
    *
    * @return the size of the list of data points
    */
-  public int getSize() {
+  public synchronized int getSize() {
     return dataPoints.size();
   }
 
+  /**
+   * Gets the maximum number of data points held for the tag.
+   *
+   * @return the data point capacity
+   * @since 1.17.0
+   */
+  public int getCapacity() {
+    return dataPoints.getCapacity();
+  }
+
+  /**
+   * Gets the number of data points dropped by the overflow policy because the list of data points
+   * was full.
+   *
+   * @return the number of dropped data points
+   * @since 1.17.0
+   */
+  public synchronized long getDroppedDataPointCount() {
+    return dataPoints.getDroppedCount();
+  }
+
+  /**
+   * Resets the number of dropped data points to zero.
+   *
+   * @since 1.17.0
+   */
+  public synchronized void resetDroppedDataPointCount() {
+    dataPoints.resetDroppedCount();
+  }
+
   /**
    * Gets a tag's current value into a list of tag current values.
    *
@@ -0,0 +1,106 @@
+package com.hms_networks.americas.sc.extensions.realtimedata;
+
+import com.ewon.ewonitf.EvtTagValueListener;
+import com.hms_networks.americas.sc.extensions.datapoint.DataPoint;
+import com.hms_networks.americas.sc.extensions.datapoint.DataQuality;
+import com.hms_networks.americas.sc.extensions.logging.Logger;
+import com.hms_networks.americas.sc.extensions.system.time.SCTimeUnit;
+import com.hms_networks.americas.sc.extensions.system.time.SCTimeUtils;
+import com.hms_networks.americas.sc.extensions.taginfo.TagInfo;
+import com.hms_networks.americas.sc.extensions.taginfo.TagType;
+import java.util.Date;
+
+/**
+ * Tag value change listener used by {@link
+ * RealTimeDataQueueManager#SAMPLER_MODE_VALUE_CHANGE_EVENTS} to push changed tag values into the
+ * real time data queues of the tag as they happen.
+ *
+ * <p>The listener is registered with the {@link com.ewon.ewonitf.DefaultEventHandler} by {@link
+ * RealTimeDataQueueManager#enableValueChangeCapture(long)}, and requires the event manager to be
+ * running (for example, using {@link com.ewon.ewonitf.EventHandlerThread}). Applications which
+ * already use a default tag value listener may instead extend this class, and call {@link
+ * #callTagChanged()} from their own listener.
+ *
+ * @author HMS Networks; Americas
+ * @since 1.17.0
+ * @version 1.0.0
+ */
+public class RealTimeValueChangeListener extends EvtTagValueListener {
+
+  /**
+   * Tag value change event method. This method is invoked for each tag value change that occurs,
+   * and adds a data point with the new value to the real time data queues of the tag.
+   *
+   * @since 1.0.0
+   */
+  public void callTagChanged() {
+    final int tagId = getTagId();
+    RealTimeTagDataPointManager[] tagManagers =
+        RealTimeDataQueueManager.getTagManagersForTagId(tagId);
+    TagInfo tagInfo = RealTimeDataQueueManager.getTagInfoForTagId(tagId);
+    if (tagManagers == null || tagInfo == null) {
+      return;
+    }
+
+    // Build data point from event value
+    final long currentTimeMillis = System.currentTimeMillis();
+    String timestamp = String.valueOf(currentTimeMillis / SCTimeUnit.SECONDS.toMillis(1));
+    String timestampIso8601 = "";
+    try {
+      timestampIso8601 =
+          SCTimeUtils.getIso8601FormattedTimestampForDate(new Date(currentTimeMillis));
+    } catch (Exception e) {
+      Logger.LOG_CRITICAL(
+          "Unable to populate ISO 8601 timestamp for tags due to unexpected Exception.", e);
+    }
+    DataPoint data;
+    try {
+      data = createDataPoint(tagInfo, timestamp, timestampIso8601);
+    } catch (IllegalArgumentException e) {
+      Logger.LOG_WARN("Unable to record value change of tag " + tagInfo.getName() + ".", e);
+      return;
+    }
+
+    // Add data point to the queue of each group containing the tag
+    for (int i = 0; i < tagManagers.length; i++) {
+      tagManagers[i].addDataPoint(data);
+    }
+  }
+
+  /**
+   * Creates a data point for the new value of the tag in the current event, using the same data
+   * point types as {@link InstantValuesEbdReader#createDataPoint(TagInfo, String, String)}, so that
+   * duplicate values from the event and snapshot samplers are recognized.
+   *
+   * @param tagInfo tag information of the tag
+   * @param timestamp data point timestamp, UNIX epoch seconds
+   * @param timestampIso8601 data point timestamp, ISO 8601 format
+   * @return data point
+   * @throws IllegalArgumentException if the tag type is not supported
+   * @since 1.0.0
+   */
+  private DataPoint createDataPoint(TagInfo tagInfo, String timestamp, String timestampIso8601) {
+    final TagType tagType = tagInfo.getType();
+    final int valueType;
+    long rawValue = 0;
+    String stringValue = null;
+    if (tagType == TagType.STRING) {
+      valueType = InstantValuesEbdReader.VALUE_TYPE_STRING;
+      stringValue = getTagValueAsString();
+    } else if (tagType == TagType.FLOAT) {
+      valueType = InstantValuesEbdReader.VALUE_TYPE_DECIMAL;
+      rawValue = Double.doubleToLongBits(getTagValueAsDouble());
+    } else {
+      valueType = InstantValuesEbdReader.VALUE_TYPE_INTEGER;
+      rawValue = getTagValueAsLong();
+    }
+    return InstantValuesEbdReader.createDataPoint(
+        tagInfo,
+        valueType,
+        rawValue,
+        stringValue,
+        DataQuality.GOOD,
+        timestamp,
+        timestampIso8601);
+  }
+}
@@ -0,0 +1,110 @@
+package com.hms_networks.americas.sc.extensions.realtimedata;
+
+/**
+ * Class representing when the real time data sampler yields (sleeps) to other threads while
+ * recording tag values. A yield is due after a number of tags has been recorded, after an amount of
+ * time has elapsed since the previous yield, or both (whichever occurs first).
+ *
+ * @author HMS Networks; Americas
+ * @since 1.17.0
+ * @version 1.0.0
+ */
+public class RealTimeYieldPolicy {
+
+  /**
+   * Value indicating that a yield trigger is disabled.
+   *
+   * @since 1.0.0
+   */
+  public static final int DISABLED = 0;
+
+  /**
+   * Number of tags recorded before yielding, or {@link #DISABLED}.
+   *
+   * @since 1.0.0
+   */
+  private final int numTagsBeforeYield;
+
+  /**
+   * Number of milliseconds elapsed since the previous yield before yielding, or {@link #DISABLED}.
+   *
+   * @since 1.0.0
+   */
+  private final long millisBeforeYield;
+
+  /**
+   * Number of milliseconds to sleep for each yield.
+   *
+   * @since 1.0.0
+   */
+  private final long yieldSleepMillis;
+
+  /**
+   * Constructs a new {@link RealTimeYieldPolicy}.
+   *
+   * @param numTagsBeforeYield number of tags recorded before yielding, or {@link #DISABLED}
+   * @param millisBeforeYield number of milliseconds elapsed since the previous yield before
+   *     yielding, or {@link #DISABLED}
+   * @param yieldSleepMillis number of milliseconds to sleep for each yield
+   * @throws IllegalArgumentException if a value is negative
+   * @since 1.0.0
+   */
+  public RealTimeYieldPolicy(
+      int numTagsBeforeYield, long millisBeforeYield, long yieldSleepMillis) {
+    if (numTagsBeforeYield < 0 || millisBeforeYield < 0 || yieldSleepMillis < 0) {
+      throw new IllegalArgumentException("Real time yield policy values must not be negative.");
+    }
+    this.numTagsBeforeYield = numTagsBeforeYield;
+    this.millisBeforeYield = millisBeforeYield;
+    this.yieldSleepMillis = yieldSleepMillis;
+  }
+
+  /**
+   * Creates a yield policy which yields after the specified number of tags has been recorded.
+   *
+   * @param numTagsBeforeYield number of tags recorded before yielding
+   * @param yieldSleepMillis number of milliseconds to sleep for each yield
+   * @return yield policy
+   * @since 1.0.0
+   */
+  public static RealTimeYieldPolicy everyNumTags(int numTagsBeforeYield, long yieldSleepMillis) {
+    return new RealTimeYieldPolicy(numTagsBeforeYield, DISABLED, yieldSleepMillis);
+  }
+
+  /**
+   * Creates a yield policy which yields after the specified number of milliseconds has elapsed
+   * since the previous yield.
+   *
+   * @param millisBeforeYield number of milliseconds elapsed since the previous yield before
+   *     yielding
+   * @param yieldSleepMillis number of milliseconds to sleep for each yield
+   * @return yield policy
+   * @since 1.0.0
+   */
+  public static RealTimeYieldPolicy everyMillis(long millisBeforeYield, long yieldSleepMillis) {
+    return new RealTimeYieldPolicy(DISABLED, millisBeforeYield, yieldSleepMillis);
+  }
+
+  /**
+   * Gets a boolean indicating if a yield is due.
+   *
+   * @param numTagsSinceYield number of tags recorded since the previous yield
+   * @param millisSinceYield number of milliseconds elapsed since the previous yield
+   * @return true if a yield is due
+   * @since 1.0.0
+   */
+  public boolean isYieldDue(int numTagsSinceYield, long millisSinceYield) {
+    return (numTagsBeforeYield != DISABLED && numTagsSinceYield >= numTagsBeforeYield)
+        || (millisBeforeYield != DISABLED && millisSinceYield >= millisBeforeYield);
+  }
+
+  /**
+   * Gets the number of milliseconds to sleep for each yield.
+   *
+   * @return yield sleep time in milliseconds
+   * @since 1.0.0
+   */
+  public long getYieldSleepMillis() {
+    return yieldSleepMillis;
+  }
+}
@@ -0,0 +1,22 @@
+package com.hms_networks.americas.sc.extensions.taginfo;
+
+/**
+ * Interface for receiving progress notifications while historical log intervals are applied using
+ * {@link TagInfoManager#applyHistoricalLogRates(java.util.Map, HistoricalLogRateProgressListener)}.
+ *
+ * @author HMS Networks; Americas
+ * @since 1.17.0
+ * @version 1.0.0
+ */
+public interface HistoricalLogRateProgressListener {
+
+  /**
+   * Called after each batch of tags has been processed, and after the final tag has been processed.
+   *
+   * @param processedTagCount number of tags processed so far
+   * @param totalTagCount total number of tags to process
+   * @param changedTagCount number of processed tags whose historical log interval was changed
+   * @since 1.0.0
+   */
+  void onHistoricalLogRateProgress(int processedTagCount, int totalTagCount, int changedTagCount);
+}
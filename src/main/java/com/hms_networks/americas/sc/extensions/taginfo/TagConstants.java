@@ -22,4 +22,12 @@ public class TagConstants {
 
   /** The threshold for the number of tag ID gaps before showing a warning message. */
   public static final int TAG_ID_GAPS_WARNING_THRESHOLD = 500;
+
+  /**
+   * The ratio of the range of tag IDs to the number of tags above which tag information is stored
+   * in a sparse {@link TagInfoIdMap} instead of a table spanning the full range of tag IDs.
+   *
+   * @since 1.17.0
+   */
+  public static final int TAG_ID_SPARSE_MAP_RANGE_RATIO = 4;
 }
@@ -0,0 +1,120 @@
+package com.hms_networks.americas.sc.extensions.taginfo;
+
+import com.ewon.ewonitf.TagControl;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Bounded cache of reusable {@link TagControl} handles keyed by tag ID. When the cache is full,
+ * the oldest cached handle is evicted (first in, first out).
+ *
+ * <p>Cached handles are shared, and must not be re-targeted using {@link
+ * TagControl#setTagName(String)}.
+ *
+ * <p>Instances of this class are not thread-safe. The cache used by {@link TagInfoManager} is
+ * guarded by the {@link TagInfoManager} class lock.
+ *
+ * @author HMS Networks; Americas
+ * @since 1.17.0
+ * @version 1.0.0
+ */
+public class TagControlCache {
+
+  /**
+   * Map of tag IDs to their cached {@link TagControl} handle.
+   *
+   * <p>Parameterized type: Map&lt;Integer, TagControl&gt;
+   *
+   * @since 1.0.0
+   */
+  private final Map tagControls;
+
+  /**
+   * Ring of cached tag IDs in insertion order, used to select the handle to evict.
+   *
+   * @since 1.0.0
+   */
+  private final int[] insertionOrder;
+
+  /**
+   * Index of the oldest entry in {@link #insertionOrder}.
+   *
+   * @since 1.0.0
+   */
+  private int oldestIndex = 0;
+
+  /**
+   * Constructs a new {@link TagControlCache} with the specified maximum number of cached handles.
+   *
+   * @param capacity maximum number of cached handles
+   * @throws IllegalArgumentException if the capacity is less than 1
+   * @since 1.0.0
+   */
+  public TagControlCache(int capacity) {
+    if (capacity < 1) {
+      throw new IllegalArgumentException("Tag control cache capacity must be at least 1.");
+    }
+    this.tagControls = new HashMap(capacity * 2);
+    this.insertionOrder = new int[capacity];
+  }
+
+  /**
+   * Gets the cached {@link TagControl} handle for the specified tag ID, or creates and caches a new
+   * handle for the specified tag name if one is not cached.
+   *
+   * @param tagId the tag ID
+   * @param tagName the tag name, used to create the handle if not cached
+   * @return {@link TagControl} handle for the tag
+   * @since 1.0.0
+   */
+  public TagControl get(int tagId, String tagName) {
+    Integer key = new Integer(tagId);
+    TagControl tagControl = (TagControl) tagControls.get(key);
+    if (tagControl == null) {
+      tagControl = new TagControl();
+      tagControl.setTagName(tagName);
+
+      // Evict oldest handle if full
+      final int cachedCount = tagControls.size();
+      if (cachedCount == insertionOrder.length) {
+        tagControls.remove(new Integer(insertionOrder[oldestIndex]));
+        insertionOrder[oldestIndex] = tagId;
+        oldestIndex = (oldestIndex + 1) % insertionOrder.length;
+      } else {
+        insertionOrder[(oldestIndex + cachedCount) % insertionOrder.length] = tagId;
+      }
+      tagControls.put(key, tagControl);
+    }
+    return tagControl;
+  }
+
+  /**
+   * Gets the number of cached handles.
+   *
+   * @return number of cached handles
+   * @since 1.0.0
+   */
+  public int size() {
+    return tagControls.size();
+  }
+
+  /**
+   * Gets the maximum number of cached handles.
+   *
+   * @return maximum number of cached handles
+   * @since 1.0.0
+   */
+  public int getCapacity() {
+    return insertionOrder.length;
+  }
+
+  /**
+   * Removes all cached handles.
+   *
+   * @since 1.0.0
+   */
+  public void clear() {
+    tagControls.clear();
+    oldestIndex = 0;
+  }
+}
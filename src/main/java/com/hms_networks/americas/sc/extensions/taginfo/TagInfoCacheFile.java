@@ -0,0 +1,295 @@
+package com.hms_networks.americas.sc.extensions.taginfo;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Class for reading and writing the binary tag information cache file used by {@link
+ * TagInfoManager#refreshTagListFromCache()}.
+ *
+ * <p>The cache file contains a header (magic number, format version and tag configuration
+ * fingerprint) followed by each tag's information, int to string enumeration mapping (if any) and
+ * tag list export line hash. The cache file is written to a temporary file and then renamed, so
+ * that an interrupted write does not leave a partial cache file.
+ *
+ * @author HMS Networks; Americas
+ * @since 1.17.0
+ * @version 1.0.0
+ */
+class TagInfoCacheFile {
+
+  /**
+   * Magic number identifying a tag information cache file ("TICF").
+   *
+   * @since 1.0.0
+   */
+  private static final int CACHE_FILE_MAGIC = 0x54494346;
+
+  /**
+   * Version of the cache file format. Cache files with a different version are ignored.
+   *
+   * @since 1.0.0
+   */
+  private static final int CACHE_FILE_VERSION = 1;
+
+  /**
+   * Suffix of the temporary file used while writing the cache file.
+   *
+   * @since 1.0.0
+   */
+  private static final String TEMP_FILE_SUFFIX = ".tmp";
+
+  /**
+   * Size of the buffers used to read and write the cache file.
+   *
+   * @since 1.0.0
+   */
+  private static final int BUFFER_SIZE_BYTES = 4096;
+
+  /**
+   * Tag information objects read from the cache file.
+   *
+   * @since 1.0.0
+   */
+  final TagInfo[] tagInfos;
+
+  /**
+   * Tag list export line hashes of the tag information objects read from the cache file.
+   *
+   * @since 1.0.0
+   */
+  final int[] lineHashes;
+
+  /**
+   * Private constructor for the contents of a cache file.
+   *
+   * @param tagInfos tag information objects
+   * @param lineHashes tag list export line hashes of the tag information objects
+   * @since 1.0.0
+   */
+  private TagInfoCacheFile(TagInfo[] tagInfos, int[] lineHashes) {
+    this.tagInfos = tagInfos;
+    this.lineHashes = lineHashes;
+  }
+
+  /**
+   * Writes the tag information of the specified snapshot to the cache file at the specified path.
+   *
+   * @param path path of the cache file
+   * @param fingerprint tag configuration fingerprint of the snapshot
+   * @param snapshot tag information snapshot to write
+   * @throws IOException if unable to write the cache file
+   * @since 1.0.0
+   */
+  static void write(String path, String fingerprint, TagInfoSnapshot snapshot)
+      throws IOException {
+    File tempFile = new File(path + TEMP_FILE_SUFFIX);
+    DataOutputStream outputStream =
+        new DataOutputStream(
+            new BufferedOutputStream(new FileOutputStream(tempFile), BUFFER_SIZE_BYTES));
+    try {
+      outputStream.writeInt(CACHE_FILE_MAGIC);
+      outputStream.writeInt(CACHE_FILE_VERSION);
+      outputStream.writeUTF(fingerprint);
+
+      TagInfo[] tagInfos = snapshot.getTagInfosById();
+      outputStream.writeInt(tagInfos.length);
+      for (int i = 0; i < tagInfos.length; i++) {
+        TagInfo tagInfo = tagInfos[i];
+        outputStream.writeInt(tagInfo.getId());
+        outputStream.writeUTF(tagInfo.getName());
+        outputStream.writeUTF(tagInfo.getDescription());
+        outputStream.writeBoolean(tagInfo.isHistoricalLogEnabled());
+        outputStream.writeBoolean(tagInfo.isRealTimeLogEnabled());
+        outputStream.writeByte(getTagGroupBits(tagInfo.getTagGroups()));
+        outputStream.writeInt(tagInfo.getType().getTypeInt());
+        outputStream.writeUTF(tagInfo.getUnit());
+        outputStream.writeUTF(tagInfo.getAlarmHint());
+        outputStream.writeFloat(tagInfo.getAlarmLow());
+        outputStream.writeFloat(tagInfo.getAlarmHigh());
+        outputStream.writeFloat(tagInfo.getAlarmLowLow());
+        outputStream.writeFloat(tagInfo.getAlarmHighHigh());
+        outputStream.writeInt(tagInfo.getAlarmTimeDeadBand());
+        outputStream.writeFloat(tagInfo.getAlarmLevelDeadBand());
+
+        // Write enumeration mapping length (-1 if none) and values
+        if (tagInfo instanceof TagInfoEnumeratedIntToString) {
+          String[] mapping =
+              ((TagInfoEnumeratedIntToString) tagInfo).getEnumeratedStringValueMapping();
+          outputStream.writeInt(mapping.length);
+          for (int x = 0; x < mapping.length; x++) {
+            outputStream.writeBoolean(mapping[x] != null);
+            if (mapping[x] != null) {
+              outputStream.writeUTF(mapping[x]);
+            }
+          }
+        } else {
+          outputStream.writeInt(-1);
+        }
+
+        outputStream.writeInt(snapshot.getTagInfoLineHash(snapshot.getTableIndex(tagInfo.getId())));
+      }
+    } finally {
+      outputStream.close();
+    }
+
+    // Replace previous cache file
+    File cacheFile = new File(path);
+    if (cacheFile.exists() && !cacheFile.delete()) {
+      throw new IOException("Unable to delete previous tag information cache file " + path + ".");
+    }
+    if (!tempFile.renameTo(cacheFile)) {
+      throw new IOException("Unable to rename tag information cache file to " + path + ".");
+    }
+  }
+
+  /**
+   * Reads the cache file at the specified path, if it exists and has the specified tag
+   * configuration fingerprint.
+   *
+   * @param path path of the cache file
+   * @param fingerprint expected tag configuration fingerprint
+   * @return cache file contents, or null if the cache file does not exist, or has a different
+   *     format version or fingerprint
+   * @throws IOException if unable to read the cache file, or the cache file is invalid
+   * @since 1.0.0
+   */
+  static TagInfoCacheFile read(String path, String fingerprint) throws IOException {
+    File cacheFile = new File(path);
+    if (!cacheFile.exists()) {
+      return null;
+    }
+
+    DataInputStream inputStream =
+        new DataInputStream(
+            new BufferedInputStream(new FileInputStream(cacheFile), BUFFER_SIZE_BYTES));
+    try {
+      // Verify header
+      if (inputStream.readInt() != CACHE_FILE_MAGIC) {
+        throw new IOException("Invalid tag information cache file " + path + ".");
+      }
+      if (inputStream.readInt() != CACHE_FILE_VERSION
+          || !inputStream.readUTF().equals(fingerprint)) {
+        return null;
+      }
+
+      final int count = inputStream.readInt();
+      if (count < 0) {
+        throw new IOException("Invalid tag count in tag information cache file " + path + ".");
+      }
+      TagInfo[] tagInfos = new TagInfo[count];
+      int[] lineHashes = new int[count];
+      for (int i = 0; i < count; i++) {
+        final int id = inputStream.readInt();
+        final String name = inputStream.readUTF();
+        final String description = inputStream.readUTF();
+        final boolean historicalLogEnabled = inputStream.readBoolean();
+        final boolean realTimeLogEnabled = inputStream.readBoolean();
+        final int tagGroupBits = inputStream.readByte();
+        final TagType type = TagType.getTagTypeFromInt(inputStream.readInt());
+        final String unit = inputStream.readUTF();
+        final String alarmHint = inputStream.readUTF();
+        final float alarmLow = inputStream.readFloat();
+        final float alarmHigh = inputStream.readFloat();
+        final float alarmLowLow = inputStream.readFloat();
+        final float alarmHighHigh = inputStream.readFloat();
+        final int alarmTimeDeadBand = inputStream.readInt();
+        final float alarmLevelDeadBand = inputStream.readFloat();
+        final int mappingLength = inputStream.readInt();
+        if (type == null) {
+          throw new IOException("Invalid tag type in tag information cache file " + path + ".");
+        }
+
+        if (mappingLength >= 0) {
+          String[] mapping = new String[mappingLength];
+          for (int x = 0; x < mappingLength; x++) {
+            if (inputStream.readBoolean()) {
+              mapping[x] = inputStream.readUTF();
+            }
+          }
+          tagInfos[i] =
+              new TagInfoEnumeratedIntToString(
+                  id,
+                  name,
+                  description,
+                  historicalLogEnabled,
+                  realTimeLogEnabled,
+                  (tagGroupBits & 0x1) != 0,
+                  (tagGroupBits & 0x2) != 0,
+                  (tagGroupBits & 0x4) != 0,
+                  (tagGroupBits & 0x8) != 0,
+                  type,
+                  unit,
+                  alarmHint,
+                  alarmLow,
+                  alarmHigh,
+                  alarmLowLow,
+                  alarmHighHigh,
+                  alarmTimeDeadBand,
+                  alarmLevelDeadBand,
+                  mapping);
+        } else {
+          tagInfos[i] =
+              new TagInfo(
+                  id,
+                  name,
+                  description,
+                  historicalLogEnabled,
+                  realTimeLogEnabled,
+                  (tagGroupBits & 0x1) != 0,
+                  (tagGroupBits & 0x2) != 0,
+                  (tagGroupBits & 0x4) != 0,
+                  (tagGroupBits & 0x8) != 0,
+                  type,
+                  unit,
+                  alarmHint,
+                  alarmLow,
+                  alarmHigh,
+                  alarmLowLow,
+                  alarmHighHigh,
+                  alarmTimeDeadBand,
+                  alarmLevelDeadBand);
+        }
+        lineHashes[i] = inputStream.readInt();
+      }
+      return new TagInfoCacheFile(tagInfos, lineHashes);
+    } catch (EOFException e) {
+      throw new IOException("Truncated tag information cache file " + path + ".");
+    } finally {
+      inputStream.close();
+    }
+  }
+
+  /**
+   * Gets the tag group bits (bit 0 for group A through bit 3 for group D) of the specified list of
+   * tag groups.
+   *
+   * @param tagGroups list of tag groups (Parameterized type: List&lt;TagGroup&gt;)
+   * @return tag group bits
+   * @since 1.0.0
+   */
+  private static int getTagGroupBits(List tagGroups) {
+    int tagGroupBits = 0;
+    for (int i = 0; i < tagGroups.size(); i++) {
+      Object tagGroup = tagGroups.get(i);
+      if (tagGroup == TagGroup.A) {
+        tagGroupBits |= 0x1;
+      } else if (tagGroup == TagGroup.B) {
+        tagGroupBits |= 0x2;
+      } else if (tagGroup == TagGroup.C) {
+        tagGroupBits |= 0x4;
+      } else if (tagGroup == TagGroup.D) {
+        tagGroupBits |= 0x8;
+      }
+    }
+    return tagGroupBits;
+  }
+}
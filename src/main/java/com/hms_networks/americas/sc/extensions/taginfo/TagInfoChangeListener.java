@@ -0,0 +1,55 @@
+package com.hms_networks.americas.sc.extensions.taginfo;
+
+/**
+ * Interface for receiving notifications of changes to the tag information list managed by {@link
+ * TagInfoManager}. Listeners are registered using {@link
+ * TagInfoManager#addTagInfoChangeListener(TagInfoChangeListener)}, and allow caches which depend
+ * on tag information to be updated incrementally.
+ *
+ * <p>Listener methods are called while the {@link TagInfoManager} class lock is held, after the
+ * updated tag information list has been applied. Implementations should return quickly and must
+ * not start a refresh of the tag information list.
+ *
+ * @author HMS Networks; Americas
+ * @since 1.17.0
+ * @version 1.0.0
+ */
+public interface TagInfoChangeListener {
+
+  /**
+   * Called by {@link TagInfoManager#refreshTagListIfChanged()} for each tag which has been added
+   * since the previous refresh.
+   *
+   * @param tagInfo tag information of the added tag
+   * @since 1.0.0
+   */
+  void onTagInfoAdded(TagInfo tagInfo);
+
+  /**
+   * Called by {@link TagInfoManager#refreshTagListIfChanged()} for each tag which has been removed
+   * since the previous refresh.
+   *
+   * @param tagInfo tag information of the removed tag, from the previous refresh
+   * @since 1.0.0
+   */
+  void onTagInfoRemoved(TagInfo tagInfo);
+
+  /**
+   * Called by {@link TagInfoManager#refreshTagListIfChanged()} for each tag whose configuration
+   * has been modified since the previous refresh.
+   *
+   * @param previousTagInfo tag information of the tag, from the previous refresh
+   * @param tagInfo updated tag information of the tag
+   * @since 1.0.0
+   */
+  void onTagInfoModified(TagInfo previousTagInfo, TagInfo tagInfo);
+
+  /**
+   * Called by {@link TagInfoManager#refreshTagList()} after a full refresh of the tag information
+   * list. All previously obtained {@link TagInfo} objects have been replaced, and dependent caches
+   * should be rebuilt.
+   *
+   * @since 1.0.0
+   */
+  void onTagInfoListRefreshed();
+}
@@ -0,0 +1,180 @@
+package com.hms_networks.americas.sc.extensions.taginfo;
+
+/**
+ * Open addressing hash map of tag IDs to {@link TagInfo} objects, using linear probing. Memory use
+ * is proportional to the number of tags, not the range of tag IDs, making it suitable for tag
+ * configurations with large gaps in tag ID numbers. Lookups do not allocate objects.
+ *
+ * <p>Each entry is stored in a slot of a fixed-size table, and the slot index of an entry can be
+ * used to store additional per-tag information in parallel arrays of length {@link
+ * #getCapacity()}.
+ *
+ * <p>Instances of this class are not thread-safe while being populated. Once populated, they may be
+ * read concurrently.
+ *
+ * @author HMS Networks; Americas
+ * @since 1.17.0
+ * @version 1.0.0
+ */
+public final class TagInfoIdMap {
+
+  /**
+   * Multiplier used to spread tag IDs across the table (golden ratio, 32-bit).
+   *
+   * @since 1.0.0
+   */
+  private static final int HASH_MULTIPLIER = 0x9E3779B9;
+
+  /**
+   * Tag IDs of each slot. Only valid for slots which have a value.
+   *
+   * @since 1.0.0
+   */
+  private final int[] keys;
+
+  /**
+   * Tag information objects of each slot, or null for empty slots.
+   *
+   * @since 1.0.0
+   */
+  private final TagInfo[] values;
+
+  /**
+   * Bit mask of slot indices (table capacity minus one).
+   *
+   * @since 1.0.0
+   */
+  private final int mask;
+
+  /**
+   * Number of entries in the map.
+   *
+   * @since 1.0.0
+   */
+  private int size = 0;
+
+  /**
+   * Constructs a new {@link TagInfoIdMap} with a table sized for the specified number of tags. The
+   * table capacity is a power of two of at least double the expected number of tags, and can not
+   * grow.
+   *
+   * @param expectedSize maximum number of tags which will be stored in the map
+   * @throws IllegalArgumentException if the expected size is negative
+   * @since 1.0.0
+   */
+  public TagInfoIdMap(int expectedSize) {
+    if (expectedSize < 0) {
+      throw new IllegalArgumentException("Tag ID map expected size must not be negative.");
+    }
+    int capacity = 2;
+    while (capacity < expectedSize * 2) {
+      capacity <<= 1;
+    }
+    this.keys = new int[capacity];
+    this.values = new TagInfo[capacity];
+    this.mask = capacity - 1;
+  }
+
+  /**
+   * Adds the specified tag information object to the map using its tag ID, replacing any existing
+   * tag information object with the same tag ID.
+   *
+   * @param tagInfo tag information object to add
+   * @return slot index of the entry
+   * @throws IllegalStateException if the map is full
+   * @since 1.0.0
+   */
+  public int put(TagInfo tagInfo) {
+    final int tagId = tagInfo.getId();
+    int slot = getInitialSlot(tagId);
+    for (int probes = 0; probes < values.length; probes++) {
+      if (values[slot] == null) {
+        keys[slot] = tagId;
+        values[slot] = tagInfo;
+        size++;
+        return slot;
+      } else if (keys[slot] == tagId) {
+        values[slot] = tagInfo;
+        return slot;
+      }
+      slot = (slot + 1) & mask;
+    }
+    throw new IllegalStateException("Tag ID map is full.");
+  }
+
+  /**
+   * Gets the slot index of the entry with the specified tag ID.
+   *
+   * @param tagId tag ID
+   * @return slot index of the entry, or -1 if the map does not contain the tag ID
+   * @since 1.0.0
+   */
+  public int indexOf(int tagId) {
+    int slot = getInitialSlot(tagId);
+    for (int probes = 0; probes < values.length; probes++) {
+      if (values[slot] == null) {
+        break;
+      } else if (keys[slot] == tagId) {
+        return slot;
+      }
+      slot = (slot + 1) & mask;
+    }
+    return -1;
+  }
+
+  /**
+   * Gets the tag information object with the specified tag ID.
+   *
+   * @param tagId tag ID
+   * @return tag information object, or null if the map does not contain the tag ID
+   * @since 1.0.0
+   */
+  public TagInfo get(int tagId) {
+    final int slot = indexOf(tagId);
+    return slot >= 0 ? values[slot] : null;
+  }
+
+  /**
+   * Gets the tag information object in the specified slot.
+   *
+   * @param index slot index
+   * @return tag information object, or null if the slot is empty
+   * @throws IndexOutOfBoundsException if the index is not within the table bounds
+   * @since 1.0.0
+   */
+  public TagInfo getAt(int index) {
+    return values[index];
+  }
+
+  /**
+   * Gets the number of entries in the map.
+   *
+   * @return number of entries
+   * @since 1.0.0
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Gets the number of slots in the table.
+   *
+   * @return table capacity
+   * @since 1.0.0
+   */
+  public int getCapacity() {
+    return values.length;
+  }
+
+  /**
+   * Gets the first slot to probe for the specified tag ID.
+   *
+   * @param tagId tag ID
+   * @return initial slot index
+   * @since 1.0.0
+   */
+  private int getInitialSlot(int tagId) {
+    final int hash = tagId * HASH_MULTIPLIER;
+    return (hash ^ (hash >>> 16)) & mask;
+  }
+}
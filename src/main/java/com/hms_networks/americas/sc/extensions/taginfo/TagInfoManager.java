@@ -4,17 +4,22 @@ import com.ewon.ewonitf.EWException;
 import com.ewon.ewonitf.Exporter;
 import com.ewon.ewonitf.IOManager;
 import com.ewon.ewonitf.SysControlBlock;
+import com.ewon.ewonitf.TagControl;
 import com.hms_networks.americas.sc.extensions.fileutils.FileAccessManager;
 import com.hms_networks.americas.sc.extensions.json.JSONArray;
 import com.hms_networks.americas.sc.extensions.json.JSONException;
 import com.hms_networks.americas.sc.extensions.json.JSONObject;
 import com.hms_networks.americas.sc.extensions.logging.Logger;
-import com.hms_networks.americas.sc.extensions.string.QuoteSafeStringTokenizer;
-import java.io.ByteArrayOutputStream;
+import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Class that allows the retrieval of tag information of an Ewon Flexy by generating an export block
@@ -26,136 +31,553 @@ import java.util.List;
 public class TagInfoManager {
 
   /**
-   * Tag information list. Contents are generated/populated by a call to {@link #refreshTagList()}.
+   * Snapshot of the tag information list and its indexes. Contents are generated/populated by a
+   * call to {@link #refreshTagList()}, and replaced (never modified) by each refresh so that it can
+   * be read without holding the class lock.
    */
-  private static TagInfo[] tagInfoList = null;
+  private static volatile TagInfoSnapshot tagInfoSnapshot = null;
+
+  /** Initial capacity for byte stream buffer. */
+  private static final int INITIAL_CAPACITY_BYTES = 1000;
+
+  /** Maximum capacity for byte stream buffer. */
+  private static final int MAX_CAPACITY_BYTES = 5000;
+
+  /** Size of each chunk read from the tag list export. */
+  private static final int READ_CHUNK_SIZE_BYTES = 4096;
+
+  /** Number of fields parsed from each tag list line (tag ID through tag unit). */
+  private static final int TAG_LIST_PARSED_FIELD_COUNT = 57;
+
+  /** Offset basis of the FNV-1a hash used for tag list lines. */
+  private static final int TAG_LIST_LINE_HASH_OFFSET_BASIS = 0x811C9DC5;
+
+  /** Prime of the FNV-1a hash used for tag list lines. */
+  private static final int TAG_LIST_LINE_HASH_PRIME = 16777619;
+
+  /** Reusable start offsets of the fields of a tag list line. Guarded by the class lock. */
+  private static final int[] tagListFieldStarts = new int[TAG_LIST_PARSED_FIELD_COUNT];
+
+  /** Reusable end offsets of the fields of a tag list line. Guarded by the class lock. */
+  private static final int[] tagListFieldEnds = new int[TAG_LIST_PARSED_FIELD_COUNT];
+
+  /**
+   * Listeners notified of changes to the tag information list. Parameterized type:
+   * List&lt;TagInfoChangeListener&gt;
+   */
+  private static final List tagInfoChangeListeners = new ArrayList();
 
   /**
-   * The current index for inserting tag information objects into the tag information list. This
-   * index also doubles also a tracker for the tag information list actual size.
+   * Maximum number of changed tags between saves of the tag configuration to flash by {@link
+   * #applyHistoricalLogRates(Map, HistoricalLogRateProgressListener)}.
    */
-  private static int tagInfoListInsertIndex = 0;
+  private static final int HISTORICAL_LOG_RATE_TAGS_PER_FLASH_SAVE = 500;
 
-  /** The lowest tag ID seen during the previous call to {@link #refreshTagList()}. */
-  private static int lowestTagIdSeen = TagConstants.UNINIT_INT_VAL;
+  /**
+   * Number of tags processed by {@link #applyHistoricalLogRates(Map,
+   * HistoricalLogRateProgressListener)} between progress notifications.
+   */
+  private static final int HISTORICAL_LOG_RATE_TAGS_PER_PROGRESS = 100;
 
-  /** The highest tag ID seen during the previous call to {@link #refreshTagList()}. */
-  private static int highestTagIdSeen = TagConstants.UNINIT_INT_VAL;
+  /** Historical log enabled value of the tag configuration "LogEnabled" item. */
+  private static final String HISTORICAL_LOG_ENABLED_VALUE = "1";
 
-  /** Initial capacity for byte stream buffer. */
-  private static final int INITIAL_CAPACITY_BYTES = 1000;
+  /** Opener for the tag configuration blocks of the Ewon. */
+  private static final TagConfigurationBlockOpener TAG_CONFIGURATION_BLOCK_OPENER =
+      new TagConfigurationBlockOpener() {
+        public SysControlBlock openTagConfigurationBlock(String tagName) throws EWException {
+          return new SysControlBlock(SysControlBlock.TAG, tagName);
+        }
+      };
 
-  /** Maximum capacity for byte stream buffer. */
-  private static final int MAX_CAPACITY_BYTES = 5000;
+  /** Default maximum number of cached {@link TagControl} handles. */
+  private static final int DEFAULT_TAG_CONTROL_CACHE_CAPACITY = 256;
+
+  /** Cache of reusable {@link TagControl} handles, keyed by tag ID. */
+  private static TagControlCache tagControlCache =
+      new TagControlCache(DEFAULT_TAG_CONTROL_CACHE_CAPACITY);
 
   /** Flag to enable int to string tag enums. Defaults to not enabled. */
   private static boolean enableIntToStringEnums = false;
 
-  /** ArrayList to hold the names of tags that will have int to string enumerations */
-  private static ArrayList intToStringEnumerationTagList;
+  /**
+   * Map of tag names to their int to string enumeration mappings, parsed from {@link
+   * #INT_TO_STRING_ENUMERATION_FILE_NAME}. Parameterized type: Map&lt;String, String[]&gt;
+   */
+  private static Map intToStringEnumerationMappings = null;
+
+  /**
+   * Size of the int to string enumeration file when {@link #intToStringEnumerationMappings} was
+   * loaded.
+   */
+  private static long intToStringEnumerationFileSize = TagConstants.UNINIT_INT_VAL;
+
+  /**
+   * Last modified time of the int to string enumeration file when {@link
+   * #intToStringEnumerationMappings} was loaded.
+   */
+  private static long intToStringEnumerationFileLastModified = TagConstants.UNINIT_INT_VAL;
 
   /** File path to the int to string enumeration file. */
   private static final String INT_TO_STRING_ENUMERATION_FILE_NAME = "/usr/EnumerationMapping.json";
 
+  /** File path to the tag information cache file. */
+  private static final String TAG_INFO_CACHE_FILE_NAME = "/usr/TagInfoCache.bin";
+
+  /** Flag to enable the tag information cache file. Defaults to not enabled. */
+  private static boolean enableTagInfoCache = false;
+
+  /**
+   * Application provided key included in the tag information cache fingerprint, such as a version
+   * or hash of the application configuration. May be null.
+   */
+  private static String tagInfoCacheConfigurationKey = null;
+
   /**
    * Populate the tag information list by using an Ewon Export Block Descriptor and parsing the
    * response.
    *
+   * <p>The export is read in chunks of {@link #READ_CHUNK_SIZE_BYTES} bytes, and the fields of each
+   * line are parsed directly from the line byte buffer. Strings are only created for the fields
+   * which are stored in {@link TagInfo} objects.
+   *
+   * <p>Registered {@link TagInfoChangeListener}s are notified using {@link
+   * TagInfoChangeListener#onTagInfoListRefreshed()}. To apply only the changes since the previous
+   * refresh, use {@link #refreshTagListIfChanged()}.
+   *
+   * <p>If enabled using {@link #enableTagInfoCache(String)}, the tag information cache file is
+   * rewritten.
+   *
    * @throws IOException if EDB fails
    * @throws TagInfoBufferException if line from var_lst exceeds max capacity
    * @throws JSONException if int to string enumeration JSON parse fails
    */
   public static synchronized void refreshTagList() throws IOException, JSONException {
-    // Create tagInfoList of size = number of Flexy tags
-    tagInfoList = new TagInfo[IOManager.getNbTags()];
-    tagInfoListInsertIndex = 0;
+    refreshTagList(openTagListExport(), IOManager.getNbTags());
+  }
+
+  /**
+   * Populates the tag information list from the specified tag list export. See {@link
+   * #refreshTagList()}.
+   *
+   * @param tagListExport tag list export stream
+   * @param expectedTagCount expected number of tags, used as the initial capacity
+   * @throws IOException if reading the tag list export fails
+   * @throws TagInfoBufferException if line from var_lst exceeds max capacity
+   * @throws JSONException if int to string enumeration JSON parse fails
+   * @since 1.17.0
+   */
+  static synchronized void refreshTagList(InputStream tagListExport, int expectedTagCount)
+      throws IOException, JSONException {
+    loadIntStringEnumMappings();
+
+    // Read and parse every line of the tag list
+    final TagInfoSnapshot reuseTagInfoSnapshot = null;
+    TagListCollector tagListCollector =
+        new TagListCollector(expectedTagCount, reuseTagInfoSnapshot);
+    readTagListExport(tagListExport, tagListCollector);
+
+    // Store tag information list (with correct gaps)
+    installTagInfoList(
+        tagListCollector.tagInfos, tagListCollector.lineHashes, tagListCollector.count);
+    writeTagInfoCache();
+
+    // Notify listeners
+    for (int i = 0; i < tagInfoChangeListeners.size(); i++) {
+      ((TagInfoChangeListener) tagInfoChangeListeners.get(i)).onTagInfoListRefreshed();
+    }
+
+    // Flag for garbage collection
+    System.gc();
+  }
+
+  /**
+   * Checks the tag list of the Ewon for changes since the previous refresh, and applies only the
+   * added, removed or modified tags to the tag information list. If this method is called before
+   * {@link #refreshTagList()}, or if the int to string enumeration file has changed, a full refresh
+   * is performed using {@link #refreshTagList()}.
+   *
+   * <p>Changes are detected by comparing a hash of each line of the tag list export against the
+   * hash of the same tag's line from the previous refresh. Only new or changed lines are parsed,
+   * and unchanged {@link TagInfo} objects are reused. If no changes are found, the tag information
+   * list is not modified and no listeners are notified.
+   *
+   * <p>Registered {@link TagInfoChangeListener}s are notified of each added, removed or modified
+   * tag after the changes have been applied. If enabled using {@link #enableTagInfoCache(String)},
+   * the tag information cache file is rewritten when changes are applied.
+   *
+   * @return true if the tag information list was changed, false if no changes were found
+   * @throws IOException if EDB fails
+   * @throws TagInfoBufferException if line from var_lst exceeds max capacity
+   * @throws JSONException if int to string enumeration JSON parse fails
+   * @since 1.17.0
+   */
+  public static synchronized boolean refreshTagListIfChanged() throws IOException, JSONException {
+    return refreshTagListIfChanged(openTagListExport(), IOManager.getNbTags());
+  }
+
+  /**
+   * Applies the added, removed or modified tags of the specified tag list export to the tag
+   * information list. See {@link #refreshTagListIfChanged()}.
+   *
+   * @param tagListExport tag list export stream
+   * @param expectedTagCount expected number of tags, used as the initial capacity
+   * @return true if the tag information list was changed, false if no changes were found
+   * @throws IOException if reading the tag list export fails
+   * @throws TagInfoBufferException if line from var_lst exceeds max capacity
+   * @throws JSONException if int to string enumeration JSON parse fails
+   * @since 1.17.0
+   */
+  static synchronized boolean refreshTagListIfChanged(
+      InputStream tagListExport, int expectedTagCount) throws IOException, JSONException {
+    // Perform full refresh if never refreshed or enumerations changed
+    if (tagInfoSnapshot == null || loadIntStringEnumMappings()) {
+      refreshTagList(tagListExport, expectedTagCount);
+      return true;
+    }
+
+    // Read tag list, only parsing new or changed lines
+    TagInfoSnapshot previousTagInfoSnapshot = tagInfoSnapshot;
+    TagListCollector tagListCollector =
+        new TagListCollector(expectedTagCount, previousTagInfoSnapshot);
+    readTagListExport(tagListExport, tagListCollector);
+
+    // Find added and modified tags
+    boolean[] previousTagInfoSeen = new boolean[previousTagInfoSnapshot.getTableLength()];
+    List addedTagInfos = new ArrayList(); // List<TagInfo>
+    List modifiedTagInfos = new ArrayList(); // List<TagInfo>
+    List modifiedPreviousTagInfos = new ArrayList(); // List<TagInfo>
+    for (int i = 0; i < tagListCollector.count; i++) {
+      TagInfo tagInfo = tagListCollector.tagInfos[i];
+      final int previousIndex = previousTagInfoSnapshot.getTableIndex(tagInfo.getId());
+      TagInfo previousTagInfo = null;
+      if (previousIndex >= 0) {
+        previousTagInfo = previousTagInfoSnapshot.getTableTagInfo(previousIndex);
+      }
+
+      if (previousTagInfo == null) {
+        addedTagInfos.add(tagInfo);
+      } else {
+        previousTagInfoSeen[previousIndex] = true;
+        if (previousTagInfo != tagInfo) {
+          modifiedTagInfos.add(tagInfo);
+          modifiedPreviousTagInfos.add(previousTagInfo);
+        }
+      }
+    }
+
+    // Find removed tags
+    List removedTagInfos = new ArrayList(); // List<TagInfo>
+    for (int i = 0; i < previousTagInfoSeen.length; i++) {
+      TagInfo previousTagInfo = previousTagInfoSnapshot.getTableTagInfo(i);
+      if (previousTagInfo != null && !previousTagInfoSeen[i]) {
+        removedTagInfos.add(previousTagInfo);
+      }
+    }
+
+    // Return if no changes
+    if (addedTagInfos.isEmpty() && modifiedTagInfos.isEmpty() && removedTagInfos.isEmpty()) {
+      return false;
+    }
+
+    // Store updated tag information list
+    Logger.LOG_DEBUG(
+        "Tag list changes detected ("
+            + addedTagInfos.size()
+            + " added, "
+            + modifiedTagInfos.size()
+            + " modified, "
+            + removedTagInfos.size()
+            + " removed). Applying changes to tag information list...");
+    installTagInfoList(
+        tagListCollector.tagInfos, tagListCollector.lineHashes, tagListCollector.count);
+    writeTagInfoCache();
+
+    // Notify listeners
+    for (int i = 0; i < tagInfoChangeListeners.size(); i++) {
+      TagInfoChangeListener listener = (TagInfoChangeListener) tagInfoChangeListeners.get(i);
+      for (int x = 0; x < removedTagInfos.size(); x++) {
+        listener.onTagInfoRemoved((TagInfo) removedTagInfos.get(x));
+      }
+      for (int x = 0; x < modifiedTagInfos.size(); x++) {
+        listener.onTagInfoModified(
+            (TagInfo) modifiedPreviousTagInfos.get(x), (TagInfo) modifiedTagInfos.get(x));
+      }
+      for (int x = 0; x < addedTagInfos.size(); x++) {
+        listener.onTagInfoAdded((TagInfo) addedTagInfos.get(x));
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Populates the tag information list from the tag information cache file, if the cache file
+   * matches the current tag configuration fingerprint. Otherwise, the tag information list is
+   * populated using {@link #refreshTagList()}, which rewrites the cache file. The tag information
+   * cache must be enabled using {@link #enableTagInfoCache(String)}, otherwise this method is
+   * equivalent to {@link #refreshTagList()}.
+   *
+   * <p>The fingerprint consists of the number of tags, the size and last modified time of the int
+   * to string enumeration file (if enabled) and the configuration key specified in {@link
+   * #enableTagInfoCache(String)}, so the tag list export is not read when the cache file is used.
+   * Tag configuration changes which do not change the number of tags are not detected by the
+   * fingerprint, so applications should call {@link #refreshTagListIfChanged()} once data is
+   * flowing to verify the loaded tag information. The cache file stores the tag list line hashes
+   * used by {@link #refreshTagListIfChanged()}, so unchanged tags are not parsed again.
+   *
+   * <p>Registered {@link TagInfoChangeListener}s are notified using {@link
+   * TagInfoChangeListener#onTagInfoListRefreshed()}.
+   *
+   * @return true if the tag information list was loaded from the cache file, false if a full
+   *     refresh was performed
+   * @throws IOException if EDB fails
+   * @throws TagInfoBufferException if line from var_lst exceeds max capacity
+   * @throws JSONException if int to string enumeration JSON parse fails
+   * @since 1.17.0
+   */
+  public static synchronized boolean refreshTagListFromCache() throws IOException, JSONException {
+    // Read cache file, if enabled and fingerprint matches
+    TagInfoCacheFile tagInfoCacheFile = null;
+    if (enableTagInfoCache) {
+      loadIntStringEnumMappings();
+      try {
+        tagInfoCacheFile =
+            TagInfoCacheFile.read(TAG_INFO_CACHE_FILE_NAME, getTagInfoCacheFingerprint());
+      } catch (IOException e) {
+        Logger.LOG_WARN(
+            "Unable to read the tag information cache file. Performing full refresh.", e);
+      }
+    }
+
+    // Perform full refresh if cache not available
+    if (tagInfoCacheFile == null) {
+      refreshTagList();
+      return false;
+    }
 
-    getIntStringEnumTags();
+    // Store tag information list from cache file
+    Logger.LOG_DEBUG("Loaded tag information list from the tag information cache file.");
+    installTagInfoList(
+        tagInfoCacheFile.tagInfos, tagInfoCacheFile.lineHashes, tagInfoCacheFile.tagInfos.length);
+
+    // Notify listeners
+    for (int i = 0; i < tagInfoChangeListeners.size(); i++) {
+      ((TagInfoChangeListener) tagInfoChangeListeners.get(i)).onTagInfoListRefreshed();
+    }
+    return true;
+  }
 
+  /**
+   * Enables the tag information cache file, which stores the tag information list on the Ewon
+   * flash after each refresh so it can be loaded at startup using {@link
+   * #refreshTagListFromCache()}.
+   *
+   * @param configurationKey key included in the tag information cache fingerprint, such as a
+   *     version or hash of the application configuration, or null if not used. The cache file is
+   *     not used if the key differs from the key used when it was written.
+   * @since 1.17.0
+   */
+  public static synchronized void enableTagInfoCache(String configurationKey) {
+    enableTagInfoCache = true;
+    tagInfoCacheConfigurationKey = configurationKey;
+  }
+
+  /**
+   * Gets the tag configuration fingerprint stored in, and compared against, the tag information
+   * cache file.
+   *
+   * @return tag configuration fingerprint
+   */
+  private static String getTagInfoCacheFingerprint() {
+    StringBuffer fingerprint = new StringBuffer();
+    fingerprint.append("tags=").append(IOManager.getNbTags());
+    fingerprint.append(";enum=");
+    if (enableIntToStringEnums) {
+      fingerprint
+          .append(intToStringEnumerationFileSize)
+          .append(':')
+          .append(intToStringEnumerationFileLastModified);
+    }
+    fingerprint.append(";key=");
+    if (tagInfoCacheConfigurationKey != null) {
+      fingerprint.append(tagInfoCacheConfigurationKey);
+    }
+    return fingerprint.toString();
+  }
+
+  /**
+   * Writes the current tag information list to the tag information cache file, if enabled. Errors
+   * are logged, and do not affect the tag information list.
+   */
+  private static void writeTagInfoCache() {
+    if (enableTagInfoCache) {
+      try {
+        TagInfoCacheFile.write(
+            TAG_INFO_CACHE_FILE_NAME, getTagInfoCacheFingerprint(), tagInfoSnapshot);
+      } catch (IOException e) {
+        Logger.LOG_WARN("Unable to write the tag information cache file.", e);
+      }
+    }
+  }
+
+  /**
+   * Registers the specified listener to be notified of changes to the tag information list.
+   *
+   * @param listener listener to register
+   * @since 1.17.0
+   */
+  public static synchronized void addTagInfoChangeListener(TagInfoChangeListener listener) {
+    if (!tagInfoChangeListeners.contains(listener)) {
+      tagInfoChangeListeners.add(listener);
+    }
+  }
+
+  /**
+   * Unregisters the specified listener, if registered.
+   *
+   * @param listener listener to unregister
+   * @since 1.17.0
+   */
+  public static synchronized void removeTagInfoChangeListener(TagInfoChangeListener listener) {
+    tagInfoChangeListeners.remove(listener);
+  }
+
+  /**
+   * Opens the tag list export of the Ewon.
+   *
+   * @return tag list export stream
+   * @throws IOException if EDB fails
+   */
+  private static InputStream openTagListExport() throws IOException {
     /*
      * Create exporter
      *
      * dtTL = data type: tag list
      * ftT = file type: text
      */
-    Exporter exporter = new Exporter("$dtTL$ftT");
+    return new Exporter("$dtTL$ftT");
+  }
 
+  /**
+   * Reads the specified tag list export, and passes each line (excluding the header) to the
+   * specified handler along with a hash of the line contents.
+   *
+   * @param exporter tag list export stream
+   * @param handler collector for each line of the tag list
+   * @throws IOException if reading the tag list export fails
+   * @throws TagInfoBufferException if line from var_lst exceeds max capacity
+   * @throws JSONException if int to string enumeration JSON parse fails
+   */
+  private static void readTagListExport(InputStream exporter, TagListCollector handler)
+      throws IOException, JSONException {
     // Create flag to track reading header
     boolean isHeaderReceived = false;
 
-    // Create a byte output stream with an initial capacity
-    ByteArrayOutputStream receivedBytes = new ByteArrayOutputStream(INITIAL_CAPACITY_BYTES);
+    // Create buffers for reading chunks and for the current line (grows up to max capacity)
+    byte[] readBuffer = new byte[READ_CHUNK_SIZE_BYTES];
+    byte[] lineBuffer = new byte[INITIAL_CAPACITY_BYTES];
+    int lineLength = 0;
+    int lineHash = TAG_LIST_LINE_HASH_OFFSET_BASIS;
 
     // Current line number of tag list
     int currLineNumber = 0;
 
-    // Loop through bytes in exporter result
-    while (exporter.available() != 0) {
+    // Loop through chunks in exporter result
+    int bytesAvailable = exporter.available();
+    while (bytesAvailable != 0) {
 
-      // Read next byte from exporter
-      byte currentByteRead = (byte) exporter.read();
+      // Read next chunk from exporter
+      int bytesRead = exporter.read(readBuffer, 0, Math.min(bytesAvailable, readBuffer.length));
+      if (bytesRead == TagConstants.TAG_EBD_END_OF_STREAM) {
+        break;
+      }
 
-      // If received new line, process line (disregard if header)
-      if (currentByteRead == TagConstants.TAG_EBD_NEW_LINE) {
+      // Loop through bytes in chunk
+      for (int i = 0; i < bytesRead; i++) {
+        byte currentByteRead = readBuffer[i];
 
-        // Process line if not header, otherwise change header read flag
-        if (isHeaderReceived) {
-          processTagListEBDLine(receivedBytes.toString());
-        } else {
-          isHeaderReceived = true;
-        }
-
-        // Reached end of line. Reset byte received buffer
-        receivedBytes.reset();
+        // If received new line, process line (disregard if header)
+        if (currentByteRead == TagConstants.TAG_EBD_NEW_LINE) {
 
-        // Increment line number
-        currLineNumber++;
-      }
-
-      /*
-       * Add received byte to array (if not new line,
-       * carriage return or end of stream)
-       */
-      if (currentByteRead != TagConstants.TAG_EBD_END_OF_STREAM
-          && currentByteRead != TagConstants.TAG_EBD_CARRIAGE_RETURN
-          && currentByteRead != TagConstants.TAG_EBD_NEW_LINE) {
-        receivedBytes.write(currentByteRead);
-        // Maintain a maximum limit for buffer growth
-        if (receivedBytes.size() > MAX_CAPACITY_BYTES) {
-
-          // Find the tag name of the error line
-          final String delimiter = ";";
-          final int indexName = 1;
-          final boolean returnDelimiters = false;
-          String errorLineTagName = "NotFound";
-          QuoteSafeStringTokenizer quoteSafeStringTokenizer =
-              new QuoteSafeStringTokenizer(receivedBytes.toString(), delimiter, returnDelimiters);
-
-          String currentToken = "";
-          while (quoteSafeStringTokenizer.hasMoreElements()
-              && quoteSafeStringTokenizer.getPrevTokenIndex() < indexName) {
-            currentToken = quoteSafeStringTokenizer.nextToken();
+          // Process line if not header, otherwise change header read flag
+          if (isHeaderReceived) {
+            handler.handleLine(lineBuffer, lineLength, lineHash);
+          } else {
+            isHeaderReceived = true;
           }
 
-          if (quoteSafeStringTokenizer.getPrevTokenIndex() == indexName) {
-            errorLineTagName = currentToken;
+          // Reached end of line. Reset line buffer and hash
+          lineLength = 0;
+          lineHash = TAG_LIST_LINE_HASH_OFFSET_BASIS;
+
+          // Increment line number
+          currLineNumber++;
+        } else if (currentByteRead != (byte) TagConstants.TAG_EBD_END_OF_STREAM
+            && currentByteRead != TagConstants.TAG_EBD_CARRIAGE_RETURN) {
+          /*
+           * Add received byte to line buffer (if not new line,
+           * carriage return or end of stream)
+           */
+          if (lineLength == lineBuffer.length) {
+            // Maintain a maximum limit for buffer growth
+            if (lineBuffer.length >= MAX_CAPACITY_BYTES) {
+              // Find the tag name of the error line
+              final int indexName = 1;
+              String errorLineTagName = "NotFound";
+              int fieldCount =
+                  findTagListFieldBounds(
+                      lineBuffer, lineLength, tagListFieldStarts, tagListFieldEnds);
+              if (fieldCount > indexName) {
+                errorLineTagName =
+                    new String(
+                        lineBuffer,
+                        tagListFieldStarts[indexName],
+                        tagListFieldEnds[indexName] - tagListFieldStarts[indexName]);
+              }
+
+              // Log the error line number and tag name
+              Logger.LOG_CRITICAL(
+                  "Line "
+                      + currLineNumber
+                      + " for tag name "
+                      + errorLineTagName
+                      + " from var_lst exceeds max capacity, throwing IOException.");
+              throw new TagInfoBufferException("Line input exceeds max buffer capacity.");
+            }
+
+            byte[] grownLineBuffer = new byte[Math.min(lineBuffer.length * 2, MAX_CAPACITY_BYTES)];
+            System.arraycopy(lineBuffer, 0, grownLineBuffer, 0, lineLength);
+            lineBuffer = grownLineBuffer;
           }
-
-          // Log the error line number and tag name
-          Logger.LOG_CRITICAL(
-              "Line "
-                  + currLineNumber
-                  + " for tag name "
-                  + errorLineTagName
-                  + " from var_lst exceeds max capacity, throwing IOException.");
-          throw new TagInfoBufferException("Line input exceeds max buffer capacity.");
+          lineBuffer[lineLength++] = currentByteRead;
+          lineHash = (lineHash ^ (currentByteRead & 0xFF)) * TAG_LIST_LINE_HASH_PRIME;
         }
       }
+
+      bytesAvailable = exporter.available();
     }
+  }
 
-    // Correct tag info array for gaps
-    final int tagIdDiff = highestTagIdSeen - lowestTagIdSeen + 1;
-    final int numTagIdGaps = tagIdDiff - IOManager.getNbTags();
+  /**
+   * Stores the specified tag information objects and line hashes as the tag information list,
+   * indexed by tag ID with an offset of the lowest tag ID (including gaps for unused tag IDs). A
+   * new {@link TagInfoSnapshot} is built and published, and cached tag control handles are
+   * cleared.
+   *
+   * @param tagInfos tag information objects to store
+   * @param lineHashes tag list export line hashes of the tag information objects
+   * @param count number of tag information objects in the arrays
+   */
+  private static void installTagInfoList(TagInfo[] tagInfos, int[] lineHashes, int count) {
+    // Build snapshot (with indexes)
+    TagInfoSnapshot newTagInfoSnapshot = new TagInfoSnapshot(tagInfos, lineHashes, count);
+
+    // Check for gaps in tag IDs
+    final int tagIdDiff =
+        count > 0
+            ? newTagInfoSnapshot.getHighestTagId() - newTagInfoSnapshot.getLowestTagId() + 1
+            : 0;
+    final int numTagIdGaps = tagIdDiff - count;
     if (numTagIdGaps > 0) {
       // Show warning if tag gaps above threshold
       if (numTagIdGaps >= TagConstants.TAG_ID_GAPS_WARNING_THRESHOLD) {
@@ -167,46 +589,50 @@ public class TagInfoManager {
                 + TagConstants.TAG_ID_GAPS_WARNING_THRESHOLD
                 + " gaps. To resolve tag ID number gaps, a reset of the Ewon must be performed.");
       }
-
-      // Rebuild list with gaps
-      Logger.LOG_DEBUG(
-          "Tag ID gaps have been detected. Rebuilding tag information list with correct gaps...");
-      rebuildInitialTagInfoListWithGaps();
-      Logger.LOG_DEBUG("Finished rebuilding tag information list with correct gaps.");
+      if (newTagInfoSnapshot.isSparse()) {
+        Logger.LOG_DEBUG("Large tag ID gaps have been detected. Building sparse tag ID map.");
+      } else {
+        Logger.LOG_DEBUG("Tag ID gaps have been detected. Building tag list with correct gaps.");
+      }
     }
 
-    // Flag for garbage collection
-    System.gc();
-  }
+    // Publish snapshot
+    tagInfoSnapshot = newTagInfoSnapshot;
 
-  /** Rebuilds the initial tag information list to account for indexing with tag ID number gaps. */
-  private static synchronized void rebuildInitialTagInfoListWithGaps() {
-    // Store original list to to iterate
-    TagInfo[] originalList = tagInfoList;
-
-    // Create new list with size
-    final int tagIdDiff = highestTagIdSeen - lowestTagIdSeen;
-    tagInfoList = new TagInfo[tagIdDiff + 1];
+    // Tag IDs and names may have changed, clear cached tag control handles
+    tagControlCache.clear();
+  }
 
-    // Move objects from original list to new list
-    for (int x = 0; x < originalList.length; x++) {
-      final int offsetTagId = originalList[x].getId() - lowestTagIdSeen;
-      tagInfoList[offsetTagId] = originalList[x];
+  /**
+   * Parses the tag ID (first field) of the specified tag list line.
+   *
+   * @param line EBD line byte buffer
+   * @param lineLength number of bytes of the line in the byte buffer
+   * @return tag ID
+   * @throws NumberFormatException if the first field is not an integer
+   */
+  private static int parseTagListTagId(byte[] line, int lineLength) {
+    int tagIdEnd = 0;
+    while (tagIdEnd < lineLength && line[tagIdEnd] != ';') {
+      tagIdEnd++;
     }
+    return parseTagListIntField(line, 0, tagIdEnd);
   }
 
   /**
    * Parse the specified line from the tag information EBD data generated in {@link
-   * #refreshTagList()}. Add the parse tag information to the tag information list.
+   * #refreshTagList()} into a tag information object.
    *
-   * @param line EBD line string
+   * @param line EBD line byte buffer
+   * @param lineLength number of bytes of the line in the byte buffer
+   * @return parsed tag information, or null if the line is incomplete
    * @throws JSONException if int to string enumeration JSON parse fails
    * @throws IOException if int to string enumeration file read fails
    */
-  private static synchronized void processTagListEBDLine(String line)
+  private static TagInfo parseTagListEBDLine(byte[] line, int lineLength)
       throws IOException, JSONException {
     /*
-     * Token indices
+     * Field indices
      * index 0 - tag ID
      * index 1 - name
      * index 2 - description
@@ -238,173 +664,211 @@ public class TagInfoManager {
     final int indexAlarmHighHigh = 35;
     final int indexType = 55;
     final int indexUnit = 56;
-    final int indexEnd = indexType + 1;
-
-    // Tag information
-    String tagName = "";
-    String tagDescription = "";
-    int tagId = TagConstants.UNINIT_INT_VAL;
-    TagType tagType = null;
-    boolean tagInGroupA = false;
-    boolean tagInGroupB = false;
-    boolean tagInGroupC = false;
-    boolean tagInGroupD = false;
-    boolean tagHistoricalLoggingEnabled = false;
-    boolean tagRealTimeLoggingEnabled = false;
-    String alarmHint = "";
-    float alarmLow = TagConstants.UNINIT_INT_VAL;
-    float alarmHigh = TagConstants.UNINIT_INT_VAL;
-    float alarmLowLow = TagConstants.UNINIT_INT_VAL;
-    float alarmHighHigh = TagConstants.UNINIT_INT_VAL;
+
+    // Find field bounds
+    final int[] fieldStarts = tagListFieldStarts;
+    final int[] fieldEnds = tagListFieldEnds;
+    int fieldCount = findTagListFieldBounds(line, lineLength, fieldStarts, fieldEnds);
+
+    // Unit is the last index, only form TagInfo object if line is complete
+    if (fieldCount <= indexUnit) {
+      return null;
+    }
+    int tagId = parseTagListIntField(line, fieldStarts[indexTagId], fieldEnds[indexTagId]);
+
+    // Remove double quotes from returned tag name and description
+    final boolean stripQuotes = true;
+    String tagName = getTagListStringField(line, fieldStarts, fieldEnds, indexName, stripQuotes);
+    String tagDescription =
+        getTagListStringField(line, fieldStarts, fieldEnds, indexDescription, stripQuotes);
+    String alarmHint =
+        getTagListStringField(line, fieldStarts, fieldEnds, indexAlarmHint, !stripQuotes);
+    String tagUnit = getTagListStringField(line, fieldStarts, fieldEnds, indexUnit, stripQuotes);
+
+    // Read boolean flags
+    boolean tagHistoricalLoggingEnabled =
+        isTagListFieldTrue(line, fieldStarts, fieldEnds, indexHistoricalLogging);
+    boolean tagRealTimeLoggingEnabled =
+        isTagListFieldTrue(line, fieldStarts, fieldEnds, indexRealTimeLogging);
+    boolean tagInGroupA = isTagListFieldTrue(line, fieldStarts, fieldEnds, indexGroupA);
+    boolean tagInGroupB = isTagListFieldTrue(line, fieldStarts, fieldEnds, indexGroupB);
+    boolean tagInGroupC = isTagListFieldTrue(line, fieldStarts, fieldEnds, indexGroupC);
+    boolean tagInGroupD = isTagListFieldTrue(line, fieldStarts, fieldEnds, indexGroupD);
+
+    // Read alarm values
+    float alarmLow = parseTagListFloatField(line, fieldStarts, fieldEnds, indexAlarmLow);
+    float alarmHigh = parseTagListFloatField(line, fieldStarts, fieldEnds, indexAlarmHigh);
+    float alarmLowLow = parseTagListFloatField(line, fieldStarts, fieldEnds, indexAlarmLowLow);
+    float alarmHighHigh =
+        parseTagListFloatField(line, fieldStarts, fieldEnds, indexAlarmHighHigh);
+    float alarmLevelDeadBand =
+        parseTagListFloatField(line, fieldStarts, fieldEnds, indexAlarmLevelDeadBand);
     int alarmTimeDeadBand = TagConstants.UNINIT_INT_VAL;
-    float alarmLevelDeadBand = TagConstants.UNINIT_INT_VAL;
-
-    // Tokenize line
-    final boolean returnDelimiters = false;
-    final String delimiter = ";";
-    QuoteSafeStringTokenizer quoteSafeStringTokenizer =
-        new QuoteSafeStringTokenizer(line, delimiter, returnDelimiters);
-
-    // Loop through tokens
-    while (quoteSafeStringTokenizer.hasMoreElements()
-        && quoteSafeStringTokenizer.getPrevTokenIndex() < indexEnd) {
-
-      // Read next token
-      String currentToken = quoteSafeStringTokenizer.nextToken();
-
-      // Read info from token
-      switch (quoteSafeStringTokenizer.getPrevTokenIndex()) {
-        case indexTagId:
-          // Store tag id
-          tagId = Integer.parseInt(currentToken);
-
-          // Store tag id if lowest or highest seen
-          if (lowestTagIdSeen == TagConstants.UNINIT_INT_VAL) {
-            lowestTagIdSeen = tagId;
-          } else if (tagId < lowestTagIdSeen) {
-            lowestTagIdSeen = tagId;
-          }
+    if (fieldEnds[indexAlarmTimeDeadBand] > fieldStarts[indexAlarmTimeDeadBand]) {
+      alarmTimeDeadBand =
+          parseTagListIntField(
+              line, fieldStarts[indexAlarmTimeDeadBand], fieldEnds[indexAlarmTimeDeadBand]);
+    }
 
-          if (highestTagIdSeen == TagConstants.UNINIT_INT_VAL) {
-            highestTagIdSeen = tagId;
-          } else if (tagId > highestTagIdSeen) {
-            highestTagIdSeen = tagId;
-          }
-          break;
-        case indexName:
-          // Remove double quotes from returned tag name and store
-          tagName = currentToken.substring(1, currentToken.length() - 1);
-          break;
-        case indexDescription:
-          // Remove double quotes from returned tag description and store
-          tagDescription = currentToken.substring(1, currentToken.length() - 1);
-          break;
-        case indexHistoricalLogging:
-          tagHistoricalLoggingEnabled = convertStrToBool(currentToken);
-          break;
-        case indexRealTimeLogging:
-          tagRealTimeLoggingEnabled = convertStrToBool(currentToken);
-          break;
-        case indexGroupA:
-          tagInGroupA = convertStrToBool(currentToken);
-          break;
-        case indexGroupB:
-          tagInGroupB = convertStrToBool(currentToken);
-          break;
-        case indexGroupC:
-          tagInGroupC = convertStrToBool(currentToken);
-          break;
-        case indexGroupD:
-          tagInGroupD = convertStrToBool(currentToken);
-          break;
-        case indexAlarmHint:
-          alarmHint = currentToken;
-          break;
-        case indexAlarmLow:
-          if (currentToken.length() > 0) {
-            alarmLow = Float.parseFloat(currentToken);
-          } else {
-            alarmLow = TagConstants.UNINIT_INT_VAL;
-          }
-          break;
-        case indexAlarmHigh:
-          if (currentToken.length() > 0) {
-            alarmHigh = Float.parseFloat(currentToken);
-          } else {
-            alarmHigh = TagConstants.UNINIT_INT_VAL;
-          }
-          break;
-        case indexAlarmLowLow:
-          if (currentToken.length() > 0) {
-            alarmLowLow = Float.parseFloat(currentToken);
-          } else {
-            alarmLowLow = TagConstants.UNINIT_INT_VAL;
-          }
-          break;
-        case indexAlarmHighHigh:
-          if (currentToken.length() > 0) {
-            alarmHighHigh = Float.parseFloat(currentToken);
-          } else {
-            alarmHighHigh = TagConstants.UNINIT_INT_VAL;
-          }
-          break;
-        case indexAlarmTimeDeadBand:
-          if (currentToken.length() > 0) {
-            alarmTimeDeadBand = Integer.parseInt(currentToken);
-          } else {
-            alarmTimeDeadBand = TagConstants.UNINIT_INT_VAL;
-          }
-          break;
-        case indexAlarmLevelDeadBand:
-          if (currentToken.length() > 0) {
-            alarmLevelDeadBand = Float.parseFloat(currentToken);
-          } else {
-            alarmLevelDeadBand = TagConstants.UNINIT_INT_VAL;
-          }
-          break;
-        case indexType:
-          int tagTypeInteger = Integer.parseInt(currentToken);
-
-          // Convert tag type integer to object
-          tagType = TagType.getTagTypeFromInt(tagTypeInteger);
-          break;
-        case indexUnit:
-          String tagUnit = currentToken;
-
-          // Remove wrapping quotes if present
-          final char doubleQuoteChar = '"';
-          final int firstCharIndex = 0;
-          final int secondCharIndex = 1;
-          final int lastCharIndex = tagUnit.length() - 1;
-
-          if (tagUnit.charAt(firstCharIndex) == doubleQuoteChar
-              && tagUnit.charAt(lastCharIndex) == doubleQuoteChar) {
-            tagUnit = tagUnit.substring(secondCharIndex, lastCharIndex);
-          }
+    // Convert tag type integer to object
+    int tagTypeInteger = parseTagListIntField(line, fieldStarts[indexType], fieldEnds[indexType]);
+    TagType tagType = TagType.getTagTypeFromInt(tagTypeInteger);
+
+    return buildTagInfoObject(
+        tagId,
+        tagName,
+        tagDescription,
+        tagHistoricalLoggingEnabled,
+        tagRealTimeLoggingEnabled,
+        tagInGroupA,
+        tagInGroupB,
+        tagInGroupC,
+        tagInGroupD,
+        tagType,
+        tagUnit,
+        alarmHint,
+        alarmLow,
+        alarmHigh,
+        alarmLowLow,
+        alarmHighHigh,
+        alarmTimeDeadBand,
+        alarmLevelDeadBand);
+  }
 
-          // Unit is the last index, form TagInfo object
-          createTagInfoObject(
-              tagId,
-              tagName,
-              tagDescription,
-              tagHistoricalLoggingEnabled,
-              tagRealTimeLoggingEnabled,
-              tagInGroupA,
-              tagInGroupB,
-              tagInGroupC,
-              tagInGroupD,
-              tagType,
-              tagUnit,
-              alarmHint,
-              alarmLow,
-              alarmHigh,
-              alarmLowLow,
-              alarmHighHigh,
-              alarmTimeDeadBand,
-              alarmLevelDeadBand);
-          break;
+  /**
+   * Finds the start and end offsets of the fields in the specified tag list line. Fields are
+   * separated by semicolons, and semicolons within double-quoted strings are ignored. At most
+   * <code>fieldStarts.length</code> fields are found.
+   *
+   * @param line EBD line byte buffer
+   * @param lineLength number of bytes of the line in the byte buffer
+   * @param fieldStarts array for storing the start offset of each field
+   * @param fieldEnds array for storing the end offset (exclusive) of each field
+   * @return number of fields found
+   */
+  private static int findTagListFieldBounds(
+      byte[] line, int lineLength, int[] fieldStarts, int[] fieldEnds) {
+    final byte delimiter = ';';
+    final byte doubleQuote = '"';
+    int fieldCount = 0;
+    int fieldStart = 0;
+    boolean inQuotedString = false;
+    for (int i = 0; i < lineLength && fieldCount < fieldStarts.length; i++) {
+      if (line[i] == doubleQuote) {
+        inQuotedString = !inQuotedString;
+      } else if (line[i] == delimiter && !inQuotedString) {
+        fieldStarts[fieldCount] = fieldStart;
+        fieldEnds[fieldCount] = i;
+        fieldCount++;
+        fieldStart = i + 1;
+      }
+    }
+
+    // Store final field (not followed by a delimiter)
+    if (fieldCount < fieldStarts.length && fieldStart < lineLength) {
+      fieldStarts[fieldCount] = fieldStart;
+      fieldEnds[fieldCount] = lineLength;
+      fieldCount++;
+    }
+    return fieldCount;
+  }
+
+  /**
+   * Gets the specified field of a tag list line as a string.
+   *
+   * @param line EBD line byte buffer
+   * @param fieldStarts start offset of each field
+   * @param fieldEnds end offset (exclusive) of each field
+   * @param fieldIndex index of the field to get
+   * @param stripQuotes true to remove wrapping double quotes, if present
+   * @return field string
+   */
+  private static String getTagListStringField(
+      byte[] line, int[] fieldStarts, int[] fieldEnds, int fieldIndex, boolean stripQuotes) {
+    final byte doubleQuote = '"';
+    int start = fieldStarts[fieldIndex];
+    int end = fieldEnds[fieldIndex];
+    if (stripQuotes
+        && end - start >= 2
+        && line[start] == doubleQuote
+        && line[end - 1] == doubleQuote) {
+      start++;
+      end--;
+    }
+    return new String(line, start, end - start);
+  }
+
+  /**
+   * Checks if the specified field of a tag list line is a string boolean true ("1").
+   *
+   * @param line EBD line byte buffer
+   * @param fieldStarts start offset of each field
+   * @param fieldEnds end offset (exclusive) of each field
+   * @param fieldIndex index of the field to check
+   * @return true if the field is "1"
+   */
+  private static boolean isTagListFieldTrue(
+      byte[] line, int[] fieldStarts, int[] fieldEnds, int fieldIndex) {
+    return fieldEnds[fieldIndex] - fieldStarts[fieldIndex] == 1
+        && line[fieldStarts[fieldIndex]] == '1';
+  }
+
+  /**
+   * Parses the specified field of a tag list line as a float, or returns {@link
+   * TagConstants#UNINIT_INT_VAL} if the field is empty.
+   *
+   * @param line EBD line byte buffer
+   * @param fieldStarts start offset of each field
+   * @param fieldEnds end offset (exclusive) of each field
+   * @param fieldIndex index of the field to parse
+   * @return parsed float value
+   * @throws NumberFormatException if the field is not a float
+   */
+  private static float parseTagListFloatField(
+      byte[] line, int[] fieldStarts, int[] fieldEnds, int fieldIndex) {
+    float value = TagConstants.UNINIT_INT_VAL;
+    if (fieldEnds[fieldIndex] > fieldStarts[fieldIndex]) {
+      final boolean stripQuotes = false;
+      value =
+          Float.parseFloat(
+              getTagListStringField(line, fieldStarts, fieldEnds, fieldIndex, stripQuotes));
+    }
+    return value;
+  }
+
+  /**
+   * Parses the bytes between the specified offsets of a tag list line as a decimal integer,
+   * without creating a string.
+   *
+   * @param line EBD line byte buffer
+   * @param start start offset of the integer
+   * @param end end offset (exclusive) of the integer
+   * @return parsed integer value
+   * @throws NumberFormatException if the bytes are not a decimal integer
+   */
+  private static int parseTagListIntField(byte[] line, int start, int end) {
+    final int radix = 10;
+    boolean negative = start < end && line[start] == '-';
+    int digitsStart = negative ? start + 1 : start;
+    if (digitsStart >= end) {
+      throw new NumberFormatException(
+          "Unable to parse integer from tag list field ["
+              + new String(line, start, end - start)
+              + "]");
+    }
+
+    int value = 0;
+    for (int i = digitsStart; i < end; i++) {
+      int digit = line[i] - '0';
+      if (digit < 0 || digit >= radix) {
+        throw new NumberFormatException(
+            "Unable to parse integer from tag list field ["
+                + new String(line, start, end - start)
+                + "]");
       }
+      value = value * radix + digit;
     }
+    return negative ? -value : value;
   }
 
   /**
@@ -438,7 +902,7 @@ public class TagInfoManager {
   }
 
   /**
-   * Creates a tag info object either with or without the tag int to string enumeration.
+   * Builds a tag info object either with or without the tag int to string enumeration.
    *
    * @param tagId the ID of a tag
    * @param tagName the name of a tag
@@ -463,7 +927,7 @@ public class TagInfoManager {
    * @throws NumberFormatException if the key defined in int to string enum mappings is not an
    *     integer
    */
-  private static void createTagInfoObject(
+  private static TagInfo buildTagInfoObject(
       int tagId,
       String tagName,
       String tagDescription,
@@ -486,15 +950,8 @@ public class TagInfoManager {
     String[] tagIntToStringMappings = null;
     boolean enumTag = false;
     if (enableIntToStringEnums) {
-      for (int tagListIndex = 0;
-          tagListIndex < intToStringEnumerationTagList.size();
-          tagListIndex++) {
-        if (((String) intToStringEnumerationTagList.get(tagListIndex)).equals(tagName)) {
-          enumTag = true;
-          tagIntToStringMappings = getIntStringEnumTagMappings(tagName);
-          break;
-        }
-      }
+      tagIntToStringMappings = getIntStringEnumMappingsForTag(tagName);
+      enumTag = tagIntToStringMappings != null;
     }
 
     TagInfo currentTagInfo;
@@ -543,115 +1000,171 @@ public class TagInfoManager {
               alarmTimeDeadBand,
               alarmLevelDeadBand);
     }
-    tagInfoList[tagInfoListInsertIndex] = currentTagInfo;
-    tagInfoListInsertIndex++;
+    return currentTagInfo;
   }
 
   /**
-   * Reads the enumeration file to get a list of tags that have int to string enumerations and
-   * stores the list. This must be done once at the start of the application and is handled when the
+   * Reads the enumeration file and parses the int to string enumeration mappings of every tag in
+   * its enumerated tag list into {@link #intToStringEnumerationMappings}. The file is parsed once,
+   * and is only parsed again when its size or last modified time changes. This is handled when the
    * TagInfoList is created.
    *
+   * @return true if the mappings were loaded or reloaded from the file, false if the file is
+   *     unchanged or int to string enumerations are not enabled
    * @throws IOException if int to string enumeration file read fails
    * @throws JSONException if int to string enumeration JSON parse fails
+   * @throws NumberFormatException if the key defined in int to string enum mappings is not an
+   *     integer
    */
-  private static void getIntStringEnumTags() throws IOException, JSONException {
+  private static boolean loadIntStringEnumMappings() throws IOException, JSONException {
+    boolean loaded = false;
     if (enableIntToStringEnums) {
-      ArrayList tagList = new ArrayList();
-      JSONObject allTagIntToStringMappingsJson;
-      JSONArray tagIntToStringMappingsJsonArray;
-      allTagIntToStringMappingsJson =
-          new JSONObject(FileAccessManager.readFileToString(INT_TO_STRING_ENUMERATION_FILE_NAME));
-      tagIntToStringMappingsJsonArray =
-          (JSONArray) allTagIntToStringMappingsJson.get("enumeratedTagList");
-      final int tagListJsonArrayLength = tagIntToStringMappingsJsonArray.length();
-      for (int i = 0; i < tagListJsonArrayLength; i++) {
-        String tagValueAsString = tagIntToStringMappingsJsonArray.getString(i);
-        tagList.add(tagValueAsString);
-      }
-      intToStringEnumerationTagList = tagList;
+      loaded = loadIntStringEnumMappings(new File(INT_TO_STRING_ENUMERATION_FILE_NAME));
     }
+    return loaded;
   }
 
   /**
-   * For a single tag, get the array of string mappings corresponding to the given integer tag.
+   * Reads the specified enumeration file and parses the int to string enumeration mappings of every
+   * tag in its enumerated tag list into {@link #intToStringEnumerationMappings}, unless the
+   * mappings were already loaded from a file with the same size and last modified time. See {@link
+   * #loadIntStringEnumMappings()}.
    *
-   * @param tagName the name of the Ewon tag
-   * @return an array of string mappings corresponding to the current integer tag
+   * @param enumerationFile int to string enumeration file
+   * @return true if the mappings were loaded or reloaded from the file, false if the file is
+   *     unchanged
    * @throws IOException if int to string enumeration file read fails
    * @throws JSONException if int to string enumeration JSON parse fails
    * @throws NumberFormatException if the key defined in int to string enum mappings is not an
    *     integer
+   * @since 1.17.0
    */
-  private static String[] getIntStringEnumTagMappings(String tagName)
+  static boolean loadIntStringEnumMappings(File enumerationFile)
       throws IOException, JSONException {
-    String[] tagStringMappings = null;
-    JSONObject tagIntToStringMappingsFileJson;
-    JSONObject tagIntToStringMappingsJson;
-    JSONArray tagIntToStringMappingsJsonArray;
-    if (enableIntToStringEnums) {
-      tagIntToStringMappingsFileJson =
-          new JSONObject(FileAccessManager.readFileToString(INT_TO_STRING_ENUMERATION_FILE_NAME));
-      tagIntToStringMappingsJson = (JSONObject) tagIntToStringMappingsFileJson.get("tags");
-      tagIntToStringMappingsJsonArray = (JSONArray) tagIntToStringMappingsJson.get(tagName);
-      final int length = tagIntToStringMappingsJsonArray.length();
-      int biggestIndex = 0;
-
-      /* Int to string enumerations are held in a JSON array of one key/value pair for each index in the array.
-       * To get the key of a key value pair, get the first(only) item returned by JSONObject.names()
-       * for the JSON object index.
-       */
-      final int tagIntToStringEnumStringKeyIndex = 0;
-      for (int jsonArrayIndex = 0; jsonArrayIndex < length; jsonArrayIndex++) {
-        int currentIndex =
-            Integer.parseInt(
-                (String)
-                    ((JSONObject) tagIntToStringMappingsJsonArray.get(jsonArrayIndex))
-                        .names()
-                        .get(tagIntToStringEnumStringKeyIndex));
-
-        biggestIndex = currentIndex > biggestIndex ? currentIndex : biggestIndex;
-      }
-      tagStringMappings = new String[biggestIndex + 1];
-      for (int i = 0; i < length; i++) {
-        JSONObject jsonObject = (JSONObject) tagIntToStringMappingsJsonArray.get(i);
-        String mappingKey = (String) jsonObject.names().get(tagIntToStringEnumStringKeyIndex);
-        String tagValueAsString = (String) jsonObject.get(mappingKey);
-        tagStringMappings[Integer.parseInt(mappingKey)] = tagValueAsString;
-      }
+    // Skip parsing if file is unchanged since the previous load
+    final long fileSize = enumerationFile.length();
+    final long fileLastModified = enumerationFile.lastModified();
+    if (intToStringEnumerationMappings != null
+        && fileSize == intToStringEnumerationFileSize
+        && fileLastModified == intToStringEnumerationFileLastModified) {
+      return false;
     }
-    return tagStringMappings;
+
+    // Parse file once and build mappings for each enumerated tag
+    JSONObject allTagIntToStringMappingsJson =
+        new JSONObject(FileAccessManager.readFileToString(enumerationFile));
+    JSONArray enumeratedTagListJsonArray =
+        (JSONArray) allTagIntToStringMappingsJson.get("enumeratedTagList");
+    JSONObject tagIntToStringMappingsJson = (JSONObject) allTagIntToStringMappingsJson.get("tags");
+    Map mappings = new HashMap();
+    final int tagListJsonArrayLength = enumeratedTagListJsonArray.length();
+    for (int i = 0; i < tagListJsonArrayLength; i++) {
+      String tagName = enumeratedTagListJsonArray.getString(i);
+      mappings.put(
+          tagName,
+          getIntStringEnumTagMappings((JSONArray) tagIntToStringMappingsJson.get(tagName)));
+    }
+
+    intToStringEnumerationMappings = mappings;
+    intToStringEnumerationFileSize = fileSize;
+    intToStringEnumerationFileLastModified = fileLastModified;
+    return true;
   }
 
   /**
-   * Convert a string boolean ("0"/"1") to boolean.
+   * Gets the int to string enumeration mappings of the specified tag from the most recently loaded
+   * int to string enumeration file.
    *
-   * @param stringBool string boolean ("0"/"1")
-   * @return converted boolean
+   * @param tagName the Ewon tag name
+   * @return string mapping of each integer value, or null if the tag is not enumerated or no
+   *     mappings have been loaded
+   * @since 1.17.0
    */
-  private static boolean convertStrToBool(String stringBool) {
-    return stringBool.equals("1");
+  static String[] getIntStringEnumMappingsForTag(String tagName) {
+    String[] tagIntToStringMappings = null;
+    if (intToStringEnumerationMappings != null) {
+      tagIntToStringMappings = (String[]) intToStringEnumerationMappings.get(tagName);
+    }
+    return tagIntToStringMappings;
   }
 
   /**
-   * Gets the tag info array populated by calling {@link #refreshTagList()}. If this method is
-   * called before {@link #refreshTagList()}, an {@link IllegalStateException} will be thrown.
+   * For a single tag, get the array of string mappings from the specified JSON array of int to
+   * string enumerations.
    *
-   * <p>Warning: TagInfo array has tags indexed by ID with an offset of the lowest tag ID. When
-   * accessing elements, the offset must be accounted for ( e.g. index = desiredID - lowestID).
+   * @param tagIntToStringMappingsJsonArray the JSON array of int to string enumerations for a tag
+   * @return an array of string mappings corresponding to the current integer tag
+   * @throws JSONException if int to string enumeration JSON parse fails
+   * @throws NumberFormatException if the key defined in int to string enum mappings is not an
+   *     integer
+   */
+  private static String[] getIntStringEnumTagMappings(JSONArray tagIntToStringMappingsJsonArray)
+      throws JSONException {
+    final int length = tagIntToStringMappingsJsonArray.length();
+    int biggestIndex = 0;
+
+    /* Int to string enumerations are held in a JSON array of one key/value pair for each index in
+     * the array. To get the key of a key value pair, get the first(only) item returned by
+     * JSONObject.names() for the JSON object index.
+     */
+    final int tagIntToStringEnumStringKeyIndex = 0;
+    for (int jsonArrayIndex = 0; jsonArrayIndex < length; jsonArrayIndex++) {
+      int currentIndex =
+          Integer.parseInt(
+              (String)
+                  ((JSONObject) tagIntToStringMappingsJsonArray.get(jsonArrayIndex))
+                      .names()
+                      .get(tagIntToStringEnumStringKeyIndex));
+
+      biggestIndex = currentIndex > biggestIndex ? currentIndex : biggestIndex;
+    }
+    String[] tagStringMappings = new String[biggestIndex + 1];
+    for (int i = 0; i < length; i++) {
+      JSONObject jsonObject = (JSONObject) tagIntToStringMappingsJsonArray.get(i);
+      String mappingKey = (String) jsonObject.names().get(tagIntToStringEnumStringKeyIndex);
+      String tagValueAsString = (String) jsonObject.get(mappingKey);
+      tagStringMappings[Integer.parseInt(mappingKey)] = tagValueAsString;
+    }
+    return tagStringMappings;
+  }
+
+  /**
+   * Gets the current snapshot of the tag information list populated by calling {@link
+   * #refreshTagList()}. The snapshot is immutable and is replaced by each refresh, so it can be
+   * held to perform several lookups against the same tag information list without locking. If this
+   * method is called before {@link #refreshTagList()}, an {@link IllegalStateException} will be
+   * thrown.
    *
+   * @return current tag information snapshot
    * @throws IllegalStateException when tag list has not been populated with {@link
    *     #refreshTagList()}
-   * @return populated tag information array
+   * @since 1.17.0
    */
-  public static synchronized TagInfo[] getTagInfoArray() throws IllegalStateException {
+  public static TagInfoSnapshot getTagInfoSnapshot() throws IllegalStateException {
     // Verify tag info list has been populated
-    if (tagInfoList == null) {
+    TagInfoSnapshot snapshot = tagInfoSnapshot;
+    if (snapshot == null) {
       throw new IllegalStateException(
           "Cannot get tag information list before calling refreshTagList()");
     }
 
-    return tagInfoList;
+    return snapshot;
+  }
+
+  /**
+   * Gets the tag info array populated by calling {@link #refreshTagList()}. If this method is
+   * called before {@link #refreshTagList()}, an {@link IllegalStateException} will be thrown.
+   *
+   * <p>Warning: TagInfo array has tags indexed by ID with an offset of the lowest tag ID. When
+   * accessing elements, the offset must be accounted for ( e.g. index = desiredID - lowestID). Use
+   * {@link #getTagInfoSnapshot()} to obtain the array and lowest tag ID from the same refresh.
+   *
+   * @throws IllegalStateException when tag list has not been populated with {@link
+   *     #refreshTagList()}
+   * @return populated tag information array
+   */
+  public static TagInfo[] getTagInfoArray() throws IllegalStateException {
+    return getTagInfoSnapshot().getTagInfoArray();
   }
 
   /**
@@ -661,14 +1174,90 @@ public class TagInfoManager {
    *
    * @throws IllegalStateException when tag list has not been populated with {@link
    *     #refreshTagList()}
-   * @throws IndexOutOfBoundsException when (tagId - {@link #lowestTagIdSeen}) is not an index
+   * @throws IndexOutOfBoundsException when (tagId - {@link #getLowestTagIdSeen()}) is not an index
    *     within the TagInfo array bounds.
    * @param tagId the Ewon tag ID
    * @return {@link TagInfo} object associated with the given tag ID
    */
-  public static synchronized TagInfo getTagInfoFromTagId(int tagId)
+  public static TagInfo getTagInfoFromTagId(int tagId)
       throws IllegalStateException, IndexOutOfBoundsException {
-    return ((TagInfo) getTagInfoArray()[tagId - lowestTagIdSeen]);
+    return getTagInfoSnapshot().getTagInfoFromTagId(tagId);
+  }
+
+  /**
+   * Gets a {@link TagInfo} object by tag name, using the tag name index populated by calling {@link
+   * #refreshTagList()}. If this method is called before {@link #refreshTagList()}, an {@link
+   * IllegalStateException} will be thrown.
+   *
+   * @param tagName the Ewon tag name
+   * @return {@link TagInfo} object associated with the given tag name, or null if no tag with the
+   *     given name was present during the previous call to {@link #refreshTagList()}
+   * @throws IllegalStateException when tag list has not been populated with {@link
+   *     #refreshTagList()}
+   * @since 1.17.0
+   */
+  public static TagInfo getTagInfoFromTagName(String tagName) throws IllegalStateException {
+    return getTagInfoSnapshot().getTagInfoFromTagName(tagName);
+  }
+
+  /**
+   * Gets a reusable {@link TagControl} handle for the tag with the specified ID. Handles are cached
+   * by tag ID (up to the configured capacity), so repeated reads and writes of the same tag do not
+   * create a new handle each time. Returned handles are shared, and must not be re-targeted using
+   * {@link TagControl#setTagName(String)}.
+   *
+   * @param tagId the Ewon tag ID
+   * @return {@link TagControl} handle for the tag, or null if no tag with the given ID was present
+   *     during the previous call to {@link #refreshTagList()}
+   * @throws IllegalStateException when tag list has not been populated with {@link
+   *     #refreshTagList()}
+   * @throws IndexOutOfBoundsException when (tagId - {@link #getLowestTagIdSeen()}) is not an index
+   *     within the TagInfo array bounds.
+   * @since 1.17.0
+   */
+  public static synchronized TagControl getTagControl(int tagId)
+      throws IllegalStateException, IndexOutOfBoundsException {
+    TagControl tagControl = null;
+    TagInfo tagInfo = getTagInfoFromTagId(tagId);
+    if (tagInfo != null) {
+      tagControl = tagControlCache.get(tagId, tagInfo.getName());
+    }
+    return tagControl;
+  }
+
+  /**
+   * Gets a {@link TagControl} handle for the tag with the specified name. If the tag is present in
+   * the tag name index populated by calling {@link #refreshTagList()}, a reusable handle is
+   * returned from the cache (see {@link #getTagControl(int)}). Otherwise, such as for tags added
+   * since the previous refresh, a new uncached handle is created.
+   *
+   * @param tagName the Ewon tag name
+   * @return {@link TagControl} handle for the tag
+   * @since 1.17.0
+   */
+  public static synchronized TagControl getTagControl(String tagName) {
+    TagControl tagControl;
+    TagInfoSnapshot snapshot = tagInfoSnapshot;
+    TagInfo tagInfo = snapshot != null ? snapshot.getTagInfoFromTagName(tagName) : null;
+    if (tagInfo != null) {
+      tagControl = tagControlCache.get(tagInfo.getId(), tagName);
+    } else {
+      tagControl = new TagControl();
+      tagControl.setTagName(tagName);
+    }
+    return tagControl;
+  }
+
+  /**
+   * Sets the maximum number of {@link TagControl} handles cached by {@link #getTagControl(int)} and
+   * {@link #getTagControl(String)}. Existing cached handles are discarded.
+   *
+   * @param capacity maximum number of cached handles
+   * @throws IllegalArgumentException if the capacity is less than 1
+   * @since 1.17.0
+   */
+  public static synchronized void setTagControlCacheCapacity(int capacity) {
+    tagControlCache = new TagControlCache(capacity);
   }
 
   /**
@@ -677,14 +1266,8 @@ public class TagInfoManager {
    *
    * @return populated tag information list
    */
-  public static synchronized List getTagInfoList() {
-    // Verify tag info list has been populated
-    if (tagInfoList == null) {
-      throw new IllegalStateException(
-          "Cannot get tag information list before calling refreshTagList()");
-    }
-
-    return Arrays.asList(tagInfoList);
+  public static List getTagInfoList() {
+    return Arrays.asList(getTagInfoSnapshot().getTagInfoArray());
   }
 
   /**
@@ -695,12 +1278,10 @@ public class TagInfoManager {
    * @param tagGroups tag groups to include
    * @return filtered tag information list
    */
-  public static synchronized List getTagInfoListFiltered(List tagGroups) {
+  public static List getTagInfoListFiltered(List tagGroups) {
     // Verify tag info list has been populated
-    if (tagInfoList == null) {
-      throw new IllegalStateException(
-          "Cannot get tag information list before calling refreshTagList()");
-    }
+    TagInfoSnapshot snapshot = getTagInfoSnapshot();
+    TagInfo[] tagInfoList = snapshot.getTagInfosById();
 
     /*
      * Create array list to store filtered tags.
@@ -712,24 +1293,19 @@ public class TagInfoManager {
     ArrayList filteredTagInfoList = new ArrayList(tagInfoList.length);
 
     // Loop through each tag in tag info list
-    for (int i = 0; i < tagInfoListInsertIndex; i++) {
-      // Get tag at array index and its group
+    for (int i = 0; i < tagInfoList.length; i++) {
+      // Get tag at array index
       TagInfo currentTagInfo = tagInfoList[i];
-      if (currentTagInfo != null) {
-        List currentTagGroups = currentTagInfo.getTagGroups();
-
-        // Check if tag belongs to a filter
-        boolean filterMatch = false;
-        for (int x = 0; x < tagGroups.size(); x++) {
-          if (currentTagGroups.contains(tagGroups.get(x))) {
-            filterMatch = true;
-          }
-        }
 
-        // If tag is in desired group(s), add to filtered tag info list
-        if (filterMatch) {
-          filteredTagInfoList.add(currentTagInfo);
-        }
+      // Check if tag belongs to a filter
+      boolean filterMatch = false;
+      for (int x = 0; x < tagGroups.size() && !filterMatch; x++) {
+        filterMatch = snapshot.isTagInGroup(currentTagInfo.getId(), (TagGroup) tagGroups.get(x));
+      }
+
+      // If tag is in desired group(s), add to filtered tag info list
+      if (filterMatch) {
+        filteredTagInfoList.add(currentTagInfo);
       }
     }
 
@@ -746,7 +1322,7 @@ public class TagInfoManager {
    * @param tagGroups tag groups to include
    * @return filtered tag information list
    */
-  public static synchronized List getTagInfoListFiltered(TagGroup[] tagGroups) {
+  public static List getTagInfoListFiltered(TagGroup[] tagGroups) {
     return getTagInfoListFiltered(Arrays.asList(tagGroups));
   }
 
@@ -755,11 +1331,14 @@ public class TagInfoManager {
    * specified tag group. If this method is called before {@link #refreshTagList()}, an {@link
    * IllegalStateException} will be thrown.
    *
+   * <p>The returned list is a modifiable copy. To avoid allocation, use {@link
+   * #getTagGroupMembers(TagGroup)}.
+   *
    * @param tagGroup tag group to include
    * @return filtered tag information list
    */
-  public static synchronized List getTagInfoListFiltered(TagGroup tagGroup) {
-    return getTagInfoListFiltered(new TagGroup[] {tagGroup});
+  public static List getTagInfoListFiltered(TagGroup tagGroup) {
+    return new ArrayList(getTagGroupMembers(tagGroup));
   }
 
   /**
@@ -767,21 +1346,72 @@ public class TagInfoManager {
    * specified tag group and have real time logging enabled. If this method is called before {@link
    * #refreshTagList()}, an {@link IllegalStateException} will be thrown.
    *
+   * <p>The returned list is a modifiable copy. To avoid allocation, use {@link
+   * #getRealTimeTagGroupMembers(TagGroup)}.
+   *
    * @param tagGroup tag group to include
    * @return filtered real time tag information list
    */
   public static ArrayList getRealTimeTagInfoListFiltered(TagGroup tagGroup) {
-    ArrayList allTags = (ArrayList) getTagInfoListFiltered(tagGroup);
-    ArrayList realTimeTags = new ArrayList();
-    if (allTags != null) {
-      for (int i = 0; i < allTags.size(); i++) {
-        TagInfo tag = (TagInfo) allTags.get(i);
-        if (tag.isRealTimeLogEnabled()) {
-          realTimeTags.add(tag);
-        }
-      }
-    }
-    return realTimeTags;
+    return new ArrayList(getRealTimeTagGroupMembers(tagGroup));
+  }
+
+  /**
+   * Gets an unmodifiable list of the tags in the specified tag group, in tag ID order. The list is
+   * built once per refresh of the tag information list, and is not updated by later refreshes. If
+   * this method is called before {@link #refreshTagList()}, an {@link IllegalStateException} will
+   * be thrown.
+   *
+   * @param tagGroup tag group
+   * @return unmodifiable list of tags in the tag group (Parameterized type: List&lt;TagInfo&gt;)
+   * @since 1.17.0
+   */
+  public static List getTagGroupMembers(TagGroup tagGroup) {
+    return getTagInfoSnapshot().getTagGroupMembers(tagGroup);
+  }
+
+  /**
+   * Gets an unmodifiable list of the tags in the specified tag group which have historical logging
+   * enabled, in tag ID order. The list is built once per refresh of the tag information list, and
+   * is not updated by later refreshes. If this method is called before {@link #refreshTagList()},
+   * an {@link IllegalStateException} will be thrown.
+   *
+   * @param tagGroup tag group
+   * @return unmodifiable list of historical logging tags in the tag group (Parameterized type:
+   *     List&lt;TagInfo&gt;)
+   * @since 1.17.0
+   */
+  public static List getHistoricalTagGroupMembers(TagGroup tagGroup) {
+    return getTagInfoSnapshot().getHistoricalTagGroupMembers(tagGroup);
+  }
+
+  /**
+   * Gets an unmodifiable list of the tags in the specified tag group which have real time logging
+   * enabled, in tag ID order. The list is built once per refresh of the tag information list, and
+   * is not updated by later refreshes. If this method is called before {@link #refreshTagList()},
+   * an {@link IllegalStateException} will be thrown.
+   *
+   * @param tagGroup tag group
+   * @return unmodifiable list of real time logging tags in the tag group (Parameterized type:
+   *     List&lt;TagInfo&gt;)
+   * @since 1.17.0
+   */
+  public static List getRealTimeTagGroupMembers(TagGroup tagGroup) {
+    return getTagInfoSnapshot().getRealTimeTagGroupMembers(tagGroup);
+  }
+
+  /**
+   * Gets a boolean indicating if the tag with the specified tag ID is in the specified tag group.
+   * If this method is called before {@link #refreshTagList()}, an {@link IllegalStateException}
+   * will be thrown.
+   *
+   * @param tagId tag ID
+   * @param tagGroup tag group
+   * @return true if the tag exists and is in the tag group
+   * @since 1.17.0
+   */
+  public static boolean isTagInGroup(int tagId, TagGroup tagGroup) {
+    return getTagInfoSnapshot().isTagInGroup(tagId, tagGroup);
   }
 
   /**
@@ -793,12 +1423,13 @@ public class TagInfoManager {
    */
   public static int getLowestTagIdSeen() {
     // Verify lowest tag ID seen variable is set
-    if (lowestTagIdSeen == TagConstants.UNINIT_INT_VAL) {
+    TagInfoSnapshot snapshot = tagInfoSnapshot;
+    if (snapshot == null || snapshot.getLowestTagId() == TagConstants.UNINIT_INT_VAL) {
       throw new IllegalStateException(
           "Cannot get lowest tag ID seen before calling refreshTagList()");
     }
 
-    return lowestTagIdSeen;
+    return snapshot.getLowestTagId();
   }
 
   /**
@@ -810,12 +1441,13 @@ public class TagInfoManager {
    */
   public static int getHighestTagIdSeen() {
     // Verify lowest tag ID seen variable is set
-    if (lowestTagIdSeen == TagConstants.UNINIT_INT_VAL) {
+    TagInfoSnapshot snapshot = tagInfoSnapshot;
+    if (snapshot == null || snapshot.getLowestTagId() == TagConstants.UNINIT_INT_VAL) {
       throw new IllegalStateException(
           "Cannot get lowest tag ID seen before calling refreshTagList()");
     }
 
-    return highestTagIdSeen;
+    return snapshot.getHighestTagId();
   }
 
   /**
@@ -824,13 +1456,16 @@ public class TagInfoManager {
    *
    * @return true if tag info list populated
    */
-  public static synchronized boolean isTagInfoListPopulated() {
-    return tagInfoList != null;
+  public static boolean isTagInfoListPopulated() {
+    return tagInfoSnapshot != null;
   }
 
   /**
    * Applies the specified log interval to the specified tag.
    *
+   * <p>The tag configuration is saved to flash for each call. To apply log intervals to many tags,
+   * use {@link #applyHistoricalLogRates(Map, HistoricalLogRateProgressListener)}.
+   *
    * @param tagName name of tag to modify
    * @param logInterval new historical log interval
    * @throws EWException if unable to apply historical log interval
@@ -838,7 +1473,7 @@ public class TagInfoManager {
   public static void applyHistoricalLogRateForTag(String tagName, String logInterval)
       throws EWException {
     SysControlBlock SCB = new SysControlBlock(SysControlBlock.TAG, tagName);
-    SCB.setItem("LogEnabled", "1");
+    SCB.setItem("LogEnabled", HISTORICAL_LOG_ENABLED_VALUE);
     SCB.setItem("LogTimer", logInterval);
     SCB.saveBlock();
   }
@@ -848,24 +1483,249 @@ public class TagInfoManager {
    * time waiting for this method to return, it is recommended that this method be called from a new
    * {@link Thread}.
    *
+   * <p>Tags which already have historical logging enabled with the specified log interval are not
+   * modified. See {@link #applyHistoricalLogRates(Map, HistoricalLogRateProgressListener)}.
+   *
    * @param tagGroup tag group to modify
    * @param logInterval new historical log interval
    * @throws EWException if unable to apply historical log interval
-   * @throws InterruptedException if unable to sleep between updating tags
+   * @throws InterruptedException if unable to sleep between saving tag configuration
    */
   public static void applyHistoricalLogRateForTagGroup(
       final TagGroup tagGroup, final String logInterval) throws EWException, InterruptedException {
-    // Define constant number of milliseconds to wait between applying each log intervals
-    final long millisToWaitBetweenTags = 10;
-
     // Get list of tags in group
-    List tagsInGroup = getTagInfoListFiltered(tagGroup);
+    List tagsInGroup = getTagGroupMembers(tagGroup);
 
-    // For each tag in group, apply log interval and sleep
+    // Apply log interval to each tag in group (in tag ID order)
+    Map tagLogIntervals = new LinkedHashMap(tagsInGroup.size() * 2);
     for (int x = 0; x < tagsInGroup.size(); x++) {
       TagInfo currentTagInfo = (TagInfo) tagsInGroup.get(x);
-      applyHistoricalLogRateForTag(currentTagInfo.getName(), logInterval);
-      Thread.sleep(millisToWaitBetweenTags);
+      tagLogIntervals.put(currentTagInfo.getName(), logInterval);
+    }
+    applyHistoricalLogRates(tagLogIntervals, null);
+  }
+
+  /**
+   * Applies the specified historical log intervals to the specified tags, and enables historical
+   * logging for each tag. To reduce the time waiting for this method to return, it is recommended
+   * that this method be called from a new {@link Thread}.
+   *
+   * <p>Tags which already have historical logging enabled with the specified log interval are not
+   * modified. Changed tag configurations are applied immediately, and saved to flash once per 500
+   * changed tags (and once after the final changed tag), instead of once per tag. If an exception
+   * stops the update partway, the tag configurations changed so far are saved to flash before the
+   * exception is thrown.
+   *
+   * <p>Tags are updated in the iteration order of the specified map, so a {@link LinkedHashMap} or
+   * {@link java.util.TreeMap} should be used when the order of updates matters.
+   *
+   * @param tagLogIntervals map of tag names to their new historical log interval (Parameterized
+   *     type: Map&lt;String, String&gt;)
+   * @param progressListener listener notified of progress, or null
+   * @return number of tags whose historical log interval was changed
+   * @throws EWException if unable to read or apply historical log interval
+   * @throws InterruptedException if unable to sleep between saving tag configuration
+   * @since 1.17.0
+   */
+  public static int applyHistoricalLogRates(
+      Map tagLogIntervals, HistoricalLogRateProgressListener progressListener)
+      throws EWException, InterruptedException {
+    return applyHistoricalLogRates(
+        tagLogIntervals, progressListener, TAG_CONFIGURATION_BLOCK_OPENER);
+  }
+
+  /**
+   * Applies the specified historical log intervals to the specified tags, using the tag
+   * configuration blocks opened by the specified opener. See {@link #applyHistoricalLogRates(Map,
+   * HistoricalLogRateProgressListener)}.
+   *
+   * @param tagLogIntervals map of tag names to their new historical log interval (Parameterized
+   *     type: Map&lt;String, String&gt;)
+   * @param progressListener listener notified of progress, or null
+   * @param blockOpener opener for the tag configuration block of each tag
+   * @return number of tags whose historical log interval was changed
+   * @throws EWException if unable to read or apply historical log interval
+   * @throws InterruptedException if unable to sleep between saving tag configuration
+   * @since 1.17.0
+   */
+  static int applyHistoricalLogRates(
+      Map tagLogIntervals,
+      HistoricalLogRateProgressListener progressListener,
+      TagConfigurationBlockOpener blockOpener)
+      throws EWException, InterruptedException {
+    // Define constant number of milliseconds to wait after each save to flash
+    final long millisToWaitAfterFlashSave = 10;
+
+    final int totalTagCount = tagLogIntervals.size();
+    int processedTagCount = 0;
+    int changedTagCount = 0;
+    int changedTagCountSinceFlashSave = 0;
+    SysControlBlock lastChangedSCB = null;
+    boolean completed = false;
+    try {
+      Iterator tagLogIntervalIterator = tagLogIntervals.entrySet().iterator();
+      while (tagLogIntervalIterator.hasNext()) {
+        Map.Entry tagLogInterval = (Map.Entry) tagLogIntervalIterator.next();
+        final String tagName = (String) tagLogInterval.getKey();
+        final String logInterval = (String) tagLogInterval.getValue();
+
+        // Apply log interval (without saving to flash) if different
+        SysControlBlock SCB = blockOpener.openTagConfigurationBlock(tagName);
+        if (!HISTORICAL_LOG_ENABLED_VALUE.equals(SCB.getItem("LogEnabled").trim())
+            || !logInterval.equals(SCB.getItem("LogTimer").trim())) {
+          SCB.setItem("LogEnabled", HISTORICAL_LOG_ENABLED_VALUE);
+          SCB.setItem("LogTimer", logInterval);
+          final boolean saveToFlash = false;
+          SCB.saveBlock(saveToFlash);
+          lastChangedSCB = SCB;
+          changedTagCount++;
+          changedTagCountSinceFlashSave++;
+        }
+        processedTagCount++;
+
+        // Save to flash after each batch of changed tags
+        if (changedTagCountSinceFlashSave >= HISTORICAL_LOG_RATE_TAGS_PER_FLASH_SAVE) {
+          saveHistoricalLogRatesToFlash(lastChangedSCB);
+          changedTagCountSinceFlashSave = 0;
+          Thread.sleep(millisToWaitAfterFlashSave);
+        }
+
+        // Notify progress listener after each batch of tags
+        if (progressListener != null
+            && processedTagCount % HISTORICAL_LOG_RATE_TAGS_PER_PROGRESS == 0
+            && processedTagCount != totalTagCount) {
+          progressListener.onHistoricalLogRateProgress(
+              processedTagCount, totalTagCount, changedTagCount);
+        }
+      }
+      completed = true;
+    } finally {
+      // Save remaining changed tags to flash, including when stopped by an exception
+      if (changedTagCountSinceFlashSave > 0) {
+        if (completed) {
+          saveHistoricalLogRatesToFlash(lastChangedSCB);
+        } else {
+          try {
+            saveHistoricalLogRatesToFlash(lastChangedSCB);
+          } catch (EWException e) {
+            Logger.LOG_WARN("Unable to save applied historical log intervals to flash.", e);
+          }
+        }
+      }
+    }
+
+    if (progressListener != null) {
+      progressListener.onHistoricalLogRateProgress(
+          processedTagCount, totalTagCount, changedTagCount);
+    }
+    Logger.LOG_DEBUG(
+        "Applied historical log intervals to "
+            + changedTagCount
+            + " of "
+            + totalTagCount
+            + " tags. Remaining tags were unchanged.");
+    return changedTagCount;
+  }
+
+  /**
+   * Saves the tag configuration, including previously applied (unsaved) historical log intervals,
+   * to flash using the specified tag configuration block.
+   *
+   * @param SCB tag configuration block to save
+   * @throws EWException if unable to save the tag configuration
+   */
+  private static void saveHistoricalLogRatesToFlash(SysControlBlock SCB) throws EWException {
+    final boolean saveToFlash = true;
+    SCB.saveBlock(saveToFlash);
+  }
+
+  /** Opener for the tag configuration blocks of tags. */
+  interface TagConfigurationBlockOpener {
+
+    /**
+     * Opens the tag configuration block of the specified tag.
+     *
+     * @param tagName the Ewon tag name
+     * @return tag configuration block of the tag
+     * @throws EWException if unable to open the tag configuration block
+     */
+    SysControlBlock openTagConfigurationBlock(String tagName) throws EWException;
+  }
+
+  /**
+   * Collector for the tag information objects and line hashes of each line of the tag list export,
+   * in export order.
+   */
+  private static class TagListCollector {
+
+    /** Collected tag information objects. */
+    private TagInfo[] tagInfos;
+
+    /** Hashes of the tag list line of each collected tag information object. */
+    private int[] lineHashes;
+
+    /** Number of collected tag information objects. */
+    private int count = 0;
+
+    /**
+     * Snapshot whose tag information objects are reused when the hash of their line is unchanged,
+     * instead of parsing the line, or null to parse every line.
+     */
+    private final TagInfoSnapshot reuseSnapshot;
+
+    /**
+     * Constructs a new tag list collector.
+     *
+     * @param expectedTagCount expected number of tags, used as the initial capacity
+     * @param reuseSnapshot snapshot to reuse tag information objects from for unchanged lines, or
+     *     null to parse every line
+     */
+    private TagListCollector(int expectedTagCount, TagInfoSnapshot reuseSnapshot) {
+      final int initialCapacity = Math.max(expectedTagCount, 1);
+      this.tagInfos = new TagInfo[initialCapacity];
+      this.lineHashes = new int[initialCapacity];
+      this.reuseSnapshot = reuseSnapshot;
+    }
+
+    /**
+     * Collects the tag information of the specified tag list line.
+     *
+     * @param line EBD line byte buffer
+     * @param lineLength number of bytes of the line in the byte buffer
+     * @param lineHash hash of the line
+     * @throws JSONException if int to string enumeration JSON parse fails
+     * @throws IOException if int to string enumeration file read fails
+     */
+    private void handleLine(byte[] line, int lineLength, int lineHash)
+        throws IOException, JSONException {
+      TagInfo tagInfo = null;
+
+      // Reuse existing tag information if line unchanged
+      if (reuseSnapshot != null && lineLength > 0) {
+        final int tableIndex = reuseSnapshot.getTableIndex(parseTagListTagId(line, lineLength));
+        if (tableIndex >= 0 && reuseSnapshot.getTagInfoLineHash(tableIndex) == lineHash) {
+          tagInfo = reuseSnapshot.getTableTagInfo(tableIndex);
+        }
+      }
+
+      // Otherwise parse line
+      if (tagInfo == null) {
+        tagInfo = parseTagListEBDLine(line, lineLength);
+      }
+
+      if (tagInfo != null) {
+        if (count == tagInfos.length) {
+          TagInfo[] grownTagInfos = new TagInfo[tagInfos.length * 2];
+          System.arraycopy(tagInfos, 0, grownTagInfos, 0, count);
+          tagInfos = grownTagInfos;
+          int[] grownLineHashes = new int[lineHashes.length * 2];
+          System.arraycopy(lineHashes, 0, grownLineHashes, 0, count);
+          lineHashes = grownLineHashes;
+        }
+        tagInfos[count] = tagInfo;
+        lineHashes[count] = lineHash;
+        count++;
+      }
     }
   }
 }
@@ -0,0 +1,508 @@
+package com.hms_networks.americas.sc.extensions.taginfo;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable snapshot of the tag information list, and the indexes and tag group membership tables
+ * built from it. A new snapshot is created by each refresh of the {@link TagInfoManager} tag
+ * information list and published by replacing the previous snapshot, so readers can use a snapshot
+ * without locking and always see a consistent tag information list, lowest tag ID and indexes.
+ *
+ * <p>Tags are stored in a table indexed by tag ID with an offset of the lowest tag ID (including
+ * gaps for unused tag IDs). If the range of tag IDs is more than {@link
+ * TagConstants#TAG_ID_SPARSE_MAP_RANGE_RATIO} times the number of tags, tags are instead stored in
+ * a {@link TagInfoIdMap}, so that memory use is proportional to the number of tags.
+ *
+ * <p>The current snapshot can be obtained using {@link TagInfoManager#getTagInfoSnapshot()}. Code
+ * which performs several lookups, such as while parsing a file, can hold a snapshot to ensure all
+ * lookups use the same tag information list.
+ *
+ * @author HMS Networks; Americas
+ * @since 1.17.0
+ * @version 1.0.0
+ */
+public final class TagInfoSnapshot {
+
+  /**
+   * Number of tag groups (A, B, C and D).
+   *
+   * @since 1.0.0
+   */
+  private static final int NUM_TAG_GROUPS = 4;
+
+  /**
+   * Tag information list, indexed by tag ID with an offset of the lowest tag ID (including gaps for
+   * unused tag IDs), or null if {@link #tagInfoIdMap} is used.
+   *
+   * @since 1.0.0
+   */
+  private final TagInfo[] tagInfoList;
+
+  /**
+   * Map of tag IDs to tag information, or null if {@link #tagInfoList} is used.
+   *
+   * @since 1.0.0
+   */
+  private final TagInfoIdMap tagInfoIdMap;
+
+  /**
+   * Tag information array spanning the full range of tag IDs, built by the first call to {@link
+   * #getTagInfoArray()} when {@link #tagInfoIdMap} is used, otherwise null.
+   *
+   * @since 1.0.0
+   */
+  private volatile TagInfo[] sparseTagInfoArray;
+
+  /**
+   * Tag information objects sorted by tag ID, without gaps.
+   *
+   * @since 1.0.0
+   */
+  private final TagInfo[] tagInfosById;
+
+  /**
+   * Hashes of each tag's line from the tag list export, indexed by table index (see {@link
+   * #getTableIndex(int)}). Used by {@link TagInfoManager#refreshTagListIfChanged()} to detect
+   * modified tags.
+   *
+   * @since 1.0.0
+   */
+  private final int[] tagInfoLineHashes;
+
+  /**
+   * The lowest tag ID in the tag information list.
+   *
+   * @since 1.0.0
+   */
+  private final int lowestTagId;
+
+  /**
+   * The highest tag ID in the tag information list.
+   *
+   * @since 1.0.0
+   */
+  private final int highestTagId;
+
+  /**
+   * Index of tag names to tag information objects.
+   *
+   * <p>Parameterized type: Map&lt;String, TagInfo&gt;
+   *
+   * @since 1.0.0
+   */
+  private final Map tagInfoNameIndex;
+
+  /**
+   * Unmodifiable lists of the tags in each tag group, indexed by tag group index (see {@link
+   * #getTagGroupIndex(TagGroup)}).
+   *
+   * <p>Parameterized type: List&lt;TagInfo&gt;[]
+   *
+   * @since 1.0.0
+   */
+  private final List[] tagGroupMembers;
+
+  /**
+   * Unmodifiable lists of the tags with historical logging enabled in each tag group, indexed by
+   * tag group index.
+   *
+   * <p>Parameterized type: List&lt;TagInfo&gt;[]
+   *
+   * @since 1.0.0
+   */
+  private final List[] tagGroupHistoricalMembers;
+
+  /**
+   * Unmodifiable lists of the tags with real time logging enabled in each tag group, indexed by tag
+   * group index.
+   *
+   * <p>Parameterized type: List&lt;TagInfo&gt;[]
+   *
+   * @since 1.0.0
+   */
+  private final List[] tagGroupRealTimeMembers;
+
+  /**
+   * Membership bits of each tag group, indexed by tag group index. Bits are indexed by table index
+   * (see {@link #getTableIndex(int)}).
+   *
+   * @since 1.0.0
+   */
+  private final BitSet[] tagGroupMemberBits;
+
+  /**
+   * Constructs a new snapshot of the specified tag information objects, building its tag ID table,
+   * tag name index and tag group membership tables. The specified tag information objects must
+   * have unique tag IDs.
+   *
+   * @param tagInfos tag information objects, in any order
+   * @param lineHashes hashes of each tag information object's line from the tag list export
+   * @param count number of tag information objects in the arrays
+   * @since 1.0.0
+   */
+  TagInfoSnapshot(TagInfo[] tagInfos, int[] lineHashes, int count) {
+    // Sort tags by ID and find lowest and highest tag IDs
+    TagInfo[] sortedTagInfos = new TagInfo[count];
+    System.arraycopy(tagInfos, 0, sortedTagInfos, 0, count);
+    Arrays.sort(
+        sortedTagInfos,
+        new Comparator() {
+          public int compare(Object o1, Object o2) {
+            final int tagId1 = ((TagInfo) o1).getId();
+            final int tagId2 = ((TagInfo) o2).getId();
+            return tagId1 < tagId2 ? -1 : (tagId1 == tagId2 ? 0 : 1);
+          }
+        });
+    this.tagInfosById = sortedTagInfos;
+    if (count > 0) {
+      this.lowestTagId = sortedTagInfos[0].getId();
+      this.highestTagId = sortedTagInfos[count - 1].getId();
+    } else {
+      this.lowestTagId = TagConstants.UNINIT_INT_VAL;
+      this.highestTagId = TagConstants.UNINIT_INT_VAL;
+    }
+
+    // Build dense table, or sparse map if tag ID range is too large
+    final long tagIdRange = count > 0 ? (long) highestTagId - lowestTagId + 1 : 0;
+    final int tableLength;
+    if (tagIdRange > (long) count * TagConstants.TAG_ID_SPARSE_MAP_RANGE_RATIO) {
+      this.tagInfoList = null;
+      this.tagInfoIdMap = new TagInfoIdMap(count);
+      tableLength = tagInfoIdMap.getCapacity();
+    } else {
+      this.tagInfoList = new TagInfo[(int) tagIdRange];
+      this.tagInfoIdMap = null;
+      tableLength = tagInfoList.length;
+    }
+    this.tagInfoLineHashes = new int[tableLength];
+    for (int i = 0; i < count; i++) {
+      TagInfo tagInfo = tagInfos[i];
+      final int tableIndex;
+      if (tagInfoIdMap != null) {
+        tableIndex = tagInfoIdMap.put(tagInfo);
+      } else {
+        tableIndex = tagInfo.getId() - lowestTagId;
+        tagInfoList[tableIndex] = tagInfo;
+      }
+      tagInfoLineHashes[tableIndex] = lineHashes[i];
+    }
+
+    // Count tags in each group to size the tables, and build name index
+    Map nameIndex = new HashMap(count * 2);
+    int[] memberCounts = new int[NUM_TAG_GROUPS];
+    int[] historicalMemberCounts = new int[NUM_TAG_GROUPS];
+    int[] realTimeMemberCounts = new int[NUM_TAG_GROUPS];
+    BitSet[] memberBits = new BitSet[NUM_TAG_GROUPS];
+    for (int groupIndex = 0; groupIndex < NUM_TAG_GROUPS; groupIndex++) {
+      memberBits[groupIndex] = new BitSet(tableLength);
+    }
+    for (int i = 0; i < count; i++) {
+      TagInfo tagInfo = sortedTagInfos[i];
+      nameIndex.put(tagInfo.getName(), tagInfo);
+      final int tableIndex = getTableIndex(tagInfo.getId());
+      List tagGroups = tagInfo.getTagGroups();
+      for (int x = 0; x < tagGroups.size(); x++) {
+        final int groupIndex = getTagGroupIndex((TagGroup) tagGroups.get(x));
+        memberBits[groupIndex].set(tableIndex);
+        memberCounts[groupIndex]++;
+        if (tagInfo.isHistoricalLogEnabled()) {
+          historicalMemberCounts[groupIndex]++;
+        }
+        if (tagInfo.isRealTimeLogEnabled()) {
+          realTimeMemberCounts[groupIndex]++;
+        }
+      }
+    }
+
+    // Fill tables in tag ID order
+    List[] members = new List[NUM_TAG_GROUPS];
+    List[] historicalMembers = new List[NUM_TAG_GROUPS];
+    List[] realTimeMembers = new List[NUM_TAG_GROUPS];
+    for (int groupIndex = 0; groupIndex < NUM_TAG_GROUPS; groupIndex++) {
+      TagInfo[] groupMembers = new TagInfo[memberCounts[groupIndex]];
+      TagInfo[] groupHistoricalMembers = new TagInfo[historicalMemberCounts[groupIndex]];
+      TagInfo[] groupRealTimeMembers = new TagInfo[realTimeMemberCounts[groupIndex]];
+      int memberIndex = 0;
+      int historicalMemberIndex = 0;
+      int realTimeMemberIndex = 0;
+      BitSet groupMemberBits = memberBits[groupIndex];
+      for (int i = 0; i < count; i++) {
+        TagInfo tagInfo = sortedTagInfos[i];
+        if (!groupMemberBits.get(getTableIndex(tagInfo.getId()))) {
+          continue;
+        }
+        groupMembers[memberIndex++] = tagInfo;
+        if (tagInfo.isHistoricalLogEnabled()) {
+          groupHistoricalMembers[historicalMemberIndex++] = tagInfo;
+        }
+        if (tagInfo.isRealTimeLogEnabled()) {
+          groupRealTimeMembers[realTimeMemberIndex++] = tagInfo;
+        }
+      }
+      members[groupIndex] = Collections.unmodifiableList(Arrays.asList(groupMembers));
+      historicalMembers[groupIndex] =
+          Collections.unmodifiableList(Arrays.asList(groupHistoricalMembers));
+      realTimeMembers[groupIndex] =
+          Collections.unmodifiableList(Arrays.asList(groupRealTimeMembers));
+    }
+
+    this.tagInfoNameIndex = nameIndex;
+    this.tagGroupMembers = members;
+    this.tagGroupHistoricalMembers = historicalMembers;
+    this.tagGroupRealTimeMembers = realTimeMembers;
+    this.tagGroupMemberBits = memberBits;
+  }
+
+  /**
+   * Gets the tag information array of the snapshot.
+   *
+   * <p>Warning: TagInfo array has tags indexed by ID with an offset of the lowest tag ID. When
+   * accessing elements, the offset must be accounted for ( e.g. index = desiredID - lowestID). The
+   * array is shared, and must not be modified.
+   *
+   * <p>If the snapshot uses a sparse tag ID map (see {@link #isSparse()}), an array spanning the
+   * full range of tag IDs is created by the first call and reused by later calls on the same
+   * snapshot. Use {@link #getTagInfoFromTagId(int)} or {@link #getTagInfosById()} instead to avoid
+   * creating it.
+   *
+   * @return tag information array
+   * @since 1.0.0
+   */
+  public TagInfo[] getTagInfoArray() {
+    TagInfo[] tagInfoArray = tagInfoList;
+    if (tagInfoArray == null) {
+      tagInfoArray = sparseTagInfoArray;
+      if (tagInfoArray == null) {
+        // Fully built before publishing, so concurrent callers may only build a duplicate array
+        final int tagIdRange =
+            tagInfosById.length > 0 ? highestTagId - lowestTagId + 1 : tagInfosById.length;
+        tagInfoArray = new TagInfo[tagIdRange];
+        for (int i = 0; i < tagInfosById.length; i++) {
+          tagInfoArray[tagInfosById[i].getId() - lowestTagId] = tagInfosById[i];
+        }
+        sparseTagInfoArray = tagInfoArray;
+      }
+    }
+    return tagInfoArray;
+  }
+
+  /**
+   * Gets the tag information objects of the snapshot, sorted by tag ID and without gaps. The array
+   * is shared, and must not be modified.
+   *
+   * @return tag information objects sorted by tag ID
+   * @since 1.0.0
+   */
+  public TagInfo[] getTagInfosById() {
+    return tagInfosById;
+  }
+
+  /**
+   * Gets the number of tags in the snapshot.
+   *
+   * @return number of tags
+   * @since 1.0.0
+   */
+  public int getTagCount() {
+    return tagInfosById.length;
+  }
+
+  /**
+   * Gets a boolean indicating if the snapshot stores tags in a sparse {@link TagInfoIdMap} instead
+   * of a table spanning the full range of tag IDs.
+   *
+   * @return true if a sparse tag ID map is used
+   * @since 1.0.0
+   */
+  public boolean isSparse() {
+    return tagInfoIdMap != null;
+  }
+
+  /**
+   * Gets the {@link TagInfo} object with the specified tag ID.
+   *
+   * @param tagId the Ewon tag ID
+   * @return {@link TagInfo} object associated with the given tag ID, or null for a gap in tag IDs
+   * @throws IndexOutOfBoundsException when the tag ID is lower than {@link #getLowestTagId()} or
+   *     higher than {@link #getHighestTagId()}.
+   * @since 1.0.0
+   */
+  public TagInfo getTagInfoFromTagId(int tagId) throws IndexOutOfBoundsException {
+    TagInfo tagInfo;
+    if (tagInfoIdMap != null) {
+      if (tagId < lowestTagId || tagId > highestTagId) {
+        throw new IndexOutOfBoundsException("Tag ID " + tagId + " is out of range.");
+      }
+      tagInfo = tagInfoIdMap.get(tagId);
+    } else {
+      tagInfo = tagInfoList[tagId - lowestTagId];
+    }
+    return tagInfo;
+  }
+
+  /**
+   * Gets the {@link TagInfo} object with the specified tag name.
+   *
+   * @param tagName the Ewon tag name
+   * @return {@link TagInfo} object associated with the given tag name, or null if not present
+   * @since 1.0.0
+   */
+  public TagInfo getTagInfoFromTagName(String tagName) {
+    return (TagInfo) tagInfoNameIndex.get(tagName);
+  }
+
+  /**
+   * Gets the lowest tag ID in the snapshot.
+   *
+   * @return lowest tag ID, or {@link TagConstants#UNINIT_INT_VAL} if the snapshot has no tags
+   * @since 1.0.0
+   */
+  public int getLowestTagId() {
+    return lowestTagId;
+  }
+
+  /**
+   * Gets the highest tag ID in the snapshot.
+   *
+   * @return highest tag ID, or {@link TagConstants#UNINIT_INT_VAL} if the snapshot has no tags
+   * @since 1.0.0
+   */
+  public int getHighestTagId() {
+    return highestTagId;
+  }
+
+  /**
+   * Gets an unmodifiable list of the tags in the specified tag group, in tag ID order.
+   *
+   * @param tagGroup tag group
+   * @return unmodifiable list of tags in the tag group (Parameterized type: List&lt;TagInfo&gt;)
+   * @since 1.0.0
+   */
+  public List getTagGroupMembers(TagGroup tagGroup) {
+    return tagGroupMembers[getTagGroupIndex(tagGroup)];
+  }
+
+  /**
+   * Gets an unmodifiable list of the tags in the specified tag group which have historical logging
+   * enabled, in tag ID order.
+   *
+   * @param tagGroup tag group
+   * @return unmodifiable list of historical logging tags in the tag group (Parameterized type:
+   *     List&lt;TagInfo&gt;)
+   * @since 1.0.0
+   */
+  public List getHistoricalTagGroupMembers(TagGroup tagGroup) {
+    return tagGroupHistoricalMembers[getTagGroupIndex(tagGroup)];
+  }
+
+  /**
+   * Gets an unmodifiable list of the tags in the specified tag group which have real time logging
+   * enabled, in tag ID order.
+   *
+   * @param tagGroup tag group
+   * @return unmodifiable list of real time logging tags in the tag group (Parameterized type:
+   *     List&lt;TagInfo&gt;)
+   * @since 1.0.0
+   */
+  public List getRealTimeTagGroupMembers(TagGroup tagGroup) {
+    return tagGroupRealTimeMembers[getTagGroupIndex(tagGroup)];
+  }
+
+  /**
+   * Gets a boolean indicating if the tag with the specified tag ID is in the specified tag group.
+   *
+   * @param tagId tag ID
+   * @param tagGroup tag group
+   * @return true if the tag exists and is in the tag group
+   * @since 1.0.0
+   */
+  public boolean isTagInGroup(int tagId, TagGroup tagGroup) {
+    final int tableIndex = getTableIndex(tagId);
+    return tableIndex >= 0 && tagGroupMemberBits[getTagGroupIndex(tagGroup)].get(tableIndex);
+  }
+
+  /**
+   * Gets the table index of the tag with the specified tag ID. Table indices are in the range of 0
+   * (inclusive) to {@link #getTableLength()} (exclusive).
+   *
+   * @param tagId tag ID
+   * @return table index of the tag, or -1 if the snapshot does not contain the tag ID
+   * @since 1.0.0
+   */
+  int getTableIndex(int tagId) {
+    int tableIndex = -1;
+    if (tagInfoIdMap != null) {
+      tableIndex = tagInfoIdMap.indexOf(tagId);
+    } else {
+      final int offsetTagId = tagId - lowestTagId;
+      if (offsetTagId >= 0
+          && offsetTagId < tagInfoList.length
+          && tagInfoList[offsetTagId] != null) {
+        tableIndex = offsetTagId;
+      }
+    }
+    return tableIndex;
+  }
+
+  /**
+   * Gets the number of table indices.
+   *
+   * @return table length
+   * @since 1.0.0
+   */
+  int getTableLength() {
+    return tagInfoLineHashes.length;
+  }
+
+  /**
+   * Gets the tag information object at the specified table index.
+   *
+   * @param tableIndex table index
+   * @return tag information object, or null if there is no tag at the table index
+   * @since 1.0.0
+   */
+  TagInfo getTableTagInfo(int tableIndex) {
+    return tagInfoIdMap != null ? tagInfoIdMap.getAt(tableIndex) : tagInfoList[tableIndex];
+  }
+
+  /**
+   * Gets the hash of the tag list export line of the tag at the specified table index.
+   *
+   * @param tableIndex table index
+   * @return hash of the tag's tag list export line
+   * @since 1.0.0
+   */
+  int getTagInfoLineHash(int tableIndex) {
+    return tagInfoLineHashes[tableIndex];
+  }
+
+  /**
+   * Gets the index of the specified tag group in the tag group membership tables.
+   *
+   * @param tagGroup tag group
+   * @return index of the tag group
+   * @throws IllegalArgumentException if the tag group is null or unknown
+   * @since 1.0.0
+   */
+  private static int getTagGroupIndex(TagGroup tagGroup) {
+    final int groupIndex;
+    if (tagGroup == TagGroup.A) {
+      groupIndex = 0;
+    } else if (tagGroup == TagGroup.B) {
+      groupIndex = 1;
+    } else if (tagGroup == TagGroup.C) {
+      groupIndex = 2;
+    } else if (tagGroup == TagGroup.D) {
+      groupIndex = 3;
+    } else {
+      throw new IllegalArgumentException("Unknown tag group: " + tagGroup);
+    }
+    return groupIndex;
+  }
+}
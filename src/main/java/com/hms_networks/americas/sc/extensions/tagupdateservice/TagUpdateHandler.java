@@ -21,12 +21,6 @@ import java.util.Map.Entry;
  */
 public class TagUpdateHandler {
 
-  /**
-   * Constant integer value used to indicate a non-found or missing tag ID when checking if a tag is
-   * present.
-   */
-  private static final int TAG_UPDATE_MESSAGE_TAG_ID_EMPTY = -1;
-
   /** Constant string value used to access the message ID field in tag update messages. */
   private static final String TAG_UPDATE_MESSAGE_ID_KEY = "id";
 
@@ -120,9 +114,8 @@ public class TagUpdateHandler {
         String currTagType = tagObject.getString(TAG_UPDATE_MESSAGE_TAG_TYPE_KEY);
         currTagName = tagObject.getString(TAG_UPDATE_MESSAGE_TAG_NAME_KEY);
 
-        // Create tag control object
-        TagControl currTagControl = new TagControl();
-        currTagControl.setTagName(currTagName);
+        // Get (cached) tag control object
+        TagControl currTagControl = TagInfoManager.getTagControl(currTagName);
 
         // Backup previous value (if enabled) and set new value with proper data type
         if (currTagType.equals(TAG_UPDATE_MESSAGE_TAG_TYPE_INTEGER_STRING)) {
@@ -210,9 +203,8 @@ public class TagUpdateHandler {
         final String previousTagName = (String) previousValEntry.getKey();
         final Object previousTagValue = previousValEntry.getValue();
 
-        // Create tag control object
-        TagControl previousTagControl = new TagControl();
-        previousTagControl.setTagName(previousTagName);
+        // Get (cached) tag control object
+        TagControl previousTagControl = TagInfoManager.getTagControl(previousTagName);
 
         // Restore previous tag value according to type (note: boolean is stored as integer 0/1)
         try {
@@ -261,14 +253,13 @@ public class TagUpdateHandler {
   }
 
   /**
-   * Check if the tag with the specified tag ID on the Ewon matches the specified expected tag type.
+   * Check if the tag with the specified tag information matches the specified expected tag type.
    *
-   * @param tagId Ewon tag ID
+   * @param tagInfo Ewon tag information
    * @param expectedTagType expected tag type
    * @return true/false indicating if tag type matches
    */
-  private static boolean doesTagTypeMatch(int tagId, String expectedTagType) {
-    final TagInfo tagInfo = TagInfoManager.getTagInfoFromTagId(tagId);
+  private static boolean doesTagTypeMatch(TagInfo tagInfo, String expectedTagType) {
     boolean matches = true;
     if (expectedTagType.equals(TAG_UPDATE_MESSAGE_TAG_TYPE_INTEGER_STRING)
         && tagInfo.getType() != TagType.INTEGER
@@ -355,31 +346,29 @@ public class TagUpdateHandler {
             && tagObject.has(TAG_UPDATE_MESSAGE_TAG_VALUE_KEY)) {
           String tagName = tagObject.getString(TAG_UPDATE_MESSAGE_TAG_NAME_KEY);
           String tagType = tagObject.getString(TAG_UPDATE_MESSAGE_TAG_TYPE_KEY);
-          int tagId = TAG_UPDATE_MESSAGE_TAG_ID_EMPTY;
+          TagInfo tagInfo = null;
 
-          // Create tag control to check if tag exists and get ID for type lookup
+          // Get tag information from the tag name index to check if tag exists and get its type
           try {
-            TagControl tagControl = new TagControl();
-            tagControl.setTagName(tagName);
-            tagId = tagControl.getTagId();
-          } catch (Exception e) {
+            tagInfo = TagInfoManager.getTagInfoFromTagName(tagName);
+          } catch (IllegalStateException e) {
+            Logger.LOG_EXCEPTION(e);
+          }
+
+          // If tag exists, check that tag type matches
+          if (tagInfo == null) {
             Logger.LOG_SERIOUS(
                 "A tag update request response was received with a tag ("
                     + tagName
                     + ") that does not "
                     + "exist and will not be processed.");
             tagUpdateResult = TagUpdateResult.MISSING_TAGS;
-          }
-
-          // If tag exists, check that tag type matches
-          if (tagId != TAG_UPDATE_MESSAGE_TAG_ID_EMPTY) {
-            if (!doesTagTypeMatch(tagId, tagType)) {
-              Logger.LOG_SERIOUS(
-                  "A tag update request response was received with a tag ("
-                      + tagName
-                      + ") that has mismatched types and will not be processed.");
-              tagUpdateResult = TagUpdateResult.MISMATCHED_TAG_TYPES;
-            }
+          } else if (!doesTagTypeMatch(tagInfo, tagType)) {
+            Logger.LOG_SERIOUS(
+                "A tag update request response was received with a tag ("
+                    + tagName
+                    + ") that has mismatched types and will not be processed.");
+            tagUpdateResult = TagUpdateResult.MISMATCHED_TAG_TYPES;
           }
         } else {
           Logger.LOG_SERIOUS(
@@ -1,3 +1,24 @@
+import com.hms_networks.americas.sc.extensions.datapoint.DataPointNumberTest;
+import com.hms_networks.americas.sc.extensions.datapoint.codec.DataPointBinaryCodecTest;
+import com.hms_networks.americas.sc.extensions.mqtt.ConstrainedMqttManagerTest;
+import com.hms_networks.americas.sc.extensions.mqtt.MqttManagerTest;
+import com.hms_networks.americas.sc.extensions.mqtt.MqttOfflineBufferTest;
+import com.hms_networks.americas.sc.extensions.mqtt.MqttPublishBatchTest;
+import com.hms_networks.americas.sc.extensions.mqtt.MqttPublishRateLimiterTest;
+import com.hms_networks.americas.sc.extensions.mqtt.MqttTopicDispatcherTest;
+import com.hms_networks.americas.sc.extensions.realtimedata.InstantValuesEbdReaderTest;
+import com.hms_networks.americas.sc.extensions.realtimedata.InstantValuesSnapshotDifferTest;
+import com.hms_networks.americas.sc.extensions.realtimedata.RealTimeDataPointBatchTest;
+import com.hms_networks.americas.sc.extensions.realtimedata.RealTimeDataQueueManagerTest;
+import com.hms_networks.americas.sc.extensions.realtimedata.RealTimeGroupDrainerTest;
+import com.hms_networks.americas.sc.extensions.realtimedata.RealTimeSampleSchedulerTest;
+import com.hms_networks.americas.sc.extensions.realtimedata.RealTimeTagDataPointBufferTest;
+import com.hms_networks.americas.sc.extensions.realtimedata.RealTimeValueChangeListenerTest;
+import com.hms_networks.americas.sc.extensions.realtimedata.RealTimeYieldPolicyTest;
+import com.hms_networks.americas.sc.extensions.taginfo.TagInfoCacheFileTest;
+import com.hms_networks.americas.sc.extensions.taginfo.TagInfoIdMapTest;
+import com.hms_networks.americas.sc.extensions.taginfo.TagInfoManagerTest;
+import com.hms_networks.americas.sc.extensions.taginfo.TagInfoSnapshotTest;
 import com.hms_networks.americas.sc.extensions.taginfo.TagInfoTest;
 import com.hms_networks.americas.sc.extensions.util.RawNumberValueUtilsTest;
 
@@ -18,5 +39,26 @@ public class LibraryTest {
   public static void main(String[] args) {
     junit.textui.TestRunner.run(TagInfoTest.class);
     junit.textui.TestRunner.run(RawNumberValueUtilsTest.class);
+    junit.textui.TestRunner.run(DataPointNumberTest.class);
+    junit.textui.TestRunner.run(DataPointBinaryCodecTest.class);
+    junit.textui.TestRunner.run(TagInfoIdMapTest.class);
+    junit.textui.TestRunner.run(TagInfoCacheFileTest.class);
+    junit.textui.TestRunner.run(TagInfoManagerTest.class);
+    junit.textui.TestRunner.run(TagInfoSnapshotTest.class);
+    junit.textui.TestRunner.run(RealTimeTagDataPointBufferTest.class);
+    junit.textui.TestRunner.run(InstantValuesEbdReaderTest.class);
+    junit.textui.TestRunner.run(InstantValuesSnapshotDifferTest.class);
+    junit.textui.TestRunner.run(RealTimeSampleSchedulerTest.class);
+    junit.textui.TestRunner.run(RealTimeGroupDrainerTest.class);
+    junit.textui.TestRunner.run(RealTimeDataPointBatchTest.class);
+    junit.textui.TestRunner.run(RealTimeDataQueueManagerTest.class);
+    junit.textui.TestRunner.run(RealTimeYieldPolicyTest.class);
+    junit.textui.TestRunner.run(RealTimeValueChangeListenerTest.class);
+    junit.textui.TestRunner.run(MqttPublishBatchTest.class);
+    junit.textui.TestRunner.run(MqttOfflineBufferTest.class);
+    junit.textui.TestRunner.run(MqttPublishRateLimiterTest.class);
+    junit.textui.TestRunner.run(MqttTopicDispatcherTest.class);
+    junit.textui.TestRunner.run(MqttManagerTest.class);
+    junit.textui.TestRunner.run(ConstrainedMqttManagerTest.class);
   }
 }
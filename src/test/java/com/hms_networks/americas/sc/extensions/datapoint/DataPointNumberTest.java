@@ -0,0 +1,193 @@
+package com.hms_networks.americas.sc.extensions.datapoint;
+
+import junit.framework.TestCase;
+
+/**
+ * Library test class for the {@link DataPointNumber} class and its primitive-backed subclasses,
+ * {@link DataPointLong} and {@link DataPointDouble}, in the Ewon Flexy Extensions Library.
+ *
+ * @author HMS Networks; Americas
+ * @since 1.17.0
+ * @version 1.0.0
+ */
+public class DataPointNumberTest extends TestCase {
+
+  /**
+   * Name of the tag used for test data points.
+   *
+   * @since 1.0.0
+   */
+  private static final String TEST_TAG_NAME = "NumberTag";
+
+  /**
+   * ID of the tag used for test data points.
+   *
+   * @since 1.0.0
+   */
+  private static final int TEST_TAG_ID = 12;
+
+  /**
+   * Unit of the tag used for test data points.
+   *
+   * @since 1.0.0
+   */
+  private static final String TEST_TAG_UNIT = "bar";
+
+  /**
+   * Timestamp (UNIX epoch seconds) of test data points.
+   *
+   * @since 1.0.0
+   */
+  private static final String TEST_TIMESTAMP = "1700000000";
+
+  /**
+   * Timestamp (ISO 8601 format) of test data points.
+   *
+   * @since 1.0.0
+   */
+  private static final String TEST_ISO8601_TIMESTAMP = "2023-11-14T22:13:20Z";
+
+  /**
+   * Test case to verify that a {@link DataPointLong} returns its value as a primitive, a {@link
+   * Long} and a string, and that setting and cloning keep the value and tag information.
+   *
+   * @throws CloneNotSupportedException if unable to clone the data point
+   * @since 1.0.0
+   */
+  public void testLongValue() throws CloneNotSupportedException {
+    DataPointLong dataPoint = buildLong(-7);
+    assertEquals(-7, dataPoint.getLongValue());
+    assertEquals(-7, dataPoint.getDoubleValue(), 0);
+    assertEquals(new Long(-7), dataPoint.getValue());
+    assertEquals(new Long(-7), dataPoint.getValueObject());
+    assertEquals("-7", dataPoint.getValueString());
+    assertEquals(DataType.NUMBER, dataPoint.getType());
+
+    // Values beyond the range of an int are kept
+    dataPoint.setValue(Long.MAX_VALUE);
+    assertEquals(Long.MAX_VALUE, dataPoint.getLongValue());
+    dataPoint.setValue(new Double(12.9));
+    assertEquals(12, dataPoint.getLongValue());
+
+    DataPoint clone = dataPoint.clone("CloneTag");
+    assertTrue(clone instanceof DataPointLong);
+    assertEquals("CloneTag", clone.getTagName());
+    assertEquals(TEST_TAG_ID, clone.getTagId());
+    assertEquals(TEST_TAG_UNIT, clone.getTagUnit());
+    assertEquals(TEST_ISO8601_TIMESTAMP, clone.getIso8601Timestamp());
+    assertEquals(DataQuality.UNCERTAIN, clone.getQuality());
+    assertTrue(clone.isInitValue());
+    assertTrue(clone.valueEquals(dataPoint));
+  }
+
+  /**
+   * Test case to verify that a {@link DataPointDouble} returns its value as a primitive, a {@link
+   * Double} and a string, that the <code>long</code> value is truncated toward zero, and that
+   * values are compared in the same manner as {@link Double#equals(Object)}.
+   *
+   * @throws CloneNotSupportedException if unable to clone the data point
+   * @since 1.0.0
+   */
+  public void testDoubleValue() throws CloneNotSupportedException {
+    DataPointDouble dataPoint = buildDouble(-2.75);
+    assertEquals(-2.75, dataPoint.getDoubleValue(), 0);
+    assertEquals(-2, dataPoint.getLongValue());
+    assertEquals(new Double(-2.75), dataPoint.getValue());
+    assertEquals("-2.75", dataPoint.getValueString());
+    dataPoint.setValue(new Integer(5));
+    assertEquals("5.0", dataPoint.getValueString());
+
+    // NaN equals NaN, and positive zero does not equal negative zero
+    assertTrue(buildDouble(Double.NaN).equals(buildDouble(Double.NaN)));
+    assertTrue(buildDouble(Double.NaN).valueEquals(buildDouble(Double.NaN)));
+    assertFalse(buildDouble(0.0).valueEquals(buildDouble(-0.0)));
+
+    DataPoint clone = dataPoint.clone("CloneTag");
+    assertTrue(clone instanceof DataPointDouble);
+    assertEquals(5, ((DataPointDouble) clone).getDoubleValue(), 0);
+    assertEquals(TEST_TIMESTAMP, clone.getTimeStamp());
+  }
+
+  /**
+   * Test case to verify that primitive-backed data points compare to {@link DataPointNumber} data
+   * points in the same manner as a {@link DataPointNumber} holding a {@link Long} or {@link
+   * Double}, and that the timestamp and tag name are compared by {@link
+   * DataPoint#equals(DataPoint)}.
+   *
+   * @since 1.0.0
+   */
+  public void testEqualsNumberDataPoints() {
+    DataPointLong longDataPoint = buildLong(5);
+    DataPointNumber boxedLongDataPoint = buildNumber(new Long(5));
+    assertTrue(longDataPoint.equals(boxedLongDataPoint));
+    assertTrue(boxedLongDataPoint.equals(longDataPoint));
+    assertTrue(longDataPoint.valueEquals(boxedLongDataPoint));
+    assertFalse(longDataPoint.equals(buildNumber(new Integer(5))));
+    assertFalse(longDataPoint.equals(buildDouble(5)));
+
+    DataPointDouble doubleDataPoint = buildDouble(0.5);
+    assertTrue(doubleDataPoint.equals(buildNumber(new Double(0.5))));
+    assertTrue(buildNumber(new Double(0.5)).valueEquals(doubleDataPoint));
+    assertFalse(doubleDataPoint.valueEquals(buildNumber(new Float(0.5f))));
+
+    // Timestamp and tag name
+    DataPointLong laterDataPoint =
+        new DataPointLong(
+            TEST_TAG_NAME, TEST_TAG_ID, TEST_TAG_UNIT, 5, "1700000001", TEST_ISO8601_TIMESTAMP);
+    assertFalse(longDataPoint.equals(laterDataPoint));
+    assertTrue(longDataPoint.valueEquals(laterDataPoint));
+    DataPointLong otherTagDataPoint =
+        new DataPointLong("OtherTag", TEST_TAG_ID, TEST_TAG_UNIT, 5, TEST_TIMESTAMP, "");
+    assertFalse(longDataPoint.equals(otherTagDataPoint));
+    assertEquals(DataQuality.GOOD, otherTagDataPoint.getQuality());
+  }
+
+  /**
+   * Builds a test {@link DataPointLong} with uncertain quality, flagged as an initialization value.
+   *
+   * @param value data point value
+   * @return test data point
+   * @since 1.0.0
+   */
+  private static DataPointLong buildLong(long value) {
+    return new DataPointLong(
+        TEST_TAG_NAME,
+        TEST_TAG_ID,
+        TEST_TAG_UNIT,
+        value,
+        TEST_TIMESTAMP,
+        TEST_ISO8601_TIMESTAMP,
+        DataQuality.UNCERTAIN,
+        true);
+  }
+
+  /**
+   * Builds a test {@link DataPointDouble} with good quality.
+   *
+   * @param value data point value
+   * @return test data point
+   * @since 1.0.0
+   */
+  private static DataPointDouble buildDouble(double value) {
+    return new DataPointDouble(
+        TEST_TAG_NAME,
+        TEST_TAG_ID,
+        TEST_TAG_UNIT,
+        value,
+        TEST_TIMESTAMP,
+        TEST_ISO8601_TIMESTAMP,
+        DataQuality.GOOD);
+  }
+
+  /**
+   * Builds a test {@link DataPointNumber} with good quality.
+   *
+   * @param value data point value
+   * @return test data point
+   * @since 1.0.0
+   */
+  private static DataPointNumber buildNumber(Number value) {
+    return new DataPointNumber(
+        TEST_TAG_NAME, TEST_TAG_ID, TEST_TAG_UNIT, value, TEST_TIMESTAMP, TEST_ISO8601_TIMESTAMP);
+  }
+}
@@ -0,0 +1,289 @@
+package com.hms_networks.americas.sc.extensions.datapoint.codec;
+
+import com.hms_networks.americas.sc.extensions.datapoint.DataPoint;
+import com.hms_networks.americas.sc.extensions.datapoint.DataPointBoolean;
+import com.hms_networks.americas.sc.extensions.datapoint.DataPointDouble;
+import com.hms_networks.americas.sc.extensions.datapoint.DataPointDword;
+import com.hms_networks.americas.sc.extensions.datapoint.DataPointFloat;
+import com.hms_networks.americas.sc.extensions.datapoint.DataPointInteger;
+import com.hms_networks.americas.sc.extensions.datapoint.DataPointIntegerMappedString;
+import com.hms_networks.americas.sc.extensions.datapoint.DataPointLong;
+import com.hms_networks.americas.sc.extensions.datapoint.DataPointNumber;
+import com.hms_networks.americas.sc.extensions.datapoint.DataPointString;
+import com.hms_networks.americas.sc.extensions.datapoint.DataQuality;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import junit.framework.TestCase;
+
+/**
+ * Library test class for the {@link DataPointBinaryEncoder} and {@link DataPointBinaryDecoder}
+ * classes in the Ewon Flexy Extensions Library.
+ *
+ * @author HMS Networks; Americas
+ * @since 1.17.0
+ * @version 1.0.0
+ */
+public class DataPointBinaryCodecTest extends TestCase {
+
+  /**
+   * Number of data points to generate for each test case.
+   *
+   * @since 1.0.0
+   */
+  private static final int NUM_TEST_DATA_POINTS = 500;
+
+  /**
+   * Starting timestamp (UNIX epoch seconds) for generated data points.
+   *
+   * @since 1.0.0
+   */
+  private static final long TEST_START_TIMESTAMP = 1700000000L;
+
+  /**
+   * Random generator for creating random test values.
+   *
+   * @since 1.0.0
+   */
+  private static final Random RANDOM = new Random();
+
+  /**
+   * Test case to verify that data points of every supported type are decoded to data points with
+   * the same class, type, tag information, timestamps, quality, initialization status and value.
+   *
+   * @throws IOException if unable to encode or decode the data points
+   * @since 1.0.0
+   */
+  public void testRoundTripAllTypes() throws IOException {
+    List dataPoints = buildTestDataPoints();
+
+    byte[] encoded = DataPointBinaryEncoder.encodeBatch(dataPoints);
+    List decoded = DataPointBinaryDecoder.decodeBatch(encoded);
+
+    assertEquals(dataPoints.size(), decoded.size());
+    for (int i = 0; i < dataPoints.size(); i++) {
+      DataPoint expected = (DataPoint) dataPoints.get(i);
+      DataPoint actual = (DataPoint) decoded.get(i);
+      assertEquals(expected.getClass(), actual.getClass());
+      assertEquals(expected.getType(), actual.getType());
+      assertTrue(expected.equals(actual));
+      assertEquals(expected.getTagId(), actual.getTagId());
+      assertEquals(expected.getTagUnit(), actual.getTagUnit());
+      assertEquals(expected.getQuality(), actual.getQuality());
+      assertEquals(expected.getIso8601Timestamp(), actual.getIso8601Timestamp());
+      assertEquals(expected.isInitValue(), actual.isInitValue());
+    }
+  }
+
+  /**
+   * Test case to verify that the integer value and the mapped string value of integer mapped string
+   * data points are both restored when decoded.
+   *
+   * @throws IOException if unable to encode or decode the data points
+   * @since 1.0.0
+   */
+  public void testRoundTripIntegerMappedString() throws IOException {
+    final String[] enumMapping = new String[] {"Off", "On, Loading", "On, Ready", "Fault"};
+    List dataPoints = new ArrayList();
+    for (int i = 0; i < enumMapping.length; i++) {
+      dataPoints.add(
+          new DataPointIntegerMappedString(
+              "MappedTag",
+              1,
+              "",
+              enumMapping.length - 1 - i,
+              Long.toString(TEST_START_TIMESTAMP + i),
+              "2023-11-14T22:13:2" + i + "Z",
+              DataQuality.GOOD,
+              enumMapping,
+              false));
+    }
+
+    byte[] encoded = DataPointBinaryEncoder.encodeBatch(dataPoints);
+    List decoded = DataPointBinaryDecoder.decodeBatch(encoded);
+
+    assertEquals(dataPoints.size(), decoded.size());
+    for (int i = 0; i < dataPoints.size(); i++) {
+      DataPointIntegerMappedString expected = (DataPointIntegerMappedString) dataPoints.get(i);
+      DataPointIntegerMappedString actual = (DataPointIntegerMappedString) decoded.get(i);
+      assertEquals(expected.getIntegerValue(), actual.getIntegerValue());
+      assertEquals(expected.getValue(), actual.getValue());
+      assertEquals(enumMapping[actual.getIntegerValue()], actual.getValue());
+    }
+  }
+
+  /**
+   * Test case to verify that multiple segments written by separate encoder instances to the same
+   * stream are decoded in order by a single decoder.
+   *
+   * @throws IOException if unable to encode or decode the data points
+   * @since 1.0.0
+   */
+  public void testAppendedSegments() throws IOException {
+    List dataPoints = buildTestDataPoints();
+    int splitIndex = dataPoints.size() / 2;
+
+    ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+    DataPointBinaryEncoder firstEncoder = new DataPointBinaryEncoder(outputStream);
+    firstEncoder.encode(dataPoints.subList(0, splitIndex));
+    DataPointBinaryEncoder secondEncoder = new DataPointBinaryEncoder(outputStream);
+    secondEncoder.encode(dataPoints.subList(splitIndex, dataPoints.size()));
+
+    List decoded = DataPointBinaryDecoder.decodeBatch(outputStream.toByteArray());
+    assertEquals(dataPoints.size(), decoded.size());
+    for (int i = 0; i < dataPoints.size(); i++) {
+      assertTrue(((DataPoint) dataPoints.get(i)).equals((DataPoint) decoded.get(i)));
+    }
+  }
+
+  /**
+   * Test case to verify that the binary encoding is smaller than the string representation of the
+   * same data points.
+   *
+   * @throws IOException if unable to encode the data points
+   * @since 1.0.0
+   */
+  public void testEncodedSizeSmallerThanText() throws IOException {
+    List dataPoints = buildTestDataPoints();
+    int textLength = 0;
+    for (int i = 0; i < dataPoints.size(); i++) {
+      DataPoint dataPoint = (DataPoint) dataPoints.get(i);
+      textLength +=
+          dataPoint.toString().length()
+              + dataPoint.getTimeStamp().length()
+              + dataPoint.getIso8601Timestamp().length();
+    }
+
+    byte[] encoded = DataPointBinaryEncoder.encodeBatch(dataPoints);
+    assertTrue(encoded.length < textLength);
+  }
+
+  /**
+   * Test case to verify that truncated encoded data results in a {@link DataPointCodecException}.
+   *
+   * @throws IOException if unable to encode the data points
+   * @since 1.0.0
+   */
+  public void testTruncatedDataThrows() throws IOException {
+    byte[] encoded = DataPointBinaryEncoder.encodeBatch(buildTestDataPoints());
+    byte[] truncated = new byte[encoded.length - 1];
+    System.arraycopy(encoded, 0, truncated, 0, truncated.length);
+
+    try {
+      DataPointBinaryDecoder.decodeBatch(truncated);
+      fail("Expected DataPointCodecException for truncated data.");
+    } catch (DataPointCodecException e) {
+      // Expected
+    }
+  }
+
+  /**
+   * Builds a list of test data points, cycling through each supported data point type with
+   * timestamps increasing at a mostly regular interval.
+   *
+   * @return list of test data points (Parameterized type: List&lt;DataPoint&gt;)
+   * @since 1.0.0
+   */
+  private static List buildTestDataPoints() {
+    final int numTags = 7;
+    final int timestampInterval = 10;
+    final String[] enumMapping = new String[] {"Off", "On", "Fault"};
+    List dataPoints = new ArrayList();
+    long timestamp = TEST_START_TIMESTAMP;
+    for (int i = 0; i < NUM_TEST_DATA_POINTS; i++) {
+      int tagIndex = i % numTags;
+      int tagId = tagIndex + 1;
+      String tagName = "Tag" + tagId;
+      String time = Long.toString(timestamp);
+      String timeIso8601 = "2023-11-14T22:13:" + (i % 60) + "Z";
+      DataQuality quality = RANDOM.nextBoolean() ? DataQuality.GOOD : DataQuality.BAD;
+      boolean isInitValue = RANDOM.nextBoolean();
+
+      DataPoint dataPoint;
+      if (tagIndex == 0) {
+        dataPoint =
+            new DataPointBoolean(
+                tagName, tagId, "", RANDOM.nextBoolean(), time, timeIso8601, quality, isInitValue);
+      } else if (tagIndex == 1) {
+        dataPoint =
+            new DataPointInteger(
+                tagName, tagId, "rpm", RANDOM.nextInt(), time, timeIso8601, quality, isInitValue);
+      } else if (tagIndex == 2) {
+        dataPoint =
+            new DataPointDword(
+                tagName,
+                tagId,
+                "count",
+                RANDOM.nextInt() & 0xFFFFFFFFL,
+                time,
+                timeIso8601,
+                quality,
+                isInitValue);
+      } else if (tagIndex == 3) {
+        dataPoint =
+            new DataPointFloat(
+                tagName,
+                tagId,
+                "degC",
+                RANDOM.nextFloat() * 100,
+                time,
+                timeIso8601,
+                quality,
+                isInitValue);
+      } else if (tagIndex == 4) {
+        dataPoint =
+            new DataPointString(
+                tagName,
+                tagId,
+                null,
+                "value" + RANDOM.nextInt(10),
+                time,
+                timeIso8601,
+                quality,
+                isInitValue);
+      } else if (tagIndex == 5) {
+        dataPoint =
+            new DataPointIntegerMappedString(
+                tagName,
+                tagId,
+                "",
+                RANDOM.nextInt(enumMapping.length),
+                time,
+                timeIso8601,
+                quality,
+                enumMapping,
+                isInitValue);
+      } else if (i % 3 == 0) {
+        dataPoint =
+            new DataPointLong(
+                tagName, tagId, "", RANDOM.nextLong(), time, timeIso8601, quality, isInitValue);
+      } else if (i % 3 == 1) {
+        dataPoint =
+            new DataPointDouble(
+                tagName, tagId, "", RANDOM.nextDouble(), time, timeIso8601, quality, isInitValue);
+      } else {
+        Number value;
+        int numberType = RANDOM.nextInt(4);
+        if (numberType == 0) {
+          value = new Integer(RANDOM.nextInt());
+        } else if (numberType == 1) {
+          value = new Long(RANDOM.nextLong());
+        } else if (numberType == 2) {
+          value = new Float(RANDOM.nextFloat());
+        } else {
+          value = new Double(RANDOM.nextDouble());
+        }
+        dataPoint =
+            new DataPointNumber(
+                tagName, tagId, "", value, time, timeIso8601, quality, isInitValue);
+      }
+      dataPoints.add(dataPoint);
+
+      // Mostly regular interval, with occasional jitter
+      timestamp += timestampInterval + (RANDOM.nextInt(10) == 0 ? RANDOM.nextInt(3) - 1 : 0);
+    }
+    return dataPoints;
+  }
+}
@@ -0,0 +1,317 @@
+package com.hms_networks.americas.sc.extensions.mqtt;
+
+import com.ewon.ewonitf.MqttMessage;
+import java.util.ArrayList;
+import junit.framework.TestCase;
+
+/**
+ * Library test class for the {@link ConstrainedMqttManager} class in the Ewon Flexy Extensions
+ * Library.
+ *
+ * @author HMS Networks; Americas
+ * @since 1.17.0
+ * @version 1.0.0
+ */
+public class ConstrainedMqttManagerTest extends TestCase {
+
+  /**
+   * MQTT port of the test MQTT manager.
+   *
+   * @since 1.0.0
+   */
+  private static final String TEST_PORT = "8883";
+
+  /**
+   * MQTT CA file path of the test MQTT manager.
+   *
+   * @since 1.0.0
+   */
+  private static final String TEST_CA_FILE_PATH = "/usr/ca.pem";
+
+  /**
+   * MQTT TLS version of the test MQTT manager.
+   *
+   * @since 1.0.0
+   */
+  private static final String TEST_TLS_VERSION = "tlsv1.2";
+
+  /**
+   * MQTT username of the test MQTT manager.
+   *
+   * @since 1.0.0
+   */
+  private static final String TEST_USERNAME = "user";
+
+  /**
+   * MQTT password of the test MQTT manager.
+   *
+   * @since 1.0.0
+   */
+  private static final String TEST_PASSWORD = "password";
+
+  /**
+   * MQTT QoS level of the test MQTT manager.
+   *
+   * @since 1.0.0
+   */
+  private static final int TEST_QOS = 1;
+
+  /**
+   * MQTT keep alive interval (in secs) of the test MQTT manager, which is the default keep alive
+   * interval.
+   *
+   * @since 1.0.0
+   */
+  private static final String TEST_KEEP_ALIVE_SECS = MqttConstants.MQTT_KEEP_ALIVE_OPTION_DEFAULT;
+
+  /**
+   * MQTT manager under test, started and connected with the test topics a and b.
+   *
+   * @since 1.0.0
+   */
+  private TestMqttManager mqttManager;
+
+  /**
+   * Starts the test MQTT manager, subscribes to the test topics on connect, and clears the
+   * recorded calls.
+   *
+   * @throws Exception if unable to start the test MQTT manager
+   * @since 1.0.0
+   */
+  protected void setUp() throws Exception {
+    mqttManager = new TestMqttManager();
+    mqttManager.addSubscription("a");
+    mqttManager.addSubscription("b");
+    mqttManager.start();
+    mqttManager.internalOnConnect();
+    assertEquals("sub a 1, sub b 1", mqttManager.getCalls());
+    assertTrue(mqttManager.getMqttSubscribed());
+  }
+
+  /**
+   * Stops the test MQTT manager.
+   *
+   * @since 1.0.0
+   */
+  protected void tearDown() {
+    mqttManager.stop();
+  }
+
+  /**
+   * Test case to verify that applying unchanged settings and subscriptions neither restarts the
+   * MQTT connection nor subscribes to or unsubscribes from any topic.
+   *
+   * @throws Exception if unable to apply the configuration
+   * @since 1.0.0
+   */
+  public void testUnchangedConfiguration() throws Exception {
+    assertFalse(applyConfiguration(TEST_PORT, TEST_QOS, new String[] {"b", "a", "a"}));
+    assertFalse(applyConfiguration(TEST_PORT, TEST_QOS, null));
+    mqttManager.setPort(TEST_PORT);
+    mqttManager.setQos(TEST_QOS);
+    mqttManager.setMqttKeepAliveIntervalSecs(TEST_KEEP_ALIVE_SECS);
+    assertEquals(0, mqttManager.restartCount);
+    assertEquals("", mqttManager.getCalls());
+    assertTrue(mqttManager.getMqttSubscribed());
+  }
+
+  /**
+   * Test case to verify that changing connection options together with the subscriptions
+   * restarts the MQTT connection exactly once, and that the new topics are subscribed to on
+   * connect instead of on the replaced connection.
+   *
+   * @throws Exception if unable to apply the configuration
+   * @since 1.0.0
+   */
+  public void testConnectionOptionChangeRestartsOnce() throws Exception {
+    assertTrue(
+        mqttManager.applyConfiguration(
+            "1883",
+            TEST_CA_FILE_PATH,
+            TEST_TLS_VERSION,
+            "otherUser",
+            "otherPassword",
+            2,
+            "30",
+            new String[] {"b", "c"}));
+    assertEquals(1, mqttManager.restartCount);
+    assertEquals("", mqttManager.getCalls());
+    assertFalse(mqttManager.getMqttSubscribed());
+
+    mqttManager.internalOnConnect();
+    assertEquals("sub b 2, sub c 2", mqttManager.getCalls());
+
+    // Restart for a single changed connection option, even with null values
+    assertTrue(applyConfiguration(null, 2, null));
+    assertEquals(2, mqttManager.restartCount);
+  }
+
+  /**
+   * Test case to verify that a QoS level change subscribes to all topics again with the new QoS
+   * level without restarting the MQTT connection.
+   *
+   * @throws Exception if unable to apply the configuration
+   * @since 1.0.0
+   */
+  public void testQosChangeResubscribes() throws Exception {
+    mqttManager.setQos(2);
+    assertEquals(2, mqttManager.getQos());
+    assertEquals("sub a 2, sub b 2", mqttManager.getCalls());
+
+    // Removed topics are unsubscribed from before all topics are subscribed to again
+    assertFalse(applyConfiguration(TEST_PORT, 0, new String[] {"c", "a"}));
+    assertEquals("unsub b, sub c 0, sub a 0", mqttManager.getCalls());
+    assertEquals(0, mqttManager.restartCount);
+  }
+
+  /**
+   * Test case to verify that only removed topics are unsubscribed from and only added topics are
+   * subscribed to, and that removing subscriptions unsubscribes from the removed topics.
+   *
+   * @throws Exception if unable to apply the configuration or remove the subscriptions
+   * @since 1.0.0
+   */
+  public void testRemovedTopicsUnsubscribed() throws Exception {
+    assertFalse(applyConfiguration(TEST_PORT, TEST_QOS, new String[] {"b", "c", "d"}));
+    assertEquals("unsub a, sub c 1, sub d 1", mqttManager.getCalls());
+
+    mqttManager.removeSubscription("c");
+    assertEquals("unsub c", mqttManager.getCalls());
+    mqttManager.removeAllSubscriptions();
+    assertEquals("unsub b, unsub d", mqttManager.getCalls());
+    assertFalse(applyConfiguration(TEST_PORT, TEST_QOS, new String[0]));
+    assertEquals("", mqttManager.getCalls());
+
+    // Subscriptions changed while stopped are applied on the next connect
+    mqttManager.stop();
+    mqttManager.addSubscription("e");
+    mqttManager.removeSubscription("e");
+    mqttManager.addSubscription("f");
+    assertFalse(applyConfiguration(TEST_PORT, 2, new String[] {"f", "g"}));
+    assertEquals("", mqttManager.getCalls());
+    mqttManager.start();
+    mqttManager.internalOnConnect();
+    assertEquals("sub f 2, sub g 2", mqttManager.getCalls());
+    assertEquals(0, mqttManager.restartCount);
+  }
+
+  /**
+   * Applies the test settings with the specified port, QoS level and subscriptions to the test
+   * MQTT manager.
+   *
+   * @param port MQTT port
+   * @param qos MQTT QoS level
+   * @param subscriptions MQTT topics, or null to keep the current topics
+   * @return true if the MQTT connection was restarted
+   * @throws Exception if unable to apply the configuration
+   * @since 1.0.0
+   */
+  private boolean applyConfiguration(String port, int qos, String[] subscriptions)
+      throws Exception {
+    return mqttManager.applyConfiguration(
+        port,
+        TEST_CA_FILE_PATH,
+        TEST_TLS_VERSION,
+        TEST_USERNAME,
+        TEST_PASSWORD,
+        qos,
+        TEST_KEEP_ALIVE_SECS,
+        subscriptions);
+  }
+
+  /**
+   * {@link ConstrainedMqttManager} which records restarts, subscriptions and unsubscriptions
+   * instead of making them on the MQTT connection.
+   *
+   * @since 1.0.0
+   */
+  private static class TestMqttManager extends ConstrainedMqttManager {
+
+    /**
+     * Recorded subscriptions and unsubscriptions, oldest first.
+     *
+     * <p>Parameterized type: ArrayList&lt;String&gt;
+     *
+     * @since 1.0.0
+     */
+    private final ArrayList calls = new ArrayList();
+
+    /**
+     * Number of times the MQTT connection was restarted.
+     *
+     * @since 1.0.0
+     */
+    private int restartCount;
+
+    /**
+     * Constructs a new {@link TestMqttManager} with the test settings.
+     *
+     * @throws Exception if unable to create the MQTT manager
+     * @since 1.0.0
+     */
+    private TestMqttManager() throws Exception {
+      super(
+          "testId",
+          "localhost",
+          false,
+          TEST_PORT,
+          TEST_CA_FILE_PATH,
+          TEST_TLS_VERSION,
+          TEST_USERNAME,
+          TEST_PASSWORD,
+          TEST_QOS,
+          1000);
+    }
+
+    /**
+     * Gets and clears the recorded subscriptions and unsubscriptions.
+     *
+     * @return recorded calls, separated by commas
+     * @since 1.0.0
+     */
+    private String getCalls() {
+      StringBuffer callsBuffer = new StringBuffer();
+      for (int i = 0; i < calls.size(); i++) {
+        if (i > 0) {
+          callsBuffer.append(", ");
+        }
+        callsBuffer.append(calls.get(i));
+      }
+      calls.clear();
+      return callsBuffer.toString();
+    }
+
+    public void restart() throws Exception {
+      restartCount++;
+      super.restart();
+    }
+
+    void subscribeTopic(String topic, int qos) {
+      calls.add("sub " + topic + " " + qos);
+    }
+
+    void unsubscribeTopic(String topic) {
+      calls.add("unsub " + topic);
+    }
+
+    public void onError(Throwable throwable) {
+      // Not used
+    }
+
+    public void onMessage(MqttMessage mqttMessage) {
+      // Not used
+    }
+
+    public void runOnMqttLoop(int currentMqttStatus) {
+      // Not used
+    }
+
+    public void onStatus(int status) {
+      // Not used
+    }
+
+    public void onConnect() {
+      // Not used
+    }
+  }
+}
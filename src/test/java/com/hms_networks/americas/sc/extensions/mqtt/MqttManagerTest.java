@@ -0,0 +1,214 @@
+package com.hms_networks.americas.sc.extensions.mqtt;
+
+import com.ewon.ewonitf.MqttClient;
+import com.ewon.ewonitf.MqttMessage;
+import java.util.ArrayList;
+import junit.framework.TestCase;
+
+/**
+ * Library test class for the {@link MqttManager} class in the Ewon Flexy Extensions Library.
+ *
+ * @author HMS Networks; Americas
+ * @since 1.17.0
+ * @version 1.0.0
+ */
+public class MqttManagerTest extends TestCase {
+
+  /**
+   * Test case to verify that the sleep interval doubles after each idle interval up to the
+   * maximum sleep interval, and returns to the minimum sleep interval after a busy interval.
+   *
+   * @throws Exception if unable to create the test MQTT manager
+   * @since 1.0.0
+   */
+  public void testIdleBackoff() throws Exception {
+    TestMqttManager mqttManager = new TestMqttManager();
+    mqttManager.setMqttThreadSleepIntervalMs(10, 80);
+    runIntervals(mqttManager, 5);
+    assertEquals("20 40 80 80 80", mqttManager.getSleepIntervals());
+
+    mqttManager.busyIntervals = 2;
+    runIntervals(mqttManager, 4);
+    assertEquals("10 10 20 40", mqttManager.getSleepIntervals());
+
+    // Single sleep interval does not back off
+    mqttManager.setMqttThreadSleepIntervalMs(50);
+    runIntervals(mqttManager, 2);
+    assertEquals("50 50", mqttManager.getSleepIntervals());
+    assertEquals(11, mqttManager.loopCount);
+  }
+
+  /**
+   * Test case to verify that sleep intervals shorter than 1 ms are raised to 1 ms, and that a
+   * maximum sleep interval shorter than the minimum sleep interval is raised to the minimum.
+   *
+   * @throws Exception if unable to create the test MQTT manager
+   * @since 1.0.0
+   */
+  public void testSleepIntervalBounds() throws Exception {
+    TestMqttManager mqttManager = new TestMqttManager();
+    mqttManager.setMqttThreadSleepIntervalMs(0, -5);
+    runIntervals(mqttManager, 2);
+    assertEquals("1 1", mqttManager.getSleepIntervals());
+
+    mqttManager.setMqttThreadSleepIntervalMs(30, 20);
+    mqttManager.busyIntervals = 1;
+    runIntervals(mqttManager, 2);
+    assertEquals("30 30", mqttManager.getSleepIntervals());
+
+    // Default sleep interval
+    TestMqttManager defaultMqttManager = new TestMqttManager();
+    runIntervals(defaultMqttManager, 1);
+    assertEquals("1000", defaultMqttManager.getSleepIntervals());
+  }
+
+  /**
+   * Test case to verify that waking the MQTT thread after queueing work skips the next sleep once,
+   * without resetting the backoff, and that a stopped MQTT thread does not sleep.
+   *
+   * @throws Exception if unable to create the test MQTT manager
+   * @since 1.0.0
+   */
+  public void testWakeOnEnqueue() throws Exception {
+    TestMqttManager mqttManager = new TestMqttManager();
+    mqttManager.setMqttThreadSleepIntervalMs(10, 80);
+    runIntervals(mqttManager, 1);
+    mqttManager.wakeMqttThread();
+    mqttManager.wakeMqttThread();
+    runIntervals(mqttManager, 2);
+    assertEquals("20 80", mqttManager.getSleepIntervals());
+    assertEquals(3, mqttManager.loopCount);
+
+    mqttManager.stopMqttThread();
+    runIntervals(mqttManager, 2);
+    assertEquals("", mqttManager.getSleepIntervals());
+  }
+
+  /**
+   * Test case to verify that an MQTT status event passes the status to {@link
+   * MqttManager#onStatus(int)} and wakes the MQTT thread, while a message event does not.
+   *
+   * @throws Exception if unable to create the test MQTT manager
+   * @since 1.0.0
+   */
+  public void testWakeOnStatusEvent() throws Exception {
+    TestMqttManager mqttManager = new TestMqttManager();
+    mqttManager.setMqttThreadSleepIntervalMs(10, 80);
+    mqttManager.callMqttEvent(MqttClient.MQTT_STATUS_EVENT);
+    assertEquals(1, mqttManager.statusCount);
+    runIntervals(mqttManager, 1);
+    assertEquals("", mqttManager.getSleepIntervals());
+
+    mqttManager.callMqttEvent(MqttClient.MQTT_MESSAGE_EVENT);
+    runIntervals(mqttManager, 1);
+    assertEquals("40", mqttManager.getSleepIntervals());
+    assertEquals(1, mqttManager.statusCount);
+  }
+
+  /**
+   * Runs the specified number of MQTT thread intervals on the calling thread.
+   *
+   * @param mqttManager MQTT manager to run
+   * @param count number of intervals
+   * @since 1.0.0
+   */
+  private static void runIntervals(MqttManager mqttManager, int count) {
+    for (int i = 0; i < count; i++) {
+      mqttManager.runMqttThreadInterval();
+    }
+  }
+
+  /**
+   * {@link MqttManager} which records the sleep intervals of the MQTT thread instead of waiting.
+   *
+   * @since 1.0.0
+   */
+  private static class TestMqttManager extends MqttManager {
+
+    /**
+     * Recorded sleep intervals (in ms), oldest first.
+     *
+     * <p>Parameterized type: ArrayList&lt;Long&gt;
+     *
+     * @since 1.0.0
+     */
+    private final ArrayList sleepIntervals = new ArrayList();
+
+    /**
+     * Number of following intervals which report remaining work.
+     *
+     * @since 1.0.0
+     */
+    private int busyIntervals;
+
+    /**
+     * Number of times {@link #runOnMqttLoop(int)} was called.
+     *
+     * @since 1.0.0
+     */
+    private int loopCount;
+
+    /**
+     * Number of times {@link #onStatus(int)} was called.
+     *
+     * @since 1.0.0
+     */
+    private int statusCount;
+
+    /**
+     * Constructs a new {@link TestMqttManager}.
+     *
+     * @throws Exception if unable to create the MQTT client
+     * @since 1.0.0
+     */
+    private TestMqttManager() throws Exception {
+      super("testId", "localhost");
+    }
+
+    /**
+     * Gets and clears the recorded sleep intervals.
+     *
+     * @return recorded sleep intervals (in ms), separated by spaces
+     * @since 1.0.0
+     */
+    private String getSleepIntervals() {
+      StringBuffer sleepIntervalsBuffer = new StringBuffer();
+      for (int i = 0; i < sleepIntervals.size(); i++) {
+        if (i > 0) {
+          sleepIntervalsBuffer.append(' ');
+        }
+        sleepIntervalsBuffer.append(sleepIntervals.get(i));
+      }
+      sleepIntervals.clear();
+      return sleepIntervalsBuffer.toString();
+    }
+
+    void waitForWake(Object wakeLock, long sleepIntervalMs) {
+      sleepIntervals.add(new Long(sleepIntervalMs));
+    }
+
+    public void runOnMqttLoop(int currentMqttStatus) {
+      loopCount++;
+      if (busyIntervals > 0) {
+        busyIntervals--;
+        setMqttThreadBusy();
+      }
+    }
+
+    public void onStatus(int status) {
+      statusCount++;
+    }
+
+    public void onError(Throwable throwable) {
+      fail("Unexpected error: " + throwable);
+    }
+
+    public void onMessage(MqttMessage mqttMessage) {
+      // Not used
+    }
+
+    public void onConnect() {
+      // Not used
+    }
+  }
+}
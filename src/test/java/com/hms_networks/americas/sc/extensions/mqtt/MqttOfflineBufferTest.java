@@ -0,0 +1,369 @@
+package com.hms_networks.americas.sc.extensions.mqtt;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import junit.framework.TestCase;
+
+/**
+ * Library test class for the {@link MqttOfflineBuffer} class in the Ewon Flexy Extensions Library.
+ *
+ * @author HMS Networks; Americas
+ * @since 1.17.0
+ * @version 1.0.0
+ */
+public class MqttOfflineBufferTest extends TestCase {
+
+  /**
+   * Estimated size (in bytes) of each test message: the buffer overhead of 16 bytes, a 1 byte topic
+   * and a 3 byte payload.
+   *
+   * @since 1.0.0
+   */
+  private static final int TEST_MESSAGE_BYTES = 20;
+
+  /**
+   * Maximum size (in bytes) of the in-memory ring of the test buffers, which holds 5 messages.
+   *
+   * @since 1.0.0
+   */
+  private static final int TEST_MEMORY_BYTES = 5 * TEST_MESSAGE_BYTES;
+
+  /**
+   * Maximum size (in bytes) of the messages in a spilled segment file of the test buffers, which
+   * holds 3 messages.
+   *
+   * @since 1.0.0
+   */
+  private static final int TEST_SEGMENT_BYTES = 3 * TEST_MESSAGE_BYTES;
+
+  /**
+   * Spill directory of the current test case.
+   *
+   * @since 1.0.0
+   */
+  private File spillDirectory;
+
+  /**
+   * Creates a unique spill directory for each test case.
+   *
+   * @throws Exception if unable to create a temporary file
+   * @since 1.0.0
+   */
+  protected void setUp() throws Exception {
+    spillDirectory = File.createTempFile("MqttOfflineBuffer", "");
+    spillDirectory.delete();
+  }
+
+  /**
+   * Deletes the spill directory of the current test case and its files.
+   *
+   * @since 1.0.0
+   */
+  protected void tearDown() {
+    String[] fileNames = spillDirectory.list();
+    if (fileNames != null) {
+      for (int i = 0; i < fileNames.length; i++) {
+        new File(spillDirectory, fileNames[i]).delete();
+      }
+    }
+    spillDirectory.delete();
+  }
+
+  /**
+   * Test case to verify that messages held in memory are replayed in order, including after the
+   * in-memory ring grows, and that a message is only removed if it is still the oldest message.
+   *
+   * @since 1.0.0
+   */
+  public void testRingOrder() {
+    final int count = 200;
+    MqttOfflineBuffer buffer =
+        new MqttOfflineBuffer(count * TEST_MESSAGE_BYTES, MqttOfflineBuffer.DROP_POLICY_OLDEST);
+    assertTrue(buffer.isEmpty());
+    assertNull(buffer.peek());
+
+    addMessages(buffer, 0, count);
+    assertEquals(count, buffer.getSize());
+    assertFalse(buffer.remove(buildMessage(0)));
+    assertEquals(count, buffer.getSize());
+
+    assertReplayed(buffer, 0, count);
+    assertTrue(buffer.isEmpty());
+    assertEquals(count, buffer.getBufferedMessageCount());
+    assertEquals(0, buffer.getSpilledMessageCount());
+    assertEquals(0, buffer.getDroppedMessageCount());
+  }
+
+  /**
+   * Test case to verify that the oldest or newest messages are dropped and counted, according to
+   * the drop policy, when the in-memory ring of a buffer without spilling is full.
+   *
+   * @since 1.0.0
+   */
+  public void testDropPolicyInMemory() {
+    MqttOfflineBuffer dropOldestBuffer =
+        new MqttOfflineBuffer(TEST_MEMORY_BYTES, MqttOfflineBuffer.DROP_POLICY_OLDEST);
+    addMessages(dropOldestBuffer, 0, 8);
+    assertEquals(5, dropOldestBuffer.getSize());
+    assertEquals(3, dropOldestBuffer.getDroppedMessageCount());
+    assertReplayed(dropOldestBuffer, 3, 5);
+
+    MqttOfflineBuffer dropNewestBuffer =
+        new MqttOfflineBuffer(TEST_MEMORY_BYTES, MqttOfflineBuffer.DROP_POLICY_NEWEST);
+    addMessages(dropNewestBuffer, 0, 8);
+    assertEquals(5, dropNewestBuffer.getSize());
+    assertEquals(3, dropNewestBuffer.getDroppedMessageCount());
+    assertEquals(8, dropNewestBuffer.getBufferedMessageCount());
+    assertReplayed(dropNewestBuffer, 0, 5);
+  }
+
+  /**
+   * Test case to verify that messages are spilled to segment files when the in-memory ring is full,
+   * that spilled messages are replayed before the messages in memory, and that segment files are
+   * deleted once replayed.
+   *
+   * @since 1.0.0
+   */
+  public void testSpillAndReplay() {
+    final int count = 20;
+    MqttOfflineBuffer buffer = buildSpillingBuffer(100000, MqttOfflineBuffer.DROP_POLICY_OLDEST);
+
+    addMessages(buffer, 0, count);
+    assertEquals(count, buffer.getSize());
+    assertTrue(buffer.getSpilledMessageCount() > 0);
+    assertTrue(countSpillFiles(".bin") > 0);
+    assertEquals(0, buffer.getDroppedMessageCount());
+
+    assertReplayed(buffer, 0, count);
+    assertTrue(buffer.isEmpty());
+    assertEquals(0, countSpillFiles(".bin"));
+  }
+
+  /**
+   * Test case to verify that the drop policy is applied when the spill budget is full: the oldest
+   * segments are dropped, or new messages are dropped.
+   *
+   * @since 1.0.0
+   */
+  public void testDropPolicyWithSpill() {
+    final int count = 30;
+    final long maxSpillBytes = 2 * TEST_SEGMENT_BYTES;
+
+    MqttOfflineBuffer dropOldestBuffer =
+        buildSpillingBuffer(maxSpillBytes, MqttOfflineBuffer.DROP_POLICY_OLDEST);
+    addMessages(dropOldestBuffer, 0, count);
+    final int dropOldestSize = dropOldestBuffer.getSize();
+    assertEquals(count, dropOldestSize + dropOldestBuffer.getDroppedMessageCount());
+    assertTrue(dropOldestBuffer.getDroppedMessageCount() > 0);
+    assertReplayed(dropOldestBuffer, count - dropOldestSize, dropOldestSize);
+    tearDown();
+
+    MqttOfflineBuffer dropNewestBuffer =
+        buildSpillingBuffer(maxSpillBytes, MqttOfflineBuffer.DROP_POLICY_NEWEST);
+    addMessages(dropNewestBuffer, 0, count);
+    final int dropNewestSize = dropNewestBuffer.getSize();
+    assertEquals(count, dropNewestSize + dropNewestBuffer.getDroppedMessageCount());
+    assertTrue(dropNewestBuffer.getDroppedMessageCount() > 0);
+    assertReplayed(dropNewestBuffer, 0, dropNewestSize);
+  }
+
+  /**
+   * Test case to verify that segment files left by a previous buffer are replayed (oldest first)
+   * before new messages by a new buffer using the same spill directory, that temporary files left
+   * by an interrupted write are deleted, and that unreadable or unrelated files are ignored.
+   *
+   * @throws IOException if unable to create the leftover files
+   * @since 1.0.0
+   */
+  public void testRecoverSegments() throws IOException {
+    MqttOfflineBuffer previousBuffer =
+        buildSpillingBuffer(100000, MqttOfflineBuffer.DROP_POLICY_OLDEST);
+    addMessages(previousBuffer, 0, 11);
+    final int spilledCount = (int) previousBuffer.getSpilledMessageCount();
+    assertEquals(6, spilledCount);
+
+    // Leftover temporary file, and files which are not segment files
+    File tempFile = new File(spillDirectory, "mqtt-seg-99.bin.tmp");
+    writeFile(tempFile, new byte[] {1, 2, 3});
+    File otherFile = new File(spillDirectory, "mqtt-seg-other.bin");
+    writeFile(otherFile, new byte[] {1, 2, 3});
+
+    MqttOfflineBuffer buffer = buildSpillingBuffer(100000, MqttOfflineBuffer.DROP_POLICY_OLDEST);
+    assertFalse(tempFile.exists());
+    assertTrue(otherFile.exists());
+    assertEquals(spilledCount, buffer.getSize());
+
+    // New messages (including newly spilled messages) are replayed after the recovered messages
+    addMessages(buffer, 100, 10);
+    assertEquals(spilledCount + 10, buffer.getSize());
+    assertReplayed(buffer, 0, spilledCount);
+    assertReplayed(buffer, 100, 10);
+    assertTrue(buffer.isEmpty());
+  }
+
+  /**
+   * Test case to verify that the message being replayed is not dropped by messages added while it
+   * is replayed, that it is only removed or dropped once, and that a message which can not be
+   * replayed is dropped and counted.
+   *
+   * @since 1.0.0
+   */
+  public void testDropWhileReplaying() {
+    MqttOfflineBuffer buffer =
+        new MqttOfflineBuffer(TEST_MEMORY_BYTES, MqttOfflineBuffer.DROP_POLICY_OLDEST);
+    addMessages(buffer, 0, 5);
+
+    MqttOutboundMessage replayedMessage = buffer.peek();
+    assertSame(replayedMessage, buffer.peek());
+    addMessages(buffer, 5, 2);
+    assertEquals(6, buffer.getSize());
+    assertEquals(1, buffer.getDroppedMessageCount());
+    assertTrue(buffer.remove(replayedMessage));
+    assertFalse(buffer.remove(replayedMessage));
+    assertFalse(buffer.drop(replayedMessage));
+    assertEquals(5, buffer.getSize());
+
+    // Message 1 was dropped to make room for message 6
+    MqttOutboundMessage failedMessage = buffer.peek();
+    assertEquals(buildMessage(2).getPayload(), failedMessage.getPayload());
+    assertTrue(buffer.drop(failedMessage));
+    assertFalse(buffer.drop(failedMessage));
+    assertEquals(2, buffer.getDroppedMessageCount());
+    assertReplayed(buffer, 3, 4);
+    assertTrue(buffer.isEmpty());
+  }
+
+  /**
+   * Test case to verify that messages spilled or dropped while a message is replayed do not
+   * include the message being replayed, so it is neither published again nor counted as dropped.
+   *
+   * @since 1.0.0
+   */
+  public void testSpillWhileReplaying() {
+    final int count = 20;
+    MqttOfflineBuffer buffer = buildSpillingBuffer(100000, MqttOfflineBuffer.DROP_POLICY_OLDEST);
+    addMessages(buffer, 0, 5);
+
+    // Message from the in-memory ring, while the ring is spilled
+    MqttOutboundMessage replayedMessage = buffer.peek();
+    addMessages(buffer, 5, count - 5);
+    assertTrue(buffer.getSpilledMessageCount() > 0);
+    assertSame(replayedMessage, buffer.peek());
+    assertTrue(buffer.remove(replayedMessage));
+    assertEquals(count - 1, buffer.getSize());
+    assertReplayed(buffer, 1, count - 1);
+    assertEquals(0, buffer.getDroppedMessageCount());
+    tearDown();
+
+    // Message from a segment, while its segment is dropped to make room in the spill budget
+    MqttOfflineBuffer dropOldestBuffer =
+        buildSpillingBuffer(TEST_SEGMENT_BYTES, MqttOfflineBuffer.DROP_POLICY_OLDEST);
+    addMessages(dropOldestBuffer, 0, 6);
+    replayedMessage = dropOldestBuffer.peek();
+    assertEquals(buildMessage(0).getPayload(), replayedMessage.getPayload());
+    addMessages(dropOldestBuffer, 6, 3);
+    assertEquals(2, dropOldestBuffer.getDroppedMessageCount());
+    addMessages(dropOldestBuffer, 9, 3);
+    assertEquals(12, dropOldestBuffer.getSize() + dropOldestBuffer.getDroppedMessageCount());
+    assertTrue(dropOldestBuffer.remove(replayedMessage));
+    final int remaining = dropOldestBuffer.getSize();
+    assertReplayed(dropOldestBuffer, 12 - remaining, remaining);
+  }
+
+  /**
+   * Builds a buffer which spills to the spill directory of the current test case.
+   *
+   * @param maxSpillBytes maximum size (in bytes) of the messages in spilled segment files
+   * @param dropPolicy drop policy
+   * @return offline buffer
+   * @since 1.0.0
+   */
+  private MqttOfflineBuffer buildSpillingBuffer(long maxSpillBytes, int dropPolicy) {
+    return new MqttOfflineBuffer(
+        TEST_MEMORY_BYTES, spillDirectory.getPath(), maxSpillBytes, TEST_SEGMENT_BYTES, dropPolicy);
+  }
+
+  /**
+   * Counts the files in the spill directory with the specified suffix.
+   *
+   * @param suffix file name suffix
+   * @return number of files
+   * @since 1.0.0
+   */
+  private int countSpillFiles(String suffix) {
+    String[] fileNames = spillDirectory.list();
+    int count = 0;
+    for (int i = 0; fileNames != null && i < fileNames.length; i++) {
+      if (fileNames[i].endsWith(suffix)) {
+        count++;
+      }
+    }
+    return count;
+  }
+
+  /**
+   * Adds test messages with consecutive numbers to the specified buffer.
+   *
+   * @param buffer buffer to add messages to
+   * @param first number of the first message
+   * @param count number of messages to add
+   * @since 1.0.0
+   */
+  private static void addMessages(MqttOfflineBuffer buffer, int first, int count) {
+    for (int i = 0; i < count; i++) {
+      buffer.add(buildMessage(first + i));
+    }
+  }
+
+  /**
+   * Replays the specified number of messages from the specified buffer, and asserts that they are
+   * the test messages with consecutive numbers starting at the specified number.
+   *
+   * @param buffer buffer to replay messages from
+   * @param first expected number of the first message
+   * @param count number of messages to replay
+   * @since 1.0.0
+   */
+  private static void assertReplayed(MqttOfflineBuffer buffer, int first, int count) {
+    for (int i = 0; i < count; i++) {
+      MqttOutboundMessage message = buffer.peek();
+      assertNotNull(message);
+      assertEquals(buildMessage(first + i).getPayload(), message.getPayload());
+      assertEquals("t", message.getTopic());
+      assertEquals(1, message.getQos());
+      assertEquals((first + i) % 2 == 0, message.getRetain());
+      assertTrue(buffer.remove(message));
+    }
+  }
+
+  /**
+   * Builds a test message with the specified number, which has a 3 byte payload for numbers up to
+   * 999.
+   *
+   * @param number message number
+   * @return test message
+   * @since 1.0.0
+   */
+  private static MqttOutboundMessage buildMessage(int number) {
+    String payload = String.valueOf(1000 + number).substring(1);
+    return new MqttOutboundMessage("t", payload, 1, number % 2 == 0);
+  }
+
+  /**
+   * Writes the specified contents to a file.
+   *
+   * @param file file to write
+   * @param contents file contents
+   * @throws IOException if unable to write the file
+   * @since 1.0.0
+   */
+  private static void writeFile(File file, byte[] contents) throws IOException {
+    FileOutputStream outputStream = new FileOutputStream(file);
+    try {
+      outputStream.write(contents);
+    } finally {
+      outputStream.close();
+    }
+  }
+}
@@ -0,0 +1,154 @@
+package com.hms_networks.americas.sc.extensions.mqtt;
+
+import java.io.UnsupportedEncodingException;
+import junit.framework.TestCase;
+
+/**
+ * Library test class for the {@link MqttPublishBatch} class in the Ewon Flexy Extensions Library.
+ *
+ * @author HMS Networks; Americas
+ * @since 1.17.0
+ * @version 1.0.0
+ */
+public class MqttPublishBatchTest extends TestCase {
+
+  /**
+   * MQTT topic of the test batches.
+   *
+   * @since 1.0.0
+   */
+  private static final String TEST_TOPIC = "test/batch";
+
+  /**
+   * Payloads containing characters encoded as 1, 2, 3 and 4 bytes in UTF-8.
+   *
+   * @since 1.0.0
+   */
+  private static final String[] TEST_PAYLOADS =
+      new String[] {
+        "{\"v\":1}",
+        "\"caf\u00e9\"",
+        "\"\u20ac10\"",
+        "\"\uD83D\uDE00\"",
+        "\"a\u00e9\u20ac\uD83D\uDE00\""
+      };
+
+  /**
+   * Test case to verify that the UTF-8 length of a string, computed without encoding it, matches
+   * the length of the encoded string.
+   *
+   * @throws UnsupportedEncodingException if UTF-8 is not supported
+   * @since 1.0.0
+   */
+  public void testUtf8Length() throws UnsupportedEncodingException {
+    assertEquals(0, MqttPublishBatch.getUtf8Length(""));
+    for (int i = 0; i < TEST_PAYLOADS.length; i++) {
+      assertEquals(
+          TEST_PAYLOADS[i],
+          TEST_PAYLOADS[i].getBytes("UTF-8").length,
+          MqttPublishBatch.getUtf8Length(TEST_PAYLOADS[i]));
+    }
+  }
+
+  /**
+   * Test case to verify that the size of a batch, including framing, matches the encoded size of
+   * its combined message payload for each framing.
+   *
+   * @throws UnsupportedEncodingException if UTF-8 is not supported
+   * @since 1.0.0
+   */
+  public void testSizeMatchesCombinedPayload() throws UnsupportedEncodingException {
+    final int[] framings =
+        new int[] {
+          ConstrainedMqttManager.PUBLISH_BATCH_FRAMING_JSON_ARRAY,
+          ConstrainedMqttManager.PUBLISH_BATCH_FRAMING_NEWLINE_DELIMITED
+        };
+    for (int f = 0; f < framings.length; f++) {
+      MqttPublishBatch batch = new MqttPublishBatch(TEST_TOPIC, 4096, 1000, framings[f]);
+      for (int i = 0; i < TEST_PAYLOADS.length; i++) {
+        assertTrue(batch.canAdd(TEST_PAYLOADS[i], 1));
+        batch.add(TEST_PAYLOADS[i], 1, 0);
+      }
+
+      final int sizeBytes = batch.getSizeBytes();
+      MqttOutboundMessage message = batch.seal();
+      assertEquals(sizeBytes, message.getPayload().getBytes("UTF-8").length);
+      assertEquals(TEST_TOPIC, message.getTopic());
+      assertEquals(1, message.getQos());
+      assertFalse(message.getRetain());
+      assertTrue(batch.isEmpty());
+      assertEquals(0, batch.getSizeBytes());
+    }
+
+    MqttPublishBatch batch =
+        new MqttPublishBatch(
+            TEST_TOPIC, 4096, 1000, ConstrainedMqttManager.PUBLISH_BATCH_FRAMING_JSON_ARRAY);
+    batch.add("1", 0, 0);
+    batch.add("2", 0, 0);
+    assertEquals("[1,2]", batch.seal().getPayload());
+    batch.add("3", 0, 0);
+    assertEquals("[3]", batch.seal().getPayload());
+  }
+
+  /**
+   * Test case to verify that a payload can be added while the combined message payload, including
+   * framing, stays within the maximum batch size, and that a full batch is due.
+   *
+   * @since 1.0.0
+   */
+  public void testMaxBatchBytes() {
+    // Opening bracket, 5 digits, comma, euro sign (3 bytes) and closing bracket are 11 bytes
+    final int maxBatchBytes = 11;
+    MqttPublishBatch batch =
+        new MqttPublishBatch(
+            TEST_TOPIC,
+            maxBatchBytes,
+            1000,
+            ConstrainedMqttManager.PUBLISH_BATCH_FRAMING_JSON_ARRAY);
+    batch.add("12345", 0, 0);
+    assertEquals(7, batch.getSizeBytes());
+    assertFalse(batch.isDue(0));
+    assertFalse(batch.canAdd("\uD83D\uDE00", 0));
+    assertTrue(batch.canAdd("\u20ac", 0));
+    batch.add("\u20ac", 0, 0);
+    assertEquals(maxBatchBytes, batch.getSizeBytes());
+    assertTrue(batch.isDue(0));
+    assertFalse(batch.canAdd("", 0));
+
+    // A payload larger than the maximum batch size can be added to an empty batch on its own
+    batch.seal();
+    final String largePayload = "\"0123456789\"";
+    assertTrue(batch.canAdd(largePayload, 0));
+    batch.add(largePayload, 0, 0);
+    assertTrue(batch.isDue(0));
+    assertFalse(batch.canAdd("1", 0));
+  }
+
+  /**
+   * Test case to verify that payloads with a different QoS level can not be added to a batch, and
+   * that a batch is due once its linger time has elapsed since its first payload was added.
+   *
+   * @since 1.0.0
+   */
+  public void testQosAndLinger() {
+    final long lingerMillis = 500;
+    final long firstPayloadTimeMillis = 10000;
+    MqttPublishBatch batch =
+        new MqttPublishBatch(
+            TEST_TOPIC,
+            4096,
+            lingerMillis,
+            ConstrainedMqttManager.PUBLISH_BATCH_FRAMING_NEWLINE_DELIMITED);
+    assertFalse(batch.isDue(firstPayloadTimeMillis + lingerMillis));
+    assertTrue(batch.canAdd("a", 2));
+    batch.add("a", 2, firstPayloadTimeMillis);
+    assertFalse(batch.canAdd("b", 1));
+    assertTrue(batch.canAdd("b", 2));
+    batch.add("b", 2, firstPayloadTimeMillis + lingerMillis - 1);
+
+    assertFalse(batch.isDue(firstPayloadTimeMillis + lingerMillis - 1));
+    assertTrue(batch.isDue(firstPayloadTimeMillis + lingerMillis));
+    assertEquals("a\nb", batch.seal().getPayload());
+    assertTrue(batch.canAdd("c", 1));
+  }
+}
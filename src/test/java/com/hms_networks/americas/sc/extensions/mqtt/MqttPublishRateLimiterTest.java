@@ -0,0 +1,157 @@
+package com.hms_networks.americas.sc.extensions.mqtt;
+
+import junit.framework.TestCase;
+
+/**
+ * Library test class for the {@link MqttPublishRateLimiter} class in the Ewon Flexy Extensions
+ * Library.
+ *
+ * @author HMS Networks; Americas
+ * @since 1.17.0
+ * @version 1.0.0
+ */
+public class MqttPublishRateLimiterTest extends TestCase {
+
+  /**
+   * Allowed difference when comparing rates.
+   *
+   * @since 1.0.0
+   */
+  private static final double RATE_DELTA = 0.0001;
+
+  /**
+   * Test case to verify that the message bucket holds one second of tokens and is refilled at the
+   * maximum rate, and that unlimited rates never hold messages.
+   *
+   * @since 1.0.0
+   */
+  public void testMessageRefill() {
+    MqttPublishRateLimiter limiter = new MqttPublishRateLimiter(10, 0, 0);
+    assertAcquired(limiter, 10, 0, 0);
+    assertFalse(limiter.tryAcquire(0, 0));
+    assertFalse(limiter.tryAcquire(0, 99));
+    assertTrue(limiter.tryAcquire(0, 100));
+    assertFalse(limiter.tryAcquire(0, 100));
+
+    // Idle time beyond one second does not add more tokens than the bucket holds
+    assertAcquired(limiter, 10, 0, 10000);
+    assertFalse(limiter.tryAcquire(0, 10000));
+
+    MqttPublishRateLimiter unlimitedLimiter =
+        new MqttPublishRateLimiter(
+            ConstrainedMqttManager.PUBLISH_RATE_UNLIMITED,
+            ConstrainedMqttManager.PUBLISH_RATE_UNLIMITED,
+            0);
+    assertAcquired(unlimitedLimiter, 1000, 100000, 0);
+  }
+
+  /**
+   * Test case to verify that the byte bucket is refilled at the maximum rate, and that a message
+   * larger than the byte bucket is published once the bucket is full and delays later messages.
+   *
+   * @since 1.0.0
+   */
+  public void testByteRefill() {
+    MqttPublishRateLimiter limiter = new MqttPublishRateLimiter(0, 100, 0);
+    assertTrue(limiter.tryAcquire(60, 0));
+    assertFalse(limiter.tryAcquire(60, 0));
+    assertTrue(limiter.tryAcquire(40, 0));
+    assertFalse(limiter.tryAcquire(60, 500));
+    assertTrue(limiter.tryAcquire(60, 600));
+
+    // Bucket is full again after one second
+    assertFalse(limiter.tryAcquire(500, 1500));
+    assertTrue(limiter.tryAcquire(500, 1600));
+
+    // 400 bytes over the bucket take 4 seconds to repay
+    assertFalse(limiter.tryAcquire(1, 5590));
+    assertTrue(limiter.tryAcquire(1, 5610));
+  }
+
+  /**
+   * Test case to verify that congestion halves the current rate (down to the minimum rate) and
+   * limits the buckets to the new rate, that congestion within the hold-off time is ignored, and
+   * that the current rate recovers gradually to the maximum rate without congestion.
+   *
+   * @since 1.0.0
+   */
+  public void testCongestionAndRecovery() {
+    final int maxMessagesPerSecond = 16;
+    final int maxBytesPerSecond = 1600;
+    MqttPublishRateLimiter limiter =
+        new MqttPublishRateLimiter(maxMessagesPerSecond, maxBytesPerSecond, 0);
+
+    limiter.onCongestion(0);
+    assertEquals(8, limiter.getCurrentMessagesPerSecond(), RATE_DELTA);
+    assertEquals(800, limiter.getCurrentBytesPerSecond(), RATE_DELTA);
+    assertAcquired(limiter, 8, 1, 0);
+    assertFalse(limiter.tryAcquire(1, 0));
+
+    // Congestion within the hold-off time does not lower the rate again
+    limiter.onCongestion(500);
+    assertEquals(8, limiter.getCurrentMessagesPerSecond(), RATE_DELTA);
+    limiter.onCongestion(1000);
+    assertEquals(4, limiter.getCurrentMessagesPerSecond(), RATE_DELTA);
+    limiter.onCongestion(2000);
+    limiter.onCongestion(3000);
+    limiter.onCongestion(4000);
+    assertEquals(1, limiter.getCurrentMessagesPerSecond(), RATE_DELTA);
+    assertEquals(100, limiter.getCurrentBytesPerSecond(), RATE_DELTA);
+
+    // Rate is raised by 2 messages per second for each 5 seconds without congestion
+    assertTrue(limiter.tryAcquire(1, 8999));
+    assertEquals(1, limiter.getCurrentMessagesPerSecond(), RATE_DELTA);
+    assertFalse(limiter.tryAcquire(1, 9000));
+    assertEquals(3, limiter.getCurrentMessagesPerSecond(), RATE_DELTA);
+    assertTrue(limiter.tryAcquire(1, 39000));
+    assertEquals(15, limiter.getCurrentMessagesPerSecond(), RATE_DELTA);
+    assertTrue(limiter.tryAcquire(1, 44000));
+    assertEquals(maxMessagesPerSecond, limiter.getCurrentMessagesPerSecond(), RATE_DELTA);
+    assertEquals(maxBytesPerSecond, limiter.getCurrentBytesPerSecond(), RATE_DELTA);
+    assertTrue(limiter.tryAcquire(1, 100000));
+    assertEquals(maxMessagesPerSecond, limiter.getCurrentMessagesPerSecond(), RATE_DELTA);
+  }
+
+  /**
+   * Test case to verify that the buckets are refilled and the current rate recovers from the
+   * current time after the clock moves backwards, instead of after the clock catches up.
+   *
+   * @since 1.0.0
+   */
+  public void testClockMovesBackwards() {
+    final int maxMessagesPerSecond = 16;
+    MqttPublishRateLimiter limiter = new MqttPublishRateLimiter(maxMessagesPerSecond, 0, 100000);
+    limiter.onCongestion(100000);
+    assertAcquired(limiter, 8, 0, 100000);
+    assertFalse(limiter.tryAcquire(0, 100000));
+
+    // Clock moves back 100 seconds
+    assertFalse(limiter.tryAcquire(0, 0));
+    assertFalse(limiter.tryAcquire(0, 124));
+    assertTrue(limiter.tryAcquire(0, 125));
+
+    // Congestion hold-off and recovery are measured from the time the clock moved back
+    limiter.onCongestion(999);
+    assertEquals(8, limiter.getCurrentMessagesPerSecond(), RATE_DELTA);
+    limiter.tryAcquire(0, 4999);
+    assertEquals(8, limiter.getCurrentMessagesPerSecond(), RATE_DELTA);
+    assertTrue(limiter.tryAcquire(0, 5000));
+    assertEquals(10, limiter.getCurrentMessagesPerSecond(), RATE_DELTA);
+  }
+
+  /**
+   * Asserts that the specified number of messages may be published at the specified time.
+   *
+   * @param limiter rate limiter
+   * @param count number of messages
+   * @param payloadBytes size (in bytes) of each message payload
+   * @param currentTimeMillis current time (in ms)
+   * @since 1.0.0
+   */
+  private static void assertAcquired(
+      MqttPublishRateLimiter limiter, int count, int payloadBytes, long currentTimeMillis) {
+    for (int i = 0; i < count; i++) {
+      assertTrue(limiter.tryAcquire(payloadBytes, currentTimeMillis));
+    }
+  }
+}
@@ -0,0 +1,310 @@
+package com.hms_networks.americas.sc.extensions.mqtt;
+
+import com.ewon.ewonitf.MqttMessage;
+import junit.framework.TestCase;
+
+/**
+ * Library test class for the {@link MqttTopicDispatcher} class in the Ewon Flexy Extensions
+ * Library.
+ *
+ * @author HMS Networks; Americas
+ * @since 1.17.0
+ * @version 1.0.0
+ */
+public class MqttTopicDispatcherTest extends TestCase {
+
+  /**
+   * Message passed to the handlers. Topics are passed to the dispatcher separately.
+   *
+   * @since 1.0.0
+   */
+  private static final MqttMessage TEST_MESSAGE = new MqttMessage("", "payload");
+
+  /**
+   * Dispatcher under test, which records the exceptions thrown by handlers.
+   *
+   * @since 1.0.0
+   */
+  private TestDispatcher dispatcher;
+
+  /**
+   * Record of the handlers called, in order, separated by spaces.
+   *
+   * @since 1.0.0
+   */
+  private StringBuffer calls;
+
+  /**
+   * Creates the dispatcher and call record used by each test case.
+   *
+   * @since 1.0.0
+   */
+  protected void setUp() {
+    dispatcher = new TestDispatcher();
+    calls = new StringBuffer();
+  }
+
+  /**
+   * Test case to verify that the single level wildcard matches exactly one level, including an
+   * empty level.
+   *
+   * @since 1.0.0
+   */
+  public void testSingleLevelWildcard() {
+    addHandlers(new String[] {"a/+/c", "+/b/c", "a/+", "+", "a/b/c"});
+
+    assertDispatched("a/b/c", "a/b/c a/+/c +/b/c");
+    assertDispatched("a/x", "a/+");
+    assertDispatched("a", "+");
+    assertDispatched("a//c", "a/+/c");
+    assertDispatched("a/b/c/d", "");
+    assertDispatched("", "+");
+  }
+
+  /**
+   * Test case to verify that the multi level wildcard matches any number of levels, including the
+   * parent level of the wildcard.
+   *
+   * @since 1.0.0
+   */
+  public void testMultiLevelWildcard() {
+    addHandlers(new String[] {"a/#", "#", "a/b/#", "+/#"});
+
+    assertDispatched("a", "# a/# +/#");
+    assertDispatched("a/b", "# a/# a/b/# +/#");
+    assertDispatched("a/b/c/d", "# a/# a/b/# +/#");
+    assertDispatched("b", "# +/#");
+    assertDispatched("a/", "# a/# +/#");
+  }
+
+  /**
+   * Test case to verify that topics starting with <code>$</code> are not matched by topic filters
+   * starting with a wildcard, but are matched by topic filters starting with the same level.
+   *
+   * @since 1.0.0
+   */
+  public void testSystemTopics() {
+    addHandlers(new String[] {"#", "+/status", "$SYS/#", "$SYS/+/x"});
+
+    assertDispatched("$SYS/status", "$SYS/#");
+    assertDispatched("$SYS/a/x", "$SYS/# $SYS/+/x");
+    assertDispatched("dev/status", "# +/status");
+    assertDispatched("$", "");
+  }
+
+  /**
+   * Test case to verify that removing a handler removes one registration, that topic levels left
+   * empty are removed, and that invalid topic filters are rejected.
+   *
+   * @since 1.0.0
+   */
+  public void testRemoveHandler() {
+    MqttMessageHandler handler = new RecordingHandler("h");
+    dispatcher.addHandler("a/b", handler);
+    dispatcher.addHandler("a/b", handler);
+    dispatcher.addHandler("a/+/#", handler);
+    assertDispatched("a/b", "h h h");
+
+    assertTrue(dispatcher.removeHandler("a/b", handler));
+    assertDispatched("a/b", "h h");
+    assertFalse(dispatcher.removeHandler("a/c", handler));
+    assertFalse(dispatcher.removeHandler("a/b/c/d", handler));
+    assertFalse(dispatcher.removeHandler("a/+", handler));
+    assertFalse(dispatcher.removeHandler("a/b", new RecordingHandler("h")));
+    assertTrue(dispatcher.removeHandler("a/b", handler));
+    assertFalse(dispatcher.isEmpty());
+    assertTrue(dispatcher.removeHandler("a/+/#", handler));
+    assertTrue(dispatcher.isEmpty());
+    assertDispatched("a/b", "");
+
+    // Re-adding a handler after its topic levels were removed
+    dispatcher.addHandler("a/b", handler);
+    assertDispatched("a/b", "h");
+
+    final String[] invalidFilters = new String[] {null, "", "a/#/b", "a/b#", "a+/b"};
+    for (int i = 0; i < invalidFilters.length; i++) {
+      try {
+        dispatcher.removeHandler(invalidFilters[i], handler);
+        fail("Expected IllegalArgumentException for topic filter: " + invalidFilters[i]);
+      } catch (IllegalArgumentException e) {
+        // Expected
+      }
+      try {
+        dispatcher.addHandler(invalidFilters[i], handler);
+        fail("Expected IllegalArgumentException for topic filter: " + invalidFilters[i]);
+      } catch (IllegalArgumentException e) {
+        // Expected
+      }
+    }
+  }
+
+  /**
+   * Test case to verify that an exception thrown by a handler is passed to {@link
+   * MqttTopicDispatcher#onError(Throwable)} without preventing the remaining handlers from being
+   * called.
+   *
+   * @since 1.0.0
+   */
+  public void testHandlerException() {
+    RecordingHandler failingHandler = new RecordingHandler("fail");
+    failingHandler.exception = new IllegalStateException("test");
+    dispatcher.addHandler("a", failingHandler);
+    dispatcher.addHandler("a", new RecordingHandler("h1"));
+    dispatcher.addHandler("#", new RecordingHandler("h2"));
+
+    assertDispatched("a", "h2 fail h1");
+    assertEquals(1, dispatcher.errorCount);
+    assertSame(failingHandler.exception, dispatcher.lastError);
+  }
+
+  /**
+   * Test case to verify that handlers may add and remove handlers while a message is dispatched.
+   * Handlers added for a topic filter which is being called are called from the next message, and
+   * handlers removed before their topic filter is reached are not called.
+   *
+   * @since 1.0.0
+   */
+  public void testChangesDuringDispatch() {
+    final MqttMessageHandler replacementHandler = new RecordingHandler("new");
+    final MqttMessageHandler wildcardHandler = new RecordingHandler("+");
+    MqttMessageHandler replacingHandler =
+        new RecordingHandler("old") {
+          public void onMessage(MqttMessage mqttMessage) {
+            super.onMessage(mqttMessage);
+            dispatcher.removeHandler("a/b", this);
+            dispatcher.addHandler("a/b", replacementHandler);
+          }
+        };
+    MqttMessageHandler removingHandler =
+        new RecordingHandler("#") {
+          public void onMessage(MqttMessage mqttMessage) {
+            super.onMessage(mqttMessage);
+            dispatcher.removeHandler("a/+", wildcardHandler);
+          }
+        };
+    dispatcher.addHandler("a/b", replacingHandler);
+    dispatcher.addHandler("a/b", new RecordingHandler("h"));
+    dispatcher.addHandler("a/+", wildcardHandler);
+    dispatcher.addHandler("a/#", removingHandler);
+
+    assertDispatched("a/b", "# old h");
+    assertDispatched("a/b", "# h new");
+    assertTrue(dispatcher.removeHandler("a/#", removingHandler));
+    assertDispatched("a/b", "h new");
+    assertEquals(0, dispatcher.errorCount);
+  }
+
+  /**
+   * Registers a handler, named after its topic filter, for each of the specified topic filters.
+   *
+   * @param topicFilters MQTT topic filters
+   * @since 1.0.0
+   */
+  private void addHandlers(String[] topicFilters) {
+    for (int i = 0; i < topicFilters.length; i++) {
+      dispatcher.addHandler(topicFilters[i], new RecordingHandler(topicFilters[i]));
+    }
+  }
+
+  /**
+   * Dispatches a message with the specified topic, and asserts that the specified handlers are
+   * called in order.
+   *
+   * @param topic MQTT topic of the message
+   * @param expectedCalls names of the expected handlers, in order, separated by spaces
+   * @since 1.0.0
+   */
+  private void assertDispatched(String topic, String expectedCalls) {
+    calls.setLength(0);
+    final int handlerCount = dispatcher.dispatch(topic, TEST_MESSAGE);
+    final String actualCalls = calls.toString().trim();
+    assertEquals(topic, expectedCalls, actualCalls);
+    assertEquals(topic, expectedCalls.length() == 0 ? 0 : countNames(expectedCalls), handlerCount);
+  }
+
+  /**
+   * Counts the names in the specified string of names separated by spaces.
+   *
+   * @param names names separated by spaces
+   * @return number of names
+   * @since 1.0.0
+   */
+  private static int countNames(String names) {
+    int count = 1;
+    for (int i = 0; i < names.length(); i++) {
+      if (names.charAt(i) == ' ') {
+        count++;
+      }
+    }
+    return count;
+  }
+
+  /**
+   * Handler which records its name in {@link #calls} when called, and optionally throws an
+   * exception.
+   *
+   * @since 1.0.0
+   */
+  private class RecordingHandler implements MqttMessageHandler {
+
+    /**
+     * Name of the handler.
+     *
+     * @since 1.0.0
+     */
+    private final String name;
+
+    /**
+     * Exception thrown when the handler is called, or null.
+     *
+     * @since 1.0.0
+     */
+    private RuntimeException exception;
+
+    /**
+     * Constructs a new {@link RecordingHandler} with the specified name.
+     *
+     * @param name name of the handler
+     * @since 1.0.0
+     */
+    private RecordingHandler(String name) {
+      this.name = name;
+    }
+
+    public void onMessage(MqttMessage mqttMessage) {
+      assertSame(TEST_MESSAGE, mqttMessage);
+      calls.append(name).append(' ');
+      if (exception != null) {
+        throw exception;
+      }
+    }
+  }
+
+  /**
+   * {@link MqttTopicDispatcher} which records the exceptions thrown by handlers instead of logging
+   * them.
+   *
+   * @since 1.0.0
+   */
+  private static class TestDispatcher extends MqttTopicDispatcher {
+
+    /**
+     * Number of exceptions thrown by handlers.
+     *
+     * @since 1.0.0
+     */
+    private int errorCount;
+
+    /**
+     * Most recent exception thrown by a handler, or null.
+     *
+     * @since 1.0.0
+     */
+    private Throwable lastError;
+
+    protected void onError(Throwable throwable) {
+      errorCount++;
+      lastError = throwable;
+    }
+  }
+}
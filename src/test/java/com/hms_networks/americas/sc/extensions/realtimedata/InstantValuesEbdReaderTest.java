@@ -0,0 +1,366 @@
+package com.hms_networks.americas.sc.extensions.realtimedata;
+
+import com.hms_networks.americas.sc.extensions.datapoint.DataPoint;
+import com.hms_networks.americas.sc.extensions.datapoint.DataPointBoolean;
+import com.hms_networks.americas.sc.extensions.datapoint.DataPointDouble;
+import com.hms_networks.americas.sc.extensions.datapoint.DataPointLong;
+import com.hms_networks.americas.sc.extensions.datapoint.DataPointString;
+import com.hms_networks.americas.sc.extensions.datapoint.DataQuality;
+import com.hms_networks.americas.sc.extensions.taginfo.TagInfo;
+import com.hms_networks.americas.sc.extensions.taginfo.TagInfoTestFixture;
+import com.hms_networks.americas.sc.extensions.taginfo.TagType;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import junit.framework.TestCase;
+
+/**
+ * Library test class for the {@link InstantValuesEbdReader} class in the Ewon Flexy Extensions
+ * Library.
+ *
+ * @author HMS Networks; Americas
+ * @since 1.17.0
+ * @version 1.0.0
+ */
+public class InstantValuesEbdReaderTest extends TestCase {
+
+  /**
+   * Header line of the instant values EBD data.
+   *
+   * @since 1.0.0
+   */
+  private static final String EBD_HEADER =
+      "\"TagId\";\"TagName\";\"Value\";\"AlStatus\";\"AlType\";\"Quality\"\r\n";
+
+  /**
+   * Time used for each test read, in milliseconds since epoch.
+   *
+   * @since 1.0.0
+   */
+  private static final long TEST_READ_TIME_MILLIS = 1700000000000L;
+
+  /**
+   * Test case to verify that integers, decimals, booleans and quoted strings are parsed to the
+   * expected value types and values.
+   *
+   * @throws IOException if unable to read the EBD data
+   * @since 1.0.0
+   */
+  public void testValueTypes() throws IOException {
+    InstantValuesEbdReader reader = new InstantValuesEbdReader(10);
+    int count =
+        read(
+            reader,
+            buildRow(1, "42", 192)
+                + buildRow(2, "-17", 192)
+                + buildRow(3, "-12.5", 192)
+                + buildRow(4, "true", 192)
+                + buildRow(5, "FALSE", 192)
+                + buildRow(6, "\"a;\\\"b\\\"\"", 0)
+                + "7;\"Last\";\"\";0;0;64");
+
+    assertEquals(7, count);
+    assertEquals(TEST_READ_TIME_MILLIS, reader.getReadTimeMillis());
+    for (int i = 0; i < count; i++) {
+      assertEquals(i + 1, reader.getTagId(i));
+    }
+    assertEquals(InstantValuesEbdReader.VALUE_TYPE_INTEGER, reader.getValueType(1));
+    assertEquals(42, reader.getLongValue(1));
+    assertEquals(-17, reader.getLongValue(2));
+    assertEquals(InstantValuesEbdReader.VALUE_TYPE_DECIMAL, reader.getValueType(3));
+    assertEquals(-12.5, reader.getDoubleValue(3), 0);
+    assertEquals(-12, reader.getLongValue(3));
+    assertEquals(InstantValuesEbdReader.VALUE_TYPE_INTEGER, reader.getValueType(4));
+    assertEquals(1, reader.getLongValue(4));
+    assertEquals(0, reader.getLongValue(5));
+    assertEquals(InstantValuesEbdReader.VALUE_TYPE_STRING, reader.getValueType(6));
+    assertEquals("a;\"b\"", reader.getStringValue(6));
+    assertEquals(0, reader.getQuality(6));
+    assertEquals("", reader.getStringValue(7));
+    assertEquals(64, reader.getQuality(7));
+    assertEquals(192, reader.getQuality(1));
+
+    try {
+      reader.getLongValue(6);
+      fail("Expected IllegalStateException for numeric value of string tag.");
+    } catch (IllegalStateException e) {
+      // Expected
+    }
+    try {
+      reader.getTagId(count);
+      fail("Expected IndexOutOfBoundsException for invalid instant value index.");
+    } catch (IndexOutOfBoundsException e) {
+      // Expected
+    }
+  }
+
+  /**
+   * Test case to verify that decimal values parsed directly (without creating objects) and values
+   * parsed using the {@link Double#parseDouble(String)} fallback (too many digits, inexact mantissa
+   * or power of ten, or special values) both match {@link Double#parseDouble(String)} exactly.
+   *
+   * @throws IOException if unable to read the EBD data
+   * @since 1.0.0
+   */
+  public void testDecimalsMatchParseDouble() throws IOException {
+    final String[] values =
+        new String[] {
+          "0.1",
+          "-3.14159",
+          "123456.789",
+          "2.5E-5",
+          "1.5e+3",
+          "1e22",
+          "0.000000000000000000001",
+          ".5",
+          "7.",
+          "12345678901234567890",
+          "0.1234567890123456789",
+          "9007199254740993.5",
+          "1e23",
+          "4.9e-324",
+          "1.7976931348623157E308",
+          "NaN",
+          "-Infinity"
+        };
+    StringBuffer data = new StringBuffer();
+    for (int i = 0; i < values.length; i++) {
+      data.append(buildRow(i, values[i], 192));
+    }
+
+    InstantValuesEbdReader reader = new InstantValuesEbdReader(values.length);
+    assertEquals(values.length, read(reader, data.toString()));
+
+    for (int i = 0; i < values.length; i++) {
+      assertEquals(values[i], InstantValuesEbdReader.VALUE_TYPE_DECIMAL, reader.getValueType(i));
+      assertEquals(
+          values[i],
+          Double.doubleToLongBits(Double.parseDouble(values[i])),
+          Double.doubleToLongBits(reader.getDoubleValue(i)));
+    }
+  }
+
+  /**
+   * Test case to verify that values which cannot be parsed as a number or boolean, tag IDs or
+   * qualities which overflow an <code>int</code> (with or without a tag ID filter), and rows whose
+   * number of values does not match the number of headings, result in an {@link
+   * IllegalArgumentException}.
+   *
+   * @throws IOException if unable to read the EBD data
+   * @since 1.0.0
+   */
+  public void testInvalidRowsThrow() throws IOException {
+    InstantValuesEbdReader reader = new InstantValuesEbdReader(10);
+    final String[] invalidData =
+        new String[] {
+          buildRow(1, "12abc", 192),
+          buildRow(1, "1e", 192),
+          "1;\"Tag\";5;0;0\n",
+          "2147483648;\"Tag\";5;0;0;192\n",
+          "99999999999;\"Tag\";5;0;0;192\n",
+          "1;\"Tag\";5;0;0;4294967488\n"
+        };
+    InstantValuesEbdReader filteredReader = new InstantValuesEbdReader(10);
+    filteredReader.setTagIdFilter(new int[] {1});
+    for (int i = 0; i < invalidData.length; i++) {
+      try {
+        read(reader, invalidData[i]);
+        fail("Expected IllegalArgumentException for [" + invalidData[i] + "].");
+      } catch (IllegalArgumentException e) {
+        // Expected
+      }
+      try {
+        read(filteredReader, invalidData[i]);
+        fail("Expected IllegalArgumentException for filtered [" + invalidData[i] + "].");
+      } catch (IllegalArgumentException e) {
+        // Expected
+      }
+    }
+
+    // Largest tag ID is parsed, and skipped by the filter
+    assertEquals(0, read(filteredReader, buildRow(Integer.MAX_VALUE, "1", 192)));
+  }
+
+  /**
+   * Test case to verify that the tag ID filter skips rows of other tags (including tag IDs larger
+   * than the filter), that the arrays grow for tag IDs larger than expected, and that tags from a
+   * previous read are not present in the next read.
+   *
+   * @throws IOException if unable to read the EBD data
+   * @since 1.0.0
+   */
+  public void testFilterAndGrowth() throws IOException {
+    final int largeTagId = 5000;
+    InstantValuesEbdReader reader = new InstantValuesEbdReader(2);
+    reader.setTagIdFilter(new int[] {1, largeTagId});
+
+    int count =
+        read(
+            reader,
+            buildRow(1, "1", 192)
+                + buildRow(2, "\"skipped\"", 192)
+                + buildRow(largeTagId, "2.25", 192)
+                + buildRow(largeTagId + 1, "3", 192));
+
+    assertEquals(2, count);
+    assertEquals(1, reader.getTagId(0));
+    assertEquals(largeTagId, reader.getTagId(1));
+    assertEquals(InstantValuesEbdReader.VALUE_TYPE_NONE, reader.getValueType(2));
+    assertEquals(InstantValuesEbdReader.VALUE_TYPE_NONE, reader.getValueType(largeTagId + 1));
+    assertEquals(2.25, reader.getDoubleValue(largeTagId), 0);
+
+    // Remove filter and read a larger tag ID without the previously read tags
+    reader.setTagIdFilter(null);
+    final int largerTagId = largeTagId * 3;
+    count = read(reader, buildRow(2, "7", 0) + buildRow(largerTagId, "8", 0));
+
+    assertEquals(2, count);
+    assertEquals(InstantValuesEbdReader.VALUE_TYPE_NONE, reader.getValueType(1));
+    assertEquals(InstantValuesEbdReader.VALUE_TYPE_NONE, reader.getValueType(largeTagId));
+    assertEquals(7, reader.getLongValue(2));
+    assertEquals(8, reader.getLongValue(largerTagId));
+    try {
+      reader.getQuality(1);
+      fail("Expected IllegalStateException for tag not included in the read.");
+    } catch (IllegalStateException e) {
+      // Expected
+    }
+  }
+
+  /**
+   * Test case to verify that string values longer than the initial value buffer and longer than a
+   * single read chunk are read completely.
+   *
+   * @throws IOException if unable to read the EBD data
+   * @since 1.0.0
+   */
+  public void testLongStringValue() throws IOException {
+    StringBuffer longValue = new StringBuffer();
+    for (int i = 0; i < 10000; i++) {
+      longValue.append((char) ('a' + i % 26));
+    }
+
+    InstantValuesEbdReader reader = new InstantValuesEbdReader(1);
+    read(reader, buildRow(1, "\"" + longValue + "\"", 192) + buildRow(2, "3", 192));
+
+    assertEquals(longValue.toString(), reader.getStringValue(1));
+    assertEquals(3, reader.getLongValue(2));
+  }
+
+  /**
+   * Test case to verify that data points created from a read are equal to, and of the same class
+   * as, data points created from the same values reported by another source (such as a tag value
+   * change event), so that duplicate values are recognized.
+   *
+   * @throws IOException if unable to read the EBD data
+   * @since 1.0.0
+   */
+  public void testCreateDataPointMatchesEventValues() throws IOException {
+    TagInfo floatTag = TagInfoTestFixture.buildTagInfo(1, TagType.FLOAT);
+    TagInfo integerTag = TagInfoTestFixture.buildTagInfo(2, TagType.INTEGER);
+    TagInfo booleanTag = TagInfoTestFixture.buildTagInfo(3, TagType.BOOLEAN);
+    TagInfo stringTag = TagInfoTestFixture.buildTagInfo(4, TagType.STRING);
+    InstantValuesEbdReader reader = new InstantValuesEbdReader(4);
+    read(
+        reader,
+        buildRow(1, "2.5", 192)
+            + buildRow(2, "-7", 192)
+            + buildRow(3, "1", 192)
+            + buildRow(4, "\"text\"", 192));
+
+    assertCreatedDataPointsEqual(
+        reader,
+        floatTag,
+        InstantValuesEbdReader.VALUE_TYPE_DECIMAL,
+        Double.doubleToLongBits(2.5),
+        null,
+        DataPointDouble.class);
+    assertCreatedDataPointsEqual(
+        reader,
+        integerTag,
+        InstantValuesEbdReader.VALUE_TYPE_INTEGER,
+        -7,
+        null,
+        DataPointLong.class);
+    assertCreatedDataPointsEqual(
+        reader,
+        booleanTag,
+        InstantValuesEbdReader.VALUE_TYPE_INTEGER,
+        1,
+        null,
+        DataPointBoolean.class);
+    assertCreatedDataPointsEqual(
+        reader,
+        stringTag,
+        InstantValuesEbdReader.VALUE_TYPE_STRING,
+        0,
+        "text",
+        DataPointString.class);
+    assertNull(
+        reader.createDataPoint(
+            TagInfoTestFixture.buildTagInfo(5, TagType.FLOAT), "1700000000", "iso"));
+  }
+
+  /**
+   * Asserts that the data point created by the specified reader for the specified tag is equal to,
+   * and of the same class as, the data point created from the specified value.
+   *
+   * @param reader reader holding the value of the tag
+   * @param tagInfo tag information of the tag
+   * @param valueType value type of the specified value
+   * @param rawValue integer value, or decimal value bits, of the specified value
+   * @param stringValue string value of the specified value
+   * @param expectedClass expected class of both data points
+   * @since 1.0.0
+   */
+  private static void assertCreatedDataPointsEqual(
+      InstantValuesEbdReader reader,
+      TagInfo tagInfo,
+      int valueType,
+      long rawValue,
+      String stringValue,
+      Class expectedClass) {
+    final String timestamp = "1700000000";
+    final String timestampIso8601 = "2023-11-14T22:13:20Z";
+    DataPoint readDataPoint = reader.createDataPoint(tagInfo, timestamp, timestampIso8601);
+    DataPoint valueDataPoint =
+        InstantValuesEbdReader.createDataPoint(
+            tagInfo,
+            valueType,
+            rawValue,
+            stringValue,
+            DataQuality.GOOD,
+            timestamp,
+            timestampIso8601);
+    assertEquals(expectedClass, readDataPoint.getClass());
+    assertEquals(expectedClass, valueDataPoint.getClass());
+    assertTrue(readDataPoint.equals(valueDataPoint));
+  }
+
+  /**
+   * Reads the specified instant values EBD data rows, preceded by the header line, using the
+   * specified reader.
+   *
+   * @param reader reader to read the data with
+   * @param rows EBD data rows
+   * @return number of tags read
+   * @throws IOException if unable to read the EBD data
+   * @since 1.0.0
+   */
+  private static int read(InstantValuesEbdReader reader, String rows) throws IOException {
+    byte[] data = (EBD_HEADER + rows).getBytes("UTF-8");
+    return reader.read(new ByteArrayInputStream(data), TEST_READ_TIME_MILLIS);
+  }
+
+  /**
+   * Builds an instant values EBD data row for the specified tag.
+   *
+   * @param tagId tag ID
+   * @param value value field, including quotes for string values
+   * @param quality OPC UA quality
+   * @return EBD data row
+   * @since 1.0.0
+   */
+  private static String buildRow(int tagId, String value, int quality) {
+    return tagId + ";\"Tag" + tagId + "\";" + value + ";0;0;" + quality + "\r\n";
+  }
+}
@@ -0,0 +1,275 @@
+package com.hms_networks.americas.sc.extensions.realtimedata;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import junit.framework.TestCase;
+
+/**
+ * Library test class for the {@link InstantValuesSnapshotDiffer} class in the Ewon Flexy Extensions
+ * Library.
+ *
+ * @author HMS Networks; Americas
+ * @since 1.17.0
+ * @version 1.0.0
+ */
+public class InstantValuesSnapshotDifferTest extends TestCase {
+
+  /**
+   * Header line of the instant values EBD data.
+   *
+   * @since 1.0.0
+   */
+  private static final String EBD_HEADER =
+      "\"TagId\";\"TagName\";\"Value\";\"AlStatus\";\"AlType\";\"Quality\"\r\n";
+
+  /**
+   * Quality of good test values.
+   *
+   * @since 1.0.0
+   */
+  private static final int GOOD_QUALITY = 192;
+
+  /**
+   * Quality of bad test values.
+   *
+   * @since 1.0.0
+   */
+  private static final int BAD_QUALITY = 0;
+
+  /**
+   * Reader used to read the test snapshots.
+   *
+   * @since 1.0.0
+   */
+  private InstantValuesEbdReader reader;
+
+  /**
+   * Differ under test.
+   *
+   * @since 1.0.0
+   */
+  private InstantValuesSnapshotDiffer differ;
+
+  /**
+   * Reusable result of each difference.
+   *
+   * @since 1.0.0
+   */
+  private InstantValuesSnapshotChanges changes;
+
+  /**
+   * Creates the reader, differ and result used by each test case.
+   *
+   * @since 1.0.0
+   */
+  protected void setUp() {
+    reader = new InstantValuesEbdReader(10);
+    differ = new InstantValuesSnapshotDiffer(10);
+    changes = new InstantValuesSnapshotChanges();
+  }
+
+  /**
+   * Test case to verify that the first snapshot of each tag is emitted as a changed value, and that
+   * a snapshot with the same values and qualities emits no tags.
+   *
+   * @throws IOException if unable to read the EBD data
+   * @since 1.0.0
+   */
+  public void testFirstSnapshotAndUnchanged() throws IOException {
+    final String rows =
+        buildRow(1, "5", GOOD_QUALITY)
+            + buildRow(2, "1.5", GOOD_QUALITY)
+            + buildRow(3, "\"text\"", GOOD_QUALITY);
+
+    assertEquals(3, diff(rows, 1000));
+    assertEquals(1000, changes.getSnapshotTimeMillis());
+    for (int i = 0; i < 3; i++) {
+      assertEquals(i + 1, changes.getTagId(i));
+      assertEquals(InstantValuesSnapshotChanges.CHANGED_VALUE, changes.getChangeFlags(i));
+    }
+
+    assertEquals(0, diff(rows, 2000));
+    assertEquals(2000, changes.getSnapshotTimeMillis());
+  }
+
+  /**
+   * Test case to verify that changes of the value, value type, string value and quality of a tag
+   * are emitted with the matching change flags.
+   *
+   * @throws IOException if unable to read the EBD data
+   * @since 1.0.0
+   */
+  public void testValueAndQualityChanges() throws IOException {
+    diff(
+        buildRow(1, "5", GOOD_QUALITY)
+            + buildRow(2, "1", GOOD_QUALITY)
+            + buildRow(3, "\"text\"", GOOD_QUALITY)
+            + buildRow(4, "7", GOOD_QUALITY)
+            + buildRow(5, "-0.5", GOOD_QUALITY),
+        1000);
+
+    assertEquals(
+        4,
+        diff(
+            buildRow(1, "6", GOOD_QUALITY)
+                + buildRow(2, "1", GOOD_QUALITY)
+                + buildRow(3, "\"other\"", GOOD_QUALITY)
+                + buildRow(4, "7", BAD_QUALITY)
+                + buildRow(5, "-0.25", BAD_QUALITY),
+            2000));
+    assertChange(0, 1, InstantValuesSnapshotChanges.CHANGED_VALUE);
+    assertChange(1, 3, InstantValuesSnapshotChanges.CHANGED_VALUE);
+    assertChange(2, 4, InstantValuesSnapshotChanges.CHANGED_QUALITY);
+    assertChange(
+        3,
+        5,
+        InstantValuesSnapshotChanges.CHANGED_VALUE | InstantValuesSnapshotChanges.CHANGED_QUALITY);
+
+    // Integer 1 and decimal 1.0 have different value types
+    assertEquals(1, diff(buildRow(2, "1.0", GOOD_QUALITY), 3000));
+    assertChange(0, 2, InstantValuesSnapshotChanges.CHANGED_VALUE);
+
+    // Changes are compared against the most recent emitted values
+    assertEquals(0, diff(buildRow(1, "6", GOOD_QUALITY) + buildRow(4, "7", BAD_QUALITY), 4000));
+  }
+
+  /**
+   * Test case to verify that tags not included in a snapshot keep their previous values, and that
+   * {@link InstantValuesSnapshotDiffer#reset()} causes all tags to be emitted again.
+   *
+   * @throws IOException if unable to read the EBD data
+   * @since 1.0.0
+   */
+  public void testMissingTagsAndReset() throws IOException {
+    final String rows = buildRow(1, "5", GOOD_QUALITY) + buildRow(2, "\"text\"", GOOD_QUALITY);
+    diff(rows, 1000);
+
+    assertEquals(0, diff(buildRow(2, "\"text\"", GOOD_QUALITY), 2000));
+    assertEquals(0, diff(rows, 3000));
+
+    differ.reset();
+    assertEquals(2, diff(rows, 4000));
+    assertChange(0, 1, InstantValuesSnapshotChanges.CHANGED_VALUE);
+    assertChange(1, 2, InstantValuesSnapshotChanges.CHANGED_VALUE);
+  }
+
+  /**
+   * Test case to verify that an unchanged tag is emitted as a full refresh once the full-refresh
+   * interval has elapsed since it was last emitted, and that a value change restarts the interval.
+   *
+   * @throws IOException if unable to read the EBD data
+   * @since 1.0.0
+   */
+  public void testFullRefreshInterval() throws IOException {
+    differ.setFullRefreshIntervalMillis(10000);
+    diff(buildRow(1, "5", GOOD_QUALITY) + buildRow(2, "5", GOOD_QUALITY), 0);
+
+    assertEquals(1, diff(buildRow(1, "5", GOOD_QUALITY) + buildRow(2, "6", GOOD_QUALITY), 5000));
+    assertChange(0, 2, InstantValuesSnapshotChanges.CHANGED_VALUE);
+    assertEquals(1, diff(buildRow(1, "5", GOOD_QUALITY) + buildRow(2, "6", GOOD_QUALITY), 10000));
+    assertChange(0, 1, InstantValuesSnapshotChanges.FULL_REFRESH);
+    assertEquals(1, diff(buildRow(1, "5", GOOD_QUALITY) + buildRow(2, "6", GOOD_QUALITY), 15000));
+    assertChange(0, 2, InstantValuesSnapshotChanges.FULL_REFRESH);
+    assertEquals(0, diff(buildRow(1, "5", GOOD_QUALITY) + buildRow(2, "6", GOOD_QUALITY), 19999));
+
+    differ.setFullRefreshIntervalMillis(InstantValuesSnapshotDiffer.FULL_REFRESH_DISABLED);
+    assertEquals(0, diff(buildRow(1, "5", GOOD_QUALITY) + buildRow(2, "6", GOOD_QUALITY), 99999));
+  }
+
+  /**
+   * Test case to verify that a per-tag full-refresh interval overrides the interval for all tags,
+   * including for tag IDs larger than the differ was sized for, and that invalid intervals are
+   * rejected.
+   *
+   * @throws IOException if unable to read the EBD data
+   * @since 1.0.0
+   */
+  public void testPerTagFullRefreshInterval() throws IOException {
+    final int largeTagId = 1000;
+    differ.setFullRefreshIntervalMillis(10000);
+    differ.setFullRefreshIntervalMillis(1, InstantValuesSnapshotDiffer.FULL_REFRESH_DISABLED);
+    differ.setFullRefreshIntervalMillis(2, 1000);
+    differ.setFullRefreshIntervalMillis(2, InstantValuesSnapshotDiffer.FULL_REFRESH_USE_DEFAULT);
+    differ.setFullRefreshIntervalMillis(3, 1000);
+    final String rows =
+        buildRow(1, "1", GOOD_QUALITY)
+            + buildRow(2, "2", GOOD_QUALITY)
+            + buildRow(3, "3", GOOD_QUALITY)
+            + buildRow(largeTagId, "4", GOOD_QUALITY);
+    assertEquals(4, diff(rows, 0));
+
+    assertEquals(1, diff(rows, 1000));
+    assertChange(0, 3, InstantValuesSnapshotChanges.FULL_REFRESH);
+
+    differ.setFullRefreshIntervalMillis(largeTagId, 500);
+    assertEquals(2, diff(rows, 2000));
+    assertChange(0, 3, InstantValuesSnapshotChanges.FULL_REFRESH);
+    assertChange(1, largeTagId, InstantValuesSnapshotChanges.FULL_REFRESH);
+
+    assertEquals(3, diff(rows, 10000));
+    assertChange(0, 2, InstantValuesSnapshotChanges.FULL_REFRESH);
+    assertChange(1, 3, InstantValuesSnapshotChanges.FULL_REFRESH);
+    assertChange(2, largeTagId, InstantValuesSnapshotChanges.FULL_REFRESH);
+
+    try {
+      differ.setFullRefreshIntervalMillis(-1);
+      fail("Expected IllegalArgumentException for negative full-refresh interval.");
+    } catch (IllegalArgumentException e) {
+      // Expected
+    }
+    try {
+      differ.setFullRefreshIntervalMillis(1, -2);
+      fail("Expected IllegalArgumentException for invalid per-tag full-refresh interval.");
+    } catch (IllegalArgumentException e) {
+      // Expected
+    }
+    try {
+      differ.setFullRefreshIntervalMillis(-1, 1000);
+      fail("Expected IllegalArgumentException for negative tag ID.");
+    } catch (IllegalArgumentException e) {
+      // Expected
+    }
+  }
+
+  /**
+   * Reads the specified instant values EBD data rows and differences them against the previous
+   * snapshot.
+   *
+   * @param rows EBD data rows
+   * @param timeMillis time of the snapshot, in milliseconds since epoch
+   * @return number of emitted tags
+   * @throws IOException if unable to read the EBD data
+   * @since 1.0.0
+   */
+  private int diff(String rows, long timeMillis) throws IOException {
+    byte[] data = (EBD_HEADER + rows).getBytes("UTF-8");
+    reader.read(new ByteArrayInputStream(data), timeMillis);
+    return differ.diff(reader, changes);
+  }
+
+  /**
+   * Asserts that the emitted tag at the specified index has the specified tag ID and change flags.
+   *
+   * @param index index of the emitted tag
+   * @param expectedTagId expected tag ID
+   * @param expectedFlags expected change flags
+   * @since 1.0.0
+   */
+  private void assertChange(int index, int expectedTagId, int expectedFlags) {
+    assertEquals(expectedTagId, changes.getTagId(index));
+    assertEquals(expectedFlags, changes.getChangeFlags(index));
+  }
+
+  /**
+   * Builds an instant values EBD data row for the specified tag.
+   *
+   * @param tagId tag ID
+   * @param value value field, including quotes for string values
+   * @param quality OPC UA quality
+   * @return EBD data row
+   * @since 1.0.0
+   */
+  private static String buildRow(int tagId, String value, int quality) {
+    return tagId + ";\"Tag" + tagId + "\";" + value + ";0;0;" + quality + "\r\n";
+  }
+}
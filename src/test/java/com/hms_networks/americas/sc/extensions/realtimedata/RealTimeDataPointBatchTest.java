@@ -0,0 +1,199 @@
+package com.hms_networks.americas.sc.extensions.realtimedata;
+
+import com.hms_networks.americas.sc.extensions.datapoint.DataPointBoolean;
+import com.hms_networks.americas.sc.extensions.datapoint.DataPointDouble;
+import com.hms_networks.americas.sc.extensions.datapoint.DataPointFloat;
+import com.hms_networks.americas.sc.extensions.datapoint.DataPointLong;
+import com.hms_networks.americas.sc.extensions.datapoint.DataPointString;
+import com.hms_networks.americas.sc.extensions.datapoint.DataQuality;
+import junit.framework.TestCase;
+
+/**
+ * Library test class for the {@link RealTimeDataPointBatch} class in the Ewon Flexy Extensions
+ * Library.
+ *
+ * @author HMS Networks; Americas
+ * @since 1.17.0
+ * @version 1.0.0
+ */
+public class RealTimeDataPointBatchTest extends TestCase {
+
+  /**
+   * Name of the tag used for test data points.
+   *
+   * @since 1.0.0
+   */
+  private static final String TEST_TAG_NAME = "BatchTag";
+
+  /**
+   * ID of the tag used for test data points.
+   *
+   * @since 1.0.0
+   */
+  private static final int TEST_TAG_ID = 21;
+
+  /**
+   * Unit of the tag used for test data points.
+   *
+   * @since 1.0.0
+   */
+  private static final String TEST_TAG_UNIT = "degC";
+
+  /**
+   * Test case to verify that the data points removed from a buffer into a batch keep their tag,
+   * value, timestamps and quality, with the value type of each data point class.
+   *
+   * @since 1.0.0
+   */
+  public void testValueTypes() {
+    RealTimeTagDataPointBuffer buffer =
+        new RealTimeTagDataPointBuffer(
+            TEST_TAG_NAME, 8, RealTimeTagDataPointManager.OVERFLOW_POLICY_DROP_OLDEST);
+    buffer.add(
+        new DataPointLong(
+            TEST_TAG_NAME, TEST_TAG_ID, TEST_TAG_UNIT, -7, "100", "iso-100", DataQuality.GOOD));
+    buffer.add(
+        new DataPointFloat(TEST_TAG_NAME, TEST_TAG_ID, TEST_TAG_UNIT, 2.75f, "101", "iso-101"));
+    buffer.add(
+        new DataPointDouble(TEST_TAG_NAME, TEST_TAG_ID, TEST_TAG_UNIT, -0.5, "102", "iso-102"));
+    buffer.add(
+        new DataPointBoolean(TEST_TAG_NAME, TEST_TAG_ID, TEST_TAG_UNIT, true, "103", "iso-103"));
+    buffer.add(
+        new DataPointString(TEST_TAG_NAME, TEST_TAG_ID, TEST_TAG_UNIT, "text", "104", "iso-104"));
+    buffer.add(
+        new DataPointLong(
+            TEST_TAG_NAME, TEST_TAG_ID, TEST_TAG_UNIT, 9, "105", "iso-105", DataQuality.BAD));
+
+    RealTimeDataPointBatch batch = new RealTimeDataPointBatch(8);
+    while (buffer.removeInto(batch)) {
+      // Remove all data points
+    }
+    assertEquals(6, batch.size());
+    for (int i = 0; i < batch.size(); i++) {
+      assertEquals(TEST_TAG_NAME, batch.getTagName(i));
+      assertEquals(TEST_TAG_ID, batch.getTagId(i));
+      assertEquals(TEST_TAG_UNIT, batch.getTagUnit(i));
+      assertEquals(100 + i, batch.getTimestamp(i));
+      assertEquals("iso-" + (100 + i), batch.getIso8601Timestamp(i));
+    }
+
+    assertEquals(RealTimeDataPointBatch.VALUE_TYPE_INTEGER, batch.getValueType(0));
+    assertEquals(-7, batch.getLongValue(0));
+    assertEquals(-7, batch.getDoubleValue(0), 0);
+    assertTrue(batch.getBooleanValue(0));
+    assertEquals(RealTimeDataPointBatch.VALUE_TYPE_DECIMAL, batch.getValueType(1));
+    assertEquals(2.75, batch.getDoubleValue(1), 0);
+    assertEquals(2, batch.getLongValue(1));
+    assertEquals(RealTimeDataPointBatch.VALUE_TYPE_DECIMAL, batch.getValueType(2));
+    assertEquals(-0.5, batch.getDoubleValue(2), 0);
+    assertEquals(RealTimeDataPointBatch.VALUE_TYPE_BOOLEAN, batch.getValueType(3));
+    assertTrue(batch.getBooleanValue(3));
+    assertEquals(1, batch.getLongValue(3));
+    assertEquals(RealTimeDataPointBatch.VALUE_TYPE_STRING, batch.getValueType(4));
+    assertEquals("text", batch.getStringValue(4));
+    assertEquals(RealTimeDataPointBatch.VALUE_TYPE_INTEGER, batch.getValueType(5));
+    assertEquals(9, batch.getLongValue(5));
+    assertEquals(DataQuality.GOOD, batch.getQuality(0));
+    assertEquals(DataQuality.BAD, batch.getQuality(5));
+  }
+
+  /**
+   * Test case to verify that values are only read with a getter matching their value type, and
+   * that only the indexes of the data points in the batch are valid.
+   *
+   * @since 1.0.0
+   */
+  public void testInvalidAccess() {
+    RealTimeDataPointBatch batch = new RealTimeDataPointBatch(2);
+    appendValue(batch, RealTimeDataPointBatch.VALUE_TYPE_STRING, 0, "text");
+    appendValue(batch, RealTimeDataPointBatch.VALUE_TYPE_INTEGER, 3, null);
+
+    try {
+      batch.getLongValue(0);
+      fail("Expected IllegalStateException for string value.");
+    } catch (IllegalStateException e) {
+      // Expected
+    }
+    try {
+      batch.getBooleanValue(0);
+      fail("Expected IllegalStateException for string value.");
+    } catch (IllegalStateException e) {
+      // Expected
+    }
+    try {
+      batch.getStringValue(1);
+      fail("Expected IllegalStateException for integer value.");
+    } catch (IllegalStateException e) {
+      // Expected
+    }
+
+    final int[] invalidIndexes = new int[] {-1, 2};
+    for (int i = 0; i < invalidIndexes.length; i++) {
+      try {
+        batch.getTagName(invalidIndexes[i]);
+        fail("Expected IndexOutOfBoundsException for index: " + invalidIndexes[i]);
+      } catch (IndexOutOfBoundsException e) {
+        // Expected
+      }
+    }
+    try {
+      new RealTimeDataPointBatch(-1);
+      fail("Expected IllegalArgumentException for negative capacity.");
+    } catch (IllegalArgumentException e) {
+      // Expected
+    }
+  }
+
+  /**
+   * Test case to verify that a full batch is reused after it is cleared, and that a cleared batch
+   * has no valid indexes.
+   *
+   * @since 1.0.0
+   */
+  public void testClearAndReuse() {
+    RealTimeDataPointBatch batch = new RealTimeDataPointBatch(2);
+    assertEquals(2, batch.getCapacity());
+    assertFalse(batch.isFull());
+    appendValue(batch, RealTimeDataPointBatch.VALUE_TYPE_INTEGER, 1, null);
+    appendValue(batch, RealTimeDataPointBatch.VALUE_TYPE_INTEGER, 2, null);
+    assertTrue(batch.isFull());
+
+    batch.clear();
+    assertEquals(0, batch.size());
+    assertFalse(batch.isFull());
+    try {
+      batch.getLongValue(0);
+      fail("Expected IndexOutOfBoundsException for cleared batch.");
+    } catch (IndexOutOfBoundsException e) {
+      // Expected
+    }
+
+    appendValue(batch, RealTimeDataPointBatch.VALUE_TYPE_STRING, 0, "again");
+    assertEquals(1, batch.size());
+    assertEquals("again", batch.getStringValue(0));
+    assertEquals(2, batch.getCapacity());
+  }
+
+  /**
+   * Appends a data point for the test tag with the specified value to a batch.
+   *
+   * @param batch batch to append to
+   * @param valueType value type
+   * @param rawValue integer value, or decimal value bits
+   * @param stringValue string value, or null
+   * @since 1.0.0
+   */
+  private static void appendValue(
+      RealTimeDataPointBatch batch, byte valueType, long rawValue, String stringValue) {
+    batch.append(
+        TEST_TAG_NAME,
+        TEST_TAG_ID,
+        TEST_TAG_UNIT,
+        valueType,
+        rawValue,
+        stringValue,
+        0,
+        "",
+        DataQuality.GOOD);
+  }
+}
@@ -0,0 +1,297 @@
+package com.hms_networks.americas.sc.extensions.realtimedata;
+
+import com.hms_networks.americas.sc.extensions.datapoint.DataPoint;
+import com.hms_networks.americas.sc.extensions.datapoint.DataPointLong;
+import com.hms_networks.americas.sc.extensions.datapoint.DataQuality;
+import com.hms_networks.americas.sc.extensions.taginfo.TagInfoTestFixture;
+import com.hms_networks.americas.sc.extensions.taginfo.TagType;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import junit.framework.TestCase;
+
+/**
+ * Library test class for the {@link RealTimeDataQueueManager} class in the Ewon Flexy Extensions
+ * Library.
+ *
+ * @author HMS Networks; Americas
+ * @since 1.17.0
+ * @version 1.0.0
+ */
+public class RealTimeDataQueueManagerTest extends TestCase {
+
+  /**
+   * Initializes the real time data queue manager with the test tag groups: tags 1 and 2 in group
+   * A, tags 2 and 3 in group B, no tags in group C and tag 4 in group D.
+   *
+   * @throws Exception if unable to initialize the real time data queue manager
+   * @since 1.0.0
+   */
+  protected void setUp() throws Exception {
+    RealTimeDataQueueManager.init(buildTagGroupMembers());
+  }
+
+  /**
+   * Restores the default sampler mode and yield policy.
+   *
+   * @since 1.0.0
+   */
+  protected void tearDown() {
+    RealTimeDataQueueManager.setSamplerMode(RealTimeDataQueueManager.SAMPLER_MODE_TAG_CONTROL);
+    RealTimeDataQueueManager.setYieldPolicy(null);
+  }
+
+  /**
+   * Test case to verify that draining a tag group into an array visits each tag once, starting
+   * with the tag after the last tag drained, and keeps the tag group data point count up to date.
+   *
+   * @since 1.0.0
+   */
+  public void testDrainGroupArray() {
+    addDataPoints(1, 0, 3);
+    addDataPoints(2, 0, 2);
+    assertGroupCount(5, RealTimeDataQueueManager.GROUP_A);
+    assertGroupCount(0, RealTimeDataQueueManager.GROUP_B);
+
+    DataPoint[] dest = new DataPoint[4];
+    assertEquals(2, RealTimeDataQueueManager.drainGroup(RealTimeDataQueueManager.GROUP_A, dest, 2));
+    assertDataPoint(dest[0], 1, 0);
+    assertDataPoint(dest[1], 1, 1);
+    assertGroupCount(3, RealTimeDataQueueManager.GROUP_A);
+
+    // Next call starts with tag 2, then visits tag 1 once; the maximum is limited to the array
+    assertEquals(
+        3, RealTimeDataQueueManager.drainGroup(RealTimeDataQueueManager.GROUP_A, dest, 10));
+    assertDataPoint(dest[0], 2, 0);
+    assertDataPoint(dest[1], 2, 1);
+    assertDataPoint(dest[2], 1, 2);
+    assertGroupCount(0, RealTimeDataQueueManager.GROUP_A);
+    assertEquals(0, RealTimeDataQueueManager.drainGroup(RealTimeDataQueueManager.GROUP_A, dest, 4));
+
+    // Tag group without tags
+    assertEquals(0, RealTimeDataQueueManager.drainGroup(RealTimeDataQueueManager.GROUP_C, dest, 4));
+  }
+
+  /**
+   * Test case to verify that draining a tag group into a batch stops when the batch is full, and
+   * that tags in more than one tag group are drained separately for each tag group.
+   *
+   * @since 1.0.0
+   */
+  public void testDrainGroupBatch() {
+    addDataPoints(2, 1, 2);
+    addDataPoints(3, 0, 2);
+    addDataPoints(2, 0, 1);
+    assertGroupCount(4, RealTimeDataQueueManager.GROUP_B);
+
+    RealTimeDataPointBatch batch = new RealTimeDataPointBatch(3);
+    assertEquals(3, RealTimeDataQueueManager.drainGroup(RealTimeDataQueueManager.GROUP_B, batch));
+    assertTrue(batch.isFull());
+    assertEquals(2, batch.getTagId(0));
+    assertEquals(0, batch.getLongValue(0));
+    assertEquals(2, batch.getTagId(1));
+    assertEquals(3, batch.getTagId(2));
+    assertEquals(0, batch.getLongValue(2));
+    assertEquals(0, RealTimeDataQueueManager.drainGroup(RealTimeDataQueueManager.GROUP_B, batch));
+    assertGroupCount(1, RealTimeDataQueueManager.GROUP_B);
+
+    batch.clear();
+    assertEquals(1, RealTimeDataQueueManager.drainGroup(RealTimeDataQueueManager.GROUP_B, batch));
+    assertEquals(3, batch.getTagId(0));
+    assertEquals(1, batch.getLongValue(0));
+    assertGroupCount(0, RealTimeDataQueueManager.GROUP_B);
+    assertGroupCount(1, RealTimeDataQueueManager.GROUP_A);
+  }
+
+  /**
+   * Test case to verify that initializing again resets the tag group data point counts, and that
+   * data points added to or removed from the replaced tag managers are not counted.
+   *
+   * @throws Exception if unable to initialize the real time data queue manager
+   * @since 1.0.0
+   */
+  public void testInitIgnoresReplacedTagManagers() throws Exception {
+    addDataPoints(1, 0, 2);
+    RealTimeTagDataPointManager replacedManager =
+        RealTimeDataQueueManager.getTagManagersForTagId(1)[0];
+
+    RealTimeDataQueueManager.init(buildTagGroupMembers());
+    assertGroupCount(0, RealTimeDataQueueManager.GROUP_A);
+    assertNotSame(replacedManager, RealTimeDataQueueManager.getTagManagersForTagId(1)[0]);
+
+    replacedManager.addDataPoint(buildDataPoint(1, 10));
+    assertNotNull(replacedManager.removeDataPoint());
+    assertNotNull(replacedManager.removeDataPoint());
+    assertGroupCount(0, RealTimeDataQueueManager.GROUP_A);
+
+    addDataPoints(1, 0, 1);
+    assertGroupCount(1, RealTimeDataQueueManager.GROUP_A);
+  }
+
+  /**
+   * Test case to verify that the values of a single instant values snapshot are recorded for each
+   * tag group containing the tag, that tags missing from the snapshot are skipped, and that the
+   * data points have the time of the snapshot.
+   *
+   * @throws IOException if unable to read the instant values snapshot
+   * @since 1.0.0
+   */
+  public void testRecordSnapshotValues() throws IOException {
+    String instantValues =
+        "\"TagId\";\"TagName\";\"Value\";\"AlStatus\";\"AlType\";\"Quality\"\r\n"
+            + "1;\"Tag1\";11;0;0;192\r\n"
+            + "2;\"Tag2\";22;0;0;192\r\n"
+            + "4;\"Tag4\";44;0;0;192\r\n"
+            + "9;\"Tag9\";99;0;0;192\r\n";
+    RealTimeDataQueueManager.readInstantValuesSnapshot(
+        new ByteArrayInputStream(instantValues.getBytes()), 1700000000000L, "2023-11-14T22:13:20Z");
+    RealTimeYieldPolicy noYieldPolicy =
+        new RealTimeYieldPolicy(RealTimeYieldPolicy.DISABLED, RealTimeYieldPolicy.DISABLED, 0);
+    for (int tagGroup = 0; tagGroup < 4; tagGroup++) {
+      RealTimeDataQueueManager.recordSnapshotValues(tagGroup, noYieldPolicy);
+    }
+    assertGroupCount(2, RealTimeDataQueueManager.GROUP_A);
+    assertGroupCount(1, RealTimeDataQueueManager.GROUP_B);
+    assertGroupCount(0, RealTimeDataQueueManager.GROUP_C);
+    assertGroupCount(1, RealTimeDataQueueManager.GROUP_D);
+
+    // Tag 2 is recorded for both of its tag groups from the same snapshot
+    RealTimeTagDataPointManager[] tagManagers = RealTimeDataQueueManager.getTagManagersForTagId(2);
+    DataPoint groupADataPoint = tagManagers[0].removeDataPoint();
+    DataPoint groupBDataPoint = tagManagers[1].removeDataPoint();
+    assertDataPoint(groupADataPoint, 2, 22);
+    assertDataPoint(groupBDataPoint, 2, 22);
+    assertEquals("1700000000", groupADataPoint.getTimeStamp());
+    assertEquals("2023-11-14T22:13:20Z", groupBDataPoint.getIso8601Timestamp());
+    assertNull(RealTimeDataQueueManager.getTagManagersForTagId(3)[0].removeDataPoint());
+    assertDataPoint(RealTimeDataQueueManager.getTagManagersForTagId(4)[0].removeDataPoint(), 4, 44);
+  }
+
+  /**
+   * Test case to verify that the default yield policy depends on the sampler mode, that a
+   * configured yield policy is used in every sampler mode, and that an invalid sampler mode is
+   * rejected.
+   *
+   * @since 1.0.0
+   */
+  public void testYieldPolicy() {
+    RealTimeYieldPolicy tagControlPolicy = RealTimeDataQueueManager.getYieldPolicy();
+    assertTrue(tagControlPolicy.isYieldDue(1, 0));
+    assertEquals(1, tagControlPolicy.getYieldSleepMillis());
+
+    RealTimeDataQueueManager.setSamplerMode(
+        RealTimeDataQueueManager.SAMPLER_MODE_INSTANT_VALUES_SNAPSHOT);
+    RealTimeYieldPolicy snapshotPolicy = RealTimeDataQueueManager.getYieldPolicy();
+    assertFalse(snapshotPolicy.isYieldDue(10000, 0));
+    final long snapshotYieldIntervalMillis =
+        RealTimeDataQueueManager.DEFAULT_SNAPSHOT_YIELD_INTERVAL_MILLIS;
+    assertFalse(snapshotPolicy.isYieldDue(0, snapshotYieldIntervalMillis - 1));
+    assertTrue(snapshotPolicy.isYieldDue(0, snapshotYieldIntervalMillis));
+
+    RealTimeYieldPolicy policy = RealTimeYieldPolicy.everyNumTags(25, 3);
+    RealTimeDataQueueManager.setYieldPolicy(policy);
+    assertSame(policy, RealTimeDataQueueManager.getYieldPolicy());
+    RealTimeDataQueueManager.setSamplerMode(RealTimeDataQueueManager.SAMPLER_MODE_TAG_CONTROL);
+    assertSame(policy, RealTimeDataQueueManager.getYieldPolicy());
+    RealTimeDataQueueManager.setYieldPolicy(null);
+    assertSame(tagControlPolicy, RealTimeDataQueueManager.getYieldPolicy());
+
+    try {
+      RealTimeDataQueueManager.setSamplerMode(3);
+      fail("Expected IllegalArgumentException for invalid sampler mode");
+    } catch (IllegalArgumentException e) {
+      // Expected
+    }
+    assertEquals(
+        RealTimeDataQueueManager.SAMPLER_MODE_TAG_CONTROL,
+        RealTimeDataQueueManager.getSamplerMode());
+  }
+
+  /**
+   * Builds the tag group members of the test tag groups, by tag group index.
+   *
+   * @return the tag group members of each tag group
+   * @since 1.0.0
+   */
+  private static ArrayList buildTagGroupMembers() {
+    ArrayList groupA = new ArrayList();
+    ArrayList groupB = new ArrayList();
+    ArrayList groupD = new ArrayList();
+    groupA.add(TagInfoTestFixture.buildTagInfo(1, TagType.INTEGER));
+    groupA.add(
+        TagInfoTestFixture.buildTagInfo(2, "Tag2", TagType.INTEGER, true, true, false, false));
+    groupB.add(groupA.get(1));
+    groupB.add(
+        TagInfoTestFixture.buildTagInfo(3, "Tag3", TagType.INTEGER, false, true, false, false));
+    groupD.add(
+        TagInfoTestFixture.buildTagInfo(4, "Tag4", TagType.INTEGER, false, false, false, true));
+
+    ArrayList tagGroupMembers = new ArrayList();
+    tagGroupMembers.add(groupA);
+    tagGroupMembers.add(groupB);
+    tagGroupMembers.add(new ArrayList());
+    tagGroupMembers.add(groupD);
+    return tagGroupMembers;
+  }
+
+  /**
+   * Adds data points with consecutive values, starting at 0, to a tag manager of a tag.
+   *
+   * @param tagId tag ID
+   * @param tagManagerIndex index of the tag manager in the tag managers of the tag, which are in
+   *     tag group order
+   * @param count number of data points to add
+   * @since 1.0.0
+   */
+  private static void addDataPoints(int tagId, int tagManagerIndex, int count) {
+    RealTimeTagDataPointManager tagManager =
+        RealTimeDataQueueManager.getTagManagersForTagId(tagId)[tagManagerIndex];
+    for (int value = 0; value < count; value++) {
+      tagManager.addDataPoint(buildDataPoint(tagId, value));
+    }
+  }
+
+  /**
+   * Asserts that the data point count of a tag group is the specified count.
+   *
+   * @param expectedCount expected number of data points
+   * @param tagGroup tag group
+   * @since 1.0.0
+   */
+  private static void assertGroupCount(int expectedCount, int tagGroup) {
+    assertEquals(expectedCount, RealTimeDataQueueManager.getNumGroupDataPoints(tagGroup));
+  }
+
+  /**
+   * Builds a test data point for a tag with the specified value and timestamp.
+   *
+   * @param tagId tag ID
+   * @param value data point value and timestamp
+   * @return test data point
+   * @since 1.0.0
+   */
+  private static DataPoint buildDataPoint(int tagId, long value) {
+    return new DataPointLong(
+        "Tag" + tagId,
+        tagId,
+        "unit",
+        value,
+        String.valueOf(value),
+        "iso-" + value,
+        DataQuality.GOOD);
+  }
+
+  /**
+   * Asserts that the specified data point is a test data point with the specified tag ID and
+   * value.
+   *
+   * @param data data point to check
+   * @param expectedTagId expected tag ID
+   * @param expectedValue expected data point value
+   * @since 1.0.0
+   */
+  private static void assertDataPoint(DataPoint data, int expectedTagId, long expectedValue) {
+    assertEquals(expectedTagId, data.getTagId());
+    assertEquals(String.valueOf(expectedValue), data.getValueString());
+  }
+}
@@ -0,0 +1,283 @@
+package com.hms_networks.americas.sc.extensions.realtimedata;
+
+import com.hms_networks.americas.sc.extensions.datapoint.DataPoint;
+import com.hms_networks.americas.sc.extensions.datapoint.DataPointString;
+import java.util.ArrayList;
+import junit.framework.TestCase;
+
+/**
+ * Library test class for the {@link RealTimeGroupDrainer} class in the Ewon Flexy Extensions
+ * Library.
+ *
+ * @author HMS Networks; Americas
+ * @since 1.17.0
+ * @version 1.0.0
+ */
+public class RealTimeGroupDrainerTest extends TestCase {
+
+  /**
+   * Estimated size in bytes of each test data point: the data point overhead of 16 bytes, a 3
+   * character tag name and a 1 character value.
+   *
+   * @since 1.0.0
+   */
+  private static final int TEST_DATA_POINT_BYTES = 20;
+
+  /**
+   * Names of the test tag groups, used as the first character of the test data point tag names.
+   *
+   * @since 1.0.0
+   */
+  private static final String GROUP_NAMES = "ABCD";
+
+  /**
+   * Test case to verify that each tag group with data receives a share of the budget proportional
+   * to its weight, and that invalid weights are rejected.
+   *
+   * @since 1.0.0
+   */
+  public void testGroupWeights() {
+    TestDrainer drainer = new TestDrainer(RealTimeGroupDrainer.BUDGET_DATA_POINTS, 1);
+    drainer.setGroupWeight(RealTimeDataQueueManager.GROUP_A, 3);
+    drainer.addDataPoints(RealTimeDataQueueManager.GROUP_A, 20);
+    drainer.addDataPoints(RealTimeDataQueueManager.GROUP_B, 20);
+
+    assertEquals("A00 A01 A02 B00 A03 A04 A05 B01", drain(drainer, 8, 32));
+    assertEquals("A06 A07 A08 B02", drain(drainer, 4, 32));
+
+    // Array limit ends the call
+    assertEquals("A09 A10", drain(drainer, 8, 2));
+    assertEquals(0, drainer.drain(new DataPoint[4], null, 0));
+
+    try {
+      drainer.setGroupWeight(RealTimeDataQueueManager.GROUP_B, 0);
+      fail("Expected IllegalArgumentException for weight of zero.");
+    } catch (IllegalArgumentException e) {
+      // Expected
+    }
+    try {
+      drainer.setGroupWeight(RealTimeDataQueueManager.NUM_TAG_GROUPS, 1);
+      fail("Expected IllegalArgumentException for invalid tag group.");
+    } catch (IllegalArgumentException e) {
+      // Expected
+    }
+  }
+
+  /**
+   * Test case to verify that the tag group with strict priority is drained before the other tag
+   * groups receive any of the budget, and that the tag group of each data point is stored.
+   *
+   * @since 1.0.0
+   */
+  public void testPriorityGroup() {
+    TestDrainer drainer = new TestDrainer(RealTimeGroupDrainer.BUDGET_DATA_POINTS, 1);
+    drainer.setPriorityGroup(RealTimeDataQueueManager.GROUP_C);
+    drainer.addDataPoints(RealTimeDataQueueManager.GROUP_A, 5);
+    drainer.addDataPoints(RealTimeDataQueueManager.GROUP_B, 5);
+    drainer.addDataPoints(RealTimeDataQueueManager.GROUP_C, 5);
+
+    DataPoint[] dest = new DataPoint[32];
+    int[] destTagGroups = new int[32];
+    assertEquals(8, drainer.drain(dest, destTagGroups, 8));
+    assertEquals("C00 C01 C02 C03 C04 A00 B00 A01", getTagNames(dest, 8));
+    for (int i = 0; i < 5; i++) {
+      assertEquals(RealTimeDataQueueManager.GROUP_C, destTagGroups[i]);
+    }
+    assertEquals(RealTimeDataQueueManager.GROUP_B, destTagGroups[6]);
+
+    // Priority group is drained first again once it has new data points
+    drainer.addDataPoints(RealTimeDataQueueManager.GROUP_C, 1);
+    assertEquals("C05 B01", drain(drainer, 2, 32));
+
+    drainer.setPriorityGroup(RealTimeGroupDrainer.NO_PRIORITY_GROUP);
+    try {
+      drainer.setPriorityGroup(-2);
+      fail("Expected IllegalArgumentException for invalid tag group.");
+    } catch (IllegalArgumentException e) {
+      // Expected
+    }
+  }
+
+  /**
+   * Test case to verify that a byte budget is shared between the tag groups across calls: the tag
+   * group whose data point did not fit in the remaining budget resumes with its share on the next
+   * call, and a data point larger than the share of its tag group is taken once the share carried
+   * over between rounds is large enough.
+   *
+   * @since 1.0.0
+   */
+  public void testByteBudgetCarryOver() {
+    TestDrainer drainer =
+        new TestDrainer(RealTimeGroupDrainer.BUDGET_BYTES, TEST_DATA_POINT_BYTES);
+    drainer.addDataPoints(RealTimeDataQueueManager.GROUP_A, 10);
+    drainer.addDataPoints(RealTimeDataQueueManager.GROUP_B, 10);
+
+    final int budget = 3 * TEST_DATA_POINT_BYTES;
+    assertEquals("A00 B00 A01", drain(drainer, budget, 32));
+    assertEquals("B01 A02 B02", drain(drainer, budget, 32));
+    assertEquals("A03 B03 A04", drain(drainer, budget, 32));
+
+    // Data point of 5 quanta, larger than the whole budget, is returned on its own
+    TestDrainer largeDrainer =
+        new TestDrainer(RealTimeGroupDrainer.BUDGET_BYTES, TEST_DATA_POINT_BYTES);
+    StringBuffer largeTagNameBuffer = new StringBuffer("D");
+    while (largeTagNameBuffer.length() < 5 * TEST_DATA_POINT_BYTES - 17) {
+      largeTagNameBuffer.append('x');
+    }
+    final String largeTagName = largeTagNameBuffer.toString();
+    largeDrainer.groupDataPoints[RealTimeDataQueueManager.GROUP_D].add(
+        buildDataPoint(largeTagName));
+    largeDrainer.addDataPoints(RealTimeDataQueueManager.GROUP_D, 1);
+    assertEquals(
+        5 * TEST_DATA_POINT_BYTES,
+        RealTimeGroupDrainer.estimateSizeBytes(
+            (DataPoint) largeDrainer.groupDataPoints[RealTimeDataQueueManager.GROUP_D].get(0)));
+    assertEquals(largeTagName, drain(largeDrainer, budget, 32));
+    assertEquals("D00", drain(largeDrainer, budget, 32));
+  }
+
+  /**
+   * Test case to verify that a call ends once the tag groups are empty, even if the data point
+   * count of a tag group is not zero.
+   *
+   * @since 1.0.0
+   */
+  public void testEmptyGroupWithNonZeroCount() {
+    TestDrainer drainer = new TestDrainer(RealTimeGroupDrainer.BUDGET_DATA_POINTS, 1);
+    drainer.addDataPoints(RealTimeDataQueueManager.GROUP_A, 3);
+    drainer.staleCounts[RealTimeDataQueueManager.GROUP_B] = 5;
+    assertEquals("A00 A01 A02", drain(drainer, 100, 32));
+
+    for (int tagGroup = 0; tagGroup < RealTimeDataQueueManager.NUM_TAG_GROUPS; tagGroup++) {
+      drainer.staleCounts[tagGroup] = 1;
+    }
+    assertEquals("", drain(drainer, 100, 32));
+
+    drainer.setPriorityGroup(RealTimeDataQueueManager.GROUP_B);
+    assertEquals("", drain(drainer, 100, 32));
+    drainer.addDataPoints(RealTimeDataQueueManager.GROUP_D, 1);
+    assertEquals("D00", drain(drainer, 100, 32));
+  }
+
+  /**
+   * Drains the specified drainer once, and gets the tag names of the removed data points.
+   *
+   * @param drainer drainer to drain
+   * @param budget budget of the call
+   * @param destLength length of the array to store the removed data points in
+   * @return tag names of the removed data points, separated by spaces
+   * @since 1.0.0
+   */
+  private static String drain(RealTimeGroupDrainer drainer, int budget, int destLength) {
+    DataPoint[] dest = new DataPoint[destLength];
+    final int count = drainer.drain(dest, null, budget);
+    return getTagNames(dest, count);
+  }
+
+  /**
+   * Gets the tag names of the specified data points.
+   *
+   * @param dataPoints data points
+   * @param count number of data points
+   * @return tag names, separated by spaces
+   * @since 1.0.0
+   */
+  private static String getTagNames(DataPoint[] dataPoints, int count) {
+    StringBuffer tagNames = new StringBuffer();
+    for (int i = 0; i < count; i++) {
+      if (i > 0) {
+        tagNames.append(' ');
+      }
+      tagNames.append(dataPoints[i].getTagName());
+    }
+    return tagNames.toString();
+  }
+
+  /**
+   * Builds a test data point with the specified tag name and a 1 character value.
+   *
+   * @param tagName tag name
+   * @return data point
+   * @since 1.0.0
+   */
+  private static DataPoint buildDataPoint(String tagName) {
+    return new DataPointString(tagName, 1, "", "v", "0", "");
+  }
+
+  /**
+   * {@link RealTimeGroupDrainer} which drains test data points held by the test instead of the
+   * tag groups of {@link RealTimeDataQueueManager}.
+   *
+   * @since 1.0.0
+   */
+  private static class TestDrainer extends RealTimeGroupDrainer {
+
+    /**
+     * Data points of each tag group, oldest first.
+     *
+     * <p>Parameterized type: ArrayList&lt;DataPoint&gt;[]
+     *
+     * @since 1.0.0
+     */
+    private final ArrayList[] groupDataPoints =
+        new ArrayList[RealTimeDataQueueManager.NUM_TAG_GROUPS];
+
+    /**
+     * Number added to the data point count of each tag group, to simulate a count which does not
+     * match the data points of the tag group.
+     *
+     * @since 1.0.0
+     */
+    private final int[] staleCounts = new int[RealTimeDataQueueManager.NUM_TAG_GROUPS];
+
+    /**
+     * Number of test data points added to each tag group, used to name the next data point.
+     *
+     * @since 1.0.0
+     */
+    private final int[] addedCounts = new int[RealTimeDataQueueManager.NUM_TAG_GROUPS];
+
+    /**
+     * Constructs a new {@link TestDrainer} with the specified budget type and quantum.
+     *
+     * @param budgetType budget type
+     * @param quantum budget added to the share of a tag group per unit of weight in each round
+     * @since 1.0.0
+     */
+    private TestDrainer(int budgetType, int quantum) {
+      super(budgetType, quantum);
+      for (int i = 0; i < groupDataPoints.length; i++) {
+        groupDataPoints[i] = new ArrayList();
+      }
+    }
+
+    /**
+     * Adds test data points to a tag group, named after the tag group and the number of data
+     * points previously added to it (for example, <code>A00</code>).
+     *
+     * @param tagGroup tag group to add data points to
+     * @param count number of data points to add
+     * @since 1.0.0
+     */
+    private void addDataPoints(int tagGroup, int count) {
+      for (int i = 0; i < count; i++) {
+        final int number = addedCounts[tagGroup]++ % 100;
+        final String tagName =
+            GROUP_NAMES.charAt(tagGroup) + String.valueOf(100 + number).substring(1);
+        groupDataPoints[tagGroup].add(buildDataPoint(tagName));
+      }
+    }
+
+    int getNumGroupDataPoints(int tagGroup) {
+      return groupDataPoints[tagGroup].size() + staleCounts[tagGroup];
+    }
+
+    int drainGroup(int tagGroup, DataPoint[] dest, int max) {
+      final int count = Math.min(max, groupDataPoints[tagGroup].size());
+      for (int i = 0; i < count; i++) {
+        dest[i] = (DataPoint) groupDataPoints[tagGroup].remove(0);
+      }
+      return count;
+    }
+  }
+}
@@ -0,0 +1,265 @@
+package com.hms_networks.americas.sc.extensions.realtimedata;
+
+import junit.framework.TestCase;
+
+/**
+ * Library test class for the {@link RealTimeSampleScheduler} class in the Ewon Flexy Extensions
+ * Library.
+ *
+ * @author HMS Networks; Americas
+ * @since 1.17.0
+ * @version 1.0.0
+ */
+public class RealTimeSampleSchedulerTest extends TestCase {
+
+  /**
+   * Tick interval of the test schedulers in milliseconds.
+   *
+   * @since 1.0.0
+   */
+  private static final long TICK_MILLIS = 100;
+
+  /**
+   * Number of slots in the timer wheel of the test schedulers.
+   *
+   * @since 1.0.0
+   */
+  private static final int WHEEL_SIZE = 8;
+
+  /**
+   * System time at which the test schedulers are started, in milliseconds since epoch.
+   *
+   * @since 1.0.0
+   */
+  private static final long START_TIME_MILLIS = 1700000000000L;
+
+  /**
+   * Test case to verify that each tag is recorded at the sample interval of its tag group, or its
+   * own sample interval if set.
+   *
+   * @since 1.0.0
+   */
+  public void testSampleIntervals() {
+    TestScheduler scheduler = new TestScheduler();
+    scheduler.setGroupSampleIntervalMillis(RealTimeDataQueueManager.GROUP_B, 3 * TICK_MILLIS);
+    scheduler.setTagSampleIntervalMillis(2, 2 * TICK_MILLIS);
+    scheduler.start();
+
+    final int numTicks = 12;
+    for (int i = 0; i < numTicks; i++) {
+      scheduler.currentTimeMillis = START_TIME_MILLIS + i * TICK_MILLIS;
+      scheduler.tick();
+    }
+
+    assertEquals(numTicks, scheduler.getRecordCount(RealTimeDataQueueManager.GROUP_A, 0));
+    assertEquals(numTicks / 2, scheduler.getRecordCount(RealTimeDataQueueManager.GROUP_A, 1));
+    assertEquals(numTicks / 3, scheduler.getRecordCount(RealTimeDataQueueManager.GROUP_B, 0));
+  }
+
+  /**
+   * Test case to verify that invalid tag groups and sample intervals are rejected.
+   *
+   * @since 1.0.0
+   */
+  public void testInvalidSampleIntervals() {
+    TestScheduler scheduler = new TestScheduler();
+    final int[] invalidTagGroups = new int[] {-1, RealTimeDataQueueManager.NUM_TAG_GROUPS};
+    for (int i = 0; i < invalidTagGroups.length; i++) {
+      try {
+        scheduler.setGroupSampleIntervalMillis(invalidTagGroups[i], TICK_MILLIS);
+        fail("Expected IllegalArgumentException for tag group: " + invalidTagGroups[i]);
+      } catch (IllegalArgumentException e) {
+        // Expected
+      }
+    }
+    try {
+      scheduler.setGroupSampleIntervalMillis(RealTimeDataQueueManager.GROUP_A, 0);
+      fail("Expected IllegalArgumentException for sample interval of zero.");
+    } catch (IllegalArgumentException e) {
+      // Expected
+    }
+    try {
+      scheduler.setTagSampleIntervalMillis(1, -1);
+      fail("Expected IllegalArgumentException for negative sample interval.");
+    } catch (IllegalArgumentException e) {
+      // Expected
+    }
+  }
+
+  /**
+   * Test case to verify that each due tag is recorded once when more than one of its sample
+   * intervals (and more ticks than the timer wheel has slots) elapse between calls, and that no
+   * tags are recorded before the next tick.
+   *
+   * @since 1.0.0
+   */
+  public void testSkippedTicks() {
+    TestScheduler scheduler = new TestScheduler();
+    scheduler.setGroupSampleIntervalMillis(RealTimeDataQueueManager.GROUP_B, 3 * TICK_MILLIS);
+    scheduler.start();
+
+    assertEquals(3, scheduler.tick());
+    scheduler.currentTimeMillis = START_TIME_MILLIS + TICK_MILLIS - 1;
+    assertEquals(0, scheduler.tick());
+    assertEquals(1, scheduler.getNextTickDelayMillis());
+
+    scheduler.currentTimeMillis = START_TIME_MILLIS + WHEEL_SIZE * 5 * TICK_MILLIS;
+    assertEquals(3, scheduler.tick());
+    assertEquals(2, scheduler.getRecordCount(RealTimeDataQueueManager.GROUP_A, 0));
+    assertEquals(2, scheduler.getRecordCount(RealTimeDataQueueManager.GROUP_B, 0));
+  }
+
+  /**
+   * Test case to verify that tags which could not be recorded are due again on the next tick,
+   * instead of at the end of their sample interval.
+   *
+   * @since 1.0.0
+   */
+  public void testFailedTagsRetried() {
+    TestScheduler scheduler = new TestScheduler();
+    scheduler.setGroupSampleIntervalMillis(RealTimeDataQueueManager.GROUP_A, 5 * TICK_MILLIS);
+    scheduler.setGroupSampleIntervalMillis(RealTimeDataQueueManager.GROUP_B, 5 * TICK_MILLIS);
+    scheduler.start();
+
+    scheduler.recordFails = true;
+    assertEquals(0, scheduler.tick());
+    assertEquals(3, scheduler.dueCount);
+
+    scheduler.recordFails = false;
+    scheduler.currentTimeMillis += TICK_MILLIS;
+    assertEquals(3, scheduler.tick());
+
+    // Recorded tags are due at the end of their sample interval
+    for (int i = 2; i < 6; i++) {
+      scheduler.currentTimeMillis = START_TIME_MILLIS + i * TICK_MILLIS;
+      assertEquals(0, scheduler.tick());
+    }
+    scheduler.currentTimeMillis = START_TIME_MILLIS + 6 * TICK_MILLIS;
+    assertEquals(3, scheduler.tick());
+  }
+
+  /**
+   * Test case to verify that the schedule continues from the most recent tick when the system
+   * clock moves backwards, instead of waiting for the clock to reach the previous time.
+   *
+   * @since 1.0.0
+   */
+  public void testClockMovesBackwards() {
+    TestScheduler scheduler = new TestScheduler();
+    scheduler.start();
+    assertEquals(3, scheduler.tick());
+    scheduler.currentTimeMillis += TICK_MILLIS;
+    assertEquals(3, scheduler.tick());
+
+    // Clock moves back by one hour
+    final long clockChangeMillis = 3600000;
+    scheduler.currentTimeMillis -= clockChangeMillis;
+    assertEquals(0, scheduler.tick());
+    assertEquals(TICK_MILLIS, scheduler.getNextTickDelayMillis());
+
+    scheduler.currentTimeMillis += TICK_MILLIS;
+    assertEquals(3, scheduler.tick());
+    scheduler.currentTimeMillis += TICK_MILLIS / 2;
+    assertEquals(0, scheduler.tick());
+    scheduler.currentTimeMillis += TICK_MILLIS / 2;
+    assertEquals(3, scheduler.tick());
+    assertEquals(4, scheduler.getRecordCount(RealTimeDataQueueManager.GROUP_A, 0));
+
+    // Clock moves back before the scheduler was started
+    TestScheduler restartedScheduler = new TestScheduler();
+    restartedScheduler.start();
+    restartedScheduler.currentTimeMillis -= clockChangeMillis;
+    assertEquals(3, restartedScheduler.tick());
+    restartedScheduler.currentTimeMillis += TICK_MILLIS;
+    assertEquals(3, restartedScheduler.tick());
+  }
+
+  /**
+   * {@link RealTimeSampleScheduler} with a controllable clock and test tag groups, which counts the
+   * recordings of each tag instead of recording real time data. Group A contains two tags (IDs 1
+   * and 2) and group B contains one tag (ID 3).
+   *
+   * @since 1.0.0
+   */
+  private static class TestScheduler extends RealTimeSampleScheduler {
+
+    /**
+     * Tag IDs of each test tag group.
+     *
+     * @since 1.0.0
+     */
+    private final int[][] groupTagIds = new int[][] {{1, 2}, {3}, {}, {}};
+
+    /**
+     * Number of recordings of each tag, indexed by tag group and tag index.
+     *
+     * @since 1.0.0
+     */
+    private final int[][] recordCounts = new int[][] {{0, 0}, {0}, {}, {}};
+
+    /**
+     * Current time returned to the scheduler, in milliseconds since epoch.
+     *
+     * @since 1.0.0
+     */
+    private long currentTimeMillis = START_TIME_MILLIS;
+
+    /**
+     * Boolean indicating if recordings fail.
+     *
+     * @since 1.0.0
+     */
+    private boolean recordFails = false;
+
+    /**
+     * Number of tags due on the most recent recording.
+     *
+     * @since 1.0.0
+     */
+    private int dueCount;
+
+    /**
+     * Constructs a new {@link TestScheduler}.
+     *
+     * @since 1.0.0
+     */
+    private TestScheduler() {
+      super(TICK_MILLIS, WHEEL_SIZE);
+    }
+
+    /**
+     * Gets the number of recordings of the specified tag.
+     *
+     * @param tagGroup tag group of the tag
+     * @param tagIndex index of the tag in the tag group
+     * @return number of recordings
+     * @since 1.0.0
+     */
+    private int getRecordCount(int tagGroup, int tagIndex) {
+      return recordCounts[tagGroup][tagIndex];
+    }
+
+    long getCurrentTimeMillis() {
+      return currentTimeMillis;
+    }
+
+    int getNumGroupTags(int tagGroup) {
+      return groupTagIds[tagGroup].length;
+    }
+
+    int getGroupTagId(int tagGroup, int tagIndex) {
+      return groupTagIds[tagGroup][tagIndex];
+    }
+
+    int recordTagValues(int[] tagGroups, int[] tagIndexes, int count) {
+      dueCount = count;
+      if (recordFails) {
+        return 0;
+      }
+      for (int i = 0; i < count; i++) {
+        recordCounts[tagGroups[i]][tagIndexes[i]]++;
+      }
+      return count;
+    }
+  }
+}
@@ -0,0 +1,261 @@
+package com.hms_networks.americas.sc.extensions.realtimedata;
+
+import com.hms_networks.americas.sc.extensions.datapoint.DataPoint;
+import com.hms_networks.americas.sc.extensions.datapoint.DataPointDouble;
+import com.hms_networks.americas.sc.extensions.datapoint.DataPointFloat;
+import com.hms_networks.americas.sc.extensions.datapoint.DataPointLong;
+import com.hms_networks.americas.sc.extensions.datapoint.DataPointString;
+import com.hms_networks.americas.sc.extensions.datapoint.DataQuality;
+import junit.framework.TestCase;
+
+/**
+ * Library test class for the {@link RealTimeTagDataPointBuffer} class in the Ewon Flexy Extensions
+ * Library.
+ *
+ * @author HMS Networks; Americas
+ * @since 1.17.0
+ * @version 1.0.0
+ */
+public class RealTimeTagDataPointBufferTest extends TestCase {
+
+  /**
+   * Name of the tag used for test data points.
+   *
+   * @since 1.0.0
+   */
+  private static final String TEST_TAG_NAME = "BufferTag";
+
+  /**
+   * ID of the tag used for test data points.
+   *
+   * @since 1.0.0
+   */
+  private static final int TEST_TAG_ID = 12;
+
+  /**
+   * Unit of the tag used for test data points.
+   *
+   * @since 1.0.0
+   */
+  private static final String TEST_TAG_UNIT = "bar";
+
+  /**
+   * Test case to verify that data points are removed in the order they were added after the ring
+   * wraps around, including when removals move the head partway through the ring.
+   *
+   * @since 1.0.0
+   */
+  public void testRingWrapPreservesOrder() {
+    final int capacity = 4;
+    RealTimeTagDataPointBuffer buffer =
+        new RealTimeTagDataPointBuffer(
+            TEST_TAG_NAME, capacity, RealTimeTagDataPointManager.OVERFLOW_POLICY_DROP_OLDEST);
+
+    addLongDataPoints(buffer, 0, 3);
+    assertLongDataPoint(0, buffer.remove());
+    assertLongDataPoint(1, buffer.remove());
+    addLongDataPoints(buffer, 3, 3);
+
+    assertEquals(capacity, buffer.size());
+    assertEquals(0, buffer.getDroppedCount());
+    for (int i = 2; i < 6; i++) {
+      assertLongDataPoint(i, buffer.remove());
+    }
+    assertEquals(0, buffer.size());
+    assertNull(buffer.remove());
+  }
+
+  /**
+   * Test case to verify that the oldest data points are dropped and counted when a full buffer
+   * with the drop oldest policy wraps around several times.
+   *
+   * @since 1.0.0
+   */
+  public void testDropOldestOverflow() {
+    final int capacity = 4;
+    final int count = 10;
+    RealTimeTagDataPointBuffer buffer =
+        new RealTimeTagDataPointBuffer(
+            TEST_TAG_NAME, capacity, RealTimeTagDataPointManager.OVERFLOW_POLICY_DROP_OLDEST);
+
+    addLongDataPoints(buffer, 0, count);
+
+    assertEquals(capacity, buffer.size());
+    assertEquals(count - capacity, buffer.getDroppedCount());
+    for (int i = count - capacity; i < count; i++) {
+      assertLongDataPoint(i, buffer.remove());
+    }
+    buffer.resetDroppedCount();
+    assertEquals(0, buffer.getDroppedCount());
+  }
+
+  /**
+   * Test case to verify that new data points are rejected and counted when a full buffer uses the
+   * drop newest policy.
+   *
+   * @since 1.0.0
+   */
+  public void testDropNewestOverflow() {
+    final int capacity = 3;
+    RealTimeTagDataPointBuffer buffer =
+        new RealTimeTagDataPointBuffer(
+            TEST_TAG_NAME, capacity, RealTimeTagDataPointManager.OVERFLOW_POLICY_DROP_NEWEST);
+
+    addLongDataPoints(buffer, 0, capacity);
+    assertFalse(buffer.add(buildLongDataPoint(capacity)));
+    assertFalse(buffer.add(buildLongDataPoint(capacity + 1)));
+
+    assertEquals(2, buffer.getDroppedCount());
+    for (int i = 0; i < capacity; i++) {
+      assertLongDataPoint(i, buffer.remove());
+    }
+  }
+
+  /**
+   * Test case to verify that the downsample policy drops every other data point (keeping the
+   * newest) when the buffer is full, and compacts the kept data points in order across the end of
+   * the ring.
+   *
+   * @since 1.0.0
+   */
+  public void testDownsampleCompaction() {
+    final int capacity = 5;
+    RealTimeTagDataPointBuffer buffer =
+        new RealTimeTagDataPointBuffer(
+            TEST_TAG_NAME, capacity, RealTimeTagDataPointManager.OVERFLOW_POLICY_DOWNSAMPLE);
+
+    // Move the head so the buffer contents wrap around the end of the ring
+    addLongDataPoints(buffer, 0, capacity);
+    buffer.remove();
+    buffer.remove();
+    addLongDataPoints(buffer, capacity, 2);
+    assertEquals(capacity, buffer.size());
+
+    // Full buffer holds 2, 3, 4, 5, 6 (odd size), so 2, 4 and 6 are kept
+    assertTrue(buffer.add(buildLongDataPoint(7)));
+    assertEquals(2, buffer.getDroppedCount());
+    assertEquals(4, buffer.size());
+    assertLongDataPoint(2, buffer.remove());
+    assertLongDataPoint(4, buffer.remove());
+    assertLongDataPoint(6, buffer.remove());
+    assertLongDataPoint(7, buffer.remove());
+
+    // Full buffer with an even size keeps the newest data point of each pair
+    final int evenCapacity = 4;
+    RealTimeTagDataPointBuffer evenBuffer =
+        new RealTimeTagDataPointBuffer(
+            TEST_TAG_NAME, evenCapacity, RealTimeTagDataPointManager.OVERFLOW_POLICY_DOWNSAMPLE);
+    addLongDataPoints(evenBuffer, 0, evenCapacity + 1);
+    assertEquals(2, evenBuffer.getDroppedCount());
+    assertLongDataPoint(1, evenBuffer.remove());
+    assertLongDataPoint(3, evenBuffer.remove());
+    assertLongDataPoint(4, evenBuffer.remove());
+    assertNull(evenBuffer.remove());
+  }
+
+  /**
+   * Test case to verify that a downsampling buffer with a capacity of one replaces its only data
+   * point.
+   *
+   * @since 1.0.0
+   */
+  public void testDownsampleSingleSlot() {
+    RealTimeTagDataPointBuffer buffer =
+        new RealTimeTagDataPointBuffer(
+            TEST_TAG_NAME, 1, RealTimeTagDataPointManager.OVERFLOW_POLICY_DOWNSAMPLE);
+
+    addLongDataPoints(buffer, 0, 3);
+
+    assertEquals(1, buffer.size());
+    assertEquals(2, buffer.getDroppedCount());
+    assertLongDataPoint(2, buffer.remove());
+  }
+
+  /**
+   * Test case to verify that data points stored as primitives are rebuilt with the same class and
+   * value, and that data points which cannot be stored as primitives are returned unchanged.
+   *
+   * @since 1.0.0
+   */
+  public void testStoredDataPointKinds() {
+    RealTimeTagDataPointBuffer buffer =
+        new RealTimeTagDataPointBuffer(
+            TEST_TAG_NAME, 4, RealTimeTagDataPointManager.OVERFLOW_POLICY_DROP_OLDEST);
+    DataPoint floatDataPoint =
+        new DataPointFloat(TEST_TAG_NAME, TEST_TAG_ID, TEST_TAG_UNIT, 1.25f, "100", "iso-100");
+    DataPoint doubleDataPoint =
+        new DataPointDouble(TEST_TAG_NAME, TEST_TAG_ID, TEST_TAG_UNIT, 0.1, "101", "iso-101");
+    DataPoint stringDataPoint =
+        new DataPointString(TEST_TAG_NAME, TEST_TAG_ID, TEST_TAG_UNIT, "text", "102", "iso-102");
+    DataPoint badQualityDataPoint =
+        new DataPointLong(
+            TEST_TAG_NAME, TEST_TAG_ID, TEST_TAG_UNIT, 5, "103", "iso-103", DataQuality.BAD);
+
+    buffer.add(floatDataPoint);
+    buffer.add(doubleDataPoint);
+    buffer.add(stringDataPoint);
+    buffer.add(badQualityDataPoint);
+
+    DataPoint data = buffer.remove();
+    assertEquals(DataPointFloat.class, data.getClass());
+    assertTrue(floatDataPoint.equals(data));
+    assertEquals("iso-100", data.getIso8601Timestamp());
+    assertEquals(TEST_TAG_UNIT, data.getTagUnit());
+    data = buffer.remove();
+    assertEquals(DataPointDouble.class, data.getClass());
+    assertEquals(0.1, ((DataPointDouble) data).getDoubleValue(), 0);
+    data = buffer.remove();
+    assertEquals(DataPointString.class, data.getClass());
+    assertEquals("text", ((DataPointString) data).getValue());
+    assertSame(badQualityDataPoint, buffer.remove());
+  }
+
+  /**
+   * Adds data points with consecutive values and timestamps to the specified buffer.
+   *
+   * @param buffer buffer to add data points to
+   * @param firstValue value of the first data point
+   * @param count number of data points to add
+   * @since 1.0.0
+   */
+  private static void addLongDataPoints(
+      RealTimeTagDataPointBuffer buffer, int firstValue, int count) {
+    for (int i = 0; i < count; i++) {
+      buffer.add(buildLongDataPoint(firstValue + i));
+    }
+  }
+
+  /**
+   * Builds a test data point whose value and timestamp are the specified value.
+   *
+   * @param value data point value and timestamp
+   * @return test data point
+   * @since 1.0.0
+   */
+  private static DataPoint buildLongDataPoint(long value) {
+    return new DataPointLong(
+        TEST_TAG_NAME,
+        TEST_TAG_ID,
+        TEST_TAG_UNIT,
+        value,
+        String.valueOf(value),
+        "iso-" + value,
+        DataQuality.GOOD);
+  }
+
+  /**
+   * Asserts that the specified data point is a rebuilt test data point with the specified value.
+   *
+   * @param expectedValue expected data point value and timestamp
+   * @param data data point to check
+   * @since 1.0.0
+   */
+  private static void assertLongDataPoint(long expectedValue, DataPoint data) {
+    assertNotNull(data);
+    assertEquals(DataPointLong.class, data.getClass());
+    assertEquals(expectedValue, ((DataPointLong) data).getLongValue());
+    assertEquals(String.valueOf(expectedValue), data.getTimeStamp());
+    assertEquals("iso-" + expectedValue, data.getIso8601Timestamp());
+    assertEquals(TEST_TAG_ID, data.getTagId());
+  }
+}
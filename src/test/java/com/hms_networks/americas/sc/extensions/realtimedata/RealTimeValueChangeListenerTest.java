@@ -0,0 +1,212 @@
+package com.hms_networks.americas.sc.extensions.realtimedata;
+
+import com.hms_networks.americas.sc.extensions.datapoint.DataPoint;
+import com.hms_networks.americas.sc.extensions.taginfo.TagInfo;
+import com.hms_networks.americas.sc.extensions.taginfo.TagInfoTestFixture;
+import com.hms_networks.americas.sc.extensions.taginfo.TagType;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import junit.framework.TestCase;
+
+/**
+ * Library test class for the {@link RealTimeValueChangeListener} class in the Ewon Flexy Extensions
+ * Library.
+ *
+ * @author HMS Networks; Americas
+ * @since 1.17.0
+ * @version 1.0.0
+ */
+public class RealTimeValueChangeListenerTest extends TestCase {
+
+  /**
+   * Instant values EBD data with the same values as the test value change events.
+   *
+   * @since 1.0.0
+   */
+  private static final String TEST_INSTANT_VALUES =
+      "\"TagId\";\"TagName\";\"Value\";\"AlStatus\";\"AlType\";\"Quality\"\r\n"
+          + "1;\"Tag1\";42;0;0;192\r\n"
+          + "2;\"Tag2\";-2.5;0;0;192\r\n"
+          + "3;\"Tag3\";\"on\";0;0;192\r\n"
+          + "4;\"Tag4\";1;0;0;192\r\n";
+
+  /**
+   * Test tags by tag ID: tag 1 (integer, groups A and B), tag 2 (float, group A), tag 3 (string,
+   * group C), tag 4 (boolean, group D) and tag 5 (integer mapped string, group D).
+   *
+   * @since 1.0.0
+   */
+  private TagInfo[] tagInfos;
+
+  /**
+   * Initializes the real time data queue manager with the test tags.
+   *
+   * @throws Exception if unable to initialize the real time data queue manager
+   * @since 1.0.0
+   */
+  protected void setUp() throws Exception {
+    tagInfos =
+        new TagInfo[] {
+          null,
+          TagInfoTestFixture.buildTagInfo(1, "Tag1", TagType.INTEGER, true, true, false, false),
+          TagInfoTestFixture.buildTagInfo(2, "Tag2", TagType.FLOAT, true, false, false, false),
+          TagInfoTestFixture.buildTagInfo(3, "Tag3", TagType.STRING, false, false, true, false),
+          TagInfoTestFixture.buildTagInfo(4, "Tag4", TagType.BOOLEAN, false, false, false, true),
+          TagInfoTestFixture.buildTagInfo(
+              5, "Tag5", TagType.INTEGER_MAPPED_STRING, false, false, false, true)
+        };
+    ArrayList groupA = new ArrayList();
+    ArrayList groupB = new ArrayList();
+    ArrayList groupC = new ArrayList();
+    ArrayList groupD = new ArrayList();
+    groupA.add(tagInfos[1]);
+    groupA.add(tagInfos[2]);
+    groupB.add(tagInfos[1]);
+    groupC.add(tagInfos[3]);
+    groupD.add(tagInfos[4]);
+    groupD.add(tagInfos[5]);
+    ArrayList tagGroupMembers = new ArrayList();
+    tagGroupMembers.add(groupA);
+    tagGroupMembers.add(groupB);
+    tagGroupMembers.add(groupC);
+    tagGroupMembers.add(groupD);
+    RealTimeDataQueueManager.init(tagGroupMembers);
+  }
+
+  /**
+   * Test case to verify that a value change is added to the queue of the tag in each tag group
+   * containing the tag, and that value changes of tags which are not in a tag group are ignored.
+   *
+   * @since 1.0.0
+   */
+  public void testValueChangeAddedToEachGroup() {
+    new TestValueChangeListener(1, 42, 0, null).callTagChanged();
+    new TestValueChangeListener(8, 1, 0, null).callTagChanged();
+    assertGroupCount(1, RealTimeDataQueueManager.GROUP_A);
+    assertGroupCount(1, RealTimeDataQueueManager.GROUP_B);
+
+    RealTimeTagDataPointManager[] tagManagers = RealTimeDataQueueManager.getTagManagersForTagId(1);
+    DataPoint groupADataPoint = tagManagers[0].removeDataPoint();
+    assertTrue(groupADataPoint.equals(tagManagers[1].removeDataPoint()));
+    assertEquals(1, groupADataPoint.getTagId());
+    assertEquals("42", groupADataPoint.getValueString());
+  }
+
+  /**
+   * Test case to verify that value changes create data points of the same type and value as the
+   * data points created from an instant values snapshot with the same values, so duplicate values
+   * from both samplers are recognized.
+   *
+   * @throws IOException if unable to read the instant values EBD data
+   * @since 1.0.0
+   */
+  public void testValueChangeMatchesSnapshot() throws IOException {
+    new TestValueChangeListener(1, 42, 0, null).callTagChanged();
+    new TestValueChangeListener(2, 0, -2.5, null).callTagChanged();
+    new TestValueChangeListener(3, 0, 0, "on").callTagChanged();
+    new TestValueChangeListener(4, 1, 0, null).callTagChanged();
+
+    InstantValuesEbdReader reader = new InstantValuesEbdReader(4);
+    reader.read(new ByteArrayInputStream(TEST_INSTANT_VALUES.getBytes()), 1700000000000L);
+    for (int tagId = 1; tagId <= 4; tagId++) {
+      DataPoint eventDataPoint =
+          RealTimeDataQueueManager.getTagManagersForTagId(tagId)[0].removeDataPoint();
+      DataPoint snapshotDataPoint =
+          reader.createDataPoint(tagInfos[tagId], "1700000000", "2023-11-14T22:13:20Z");
+      String message = "Tag " + tagId;
+      assertEquals(message, snapshotDataPoint.getClass(), eventDataPoint.getClass());
+      assertTrue(message, snapshotDataPoint.valueEquals(eventDataPoint));
+    }
+  }
+
+  /**
+   * Test case to verify that a value change of a tag whose type is not supported is skipped.
+   *
+   * @since 1.0.0
+   */
+  public void testUnsupportedTagTypeSkipped() {
+    new TestValueChangeListener(5, 2, 0, null).callTagChanged();
+    assertGroupCount(0, RealTimeDataQueueManager.GROUP_D);
+  }
+
+  /**
+   * Asserts that the data point count of a tag group is the specified count.
+   *
+   * @param expectedCount expected number of data points
+   * @param tagGroup tag group
+   * @since 1.0.0
+   */
+  private static void assertGroupCount(int expectedCount, int tagGroup) {
+    assertEquals(expectedCount, RealTimeDataQueueManager.getNumGroupDataPoints(tagGroup));
+  }
+
+  /**
+   * {@link RealTimeValueChangeListener} which reports a fixed tag value change event.
+   *
+   * @since 1.0.0
+   */
+  private static class TestValueChangeListener extends RealTimeValueChangeListener {
+
+    /**
+     * Tag ID of the event.
+     *
+     * @since 1.0.0
+     */
+    private final int tagId;
+
+    /**
+     * Integer value of the event.
+     *
+     * @since 1.0.0
+     */
+    private final long longValue;
+
+    /**
+     * Decimal value of the event.
+     *
+     * @since 1.0.0
+     */
+    private final double doubleValue;
+
+    /**
+     * String value of the event.
+     *
+     * @since 1.0.0
+     */
+    private final String stringValue;
+
+    /**
+     * Constructs a new {@link TestValueChangeListener}.
+     *
+     * @param tagId tag ID of the event
+     * @param longValue integer value of the event
+     * @param doubleValue decimal value of the event
+     * @param stringValue string value of the event
+     * @since 1.0.0
+     */
+    private TestValueChangeListener(
+        int tagId, long longValue, double doubleValue, String stringValue) {
+      this.tagId = tagId;
+      this.longValue = longValue;
+      this.doubleValue = doubleValue;
+      this.stringValue = stringValue;
+    }
+
+    public int getTagId() {
+      return tagId;
+    }
+
+    public long getTagValueAsLong() {
+      return longValue;
+    }
+
+    public double getTagValueAsDouble() {
+      return doubleValue;
+    }
+
+    public String getTagValueAsString() {
+      return stringValue;
+    }
+  }
+}
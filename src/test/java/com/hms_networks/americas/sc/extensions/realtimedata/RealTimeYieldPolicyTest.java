@@ -0,0 +1,84 @@
+package com.hms_networks.americas.sc.extensions.realtimedata;
+
+import junit.framework.TestCase;
+
+/**
+ * Library test class for the {@link RealTimeYieldPolicy} class in the Ewon Flexy Extensions
+ * Library.
+ *
+ * @author HMS Networks; Americas
+ * @since 1.17.0
+ * @version 1.0.0
+ */
+public class RealTimeYieldPolicyTest extends TestCase {
+
+  /**
+   * Test case to verify that a yield policy created for a number of tags is only due once the
+   * number of tags has been recorded, regardless of the elapsed time.
+   *
+   * @since 1.0.0
+   */
+  public void testEveryNumTags() {
+    RealTimeYieldPolicy policy = RealTimeYieldPolicy.everyNumTags(10, 2);
+    assertFalse(policy.isYieldDue(9, 60000));
+    assertTrue(policy.isYieldDue(10, 0));
+    assertTrue(policy.isYieldDue(11, 0));
+    assertEquals(2, policy.getYieldSleepMillis());
+  }
+
+  /**
+   * Test case to verify that a yield policy created for an interval is only due once the interval
+   * has elapsed, regardless of the number of tags.
+   *
+   * @since 1.0.0
+   */
+  public void testEveryMillis() {
+    RealTimeYieldPolicy policy = RealTimeYieldPolicy.everyMillis(50, 1);
+    assertFalse(policy.isYieldDue(100000, 49));
+    assertTrue(policy.isYieldDue(0, 50));
+    assertEquals(1, policy.getYieldSleepMillis());
+  }
+
+  /**
+   * Test case to verify that a yield policy with both triggers is due when either trigger is
+   * reached, and that a yield policy with both triggers disabled is never due.
+   *
+   * @since 1.0.0
+   */
+  public void testBothTriggers() {
+    RealTimeYieldPolicy policy = new RealTimeYieldPolicy(10, 50, 0);
+    assertFalse(policy.isYieldDue(9, 49));
+    assertTrue(policy.isYieldDue(10, 0));
+    assertTrue(policy.isYieldDue(0, 50));
+
+    RealTimeYieldPolicy disabledPolicy =
+        new RealTimeYieldPolicy(RealTimeYieldPolicy.DISABLED, RealTimeYieldPolicy.DISABLED, 1);
+    assertFalse(disabledPolicy.isYieldDue(Integer.MAX_VALUE, Long.MAX_VALUE));
+  }
+
+  /**
+   * Test case to verify that negative yield policy values are rejected.
+   *
+   * @since 1.0.0
+   */
+  public void testInvalidValues() {
+    try {
+      new RealTimeYieldPolicy(-1, 0, 1);
+      fail("Expected IllegalArgumentException for negative number of tags");
+    } catch (IllegalArgumentException e) {
+      // Expected
+    }
+    try {
+      RealTimeYieldPolicy.everyMillis(-1, 1);
+      fail("Expected IllegalArgumentException for negative interval");
+    } catch (IllegalArgumentException e) {
+      // Expected
+    }
+    try {
+      RealTimeYieldPolicy.everyNumTags(1, -1);
+      fail("Expected IllegalArgumentException for negative sleep time");
+    } catch (IllegalArgumentException e) {
+      // Expected
+    }
+  }
+}
@@ -0,0 +1,207 @@
+package com.hms_networks.americas.sc.extensions.taginfo;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import junit.framework.TestCase;
+
+/**
+ * Library test class for the {@link TagInfoCacheFile} class in the Ewon Flexy Extensions Library.
+ *
+ * @author HMS Networks; Americas
+ * @since 1.17.0
+ * @version 1.0.0
+ */
+public class TagInfoCacheFileTest extends TestCase {
+
+  /**
+   * Tag configuration fingerprint used when writing test cache files.
+   *
+   * @since 1.0.0
+   */
+  private static final String TEST_FINGERPRINT = "enum=;key=test";
+
+  /**
+   * Path of the cache file used by the current test case.
+   *
+   * @since 1.0.0
+   */
+  private String cacheFilePath;
+
+  /**
+   * Creates a unique cache file path for each test case.
+   *
+   * @throws Exception if unable to create a temporary file
+   * @since 1.0.0
+   */
+  protected void setUp() throws Exception {
+    File cacheFile = File.createTempFile("TagInfoCache", ".bin");
+    cacheFile.delete();
+    cacheFilePath = cacheFile.getPath();
+  }
+
+  /**
+   * Deletes the cache file and temporary file of the current test case.
+   *
+   * @since 1.0.0
+   */
+  protected void tearDown() {
+    new File(cacheFilePath).delete();
+    new File(cacheFilePath + ".tmp").delete();
+  }
+
+  /**
+   * Test case to verify that the tag information and line hashes read from a cache file match the
+   * snapshot written to it, including tag groups and int to string enumeration mappings.
+   *
+   * @throws IOException if unable to write or read the cache file
+   * @since 1.0.0
+   */
+  public void testWriteAndRead() throws IOException {
+    TagInfo[] tagInfos =
+        new TagInfo[] {
+          TagInfoTestFixture.buildTagInfo(3, "Pressure", TagType.FLOAT, true, false, false, false),
+          TagInfoTestFixture.buildTagInfo(1, "Running", TagType.BOOLEAN, false, false, true, false),
+          new TagInfoEnumeratedIntToString(
+              2,
+              "State",
+              "Machine state",
+              true,
+              true,
+              false,
+              true,
+              false,
+              true,
+              TagType.INTEGER,
+              "",
+              "State alarm",
+              1,
+              2,
+              0,
+              3,
+              5,
+              0.5f,
+              new String[] {"Off", null, "Ready"})
+        };
+    int[] lineHashes = new int[] {0x11111111, 0x22222222, 0x33333333};
+    TagInfoSnapshot snapshot = new TagInfoSnapshot(tagInfos, lineHashes, tagInfos.length);
+
+    TagInfoCacheFile.write(cacheFilePath, TEST_FINGERPRINT, snapshot);
+    TagInfoCacheFile cacheFile = TagInfoCacheFile.read(cacheFilePath, TEST_FINGERPRINT);
+
+    assertNotNull(cacheFile);
+    assertFalse(new File(cacheFilePath + ".tmp").exists());
+    TagInfo[] expectedTagInfos = snapshot.getTagInfosById();
+    assertEquals(expectedTagInfos.length, cacheFile.tagInfos.length);
+    for (int i = 0; i < expectedTagInfos.length; i++) {
+      TagInfo expected = expectedTagInfos[i];
+      TagInfo actual = cacheFile.tagInfos[i];
+      assertEquals(expected.getId(), actual.getId());
+      assertEquals(expected.getName(), actual.getName());
+      assertEquals(expected.getDescription(), actual.getDescription());
+      assertEquals(expected.isHistoricalLogEnabled(), actual.isHistoricalLogEnabled());
+      assertEquals(expected.isRealTimeLogEnabled(), actual.isRealTimeLogEnabled());
+      assertEquals(expected.getTagGroups(), actual.getTagGroups());
+      assertSame(expected.getType(), actual.getType());
+      assertEquals(expected.getUnit(), actual.getUnit());
+      assertEquals(expected.getAlarmHint(), actual.getAlarmHint());
+      assertEquals(expected.getAlarmLow(), actual.getAlarmLow(), 0);
+      assertEquals(expected.getAlarmHigh(), actual.getAlarmHigh(), 0);
+      assertEquals(expected.getAlarmLowLow(), actual.getAlarmLowLow(), 0);
+      assertEquals(expected.getAlarmHighHigh(), actual.getAlarmHighHigh(), 0);
+      assertEquals(expected.getAlarmTimeDeadBand(), actual.getAlarmTimeDeadBand());
+      assertEquals(expected.getAlarmLevelDeadBand(), actual.getAlarmLevelDeadBand(), 0);
+      assertEquals(
+          snapshot.getTagInfoLineHash(snapshot.getTableIndex(expected.getId())),
+          cacheFile.lineHashes[i]);
+      assertEquals(
+          expected instanceof TagInfoEnumeratedIntToString,
+          actual instanceof TagInfoEnumeratedIntToString);
+    }
+
+    String[] mapping =
+        ((TagInfoEnumeratedIntToString) cacheFile.tagInfos[1]).getEnumeratedStringValueMapping();
+    assertEquals(3, mapping.length);
+    assertEquals("Off", mapping[0]);
+    assertNull(mapping[1]);
+    assertEquals("Ready", mapping[2]);
+  }
+
+  /**
+   * Test case to verify that a cache file is ignored when its fingerprint does not match, and that
+   * a rewritten cache file replaces the previous one.
+   *
+   * @throws IOException if unable to write or read the cache file
+   * @since 1.0.0
+   */
+  public void testFingerprintInvalidates() throws IOException {
+    TagInfo[] tagInfos =
+        new TagInfo[] {
+          TagInfoTestFixture.buildTagInfo(1, "Tag1", TagType.FLOAT, true, false, true, false)
+        };
+    TagInfoCacheFile.write(
+        cacheFilePath, TEST_FINGERPRINT, new TagInfoSnapshot(tagInfos, new int[] {1}, 1));
+
+    assertNull(TagInfoCacheFile.read(cacheFilePath, TEST_FINGERPRINT + "-changed"));
+
+    TagInfo[] renamedTagInfos =
+        new TagInfo[] {
+          TagInfoTestFixture.buildTagInfo(
+              1, "Tag1Renamed", TagType.INTEGER, true, false, true, false)
+        };
+    final String newFingerprint = "enum=;key=test2";
+    TagInfoCacheFile.write(
+        cacheFilePath, newFingerprint, new TagInfoSnapshot(renamedTagInfos, new int[] {2}, 1));
+
+    assertNull(TagInfoCacheFile.read(cacheFilePath, TEST_FINGERPRINT));
+    TagInfoCacheFile cacheFile = TagInfoCacheFile.read(cacheFilePath, newFingerprint);
+    assertNotNull(cacheFile);
+    assertEquals("Tag1Renamed", cacheFile.tagInfos[0].getName());
+    assertSame(TagType.INTEGER, cacheFile.tagInfos[0].getType());
+    assertEquals(2, cacheFile.lineHashes[0]);
+  }
+
+  /**
+   * Test case to verify that a missing cache file is not read, and that an invalid or truncated
+   * cache file results in an {@link IOException}.
+   *
+   * @throws IOException if unable to write the cache file
+   * @since 1.0.0
+   */
+  public void testMissingAndInvalidFiles() throws IOException {
+    assertNull(TagInfoCacheFile.read(cacheFilePath, TEST_FINGERPRINT));
+
+    FileOutputStream outputStream = new FileOutputStream(cacheFilePath);
+    outputStream.write(new byte[] {1, 2, 3, 4, 5, 6, 7, 8});
+    outputStream.close();
+    try {
+      TagInfoCacheFile.read(cacheFilePath, TEST_FINGERPRINT);
+      fail("Expected IOException for invalid cache file.");
+    } catch (IOException e) {
+      // Expected
+    }
+
+    TagInfo[] tagInfos =
+        new TagInfo[] {
+          TagInfoTestFixture.buildTagInfo(1, "Tag1", TagType.FLOAT, true, false, true, false)
+        };
+    TagInfoCacheFile.write(
+        cacheFilePath, TEST_FINGERPRINT, new TagInfoSnapshot(tagInfos, new int[] {1}, 1));
+    File cacheFile = new File(cacheFilePath);
+    final long truncatedLength = cacheFile.length() - 1;
+    byte[] contents = new byte[(int) truncatedLength];
+    FileInputStream inputStream = new FileInputStream(cacheFile);
+    inputStream.read(contents);
+    inputStream.close();
+    outputStream = new FileOutputStream(cacheFilePath);
+    outputStream.write(contents);
+    outputStream.close();
+    try {
+      TagInfoCacheFile.read(cacheFilePath, TEST_FINGERPRINT);
+      fail("Expected IOException for truncated cache file.");
+    } catch (IOException e) {
+      // Expected
+    }
+  }
+}
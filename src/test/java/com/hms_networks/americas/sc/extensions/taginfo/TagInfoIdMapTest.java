@@ -0,0 +1,90 @@
+package com.hms_networks.americas.sc.extensions.taginfo;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Random;
+import junit.framework.TestCase;
+
+/**
+ * Library test class for the {@link TagInfoIdMap} class in the Ewon Flexy Extensions Library.
+ *
+ * @author HMS Networks; Americas
+ * @since 1.17.0
+ * @version 1.0.0
+ */
+public class TagInfoIdMapTest extends TestCase {
+
+  /**
+   * Number of tags to add to the map for each test case.
+   *
+   * @since 1.0.0
+   */
+  private static final int NUM_TEST_TAGS = 2000;
+
+  /**
+   * Random generator for creating random test values.
+   *
+   * @since 1.0.0
+   */
+  private static final Random RANDOM = new Random();
+
+  /**
+   * Test case to verify that tags with widely spread and clustered tag IDs are found by tag ID and
+   * slot index, and that tag IDs which were not added are not found.
+   *
+   * @since 1.0.0
+   */
+  public void testPutAndGet() {
+    TagInfoIdMap tagInfoIdMap = new TagInfoIdMap(NUM_TEST_TAGS);
+    Map expectedTagInfos = new HashMap();
+    while (expectedTagInfos.size() < NUM_TEST_TAGS) {
+      // Mix of random tag IDs and tag IDs with a regular stride (to force collisions)
+      final int strideTagIds = 4;
+      int tagId =
+          RANDOM.nextInt(strideTagIds) == 0
+              ? expectedTagInfos.size() * 1024
+              : RANDOM.nextInt(Integer.MAX_VALUE);
+      Integer key = new Integer(tagId);
+      if (!expectedTagInfos.containsKey(key)) {
+        TagInfo tagInfo = TagInfoTestFixture.buildTagInfo(tagId, TagType.FLOAT);
+        expectedTagInfos.put(key, tagInfo);
+        int slot = tagInfoIdMap.put(tagInfo);
+        assertSame(tagInfo, tagInfoIdMap.getAt(slot));
+      }
+    }
+
+    assertEquals(NUM_TEST_TAGS, tagInfoIdMap.size());
+    assertTrue(tagInfoIdMap.getCapacity() >= NUM_TEST_TAGS * 2);
+    Iterator tagIdIterator = expectedTagInfos.keySet().iterator();
+    while (tagIdIterator.hasNext()) {
+      Integer key = (Integer) tagIdIterator.next();
+      assertSame(expectedTagInfos.get(key), tagInfoIdMap.get(key.intValue()));
+      assertSame(
+          expectedTagInfos.get(key), tagInfoIdMap.getAt(tagInfoIdMap.indexOf(key.intValue())));
+    }
+    for (int i = 0; i < NUM_TEST_TAGS; i++) {
+      int tagId = -1 - RANDOM.nextInt(Integer.MAX_VALUE);
+      assertNull(tagInfoIdMap.get(tagId));
+      assertEquals(-1, tagInfoIdMap.indexOf(tagId));
+    }
+  }
+
+  /**
+   * Test case to verify that adding a tag with an existing tag ID replaces the existing tag in the
+   * same slot.
+   *
+   * @since 1.0.0
+   */
+  public void testPutReplaces() {
+    TagInfoIdMap tagInfoIdMap = new TagInfoIdMap(1);
+    TagInfo firstTagInfo = TagInfoTestFixture.buildTagInfo(7, TagType.FLOAT);
+    TagInfo secondTagInfo = TagInfoTestFixture.buildTagInfo(7, TagType.FLOAT);
+    int firstSlot = tagInfoIdMap.put(firstTagInfo);
+    int secondSlot = tagInfoIdMap.put(secondTagInfo);
+
+    assertEquals(firstSlot, secondSlot);
+    assertEquals(1, tagInfoIdMap.size());
+    assertSame(secondTagInfo, tagInfoIdMap.get(7));
+  }
+}
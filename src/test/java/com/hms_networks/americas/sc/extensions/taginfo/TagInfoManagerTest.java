@@ -0,0 +1,644 @@
+package com.hms_networks.americas.sc.extensions.taginfo;
+
+import com.ewon.ewonitf.EWException;
+import com.ewon.ewonitf.SysControlBlock;
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import junit.framework.TestCase;
+
+/**
+ * Library test class for the {@link TagInfoManager} class in the Ewon Flexy Extensions Library.
+ *
+ * @author HMS Networks; Americas
+ * @since 1.17.0
+ * @version 1.0.0
+ */
+public class TagInfoManagerTest extends TestCase {
+
+  /**
+   * Number of fields in a complete tag list export line.
+   *
+   * @since 1.0.0
+   */
+  private static final int TAG_LIST_FIELD_COUNT = 57;
+
+  /**
+   * Header line of the test tag list exports.
+   *
+   * @since 1.0.0
+   */
+  private static final String TAG_LIST_HEADER = "\"Id\";\"Name\";\"Description\"";
+
+  /**
+   * Line separator of the test tag list exports.
+   *
+   * @since 1.0.0
+   */
+  private static final String TAG_LIST_LINE_SEPARATOR = "\r\n";
+
+  /**
+   * Tag information change listener registered by the current test case, or null if none.
+   *
+   * @since 1.0.0
+   */
+  private RecordingTagInfoChangeListener listener;
+
+  /**
+   * Removes the tag information change listener registered by the current test case, if any.
+   *
+   * @since 1.0.0
+   */
+  protected void tearDown() {
+    if (listener != null) {
+      TagInfoManager.removeTagInfoChangeListener(listener);
+      listener = null;
+    }
+  }
+
+  /**
+   * Test case to verify that a tag list export is parsed the same regardless of how it is split
+   * into chunks, that the header line is skipped, that semicolons in quoted fields do not split
+   * fields, and that incomplete lines are ignored.
+   *
+   * @throws Exception if unable to refresh the tag list
+   * @since 1.0.0
+   */
+  public void testChunkBoundaries() throws Exception {
+    String tagListExport =
+        TAG_LIST_HEADER
+            + TAG_LIST_LINE_SEPARATOR
+            + buildTagListLine(1, "Tank;Level", "Level; in tank", "1", "0", "1000", 2, "m")
+            + TAG_LIST_LINE_SEPARATOR
+            + "2;\"Short\";\"Incomplete line\""
+            + TAG_LIST_LINE_SEPARATOR
+            + buildTagListLine(3, "Pump", "", "0", "1", "0101", 0, "")
+            + TAG_LIST_LINE_SEPARATOR
+            + buildTagListLine(4, "Unterminated", "", "0", "0", "0000", 2, "");
+    final int[] chunkSizes = {1, 2, 3, 7, 64, 4096};
+    for (int i = 0; i < chunkSizes.length; i++) {
+      TagInfoManager.refreshTagList(buildTagListExport(tagListExport, chunkSizes[i]), 1);
+      String message = "Chunk size " + chunkSizes[i];
+      assertEquals(message, 2, TagInfoManager.getTagInfoSnapshot().getTagCount());
+      assertNull(message, TagInfoManager.getTagInfoFromTagName("Short"));
+      assertNull(message, TagInfoManager.getTagInfoFromTagName("Unterminated"));
+
+      TagInfo tank = TagInfoManager.getTagInfoFromTagId(1);
+      assertEquals(message, "Tank;Level", tank.getName());
+      assertEquals(message, "Level; in tank", tank.getDescription());
+      assertEquals(message, "m", tank.getUnit());
+      assertEquals(message, TagType.INTEGER, tank.getType());
+      assertTrue(message, tank.isHistoricalLogEnabled());
+      assertFalse(message, tank.isRealTimeLogEnabled());
+      assertEquals(message, 1, tank.getTagGroups().size());
+      assertTrue(message, tank.getTagGroups().contains(TagGroup.A));
+      assertEquals(message, 10.5f, tank.getAlarmHigh(), 0);
+      assertEquals(message, TagConstants.UNINIT_INT_VAL, tank.getAlarmLow(), 0);
+      assertEquals(message, 5, tank.getAlarmTimeDeadBand());
+
+      TagInfo pump = TagInfoManager.getTagInfoFromTagName("Pump");
+      assertEquals(message, 3, pump.getId());
+      assertEquals(message, TagType.BOOLEAN, pump.getType());
+      assertTrue(message, pump.isRealTimeLogEnabled());
+      assertTrue(message, pump.getTagGroups().contains(TagGroup.B));
+      assertTrue(message, pump.getTagGroups().contains(TagGroup.D));
+      assertNull(message, TagInfoManager.getTagInfoFromTagId(2));
+    }
+  }
+
+  /**
+   * Test case to verify that lines longer than the initial line buffer are parsed when split
+   * across chunks, and that a line longer than the maximum line buffer throws a {@link
+   * TagInfoBufferException}.
+   *
+   * @throws Exception if unable to refresh the tag list
+   * @since 1.0.0
+   */
+  public void testLongLines() throws Exception {
+    String longDescription = buildString('d', 3000);
+    String tagListExport =
+        TAG_LIST_HEADER
+            + TAG_LIST_LINE_SEPARATOR
+            + buildTagListLine(7, "Long", longDescription, "0", "0", "0010", 1, "")
+            + TAG_LIST_LINE_SEPARATOR
+            + buildTagListLine(8, "Next", "", "0", "0", "0000", 1, "")
+            + TAG_LIST_LINE_SEPARATOR;
+    TagInfoManager.refreshTagList(buildTagListExport(tagListExport, 7), 0);
+    assertEquals(longDescription, TagInfoManager.getTagInfoFromTagId(7).getDescription());
+    assertEquals(TagType.FLOAT, TagInfoManager.getTagInfoFromTagId(7).getType());
+    assertEquals("Next", TagInfoManager.getTagInfoFromTagId(8).getName());
+
+    String tooLongTagListExport =
+        TAG_LIST_HEADER
+            + TAG_LIST_LINE_SEPARATOR
+            + buildTagListLine(9, "TooLong", buildString('d', 6000), "0", "0", "0000", 1, "")
+            + TAG_LIST_LINE_SEPARATOR;
+    try {
+      TagInfoManager.refreshTagList(buildTagListExport(tooLongTagListExport, 4096), 0);
+      fail("Expected TagInfoBufferException for line exceeding max capacity");
+    } catch (TagInfoBufferException e) {
+      // Expected
+    }
+  }
+
+  /**
+   * Test case to verify that an incremental refresh classifies tags as added, removed or modified,
+   * reuses the tag information of unchanged tags, and notifies listeners only when the tag list
+   * has changed.
+   *
+   * @throws Exception if unable to refresh the tag list
+   * @since 1.0.0
+   */
+  public void testRefreshTagListIfChanged() throws Exception {
+    String tankLine = buildTagListLine(1, "Tank", "", "1", "0", "1000", 2, "m");
+    String tagListExport =
+        buildTagList(
+            new String[] {
+              tankLine,
+              buildTagListLine(2, "Valve", "", "1", "0", "1000", 0, ""),
+              buildTagListLine(3, "Pump", "", "0", "0", "0100", 0, "")
+            });
+    TagInfoManager.refreshTagList(buildTagListExport(tagListExport, 4096), 3);
+    TagInfo tank = TagInfoManager.getTagInfoFromTagId(1);
+    TagInfo pump = TagInfoManager.getTagInfoFromTagId(3);
+    listener = new RecordingTagInfoChangeListener();
+    TagInfoManager.addTagInfoChangeListener(listener);
+
+    // Unchanged tag list
+    assertFalse(
+        TagInfoManager.refreshTagListIfChanged(buildTagListExport(tagListExport, 5), 3));
+    assertEquals("", listener.getEvents());
+    assertSame(tank, TagInfoManager.getTagInfoFromTagId(1));
+
+    // Valve removed, pump modified and flow added
+    String changedTagListExport =
+        buildTagList(
+            new String[] {
+              tankLine,
+              buildTagListLine(3, "Pump", "", "0", "1", "0100", 0, ""),
+              buildTagListLine(5, "Flow", "", "0", "1", "0001", 1, "l/s")
+            });
+    assertTrue(
+        TagInfoManager.refreshTagListIfChanged(buildTagListExport(changedTagListExport, 5), 3));
+    assertEquals("removed 2, modified 3, added 5", listener.getEvents());
+    assertSame(tank, TagInfoManager.getTagInfoFromTagId(1));
+    assertSame(pump, listener.previousTagInfo);
+    assertSame(TagInfoManager.getTagInfoFromTagId(3), listener.modifiedTagInfo);
+    assertTrue(TagInfoManager.getTagInfoFromTagId(3).isRealTimeLogEnabled());
+    assertNull(TagInfoManager.getTagInfoFromTagName("Valve"));
+    assertEquals(5, TagInfoManager.getTagInfoFromTagName("Flow").getId());
+
+    // Full refresh notifies listeners of the refreshed tag information list
+    TagInfoManager.refreshTagList(buildTagListExport(changedTagListExport, 4096), 3);
+    assertEquals("refreshed", listener.getEvents());
+    assertNotSame(tank, TagInfoManager.getTagInfoFromTagId(1));
+  }
+
+  /**
+   * Test case to verify that a refresh publishes a new snapshot, and that a snapshot held by a
+   * reader is not changed by later refreshes.
+   *
+   * @throws Exception if unable to refresh the tag list
+   * @since 1.0.0
+   */
+  public void testHeldSnapshotUnchangedByRefresh() throws Exception {
+    String tagListExport =
+        buildTagList(
+            new String[] {
+              buildTagListLine(1, "Tank", "", "1", "0", "1000", 2, "m"),
+              buildTagListLine(2, "Valve", "", "1", "0", "1000", 0, "")
+            });
+    TagInfoManager.refreshTagList(buildTagListExport(tagListExport, 4096), 2);
+    TagInfoSnapshot heldSnapshot = TagInfoManager.getTagInfoSnapshot();
+    TagInfo tank = heldSnapshot.getTagInfoFromTagId(1);
+    assertSame(tank, TagInfoManager.getTagInfoFromTagName("Tank"));
+    assertSame(heldSnapshot.getTagInfoArray(), TagInfoManager.getTagInfoArray());
+
+    String changedTagListExport =
+        buildTagList(
+            new String[] {
+              buildTagListLine(2, "Valve", "", "1", "0", "1000", 0, ""),
+              buildTagListLine(6, "Flow", "", "0", "1", "0001", 1, "l/s")
+            });
+    assertTrue(
+        TagInfoManager.refreshTagListIfChanged(buildTagListExport(changedTagListExport, 4096), 2));
+    assertNotSame(heldSnapshot, TagInfoManager.getTagInfoSnapshot());
+    assertEquals(2, TagInfoManager.getLowestTagIdSeen());
+    assertEquals(6, TagInfoManager.getHighestTagIdSeen());
+    assertNull(TagInfoManager.getTagInfoFromTagName("Tank"));
+
+    // Held snapshot keeps its tags, tag ID range and tag group members
+    assertSame(tank, heldSnapshot.getTagInfoFromTagId(1));
+    assertSame(tank, heldSnapshot.getTagInfoFromTagName("Tank"));
+    assertNull(heldSnapshot.getTagInfoFromTagName("Flow"));
+    assertEquals(1, heldSnapshot.getLowestTagId());
+    assertEquals(2, heldSnapshot.getHighestTagId());
+    assertEquals(2, heldSnapshot.getTagGroupMembers(TagGroup.A).size());
+    TagInfo flow = TagInfoManager.getTagInfoFromTagId(6);
+    assertTrue(TagInfoManager.getTagGroupMembers(TagGroup.D).contains(flow));
+  }
+
+  /**
+   * Test case to verify that the int to string enumeration file is parsed into mappings for each
+   * enumerated tag, and is only parsed again when its size or last modified time changes.
+   *
+   * @throws Exception if unable to write or load the int to string enumeration file
+   * @since 1.0.0
+   */
+  public void testIntStringEnumMappingsCache() throws Exception {
+    final long lastModified = 1700000000000L;
+    File enumerationFile = File.createTempFile("EnumerationMapping", ".json");
+    try {
+      writeEnumerationFile(enumerationFile, "Off", lastModified);
+      assertTrue(TagInfoManager.loadIntStringEnumMappings(enumerationFile));
+      String[] mappings = TagInfoManager.getIntStringEnumMappingsForTag("Mode");
+      assertEquals(3, mappings.length);
+      assertEquals("Off", mappings[0]);
+      assertNull(mappings[1]);
+      assertEquals("Auto", mappings[2]);
+      assertNull(TagInfoManager.getIntStringEnumMappingsForTag("Other"));
+
+      // Unchanged file is not parsed again
+      assertFalse(TagInfoManager.loadIntStringEnumMappings(enumerationFile));
+      assertSame(mappings, TagInfoManager.getIntStringEnumMappingsForTag("Mode"));
+
+      // Changed last modified time
+      assertTrue(enumerationFile.setLastModified(lastModified + 2000));
+      assertTrue(TagInfoManager.loadIntStringEnumMappings(enumerationFile));
+      assertNotSame(mappings, TagInfoManager.getIntStringEnumMappingsForTag("Mode"));
+
+      // Changed size with the previous last modified time
+      writeEnumerationFile(enumerationFile, "Stopped", lastModified + 2000);
+      assertTrue(TagInfoManager.loadIntStringEnumMappings(enumerationFile));
+      assertEquals("Stopped", TagInfoManager.getIntStringEnumMappingsForTag("Mode")[0]);
+      assertFalse(TagInfoManager.loadIntStringEnumMappings(enumerationFile));
+    } finally {
+      enumerationFile.delete();
+    }
+  }
+
+  /**
+   * Test case to verify that only tags with a different historical log interval or with historical
+   * logging disabled are changed, that changed tags are saved to flash once per 500 changed tags
+   * and once after the final changed tag, and that progress is reported once per 100 tags.
+   *
+   * @throws Exception if unable to apply the historical log intervals
+   * @since 1.0.0
+   */
+  public void testApplyHistoricalLogRates() throws Exception {
+    TestBlockOpener blockOpener = new TestBlockOpener();
+    Map tagLogIntervals = new LinkedHashMap();
+    for (int i = 0; i < 1201; i++) {
+      tagLogIntervals.put("Tag" + i, "60");
+    }
+    blockOpener.setCurrentLogInterval("Tag0", "1", "60");
+    blockOpener.setCurrentLogInterval("Tag1", "0", "60");
+    blockOpener.setCurrentLogInterval("Tag2", "1", "30");
+    final StringBuffer progress = new StringBuffer();
+    HistoricalLogRateProgressListener progressListener =
+        new HistoricalLogRateProgressListener() {
+          public void onHistoricalLogRateProgress(
+              int processedTagCount, int totalTagCount, int changedTagCount) {
+            progress.append(processedTagCount).append('/').append(totalTagCount);
+            progress.append(' ').append(changedTagCount).append(", ");
+          }
+        };
+
+    assertEquals(
+        1200,
+        TagInfoManager.applyHistoricalLogRates(tagLogIntervals, progressListener, blockOpener));
+    assertEquals(1201, blockOpener.openedTagNames.size());
+    assertEquals("Tag0", blockOpener.openedTagNames.get(0));
+    assertEquals("Tag1200", blockOpener.openedTagNames.get(1200));
+    assertEquals(1200, blockOpener.appliedCount);
+    assertEquals(3, blockOpener.flashSaveCount);
+    assertTrue(progress.toString().startsWith("100/1201 99, 200/1201 199, "));
+    assertTrue(progress.toString().endsWith("1200/1201 1199, 1201/1201 1200, "));
+
+    // Unchanged tags are not saved
+    blockOpener = new TestBlockOpener();
+    blockOpener.setCurrentLogInterval("Tag0", "1", "60");
+    Map unchangedTagLogIntervals = new LinkedHashMap();
+    unchangedTagLogIntervals.put("Tag0", "60");
+    assertEquals(
+        0, TagInfoManager.applyHistoricalLogRates(unchangedTagLogIntervals, null, blockOpener));
+    assertEquals(0, blockOpener.flashSaveCount);
+  }
+
+  /**
+   * Test case to verify that tags changed before an exception stops the update are saved to flash
+   * before the exception is thrown, and that a failed save to flash does not replace the exception.
+   *
+   * @throws Exception if unable to apply the historical log intervals
+   * @since 1.0.0
+   */
+  public void testApplyHistoricalLogRatesInterrupted() throws Exception {
+    Map tagLogIntervals = new LinkedHashMap();
+    tagLogIntervals.put("Tag0", "60");
+    tagLogIntervals.put("Tag1", "60");
+    tagLogIntervals.put("Missing", "60");
+    tagLogIntervals.put("Tag3", "60");
+
+    TestBlockOpener blockOpener = new TestBlockOpener();
+    try {
+      TagInfoManager.applyHistoricalLogRates(tagLogIntervals, null, blockOpener);
+      fail("Expected EWException for missing tag");
+    } catch (EWException e) {
+      assertEquals("Missing", e.getMessage());
+    }
+    assertEquals(2, blockOpener.appliedCount);
+    assertEquals(1, blockOpener.flashSaveCount);
+
+    blockOpener = new TestBlockOpener();
+    blockOpener.failFlashSave = true;
+    try {
+      TagInfoManager.applyHistoricalLogRates(tagLogIntervals, null, blockOpener);
+      fail("Expected EWException for missing tag");
+    } catch (EWException e) {
+      assertEquals("Missing", e.getMessage());
+    }
+    assertEquals(0, blockOpener.flashSaveCount);
+  }
+
+  /**
+   * Builds the contents of a tag list export with a header line and the specified tag lines.
+   *
+   * @param tagListLines tag list export lines, without line separators
+   * @return contents of the tag list export
+   * @since 1.0.0
+   */
+  private static String buildTagList(String[] tagListLines) {
+    StringBuffer tagListBuffer = new StringBuffer(TAG_LIST_HEADER);
+    tagListBuffer.append(TAG_LIST_LINE_SEPARATOR);
+    for (int i = 0; i < tagListLines.length; i++) {
+      tagListBuffer.append(tagListLines[i]).append(TAG_LIST_LINE_SEPARATOR);
+    }
+    return tagListBuffer.toString();
+  }
+
+  /**
+   * Builds a complete tag list export line for a tag. The alarm high field is 10.5 and the alarm
+   * time dead band field is 5, and all other fields are empty.
+   *
+   * @param tagId tag ID
+   * @param tagName tag name
+   * @param tagDescription tag description
+   * @param historicalLogging historical logging field ("1" if enabled)
+   * @param realTimeLogging real time logging field ("1" if enabled)
+   * @param tagGroups group A, B, C and D fields, one character each ('1' if in the group)
+   * @param tagType tag type integer
+   * @param tagUnit tag unit
+   * @return tag list export line, without a line separator
+   * @since 1.0.0
+   */
+  private static String buildTagListLine(
+      int tagId,
+      String tagName,
+      String tagDescription,
+      String historicalLogging,
+      String realTimeLogging,
+      String tagGroups,
+      int tagType,
+      String tagUnit) {
+    String[] fields = new String[TAG_LIST_FIELD_COUNT];
+    fields[0] = String.valueOf(tagId);
+    fields[1] = "\"" + tagName + "\"";
+    fields[2] = "\"" + tagDescription + "\"";
+    fields[8] = historicalLogging;
+    fields[15] = realTimeLogging;
+    fields[21] = "10.5";
+    fields[23] = "5";
+    for (int i = 0; i < tagGroups.length(); i++) {
+      fields[25 + i] = String.valueOf(tagGroups.charAt(i));
+    }
+    fields[55] = String.valueOf(tagType);
+    fields[56] = "\"" + tagUnit + "\"";
+
+    StringBuffer lineBuffer = new StringBuffer();
+    for (int i = 0; i < fields.length; i++) {
+      if (i > 0) {
+        lineBuffer.append(';');
+      }
+      if (fields[i] != null) {
+        lineBuffer.append(fields[i]);
+      }
+    }
+    return lineBuffer.toString();
+  }
+
+  /**
+   * Builds a tag list export stream which returns at most the specified number of bytes from each
+   * read.
+   *
+   * @param tagListExport contents of the tag list export
+   * @param chunkSize maximum number of bytes returned by each read
+   * @return tag list export stream
+   * @since 1.0.0
+   */
+  private static InputStream buildTagListExport(String tagListExport, final int chunkSize) {
+    return new ByteArrayInputStream(tagListExport.getBytes()) {
+      public synchronized int read(byte[] b, int off, int len) {
+        return super.read(b, off, Math.min(len, chunkSize));
+      }
+    };
+  }
+
+  /**
+   * Writes an int to string enumeration file which maps the values 0 and 2 of the enumerated tag
+   * "Mode", and sets its last modified time.
+   *
+   * @param enumerationFile file to write
+   * @param valueZeroString string mapping of value 0
+   * @param lastModified last modified time of the file (in ms since epoch)
+   * @throws IOException if unable to write the file
+   * @since 1.0.0
+   */
+  private static void writeEnumerationFile(
+      File enumerationFile, String valueZeroString, long lastModified) throws IOException {
+    String enumerationJson =
+        "{\"enumeratedTagList\": [\"Mode\"], \"tags\": {\"Mode\": [{\"0\": \""
+            + valueZeroString
+            + "\"}, {\"2\": \"Auto\"}]}}";
+    FileOutputStream fileOutputStream = new FileOutputStream(enumerationFile);
+    try {
+      fileOutputStream.write(enumerationJson.getBytes());
+    } finally {
+      fileOutputStream.close();
+    }
+    assertTrue(enumerationFile.setLastModified(lastModified));
+  }
+
+  /**
+   * Builds a string of the specified length which repeats the specified character.
+   *
+   * @param c character to repeat
+   * @param length length of the string
+   * @return built string
+   * @since 1.0.0
+   */
+  private static String buildString(char c, int length) {
+    StringBuffer stringBuffer = new StringBuffer(length);
+    for (int i = 0; i < length; i++) {
+      stringBuffer.append(c);
+    }
+    return stringBuffer.toString();
+  }
+
+  /**
+   * {@link TagInfoChangeListener} which records the tag information change events it receives.
+   *
+   * @since 1.0.0
+   */
+  private static class RecordingTagInfoChangeListener implements TagInfoChangeListener {
+
+    /**
+     * Recorded events, oldest first.
+     *
+     * <p>Parameterized type: ArrayList&lt;String&gt;
+     *
+     * @since 1.0.0
+     */
+    private final ArrayList events = new ArrayList();
+
+    /**
+     * Previous tag information of the most recently modified tag.
+     *
+     * @since 1.0.0
+     */
+    private TagInfo previousTagInfo;
+
+    /**
+     * New tag information of the most recently modified tag.
+     *
+     * @since 1.0.0
+     */
+    private TagInfo modifiedTagInfo;
+
+    /**
+     * Gets and clears the recorded events.
+     *
+     * @return recorded events, separated by commas
+     * @since 1.0.0
+     */
+    private String getEvents() {
+      StringBuffer eventsBuffer = new StringBuffer();
+      for (int i = 0; i < events.size(); i++) {
+        if (i > 0) {
+          eventsBuffer.append(", ");
+        }
+        eventsBuffer.append(events.get(i));
+      }
+      events.clear();
+      return eventsBuffer.toString();
+    }
+
+    public void onTagInfoAdded(TagInfo tagInfo) {
+      events.add("added " + tagInfo.getId());
+    }
+
+    public void onTagInfoRemoved(TagInfo tagInfo) {
+      events.add("removed " + tagInfo.getId());
+    }
+
+    public void onTagInfoModified(TagInfo previousTagInfo, TagInfo tagInfo) {
+      events.add("modified " + tagInfo.getId());
+      this.previousTagInfo = previousTagInfo;
+      this.modifiedTagInfo = tagInfo;
+    }
+
+    public void onTagInfoListRefreshed() {
+      events.add("refreshed");
+    }
+  }
+
+  /**
+   * {@link TagInfoManager.TagConfigurationBlockOpener} which opens in-memory tag configuration
+   * blocks and records how they are used. Opening the tag named "Missing" throws an {@link
+   * EWException}.
+   *
+   * @since 1.0.0
+   */
+  private static class TestBlockOpener implements TagInfoManager.TagConfigurationBlockOpener {
+
+    /**
+     * Current "LogEnabled" and "LogTimer" items of each tag, separated by a semicolon.
+     *
+     * <p>Parameterized type: Map&lt;String, String&gt;
+     *
+     * @since 1.0.0
+     */
+    private final Map currentItems = new LinkedHashMap();
+
+    /**
+     * Names of the opened tags, oldest first.
+     *
+     * <p>Parameterized type: ArrayList&lt;String&gt;
+     *
+     * @since 1.0.0
+     */
+    private final ArrayList openedTagNames = new ArrayList();
+
+    /**
+     * Number of tag configuration blocks applied without saving to flash.
+     *
+     * @since 1.0.0
+     */
+    private int appliedCount;
+
+    /**
+     * Number of saves to flash.
+     *
+     * @since 1.0.0
+     */
+    private int flashSaveCount;
+
+    /**
+     * True to throw an {@link EWException} from each save to flash.
+     *
+     * @since 1.0.0
+     */
+    private boolean failFlashSave;
+
+    /**
+     * Sets the current "LogEnabled" and "LogTimer" items of the specified tag.
+     *
+     * @param tagName tag name
+     * @param logEnabled current "LogEnabled" item
+     * @param logTimer current "LogTimer" item
+     * @since 1.0.0
+     */
+    private void setCurrentLogInterval(String tagName, String logEnabled, String logTimer) {
+      currentItems.put(tagName + ".LogEnabled", logEnabled);
+      currentItems.put(tagName + ".LogTimer", logTimer);
+    }
+
+    public SysControlBlock openTagConfigurationBlock(final String tagName) throws EWException {
+      if ("Missing".equals(tagName)) {
+        throw new EWException(tagName);
+      }
+      openedTagNames.add(tagName);
+      return new SysControlBlock(SysControlBlock.TAG, tagName) {
+        public String getItem(String itemName) {
+          // Items are padded, as read from the Ewon
+          String item = (String) currentItems.get(tagName + "." + itemName);
+          return item != null ? item + " " : "";
+        }
+
+        public void saveBlock(boolean saveToFlash) throws EWException {
+          if (!saveToFlash) {
+            appliedCount++;
+          } else if (failFlashSave) {
+            throw new EWException("Flash");
+          } else {
+            flashSaveCount++;
+          }
+        }
+      };
+    }
+  }
+}
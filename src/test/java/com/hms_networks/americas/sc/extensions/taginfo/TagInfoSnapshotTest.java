@@ -0,0 +1,283 @@
+package com.hms_networks.americas.sc.extensions.taginfo;
+
+import java.util.List;
+import junit.framework.TestCase;
+
+/**
+ * Library test class for the {@link TagInfoSnapshot} class in the Ewon Flexy Extensions Library.
+ *
+ * @author HMS Networks; Americas
+ * @since 1.17.0
+ * @version 1.0.0
+ */
+public class TagInfoSnapshotTest extends TestCase {
+
+  /**
+   * Test case to verify that tags are found by tag ID and tag name, that gaps in tag IDs are null,
+   * and that tag IDs outside of the tag ID range throw an {@link IndexOutOfBoundsException}.
+   *
+   * @since 1.0.0
+   */
+  public void testTagLookups() {
+    TagInfo[] tagInfos = buildTestTagInfos();
+    TagInfoSnapshot snapshot = buildSnapshot(tagInfos, 4);
+    assertTagLookups(snapshot, tagInfos);
+    assertEquals(9, snapshot.getHighestTagId());
+
+    // Tag array is indexed with an offset of the lowest tag ID
+    TagInfo[] tagInfoArray = snapshot.getTagInfoArray();
+    assertEquals(8, tagInfoArray.length);
+    assertSame(tagInfos[2], tagInfoArray[9 - 2]);
+    assertNull(tagInfoArray[4 - 2]);
+  }
+
+  /**
+   * Test case to verify that a snapshot which uses a sparse tag ID map finds the same tags as a
+   * snapshot which uses a tag ID table, and builds its tag array once.
+   *
+   * @since 1.0.0
+   */
+  public void testSparseTagLookups() {
+    TagInfo[] tagInfos = buildTestTagInfos();
+    tagInfos[4] = buildTagInfo(100000, false, false, "0000");
+    TagInfoSnapshot snapshot = buildSnapshot(tagInfos, 5);
+    assertTrue(snapshot.isSparse());
+    assertTagLookups(snapshot, tagInfos);
+    assertSame(tagInfos[4], snapshot.getTagInfoFromTagId(100000));
+    assertNull(snapshot.getTagInfoFromTagId(50000));
+    assertEquals(100000, snapshot.getHighestTagId());
+
+    TagInfo[] tagInfoArray = snapshot.getTagInfoArray();
+    assertEquals(100000 - 2 + 1, tagInfoArray.length);
+    assertSame(tagInfos[4], tagInfoArray[100000 - 2]);
+    assertSame(tagInfoArray, snapshot.getTagInfoArray());
+  }
+
+  /**
+   * Test case to verify that a snapshot without tags has no tag ID range and finds no tags.
+   *
+   * @since 1.0.0
+   */
+  public void testEmptySnapshot() {
+    TagInfoSnapshot snapshot = buildSnapshot(new TagInfo[0], 0);
+    assertEquals(0, snapshot.getTagCount());
+    assertEquals(TagConstants.UNINIT_INT_VAL, snapshot.getLowestTagId());
+    assertEquals(TagConstants.UNINIT_INT_VAL, snapshot.getHighestTagId());
+    assertEquals(0, snapshot.getTagInfoArray().length);
+    assertNull(snapshot.getTagInfoFromTagName("Tag1"));
+    assertFalse(snapshot.isTagInGroup(1, TagGroup.A));
+    assertTagIds("", snapshot.getTagGroupMembers(TagGroup.A));
+  }
+
+  /**
+   * Test case to verify that the tag group membership tables list the tags of each tag group, and
+   * the historical and real time logging tags of each tag group, in tag ID order.
+   *
+   * @since 1.0.0
+   */
+  public void testTagGroupMembers() {
+    TagInfoSnapshot snapshot = buildSnapshot(buildTestTagInfos(), 4);
+    assertFalse(snapshot.isSparse());
+    assertTagGroupMembers(snapshot);
+  }
+
+  /**
+   * Test case to verify that the tag group membership tables of a snapshot which uses a sparse tag
+   * ID map match those of a snapshot which uses a tag ID table.
+   *
+   * @since 1.0.0
+   */
+  public void testSparseTagGroupMembers() {
+    TagInfo[] tagInfos = buildTestTagInfos();
+    tagInfos[4] = buildTagInfo(100000, false, false, "0000");
+    TagInfoSnapshot snapshot = buildSnapshot(tagInfos, 5);
+    assertTrue(snapshot.isSparse());
+    assertTagGroupMembers(snapshot);
+    assertFalse(snapshot.isTagInGroup(100000, TagGroup.A));
+    assertFalse(snapshot.isTagInGroup(99999, TagGroup.B));
+  }
+
+  /**
+   * Test case to verify that the tag group membership tables are shared and unmodifiable, and that
+   * an unknown tag group is rejected.
+   *
+   * @since 1.0.0
+   */
+  public void testTagGroupMembersUnmodifiable() {
+    TagInfoSnapshot snapshot = buildSnapshot(buildTestTagInfos(), 4);
+    List groupMembers = snapshot.getTagGroupMembers(TagGroup.A);
+    assertSame(groupMembers, snapshot.getTagGroupMembers(TagGroup.A));
+    assertSame(
+        snapshot.getRealTimeTagGroupMembers(TagGroup.B),
+        snapshot.getRealTimeTagGroupMembers(TagGroup.B));
+    try {
+      groupMembers.add(buildTagInfo(7, true, true, "1000"));
+      fail("Expected UnsupportedOperationException for modifying tag group members");
+    } catch (UnsupportedOperationException e) {
+      // Expected
+    }
+    try {
+      snapshot.getHistoricalTagGroupMembers(TagGroup.C).clear();
+      fail("Expected UnsupportedOperationException for modifying tag group members");
+    } catch (UnsupportedOperationException e) {
+      // Expected
+    }
+    try {
+      snapshot.getTagGroupMembers(null);
+      fail("Expected IllegalArgumentException for null tag group");
+    } catch (IllegalArgumentException e) {
+      // Expected
+    }
+  }
+
+  /**
+   * Asserts that the specified snapshot finds the test tags built by {@link #buildTestTagInfos()}
+   * by tag ID and tag name.
+   *
+   * @param snapshot snapshot to check
+   * @param tagInfos test tag information objects of the snapshot
+   * @since 1.0.0
+   */
+  private static void assertTagLookups(TagInfoSnapshot snapshot, TagInfo[] tagInfos) {
+    for (int i = 0; i < 4; i++) {
+      assertSame(tagInfos[i], snapshot.getTagInfoFromTagId(tagInfos[i].getId()));
+      assertSame(tagInfos[i], snapshot.getTagInfoFromTagName(tagInfos[i].getName()));
+    }
+    assertEquals(2, snapshot.getLowestTagId());
+    assertNull(snapshot.getTagInfoFromTagId(4));
+    assertNull(snapshot.getTagInfoFromTagName("Tag4"));
+    assertEquals(tagInfos[4] != null ? 5 : 4, snapshot.getTagCount());
+
+    // Tags sorted by tag ID, without gaps
+    TagInfo[] tagInfosById = snapshot.getTagInfosById();
+    assertEquals(snapshot.getTagCount(), tagInfosById.length);
+    assertSame(tagInfos[1], tagInfosById[0]);
+    assertSame(tagInfos[3], tagInfosById[1]);
+    assertSame(tagInfos[0], tagInfosById[2]);
+    assertSame(tagInfos[2], tagInfosById[3]);
+
+    try {
+      snapshot.getTagInfoFromTagId(1);
+      fail("Expected IndexOutOfBoundsException for tag ID below lowest tag ID");
+    } catch (IndexOutOfBoundsException e) {
+      // Expected
+    }
+    try {
+      snapshot.getTagInfoFromTagId(snapshot.getHighestTagId() + 1);
+      fail("Expected IndexOutOfBoundsException for tag ID above highest tag ID");
+    } catch (IndexOutOfBoundsException e) {
+      // Expected
+    }
+  }
+
+  /**
+   * Asserts that the tag group membership tables of the specified snapshot match the test tags
+   * built by {@link #buildTestTagInfos()}.
+   *
+   * @param snapshot snapshot to check
+   * @since 1.0.0
+   */
+  private static void assertTagGroupMembers(TagInfoSnapshot snapshot) {
+    assertTagIds("2 5", snapshot.getTagGroupMembers(TagGroup.A));
+    assertTagIds("2 5", snapshot.getHistoricalTagGroupMembers(TagGroup.A));
+    assertTagIds("2", snapshot.getRealTimeTagGroupMembers(TagGroup.A));
+    assertTagIds("2 9", snapshot.getTagGroupMembers(TagGroup.B));
+    assertTagIds("2", snapshot.getHistoricalTagGroupMembers(TagGroup.B));
+    assertTagIds("2 9", snapshot.getRealTimeTagGroupMembers(TagGroup.B));
+    assertTagIds("", snapshot.getTagGroupMembers(TagGroup.C));
+    assertTagIds("9", snapshot.getTagGroupMembers(TagGroup.D));
+    assertTagIds("", snapshot.getHistoricalTagGroupMembers(TagGroup.D));
+
+    assertTrue(snapshot.isTagInGroup(2, TagGroup.A));
+    assertTrue(snapshot.isTagInGroup(2, TagGroup.B));
+    assertFalse(snapshot.isTagInGroup(3, TagGroup.A));
+    assertFalse(snapshot.isTagInGroup(9, TagGroup.A));
+    assertTrue(snapshot.isTagInGroup(9, TagGroup.D));
+
+    // Gaps in tag IDs and tag IDs outside of the tag ID range
+    assertFalse(snapshot.isTagInGroup(4, TagGroup.A));
+    assertFalse(snapshot.isTagInGroup(1, TagGroup.A));
+    assertFalse(snapshot.isTagInGroup(-5, TagGroup.B));
+  }
+
+  /**
+   * Asserts that the specified tags have the specified tag IDs, in order.
+   *
+   * @param expectedTagIds expected tag IDs, separated by spaces
+   * @param tagInfos tags to check (Parameterized type: List&lt;TagInfo&gt;)
+   * @since 1.0.0
+   */
+  private static void assertTagIds(String expectedTagIds, List tagInfos) {
+    StringBuffer tagIdsBuffer = new StringBuffer();
+    for (int i = 0; i < tagInfos.size(); i++) {
+      if (i > 0) {
+        tagIdsBuffer.append(' ');
+      }
+      tagIdsBuffer.append(((TagInfo) tagInfos.get(i)).getId());
+    }
+    assertEquals(expectedTagIds, tagIdsBuffer.toString());
+  }
+
+  /**
+   * Builds the test tags, not in tag ID order, with room for one more tag: tag 5 (group A,
+   * historical logging), tag 2 (groups A and B, historical and real time logging), tag 9 (groups B
+   * and D, real time logging) and tag 3 (no groups, historical and real time logging).
+   *
+   * @return test tag information objects, followed by an empty element
+   * @since 1.0.0
+   */
+  private static TagInfo[] buildTestTagInfos() {
+    return new TagInfo[] {
+      buildTagInfo(5, true, false, "1000"),
+      buildTagInfo(2, true, true, "1100"),
+      buildTagInfo(9, false, true, "0101"),
+      buildTagInfo(3, true, true, "0000"),
+      null
+    };
+  }
+
+  /**
+   * Builds a snapshot of the first tags of the specified array.
+   *
+   * @param tagInfos tag information objects
+   * @param count number of tag information objects to include
+   * @return tag information snapshot
+   * @since 1.0.0
+   */
+  private static TagInfoSnapshot buildSnapshot(TagInfo[] tagInfos, int count) {
+    return new TagInfoSnapshot(tagInfos, new int[tagInfos.length], count);
+  }
+
+  /**
+   * Builds a test {@link TagInfo} object with the specified logging flags and tag groups.
+   *
+   * @param tagId tag ID
+   * @param historicalLogEnabled true if historical logging is enabled
+   * @param realTimeLogEnabled true if real time logging is enabled
+   * @param tagGroups group A, B, C and D membership, one character each ('1' if in the group)
+   * @return test tag information object
+   * @since 1.0.0
+   */
+  private static TagInfo buildTagInfo(
+      int tagId, boolean historicalLogEnabled, boolean realTimeLogEnabled, String tagGroups) {
+    return new TagInfo(
+        tagId,
+        "Tag" + tagId,
+        "",
+        historicalLogEnabled,
+        realTimeLogEnabled,
+        tagGroups.charAt(0) == '1',
+        tagGroups.charAt(1) == '1',
+        tagGroups.charAt(2) == '1',
+        tagGroups.charAt(3) == '1',
+        TagType.INTEGER,
+        "",
+        "",
+        TagConstants.UNINIT_INT_VAL,
+        TagConstants.UNINIT_INT_VAL,
+        TagConstants.UNINIT_INT_VAL,
+        TagConstants.UNINIT_INT_VAL,
+        TagConstants.UNINIT_INT_VAL,
+        TagConstants.UNINIT_INT_VAL);
+  }
+}
@@ -0,0 +1,66 @@
+package com.hms_networks.americas.sc.extensions.taginfo;
+
+/**
+ * Shared test fixture which builds {@link TagInfo} objects for the library test classes.
+ *
+ * @author HMS Networks; Americas
+ * @since 1.17.0
+ * @version 1.0.0
+ */
+public class TagInfoTestFixture {
+
+  /**
+   * Builds a tag information object named <code>Tag&lt;tagId&gt;</code> in tag group A.
+   *
+   * @param tagId tag ID
+   * @param type tag type
+   * @return tag information object
+   * @since 1.0.0
+   */
+  public static TagInfo buildTagInfo(int tagId, TagType type) {
+    return buildTagInfo(tagId, "Tag" + tagId, type, true, false, false, false);
+  }
+
+  /**
+   * Builds a tag information object with historical and real time logging enabled, and with a
+   * description, unit and alarm settings which differ from their defaults.
+   *
+   * @param tagId tag ID
+   * @param name tag name
+   * @param type tag type
+   * @param isInGroupA true if the tag is in group A
+   * @param isInGroupB true if the tag is in group B
+   * @param isInGroupC true if the tag is in group C
+   * @param isInGroupD true if the tag is in group D
+   * @return tag information object
+   * @since 1.0.0
+   */
+  public static TagInfo buildTagInfo(
+      int tagId,
+      String name,
+      TagType type,
+      boolean isInGroupA,
+      boolean isInGroupB,
+      boolean isInGroupC,
+      boolean isInGroupD) {
+    return new TagInfo(
+        tagId,
+        name,
+        "Description of " + name,
+        true,
+        true,
+        isInGroupA,
+        isInGroupB,
+        isInGroupC,
+        isInGroupD,
+        type,
+        "unit",
+        "",
+        -1,
+        1,
+        -2,
+        2,
+        10,
+        0.25f);
+  }
+}